@@ -13,6 +13,9 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // Embedded database for the JDBC row source tests
+    testImplementation("com.h2database:h2:2.2.224")
 
     implementation("com.itextpdf:itextpdf:5.5.13")
 }
@@ -27,4 +30,69 @@ publishing {
             from(components["java"])
         }
     }
-}
\ No newline at end of file
+}
+val benchmark: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[benchmark.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[benchmark.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    // Embedded database for the JDBC streaming benchmark
+    benchmark.implementationConfigurationName("com.h2database:h2:2.2.224")
+}
+
+tasks.check {
+    dependsOn(benchmark.classesTaskName)
+}
+
+val cdsArchiveFile = layout.buildDirectory.file("cds/reporting.jsa")
+
+val benchmarkJar = tasks.register<Jar>("benchmarkJar") {
+    archiveClassifier.set("benchmark")
+    from(benchmark.output)
+}
+
+// AppCDS only archives classes loaded from jar files
+val cdsClasspath = files(tasks.jar, benchmarkJar) + configurations[benchmark.runtimeClasspathConfigurationName]
+
+// Usage: gradle benchmark --args="output-profile"
+tasks.register<JavaExec>("benchmark") {
+    group = "verification"
+    description = "Runs the report generation benchmarks."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.example.reporting.benchmark.BenchmarkSuite")
+    jvmArgs("-Xms512m", "-Xmx512m", "-Dfile.encoding=UTF-8")
+    systemProperty("reporting.cdsArchive", cdsArchiveFile.get().asFile.path)
+    // gradle benchmark -Dbenchmark.font=/path/to/font.ttf --args="output-profile"
+    System.getProperty("benchmark.font")?.let { systemProperty("benchmark.font", it) }
+    doFirst { systemProperty("reporting.cdsClasspath", cdsClasspath.asPath) }
+}
+
+// Optional: dumps the classes loaded by a warmed-up first report into an AppCDS archive.
+// Start the application with -XX:SharedArchiveFile=build/cds/reporting.jsa to use it.
+tasks.register<JavaExec>("cdsArchive") {
+    group = "build"
+    description = "Creates an AppCDS archive of the classes used by report generation."
+    classpath = cdsClasspath
+    mainClass.set("org.example.reporting.benchmark.StartupProbe")
+    args("warm")
+    jvmArgs("-XX:ArchiveClassesAtExit=" + cdsArchiveFile.get().asFile.path, "-Dfile.encoding=UTF-8")
+    outputs.file(cdsArchiveFile)
+    doFirst { cdsArchiveFile.get().asFile.parentFile.mkdirs() }
+}
+
+// Usage: gradle soak [--args="construction-streaming"]
+// Fails when a scenario exceeds its heap, GC or throughput limits, see SoakSuite.
+// A manual gate: it takes several minutes, so check does not depend on it.
+tasks.register<JavaExec>("soak") {
+    group = "verification"
+    description = "Runs the generators over large synthetic data sets in a small heap."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("org.example.reporting.benchmark.SoakSuite")
+    // SoakSuite only forks the scenarios; each one runs in its own JVM with soak.heap
+    jvmArgs("-Xmx64m", "-Dfile.encoding=UTF-8")
+    systemProperty("soak.heap", "192m")
+}
@@ -0,0 +1,53 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares regenerating the whole construction report for a daily update with appending the
+ * new rows to the existing file as an incremental update.
+ */
+class AppendUpdateBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int EXISTING_ROWS = 20_000;
+    private static final int NEW_ROWS = 20;
+    private static final int APPEND_WARMUPS = 3;
+    private static final int APPEND_ITERATIONS = 10;
+
+    @Override
+    public void run() throws Exception {
+        List<ConstructionProgress> all = SampleData.constructionProgress(EXISTING_ROWS + NEW_ROWS);
+        List<ConstructionProgress> existing = all.subList(0, EXISTING_ROWS);
+        List<ConstructionProgress> added = all.subList(EXISTING_ROWS, all.size());
+        Map<String, Object> parameters = SampleData.constructionParameters(all);
+        ConstructionProgressReportGenerator generator = new ConstructionProgressReportGenerator();
+
+        Path directory = Files.createTempDirectory("append-benchmark");
+        Path full = directory.resolve("full.pdf");
+        Path appended = directory.resolve("appended.pdf");
+        try {
+            generator.saveReport(existing, SampleData.constructionParameters(existing), appended);
+            long baseSize = Files.size(appended);
+
+            double fullMillis = BenchmarkSuite.averageMillis(1, 3,
+                    () -> generator.saveReport(all, parameters, full));
+            double appendMillis = BenchmarkSuite.averageMillis(APPEND_WARMUPS, APPEND_ITERATIONS,
+                    () -> generator.appendReport(appended, added, parameters));
+            // Every run appends to the same file
+            long growth = (Files.size(appended) - baseSize) / (APPEND_WARMUPS + APPEND_ITERATIONS);
+
+            System.out.printf("%d existing rows, %d new rows%n", EXISTING_ROWS, NEW_ROWS);
+            System.out.printf("Full regeneration  %9.1f ms %10d bytes written%n", fullMillis, Files.size(full));
+            System.out.printf("Append update      %9.1f ms %10d bytes written%n", appendMillis, growth);
+        } finally {
+            Files.deleteIfExists(full);
+            Files.deleteIfExists(appended);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
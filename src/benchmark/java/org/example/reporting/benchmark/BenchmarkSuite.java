@@ -0,0 +1,85 @@
+package org.example.reporting.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the {@code benchmark} Gradle task.
+ * Runs the benchmarks named on the command line, or all of them when none is given.
+ */
+public final class BenchmarkSuite {
+
+    private static final Map<String, Benchmark> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("output-profile", new OutputProfileBenchmark());
+        BENCHMARKS.put("renderers", new RendererBenchmark());
+        BENCHMARKS.put("document-model", new DocumentModelBenchmark());
+        BENCHMARKS.put("fan-out", new FanOutBenchmark());
+        BENCHMARKS.put("single-flight", new SingleFlightBenchmark());
+        BENCHMARKS.put("report-id", new ReportIdBenchmark());
+        BENCHMARKS.put("startup", new StartupBenchmark());
+        BENCHMARKS.put("jdbc-streaming", new JdbcStreamingBenchmark());
+        BENCHMARKS.put("csv-ingest", new CsvIngestBenchmark());
+        BENCHMARKS.put("snapshot", new SnapshotBenchmark());
+        BENCHMARKS.put("team-ranking", new TeamRankingBenchmark());
+        BENCHMARKS.put("bounded-detail", new BoundedDetailBenchmark());
+        BENCHMARKS.put("status-groups", new StatusGroupBenchmark());
+        BENCHMARKS.put("append-update", new AppendUpdateBenchmark());
+        BENCHMARKS.put("daily-rollup", new DailyRollupBenchmark());
+        BENCHMARKS.put("period-batch", new PeriodBatchBenchmark());
+        BENCHMARKS.put("render-cancel", new RenderCancelBenchmark());
+    }
+
+    private BenchmarkSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            for (Map.Entry<String, Benchmark> entry : BENCHMARKS.entrySet()) {
+                run(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (String name : args) {
+            Benchmark benchmark = BENCHMARKS.get(name);
+            if (benchmark == null) {
+                throw new IllegalArgumentException("Unknown benchmark: " + name + ", available: " + BENCHMARKS.keySet());
+            }
+            run(name, benchmark);
+        }
+    }
+
+    private static void run(String name, Benchmark benchmark) throws Exception {
+        System.out.println("== " + name + " ==");
+        benchmark.run();
+        System.out.println();
+    }
+
+    /**
+     * A single benchmark printing its own results.
+     */
+    interface Benchmark {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the action {@code warmups} times untimed, then {@code iterations} times timed.
+     *
+     * @return Average time per iteration in milliseconds
+     */
+    static double averageMillis(int warmups, int iterations, Action action) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            action.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    interface Action {
+        void run() throws Exception;
+    }
+}
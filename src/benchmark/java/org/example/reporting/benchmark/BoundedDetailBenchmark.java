@@ -0,0 +1,44 @@
+package org.example.reporting.benchmark;
+
+import com.itextpdf.text.pdf.PdfReader;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.generator.TaskDetailOrder;
+import org.example.reporting.model.EmployeeLoad;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the employee load report with every task in the detail tables against the bounded
+ * detail mode, for employees with large task lists.
+ */
+class BoundedDetailBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int EMPLOYEES = 4;
+    private static final int TASKS_PER_EMPLOYEE = 10_000;
+    private static final int TASK_LIMIT = 100;
+
+    @Override
+    public void run() throws Exception {
+        List<EmployeeLoad> data = SampleData.employeeLoad(EMPLOYEES, TASKS_PER_EMPLOYEE);
+        EmployeeLoadReportGenerator generator = new EmployeeLoadReportGenerator();
+        Map<String, Object> all = SampleData.periodParameters();
+        Map<String, Object> bounded = SampleData.periodParameters();
+        bounded.put("taskLimit", TASK_LIMIT);
+        bounded.put("taskOrder", TaskDetailOrder.OVERDUE_FIRST);
+
+        System.out.printf("%d employees x %d tasks%n", EMPLOYEES, TASKS_PER_EMPLOYEE);
+        report("All tasks", generator, data, all, 1);
+        report("First " + TASK_LIMIT + " + aggregates", generator, data, bounded, 5);
+    }
+
+    private static void report(String label, EmployeeLoadReportGenerator generator, List<EmployeeLoad> data,
+                               Map<String, Object> parameters, int iterations) throws Exception {
+        byte[] pdf = generator.generateReport(data, parameters);
+        double millis = BenchmarkSuite.averageMillis(1, iterations, () -> generator.generateReport(data, parameters));
+        PdfReader reader = new PdfReader(pdf);
+        System.out.printf("%-25s %9.1f ms %10d bytes %5d pages%n", label, millis, pdf.length,
+                reader.getNumberOfPages());
+        reader.close();
+    }
+}
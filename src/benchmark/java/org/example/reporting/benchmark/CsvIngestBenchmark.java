@@ -0,0 +1,88 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.ingest.MappedCsvIngester;
+import org.example.reporting.ingest.TaskDetailCsvParser;
+import org.example.reporting.model.TaskDetail;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares reading a task export with a line reader and String.split against the memory-mapped
+ * ingester, sequentially and in parallel.
+ */
+class CsvIngestBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int ROWS = 500_000;
+
+    @Override
+    public void run() throws Exception {
+        Path file = Files.createTempFile("tasks", ".csv");
+        try {
+            write(file);
+            System.out.printf("%d rows, %.1f MB%n", ROWS, Files.size(file) / 1024.0 / 1024.0);
+
+            MappedCsvIngester<TaskDetail> sequential = new MappedCsvIngester<>(new TaskDetailCsvParser());
+            sequential.setChunkSize(4 * 1024 * 1024);
+            sequential.setParallelism(1);
+            MappedCsvIngester<TaskDetail> parallel = new MappedCsvIngester<>(new TaskDetailCsvParser());
+            parallel.setChunkSize(4 * 1024 * 1024);
+
+            double split = BenchmarkSuite.averageMillis(2, 5, () -> readWithSplit(file));
+            double mapped = BenchmarkSuite.averageMillis(2, 5, () -> sequential.read(file));
+            double mappedParallel = BenchmarkSuite.averageMillis(2, 5, () -> parallel.read(file));
+            System.out.printf("BufferedReader + split        %8.1f ms%n", split);
+            System.out.printf("MappedCsvIngester, 1 thread   %8.1f ms%n", mapped);
+            System.out.printf("MappedCsvIngester, %d threads %8.1f ms%n",
+                    Runtime.getRuntime().availableProcessors(), mappedParallel);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void write(Path file) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("task_id,task_name,status,priority,start_date,deadline_date,completed_date,"
+                    + "estimated_hours,is_delayed\n");
+            for (int i = 0; i < ROWS; i++) {
+                TaskDetail task = SampleData.taskRow(random, i);
+                writer.write(task.getTaskId() + ",\"" + task.getTaskName() + "\"," + task.getStatus() + ","
+                        + task.getPriority() + "," + task.getStartDate() + "," + task.getDeadlineDate() + ","
+                        + (task.getCompletedDate() != null ? task.getCompletedDate() : "") + ","
+                        + task.getEstimatedHours() + "," + task.isDelayed() + "\n");
+            }
+        }
+    }
+
+    // The usual hand-written approach: one String per line and per field
+    private static List<TaskDetail> readWithSplit(Path file) throws IOException {
+        List<TaskDetail> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                rows.add(new TaskDetail(
+                        Integer.valueOf(fields[0]),
+                        fields[1].substring(1, fields[1].length() - 1),
+                        fields[2],
+                        fields[3],
+                        LocalDate.parse(fields[4]),
+                        LocalDate.parse(fields[5]),
+                        fields[6].isEmpty() ? null : LocalDate.parse(fields[6]),
+                        Double.valueOf(fields[7]),
+                        Boolean.parseBoolean(fields[8])));
+            }
+        }
+        return rows;
+    }
+}
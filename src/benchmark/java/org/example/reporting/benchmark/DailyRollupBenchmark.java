@@ -0,0 +1,107 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+import org.example.reporting.storage.DailyRollupStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares building team efficiency inputs for a date range by scanning raw tasks with merging
+ * the daily buckets of a {@link DailyRollupStore}.
+ */
+class DailyRollupBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int EMPLOYEES = 200;
+    private static final int TASKS_PER_EMPLOYEE = 5_000;
+    private static final int TEAMS = 20;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Override
+    public void run() throws Exception {
+        List<EmployeeLoad> data = SampleData.employeeLoad(EMPLOYEES, TASKS_PER_EMPLOYEE);
+        Path directory = Files.createTempDirectory("rollup-benchmark");
+        Path log = directory.resolve("rollup.log");
+        try {
+            long start = System.nanoTime();
+            try (DailyRollupStore store = DailyRollupStore.open(log)) {
+                for (EmployeeLoad employee : data) {
+                    store.addTasks(teamOf(employee), employee.getEmployeeId(), employee.getEmployeeName(),
+                            employee.getTasks());
+                }
+            }
+            double ingestMillis = (System.nanoTime() - start) / 1_000_000.0;
+            long logSize = Files.size(log);
+
+            start = System.nanoTime();
+            DailyRollupStore store = DailyRollupStore.open(log);
+            double replayMillis = (System.nanoTime() - start) / 1_000_000.0;
+            store.compact();
+            store.close();
+            long compactedSize = Files.size(log);
+            start = System.nanoTime();
+            store = DailyRollupStore.open(log);
+            double compactedReplayMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+            DailyRollupStore rollups = store;
+            double scanMillis = BenchmarkSuite.averageMillis(2, 5, () -> scan(data, FROM, TO));
+            double yearMillis = BenchmarkSuite.averageMillis(5, 20, () -> rollups.teamEfficiency(FROM, TO));
+            double monthMillis = BenchmarkSuite.averageMillis(5, 20,
+                    () -> rollups.teamEfficiency(FROM, FROM.plusMonths(1).minusDays(1)));
+            checkTotals(scan(data, FROM, TO), rollups.teamEfficiency(FROM, TO));
+
+            System.out.printf("%d tasks, %d teams, %d daily buckets%n",
+                    EMPLOYEES * TASKS_PER_EMPLOYEE, TEAMS, rollups.getBucketCount());
+            System.out.printf("Ingest                 %9.1f ms, log %,d bytes%n", ingestMillis, logSize);
+            System.out.printf("Open (task log)        %9.1f ms%n", replayMillis);
+            System.out.printf("Open (compacted)       %9.1f ms, log %,d bytes%n", compactedReplayMillis, compactedSize);
+            System.out.printf("Year, raw scan         %9.1f ms%n", scanMillis);
+            System.out.printf("Year, bucket merge     %9.1f ms%n", yearMillis);
+            System.out.printf("Month, bucket merge    %9.1f ms%n", monthMillis);
+            rollups.close();
+        } finally {
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static String teamOf(EmployeeLoad employee) {
+        return "Zespół " + (employee.getEmployeeId() % TEAMS + 1);
+    }
+
+    /**
+     * Task and completed counts per team from the raw tasks, as a query over the range would.
+     */
+    private static Map<String, long[]> scan(List<EmployeeLoad> data, LocalDate from, LocalDate to) {
+        Map<String, long[]> totals = new HashMap<>();
+        for (EmployeeLoad employee : data) {
+            long[] counts = totals.computeIfAbsent(teamOf(employee), team -> new long[2]);
+            for (TaskDetail task : employee.getTasks()) {
+                LocalDate day = DailyRollupStore.bucketDay(task);
+                if (!day.isBefore(from) && !day.isAfter(to)) {
+                    counts[0]++;
+                    if (task.getCompletedDate() != null) {
+                        counts[1]++;
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static void checkTotals(Map<String, long[]> scanned, List<TeamEfficiency> merged) {
+        for (TeamEfficiency team : merged) {
+            long[] counts = scanned.get(team.getTeamName());
+            if (counts[0] != team.getTotalTasksCount() || counts[1] != team.getCompletedTasksCount()) {
+                throw new IllegalStateException("Rollup totals differ from the scan for " + team.getTeamName());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.document.ReportDocument;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.render.JsonReportRenderer;
+import org.example.reporting.render.PdfReportRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures building the intermediate document once and rendering it to several backends,
+ * compared with the generator's own PDF layout.
+ */
+class DocumentModelBenchmark implements BenchmarkSuite.Benchmark {
+
+    @Override
+    public void run() throws Exception {
+        ConstructionProgressReportGenerator generator = new ConstructionProgressReportGenerator();
+        List<ConstructionProgress> data = SampleData.constructionProgress(5_000);
+        Map<String, Object> parameters = SampleData.constructionParameters(data);
+
+        double layoutPdf = BenchmarkSuite.averageMillis(2, 5, () -> generator.generateReport(data, parameters));
+        double build = BenchmarkSuite.averageMillis(5, 20, () -> generator.buildDocument(data, parameters));
+        ReportDocument document = generator.buildDocument(data, parameters);
+        double fastPdf = BenchmarkSuite.averageMillis(2, 5,
+                () -> document.renderTo(new PdfReportRenderer(new ByteArrayOutputStream())));
+        double json = BenchmarkSuite.averageMillis(5, 20, () -> document.renderTo(new JsonReportRenderer(
+                new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8))));
+
+        System.out.printf("rows in document         %10d%n", document.getRowCount());
+        System.out.printf("generator pdf layout     %10.2f ms%n", layoutPdf);
+        System.out.printf("build document           %10.2f ms%n", build);
+        System.out.printf("render document to pdf   %10.2f ms%n", fastPdf);
+        System.out.printf("render document to json  %10.2f ms%n", json);
+    }
+}
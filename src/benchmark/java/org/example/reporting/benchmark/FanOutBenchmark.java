@@ -0,0 +1,53 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.engine.FanOutResult;
+import org.example.reporting.engine.ReportFanOut;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.storage.FileStorageUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compares one report per employee written by sequential saveReport calls with the parallel fan-out.
+ */
+class FanOutBenchmark implements BenchmarkSuite.Benchmark {
+
+    @Override
+    public void run() throws Exception {
+        Path baseDirectory = Files.createTempDirectory("fan-out-benchmark");
+        try {
+            List<EmployeeLoad> data = SampleData.employeeLoad(400, 20);
+            Map<String, Object> parameters = SampleData.periodParameters();
+            EmployeeLoadReportGenerator generator = new EmployeeLoadReportGenerator();
+
+            double sequential = BenchmarkSuite.averageMillis(1, 2, () -> {
+                for (EmployeeLoad employee : data) {
+                    String fileName = FileStorageUtils.createUniqueFileName("employee-load", "pdf");
+                    Path path = FileStorageUtils.resolveReportPath(baseDirectory.toString(), "sequential", fileName);
+                    generator.saveReport(Collections.singletonList(employee), parameters, path);
+                }
+            });
+
+            ReportFanOut fanOut = new ReportFanOut();
+            FanOutResult<?>[] last = new FanOutResult<?>[1];
+            double parallel = BenchmarkSuite.averageMillis(1, 2, () -> last[0] = fanOut.splitByKey(
+                    generator, data, EmployeeLoad::getEmployeeId, parameters, baseDirectory.toString(), "fan-out"));
+
+            System.out.printf("reports                 %10d (failures: %d)%n",
+                    last[0].getOutputs().size(), last[0].getFailures().size());
+            System.out.printf("sequential saveReport   %10.1f ms%n", sequential);
+            System.out.printf("fan-out                 %10.1f ms%n", parallel);
+        } finally {
+            try (Stream<Path> paths = Files.walk(baseDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.reporting.benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures a section of code: the peak live heap, the time spent in garbage collection and the
+ * elapsed time.
+ *
+ * The heap in use after a young collection still holds promoted garbage, so it depends on the
+ * collector and on when the collections happen rather than on the code measured. Instead, a
+ * sampling thread runs a full collection every {@value #SAMPLE_MILLIS} ms, and the peak is the
+ * heap in use after full collections. The sampling collections are left out of the GC time.
+ */
+final class HeapProbe implements AutoCloseable {
+
+    static final long SAMPLE_MILLIS = 250;
+
+    private static final String MAJOR_GC = "end of major GC";
+    private static final String SYSTEM_GC = "System.gc()";
+
+    private final Set<String> heapPools = new HashSet<>();
+    private final NotificationListener listener = this::onNotification;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Thread sampler;
+    private final long startNanos;
+    private long peakAfterGc;
+    private long gcMillis;
+    private long elapsedNanos = -1;
+
+    HeapProbe() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+        System.gc();
+        for (GarbageCollectorMXBean collector : collectors) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+        sampler = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(SAMPLE_MILLIS);
+                    System.gc();
+                }
+            } catch (InterruptedException e) {
+                // Closed
+            }
+        }, "heap-probe");
+        sampler.setDaemon(true);
+        startNanos = System.nanoTime();
+        sampler.start();
+    }
+
+    /**
+     * Ends the measurement.
+     */
+    @Override
+    public void close() {
+        if (elapsedNanos >= 0) {
+            return;
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        sampler.interrupt();
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (GarbageCollectorMXBean collector : collectors) {
+            try {
+                ((NotificationEmitter) collector).removeNotificationListener(listener);
+            } catch (javax.management.ListenerNotFoundException e) {
+                // Not registered; nothing to remove
+            }
+        }
+        synchronized (this) {
+            if (peakAfterGc == 0) {
+                // Shorter than one sample; the heap in use is an upper bound
+                peakAfterGc = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            }
+        }
+    }
+
+    synchronized double getPeakHeapMb() {
+        return peakAfterGc / (1024.0 * 1024.0);
+    }
+
+    double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    synchronized long getGcMillis() {
+        return gcMillis;
+    }
+
+    /**
+     * Returns the share of the elapsed time spent in garbage collection.
+     */
+    double getGcShare() {
+        return elapsedNanos > 0 ? getGcMillis() / getElapsedMillis() : 0.0;
+    }
+
+    private void onNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        boolean sample = SYSTEM_GC.equals(info.getGcCause());
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        synchronized (this) {
+            if (!sample) {
+                gcMillis += info.getGcInfo().getDuration();
+            }
+            if (sample || MAJOR_GC.equals(info.getGcAction())) {
+                peakAfterGc = Math.max(peakAfterGc, used);
+            }
+        }
+    }
+}
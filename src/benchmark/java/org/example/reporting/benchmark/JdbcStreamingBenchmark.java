@@ -0,0 +1,142 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.ingest.ConstructionProgressRowMapper;
+import org.example.reporting.ingest.ResultSetRowSource;
+import org.example.reporting.model.ConstructionProgress;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares loading construction tasks from an embedded H2 database into a list before rendering
+ * with streaming them from the result set into the PDF.
+ */
+class JdbcStreamingBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int FETCH_SIZE = 500;
+    private static final String QUERY = "SELECT task_name, status, planned_end, actual_end, is_delayed, "
+            + "delay_in_days, completion_percentage FROM construction_progress ORDER BY id";
+
+    @Override
+    public void run() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:reporting;DB_CLOSE_DELAY=-1")) {
+            populate(connection);
+            ConstructionProgressReportGenerator generator = new ConstructionProgressReportGenerator();
+            Map<String, Object> parameters = SampleData.periodParameters();
+
+            // Warm up both paths
+            loadAndRender(connection, generator, parameters, OutputStream.nullOutputStream());
+            stream(connection, generator, parameters, OutputStream.nullOutputStream());
+
+            Probe list = measure(output -> loadAndRender(connection, generator, parameters, output));
+            Probe streaming = measure(output -> stream(connection, generator, parameters, output));
+            System.out.printf("%d rows, list then render      %8.1f ms, first byte %8.1f ms, peak heap %6.1f MB%n",
+                    ROWS, list.totalMillis, list.firstByteMillis, list.peakHeapMb);
+            System.out.printf("%d rows, streamed from cursor  %8.1f ms, first byte %8.1f ms, peak heap %6.1f MB%n",
+                    ROWS, streaming.totalMillis, streaming.firstByteMillis, streaming.peakHeapMb);
+        }
+    }
+
+    private static void loadAndRender(Connection connection, ConstructionProgressReportGenerator generator,
+                                      Map<String, Object> parameters, OutputStream output) throws Exception {
+        List<ConstructionProgress> data = new ArrayList<>();
+        try (ResultSetRowSource<ConstructionProgress> rows = ResultSetRowSource.query(connection, QUERY,
+                FETCH_SIZE, new ConstructionProgressRowMapper())) {
+            for (ConstructionProgress progress : rows) {
+                data.add(progress);
+            }
+        }
+        generator.writeReport(data, parameters, output);
+    }
+
+    private static void stream(Connection connection, ConstructionProgressReportGenerator generator,
+                               Map<String, Object> parameters, OutputStream output) throws Exception {
+        try (ResultSetRowSource<ConstructionProgress> rows = ResultSetRowSource.query(connection, QUERY,
+                FETCH_SIZE, new ConstructionProgressRowMapper())) {
+            generator.writeReport(rows, parameters, output);
+        }
+    }
+
+    private static Probe measure(Render render) throws Exception {
+        System.gc();
+        Probe probe = new Probe();
+        probe.start = System.nanoTime();
+        render.run(probe.output);
+        probe.totalMillis = (System.nanoTime() - probe.start) / 1_000_000.0;
+        probe.sample();
+        return probe;
+    }
+
+    private static void populate(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS construction_progress");
+            statement.execute("CREATE TABLE construction_progress (id INT PRIMARY KEY, task_name VARCHAR(200), "
+                    + "status VARCHAR(20), planned_end DATE, actual_end DATE, is_delayed BOOLEAN, "
+                    + "delay_in_days INT, completion_percentage INT)");
+        }
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO construction_progress VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                ConstructionProgress row = SampleData.constructionRow(random, i);
+                insert.setInt(1, i);
+                insert.setString(2, row.getTaskName());
+                insert.setString(3, row.getStatus());
+                insert.setObject(4, row.getPlannedEnd());
+                insert.setObject(5, row.getActualEnd());
+                insert.setBoolean(6, row.isDelayed());
+                insert.setObject(7, row.getDelayInDays());
+                insert.setObject(8, row.getCompletionPercentage());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private interface Render {
+        void run(OutputStream output) throws Exception;
+    }
+
+    /**
+     * Records the time of the first output byte and samples the used heap on every write.
+     */
+    private static final class Probe {
+
+        long start;
+        double totalMillis;
+        double firstByteMillis = -1;
+        double peakHeapMb;
+        private int writes;
+
+        final OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (firstByteMillis < 0) {
+                    firstByteMillis = (System.nanoTime() - start) / 1_000_000.0;
+                }
+                if (++writes % 16 == 0) {
+                    sample();
+                }
+            }
+        };
+
+        void sample() {
+            Runtime runtime = Runtime.getRuntime();
+            peakHeapMb = Math.max(peakHeapMb, (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.AbstractPdfReportGenerator;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.generator.OutputProfile;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares file size and render time of every output profile for each generator, and of an
+ * embedded TrueType font with and without subsetting. The font is read from the
+ * {@code benchmark.font} system property, DejaVu Sans by default; the font cases are skipped
+ * if it does not exist.
+ */
+class OutputProfileBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final OutputProfile[] PROFILES = {
+            OutputProfile.DEFAULT,
+            OutputProfile.FAST,
+            OutputProfile.COMPACT,
+            new OutputProfile("uncompressed", false, 0, true, null)
+    };
+
+    private static final String DEFAULT_FONT = "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf";
+
+    private final List<OutputProfile> profiles = new ArrayList<>(List.of(PROFILES));
+
+    @Override
+    public void run() throws Exception {
+        String font = System.getProperty("benchmark.font", DEFAULT_FONT);
+        if (Files.isRegularFile(Paths.get(font))) {
+            OutputProfile embedded = OutputProfile.COMPACT.withFontProgram(font);
+            profiles.add(embedded);
+            profiles.add(embedded.withSubsetFonts(false));
+        } else {
+            System.out.println("Font " + font + " not found, skipping the embedded font profiles");
+        }
+
+        List<ConstructionProgress> construction = SampleData.constructionProgress(2_000);
+        measure("construction-progress", new ConstructionProgressReportGenerator(),
+                construction, SampleData.constructionParameters(construction));
+
+        List<EmployeeLoad> employees = SampleData.employeeLoad(50, 40);
+        measure("employee-load", new EmployeeLoadReportGenerator(), employees, SampleData.periodParameters());
+
+        List<TeamEfficiency> teams = SampleData.teamEfficiency(200);
+        measure("team-efficiency", new TeamEfficiencyReportGenerator(), teams, SampleData.teamParameters(teams));
+    }
+
+    private <T> void measure(String report, AbstractPdfReportGenerator<T> generator,
+                             List<T> data, Map<String, Object> parameters) throws Exception {
+        System.out.printf("%-22s %-34s %12s %10s%n", "report", "profile", "bytes", "ms/report");
+        for (OutputProfile profile : profiles) {
+            generator.setOutputProfile(profile);
+            int size = generator.generateReport(data, parameters).length;
+            double millis = BenchmarkSuite.averageMillis(3, 10, () -> generator.generateReport(data, parameters));
+            System.out.printf("%-22s %-34s %12d %10.1f%n", report, profile.getName(), size, millis);
+        }
+    }
+}
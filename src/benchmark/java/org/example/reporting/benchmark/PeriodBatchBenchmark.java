@@ -0,0 +1,117 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.engine.FanOutResult;
+import org.example.reporting.engine.PeriodAggregation;
+import org.example.reporting.engine.ReportFanOut;
+import org.example.reporting.engine.ReportPeriod;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.PdfReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Compares the year-end batch of 12 monthly and 4 quarterly construction reports written by
+ * filtering the data per period with the one-pass multi-period fan-out.
+ */
+class PeriodBatchBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int RENDERED_ROWS = 20_000;
+    private static final int PARTITIONED_ROWS = 2_000_000;
+
+    @Override
+    public void run() throws Exception {
+        Path baseDirectory = Files.createTempDirectory("period-batch-benchmark");
+        // One thread per core; the common pool starts a thread per task on single-core machines
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<ReportPeriod> periods = ReportPeriod.monthsAndQuarters(2025);
+            ReportFanOut fanOut = new ReportFanOut(executor);
+
+            // Partitioning and aggregation only, with a generator that does not render
+            List<ConstructionProgress> large = SampleData.constructionProgress(PARTITIONED_ROWS);
+            PdfReportGenerator<ConstructionProgress> counting = new CountingGenerator();
+            double perPeriodScan = BenchmarkSuite.averageMillis(2, 5,
+                    () -> perPeriod(counting, large, periods, baseDirectory));
+            double onePass = BenchmarkSuite.averageMillis(2, 5, () -> fanOut.splitByPeriod(counting, large,
+                    ConstructionProgress::getPlannedEnd, periods, PeriodAggregation.constructionSummary(),
+                    null, baseDirectory.toString(), "one-pass"));
+
+            // End to end with PDF rendering
+            List<ConstructionProgress> data = SampleData.constructionProgress(RENDERED_ROWS);
+            ConstructionProgressReportGenerator generator = new ConstructionProgressReportGenerator();
+            double sequential = BenchmarkSuite.averageMillis(2, 2,
+                    () -> perPeriod(generator, data, periods, baseDirectory));
+            FanOutResult<?>[] last = new FanOutResult<?>[1];
+            double parallel = BenchmarkSuite.averageMillis(2, 2, () -> last[0] = fanOut.splitByPeriod(generator,
+                    data, ConstructionProgress::getPlannedEnd, periods, PeriodAggregation.constructionSummary(),
+                    null, baseDirectory.toString(), "parallel"));
+
+            System.out.printf("%d threads%n", Runtime.getRuntime().availableProcessors());
+            System.out.printf("%d periods, %d rows, scan per period      %9.1f ms%n",
+                    periods.size(), PARTITIONED_ROWS, perPeriodScan);
+            System.out.printf("%d periods, %d rows, one pass             %9.1f ms%n",
+                    periods.size(), PARTITIONED_ROWS, onePass);
+            System.out.printf("%d periods, %d rows, rendered sequentially   %9.1f ms%n",
+                    periods.size(), RENDERED_ROWS, sequential);
+            System.out.printf("%d periods, %d rows, one pass + parallel     %9.1f ms (failures: %d)%n",
+                    periods.size(), RENDERED_ROWS, parallel, last[0].getFailures().size());
+        } finally {
+            executor.shutdown();
+            try (Stream<Path> paths = Files.walk(baseDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * The batch as it was run before: every period filters the full data and aggregates its rows.
+     */
+    private static void perPeriod(PdfReportGenerator<ConstructionProgress> generator,
+                                  List<ConstructionProgress> data, List<ReportPeriod> periods,
+                                  Path baseDirectory) throws Exception {
+        for (ReportPeriod period : periods) {
+            List<ConstructionProgress> rows = new ArrayList<>();
+            for (ConstructionProgress progress : data) {
+                if (period.contains(progress.getPlannedEnd())) {
+                    rows.add(progress);
+                }
+            }
+            Map<String, Object> parameters = SampleData.constructionParameters(rows);
+            parameters.put("dateFrom", period.getFrom().toString());
+            parameters.put("dateTo", period.getTo().toString());
+            generator.saveReport(rows, parameters, baseDirectory.resolve("per-period-" + period.getLabel() + ".pdf"));
+        }
+    }
+
+    /**
+     * Reads every row it gets instead of rendering it.
+     */
+    private static final class CountingGenerator implements PdfReportGenerator<ConstructionProgress> {
+
+        @Override
+        public byte[] generateReport(List<ConstructionProgress> data, Map<String, Object> parameters) {
+            long delayed = 0;
+            for (ConstructionProgress progress : data) {
+                if (progress.isDelayed()) {
+                    delayed++;
+                }
+            }
+            return new byte[]{(byte) delayed};
+        }
+
+        @Override
+        public Path saveReport(List<ConstructionProgress> data, Map<String, Object> parameters, Path filePath) {
+            generateReport(data, parameters);
+            return filePath;
+        }
+    }
+}
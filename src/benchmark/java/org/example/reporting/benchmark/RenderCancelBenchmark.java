@@ -0,0 +1,122 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.CancellationToken;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.RenderCancelledException;
+import org.example.reporting.generator.RenderContext;
+import org.example.reporting.generator.RenderProgressListener;
+import org.example.reporting.model.ConstructionProgress;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of the render checkpoints and how quickly a construction report stops after
+ * its token is cancelled or its deadline passes.
+ */
+class RenderCancelBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int OVERHEAD_ROWS = 20_000;
+    private static final int CANCEL_ROWS = 200_000;
+    private static final long CANCEL_AFTER_MILLIS = 1_000;
+
+    @Override
+    @SuppressWarnings("try")
+    public void run() throws Exception {
+        ConstructionProgressReportGenerator generator = new ConstructionProgressReportGenerator();
+        Path directory = Files.createTempDirectory("cancel-benchmark");
+        Path file = directory.resolve("report.pdf");
+        try {
+            List<ConstructionProgress> data = SampleData.constructionProgress(OVERHEAD_ROWS);
+            Map<String, Object> parameters = SampleData.constructionParameters(data);
+            Progress progress = new Progress();
+            RenderContext context = RenderContext.NONE
+                    .withCancellationToken(new CancellationToken())
+                    .withTimeout(Duration.ofHours(1))
+                    .withProgressListener(progress);
+
+            double plainMillis = BenchmarkSuite.averageMillis(3, 5,
+                    () -> generator.saveReport(data, parameters, file));
+            double contextMillis = BenchmarkSuite.averageMillis(3, 5, () -> {
+                try (RenderContext.Scope scope = context.activate()) {
+                    generator.saveReport(data, parameters, file);
+                }
+            });
+            System.out.printf("%d rows without context   %9.1f ms%n", OVERHEAD_ROWS, plainMillis);
+            System.out.printf("%d rows with context      %9.1f ms, %d rows and %d pages per report%n",
+                    OVERHEAD_ROWS, contextMillis, progress.rows.get() / 8, progress.pages.get() / 8);
+
+            List<ConstructionProgress> large = SampleData.constructionProgress(CANCEL_ROWS);
+            Map<String, Object> largeParameters = SampleData.constructionParameters(large);
+
+            // Cancelled from another thread, as by a request handler whose client went away
+            CancellationToken token = new CancellationToken();
+            AtomicLong cancelledAt = new AtomicLong();
+            Thread canceller = new Thread(() -> {
+                try {
+                    Thread.sleep(CANCEL_AFTER_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                cancelledAt.set(System.nanoTime());
+                token.cancel();
+            });
+            Progress cancelProgress = new Progress();
+            canceller.start();
+            long stoppedAt = render(generator, large, largeParameters, file,
+                    RenderContext.NONE.withCancellationToken(token).withProgressListener(cancelProgress));
+            canceller.join();
+            System.out.printf("Cancelled after %d ms   stopped within %6.2f ms, %d of %d rows, %d pages, "
+                            + "partial file %s%n", CANCEL_AFTER_MILLIS,
+                    (stoppedAt - cancelledAt.get()) / 1_000_000.0, cancelProgress.rows.get(), CANCEL_ROWS,
+                    cancelProgress.pages.get(), Files.exists(file) ? "kept" : "deleted");
+
+            Progress deadlineProgress = new Progress();
+            long deadline = System.nanoTime() + CANCEL_AFTER_MILLIS * 1_000_000;
+            stoppedAt = render(generator, large, largeParameters, file, RenderContext.NONE
+                    .withTimeout(Duration.ofMillis(CANCEL_AFTER_MILLIS)).withProgressListener(deadlineProgress));
+            System.out.printf("Deadline after %d ms    stopped within %6.2f ms, %d of %d rows, %d pages, "
+                            + "partial file %s%n", CANCEL_AFTER_MILLIS, (stoppedAt - deadline) / 1_000_000.0,
+                    deadlineProgress.rows.get(), CANCEL_ROWS, deadlineProgress.pages.get(),
+                    Files.exists(file) ? "kept" : "deleted");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Renders until the context stops the report and returns the time it stopped.
+     */
+    @SuppressWarnings("try")
+    private static long render(ConstructionProgressReportGenerator generator, List<ConstructionProgress> data,
+                               Map<String, Object> parameters, Path file, RenderContext context) throws Exception {
+        try (RenderContext.Scope scope = context.activate()) {
+            generator.saveReport(data, parameters, file);
+            throw new IllegalStateException("Render was not stopped");
+        } catch (RenderCancelledException e) {
+            return System.nanoTime();
+        }
+    }
+
+    private static final class Progress implements RenderProgressListener {
+
+        final AtomicLong rows = new AtomicLong();
+        final AtomicInteger pages = new AtomicInteger();
+
+        @Override
+        public void rowRendered() {
+            rows.incrementAndGet();
+        }
+
+        @Override
+        public void pageCompleted(int pageNumber) {
+            pages.incrementAndGet();
+        }
+    }
+}
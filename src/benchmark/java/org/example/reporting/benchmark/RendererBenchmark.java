@@ -0,0 +1,50 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.AbstractPdfReportGenerator;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TeamEfficiency;
+import org.example.reporting.render.ReportFormat;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares PDF rendering with the streaming CSV and JSON renderers for the same data.
+ */
+class RendererBenchmark implements BenchmarkSuite.Benchmark {
+
+    @Override
+    public void run() throws Exception {
+        List<ConstructionProgress> construction = SampleData.constructionProgress(5_000);
+        measure("construction-progress", new ConstructionProgressReportGenerator(),
+                construction, SampleData.constructionParameters(construction));
+
+        List<EmployeeLoad> employees = SampleData.employeeLoad(100, 50);
+        measure("employee-load", new EmployeeLoadReportGenerator(), employees, SampleData.periodParameters());
+
+        List<TeamEfficiency> teams = SampleData.teamEfficiency(500);
+        measure("team-efficiency", new TeamEfficiencyReportGenerator(), teams, SampleData.teamParameters(teams));
+    }
+
+    private <T> void measure(String report, AbstractPdfReportGenerator<T> generator,
+                             List<T> data, Map<String, Object> parameters) throws Exception {
+        double pdf = BenchmarkSuite.averageMillis(2, 5, () -> generator.generateReport(data, parameters));
+        System.out.printf("%-22s %-5s %10.2f ms%n", report, "pdf", pdf);
+        for (ReportFormat format : ReportFormat.values()) {
+            double millis = BenchmarkSuite.averageMillis(5, 20, () -> {
+                Writer writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+                generator.renderReport(data, parameters, format, writer);
+            });
+            System.out.printf("%-22s %-5s %10.2f ms  (%.0fx faster than pdf)%n",
+                    report, format.getExtension(), millis, pdf / millis);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.storage.FileStorageUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Compares the throughput of random and time-ordered report file names under concurrent load.
+ */
+class ReportIdBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int NAMES_PER_THREAD = 200_000;
+
+    @Override
+    public void run() throws Exception {
+        int[] threadCounts = {1, 4, 16};
+        for (int threads : threadCounts) {
+            // Warm up both paths
+            throughput(threads, FileStorageUtils::createUniqueFileName);
+            throughput(threads, FileStorageUtils::createTimeOrderedFileName);
+
+            double unique = throughput(threads, FileStorageUtils::createUniqueFileName);
+            double ordered = throughput(threads, FileStorageUtils::createTimeOrderedFileName);
+            System.out.printf("%2d threads  createUniqueFileName       %12.0f names/s%n", threads, unique);
+            System.out.printf("%2d threads  createTimeOrderedFileName  %12.0f names/s%n", threads, ordered);
+        }
+    }
+
+    private static double throughput(int threads, BiFunction<String, String, String> nameFactory) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int length = 0;
+                    for (int i = 0; i < NAMES_PER_THREAD; i++) {
+                        length += nameFactory.apply("team-efficiency", "pdf").length();
+                    }
+                    return length;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            return threads * (double) NAMES_PER_THREAD / seconds;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data sets for the benchmarks.
+ */
+public final class SampleData {
+
+    static final String[] STATUSES = {"DONE", "IN_PROGRESS", "STARTED", "DELAYED"};
+    static final String[] PRIORITIES = {"Niski", "Średni", "Wysoki"};
+    static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private SampleData() {
+    }
+
+    public static List<ConstructionProgress> constructionProgress(int rows) {
+        Random random = new Random(42);
+        List<ConstructionProgress> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(constructionRow(random, i));
+        }
+        return data;
+    }
+
+    static ConstructionProgress constructionRow(Random random, int i) {
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+        LocalDate plannedEnd = START.plusDays(random.nextInt(365));
+        boolean delayed = "DELAYED".equals(status);
+        int delay = delayed ? 1 + random.nextInt(30) : 0;
+        LocalDate actualEnd = "DONE".equals(status) ? plannedEnd.plusDays(delay) : null;
+        int completion = "DONE".equals(status) ? 100 : random.nextInt(100);
+        return new ConstructionProgress("Zadanie budowlane " + i, status, plannedEnd, actualEnd,
+                delayed, delay, completion);
+    }
+
+    public static Map<String, Object> constructionParameters(List<ConstructionProgress> data) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long done = 0;
+        long delayed = 0;
+        for (ConstructionProgress progress : data) {
+            byStatus.merge(progress.getStatus(), 1L, Long::sum);
+            if ("DONE".equals(progress.getStatus())) {
+                done++;
+            }
+            if (progress.isDelayed()) {
+                delayed++;
+            }
+        }
+        Map<String, Object> parameters = periodParameters();
+        parameters.put("completedPercentage", data.isEmpty() ? 0 : (int) (done * 100 / data.size()));
+        parameters.put("delayedCount", delayed);
+        parameters.put("tasksByStatus", byStatus);
+        return parameters;
+    }
+
+    public static List<EmployeeLoad> employeeLoad(int employees, int tasksPerEmployee) {
+        Random random = new Random(7);
+        List<EmployeeLoad> data = new ArrayList<>(employees);
+        int taskId = 0;
+        for (int e = 0; e < employees; e++) {
+            List<TaskDetail> tasks = new ArrayList<>(tasksPerEmployee);
+            Map<String, Integer> byStatus = new LinkedHashMap<>();
+            double hours = 0;
+            for (int t = 0; t < tasksPerEmployee; t++) {
+                TaskDetail task = taskRow(random, taskId++);
+                tasks.add(task);
+                byStatus.merge(task.getStatus(), 1, Integer::sum);
+                hours += task.getEstimatedHours();
+            }
+            data.add(new EmployeeLoad(e + 1, "Pracownik " + (e + 1), tasksPerEmployee, hours,
+                    hours / 160.0, tasks, byStatus));
+        }
+        return data;
+    }
+
+    static TaskDetail taskRow(Random random, int taskId) {
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+        LocalDate startDate = START.plusDays(random.nextInt(300));
+        LocalDate deadline = startDate.plusDays(1 + random.nextInt(60));
+        boolean delayed = "DELAYED".equals(status);
+        LocalDate completed = "DONE".equals(status) ? deadline.minusDays(random.nextInt(3)) : null;
+        return new TaskDetail(taskId, "Zadanie " + taskId, status, PRIORITIES[random.nextInt(PRIORITIES.length)],
+                startDate, deadline, completed, 1 + random.nextInt(40) / 2.0, delayed);
+    }
+
+    public static List<TeamEfficiency> teamEfficiency(int teams) {
+        Random random = new Random(11);
+        List<TeamEfficiency> data = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            TeamEfficiency team = new TeamEfficiency();
+            int total = random.nextInt(200);
+            int completed = total == 0 ? 0 : random.nextInt(total + 1);
+            int onTime = completed == 0 ? 0 : random.nextInt(completed + 1);
+            int members = 1 + random.nextInt(12);
+            team.setTeamName("Zespół " + (i + 1));
+            team.setTotalTasksCount(total);
+            team.setCompletedTasksCount(completed);
+            team.setOnTimeTasksCount(onTime);
+            team.setDelayedTasksCount(completed - onTime);
+            team.setAvgDelayDays(random.nextDouble() * 10);
+            team.setAvgCompletionHours(random.nextDouble() * 80);
+            team.setActiveTeamMembersCount(members);
+            team.setTasksPerMember((double) total / members);
+            team.setEfficiencyScore(total == 0 ? 0.0 : random.nextDouble() * 100);
+            team.setHasNoTasks(total == 0);
+            Map<String, Integer> byPriority = new LinkedHashMap<>();
+            for (String priority : PRIORITIES) {
+                byPriority.put(priority, total / PRIORITIES.length);
+            }
+            team.setTasksByPriority(byPriority);
+            data.add(team);
+        }
+        return data;
+    }
+
+    public static Map<String, Object> teamParameters(List<TeamEfficiency> data) {
+        int withTasks = 0;
+        int tasks = 0;
+        int completed = 0;
+        for (TeamEfficiency team : data) {
+            if (!team.getHasNoTasks()) {
+                withTasks++;
+            }
+            tasks += team.getTotalTasksCount();
+            completed += team.getCompletedTasksCount();
+        }
+        Map<String, Object> parameters = periodParameters();
+        parameters.put("teamsWithTasksCount", withTasks);
+        parameters.put("totalTeamsCount", data.size());
+        parameters.put("totalTasksCount", tasks);
+        parameters.put("totalCompletedTasksCount", completed);
+        parameters.put("overallCompletionRate", tasks == 0 ? 0.0 : completed * 100.0 / tasks);
+        return parameters;
+    }
+
+    public static Map<String, Object> periodParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("dateFrom", "2025-01-01");
+        parameters.put("dateTo", "2025-12-31");
+        return parameters;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.engine.CoalescingReportGenerator;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulates a dashboard refresh: many users requesting the same team efficiency report at once.
+ */
+class SingleFlightBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int USERS = 32;
+
+    @Override
+    public void run() throws Exception {
+        List<TeamEfficiency> data = SampleData.teamEfficiency(200);
+        Map<String, Object> parameters = SampleData.teamParameters(data);
+        TeamEfficiencyReportGenerator plain = new TeamEfficiencyReportGenerator();
+        CoalescingReportGenerator<TeamEfficiency> coalescing = new CoalescingReportGenerator<>(plain);
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        try {
+            // Warm up both paths
+            plain.generateReport(data, parameters);
+            coalescing.generateReport(data, parameters);
+
+            double plainMillis = BenchmarkSuite.averageMillis(0, 3,
+                    () -> refresh(users, () -> plain.generateReport(data, parameters)));
+            long rendersBefore = coalescing.getRenderCount();
+            long coalescedBefore = coalescing.getCoalescedCount();
+            double coalescedMillis = BenchmarkSuite.averageMillis(0, 3,
+                    () -> refresh(users, () -> coalescing.generateReport(data, parameters)));
+
+            System.out.printf("%d concurrent requests, independent renders   %8.1f ms%n", USERS, plainMillis);
+            System.out.printf("%d concurrent requests, single-flight         %8.1f ms (renders: %d, coalesced: %d)%n",
+                    USERS, coalescedMillis, coalescing.getRenderCount() - rendersBefore,
+                    coalescing.getCoalescedCount() - coalescedBefore);
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private static void refresh(ExecutorService users, BenchmarkSuite.Action request) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            futures.add(users.submit(() -> {
+                start.await();
+                request.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
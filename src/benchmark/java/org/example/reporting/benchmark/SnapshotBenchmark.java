@@ -0,0 +1,64 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.codec.SnapshotReader;
+import org.example.reporting.codec.SnapshotWriter;
+import org.example.reporting.engine.ReportFingerprint;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.render.ReportFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the binary snapshot codec with the JSON output of the generator in size and speed,
+ * and the snapshot content hash with the SHA-256 report fingerprint.
+ */
+class SnapshotBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int EMPLOYEES = 5_000;
+    private static final int TASKS_PER_EMPLOYEE = 100;
+
+    @Override
+    public void run() throws Exception {
+        List<EmployeeLoad> data = SampleData.employeeLoad(EMPLOYEES, TASKS_PER_EMPLOYEE);
+        Map<String, Object> parameters = SampleData.periodParameters();
+        EmployeeLoadReportGenerator generator = new EmployeeLoadReportGenerator();
+
+        byte[] snapshot = encode(data);
+        StringWriter json = new StringWriter();
+        generator.renderReport(data, parameters, ReportFormat.JSON, json);
+        System.out.printf("%d employees, %d tasks%n", EMPLOYEES, EMPLOYEES * TASKS_PER_EMPLOYEE);
+        System.out.printf("JSON output        %10d bytes%n", json.toString().getBytes(StandardCharsets.UTF_8).length);
+        System.out.printf("Snapshot           %10d bytes%n", snapshot.length);
+
+        double jsonMillis = BenchmarkSuite.averageMillis(2, 5,
+                () -> generator.renderReport(data, parameters, ReportFormat.JSON, new StringWriter()));
+        double encodeMillis = BenchmarkSuite.averageMillis(2, 5, () -> encode(data));
+        double decodeMillis = BenchmarkSuite.averageMillis(2, 5, () -> {
+            try (SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(snapshot))) {
+                reader.readAll(EmployeeLoad.class);
+            }
+        });
+        double hashMillis = BenchmarkSuite.averageMillis(2, 5, () -> SnapshotWriter.contentHash(data));
+        double fingerprintMillis = BenchmarkSuite.averageMillis(2, 5,
+                () -> ReportFingerprint.of("employee-load", data, parameters));
+        System.out.printf("JSON render        %8.1f ms%n", jsonMillis);
+        System.out.printf("Snapshot encode    %8.1f ms%n", encodeMillis);
+        System.out.printf("Snapshot decode    %8.1f ms%n", decodeMillis);
+        System.out.printf("Content hash       %8.1f ms%n", hashMillis);
+        System.out.printf("ReportFingerprint  %8.1f ms%n", fingerprintMillis);
+    }
+
+    private static byte[] encode(List<EmployeeLoad> data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SnapshotWriter writer = new SnapshotWriter(out)) {
+            writer.writeAll(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,383 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.generator.TeamRankingKey;
+import org.example.reporting.ingest.ConstructionProgressCsvParser;
+import org.example.reporting.ingest.MappedCsvIngester;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+import org.example.reporting.storage.DailyRollupStore;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Entry point of the {@code soak} Gradle task. Runs the generators and the streaming paths over
+ * large synthetic data sets and fails when a scenario exceeds its limits on the peak live heap
+ * (see {@link HeapProbe}), the share of time in GC or the throughput, or runs out of memory. Runs the scenarios named
+ * on the command line, or all.
+ *
+ * Each scenario runs in its own JVM with the heap given by the {@code soak.heap} system property
+ * (192m by default), so that garbage, JIT state and heap sizing left by one scenario cannot hide
+ * or cause a failure of the next.
+ *
+ * Scenarios whose memory must not depend on the number of rows run twice, with half and with all
+ * of their rows, and also fail when the peak heap grows with the rows; the absolute limit alone
+ * would pass any leak that stays below it.
+ */
+public final class SoakSuite {
+
+    private static final Map<String, Scenario> SCENARIOS = new LinkedHashMap<>();
+
+    private static final String SCENARIO_ARGUMENT = "--scenario";
+    private static final String RESULT_PREFIX = "soak-result ";
+    private static final String DEFAULT_HEAP = "192m";
+
+    /**
+     * Allowed growth of the peak heap of a flat scenario from half to all of its rows: a
+     * factor, plus some megabytes for the sampling noise in small peaks.
+     */
+    private static final double MAX_HEAP_GROWTH = 1.25;
+    private static final double HEAP_GROWTH_SLACK_MB = 8;
+
+    // Limits: peak live heap in MB, share of time in GC, rows per second; then the rows
+    static {
+        // The delayed rows (a quarter of the sample) are kept to sort the analysis section, so the
+        // heap grows with the rows by design
+        SCENARIOS.put("construction-streaming",
+                new Scenario(96, 0.30, 2_000, 1_000_000, false, SoakSuite::constructionStreaming));
+        // The live set is a few chunks
+        SCENARIOS.put("csv-streaming",
+                new Scenario(64, 0.30, 100_000, 2_000_000, true, new CsvStreaming()));
+        // 40 employees; the input list itself takes about 40 MB
+        SCENARIOS.put("employee-load-bounded",
+                new Scenario(96, 0.30, 20_000, 200_000, false, SoakSuite::employeeLoadBounded));
+        // Top and bottom 20 with the compact appendix of all other teams
+        SCENARIOS.put("team-ranking",
+                new Scenario(96, 0.30, 4_000, 100_000, false, SoakSuite::teamRanking));
+        // Bounded by the number of daily buckets, not by the number of tasks
+        SCENARIOS.put("rollup-ingest",
+                new Scenario(96, 0.30, 50_000, 2_000_000, true, new RollupIngest()));
+    }
+
+    private static final int EMPLOYEES = 40;
+
+    private SoakSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals(SCENARIO_ARGUMENT)) {
+            // In the forked JVM: run one scenario and report the result through the exit code
+            String failure = scenario(args[1]).run(args[1], Integer.parseInt(args[2]));
+            System.exit(failure != null ? 1 : 0);
+        }
+        List<String> names = args.length > 0 ? List.of(args) : new ArrayList<>(SCENARIOS.keySet());
+        for (String name : names) {
+            scenario(name);
+        }
+        String heap = System.getProperty("soak.heap", DEFAULT_HEAP);
+        System.out.printf("Max heap %s, one JVM per scenario%n", heap);
+        System.out.printf("%-24s %10s %10s %12s %16s %12s  %s%n",
+                "scenario", "rows", "ms", "rows/s", "peak heap MB", "GC ms (%)", "result");
+        List<String> failures = new ArrayList<>();
+        for (String name : names) {
+            Scenario scenario = scenario(name);
+            if (!scenario.flat) {
+                fork(name, scenario.rows, heap, failures);
+                continue;
+            }
+            Double half = fork(name, scenario.rows / 2, heap, failures);
+            Double full = fork(name, scenario.rows, heap, failures);
+            if (half != null && full != null) {
+                double allowed = half * MAX_HEAP_GROWTH + HEAP_GROWTH_SLACK_MB;
+                boolean flat = full <= allowed;
+                System.out.printf("%-24s %10s %10s %12s %8.1f / %-5.0f %12s  %s%n",
+                        name, "x2", "", "", full, allowed, "",
+                        flat ? "ok, flat" : "FAIL: peak heap grows with the rows");
+                if (!flat) {
+                    failures.add(String.format("%s (peak heap %.1f MB at %d rows, %.1f MB at %d rows)",
+                            name, half, scenario.rows / 2, full, scenario.rows));
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Soak limits exceeded: " + failures);
+        }
+    }
+
+    private static Scenario scenario(String name) {
+        Scenario scenario = SCENARIOS.get(name);
+        if (scenario == null) {
+            throw new IllegalArgumentException("Unknown scenario: " + name + ", available: " + SCENARIOS.keySet());
+        }
+        return scenario;
+    }
+
+    /**
+     * Runs one scenario in a new JVM with the same class path and the given heap, passing its
+     * output through.
+     *
+     * @param failures Receives the scenario if it fails
+     * @return The peak heap after GC in MB, or null if the scenario did not finish
+     */
+    private static Double fork(String name, int rows, String heap, List<String> failures)
+            throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx" + heap, "-Dfile.encoding=UTF-8",
+                "-cp", System.getProperty("java.class.path"), SoakSuite.class.getName(), SCENARIO_ARGUMENT, name,
+                Integer.toString(rows))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        Double peakHeapMb = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    peakHeapMb = Double.parseDouble(line.substring(RESULT_PREFIX.length()));
+                } else {
+                    System.out.println(line);
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            failures.add(name + " at " + rows + " rows (exit code " + exitCode + ")");
+        }
+        return peakHeapMb;
+    }
+
+    // Rows are generated while the report is written, so only the generator holds memory
+    private static long constructionStreaming(int count) throws Exception {
+        Random random = new Random(42);
+        Iterable<ConstructionProgress> rows = () -> new Iterator<ConstructionProgress>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public ConstructionProgress next() {
+                return SampleData.constructionRow(random, next++);
+            }
+        };
+        Map<String, Object> parameters = SampleData.periodParameters();
+        parameters.put("completedPercentage", 25);
+        parameters.put("delayedCount", count / 4);
+        new ConstructionProgressReportGenerator().writeReport(rows, parameters, OutputStream.nullOutputStream());
+        return count;
+    }
+
+    private static long employeeLoadBounded(int tasks) throws Exception {
+        int tasksPerEmployee = tasks / EMPLOYEES;
+        List<EmployeeLoad> data = SampleData.employeeLoad(EMPLOYEES, tasksPerEmployee);
+        Map<String, Object> parameters = SampleData.periodParameters();
+        parameters.put("taskLimit", 100);
+        parameters.put("groupByStatus", true);
+        new EmployeeLoadReportGenerator().writeReport(data, parameters, OutputStream.nullOutputStream());
+        return (long) EMPLOYEES * tasksPerEmployee;
+    }
+
+    private static long teamRanking(int teams) throws Exception {
+        List<TeamEfficiency> data = SampleData.teamEfficiency(teams);
+        Map<String, Object> parameters = SampleData.teamParameters(data);
+        parameters.put("rankBy", TeamRankingKey.EFFICIENCY_SCORE);
+        parameters.put("rankTop", 20);
+        parameters.put("rankBottom", 20);
+        new TeamEfficiencyReportGenerator().writeReport(data, parameters, OutputStream.nullOutputStream());
+        return teams;
+    }
+
+    /**
+     * Reads a construction export in batches, keeping only counts.
+     */
+    private static final class CsvStreaming implements Workload {
+
+        private Path file;
+
+        @Override
+        public void prepare(int rows) throws IOException {
+            file = Files.createTempFile("soak-construction", ".csv");
+            Random random = new Random(42);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("task_name,status,planned_end,actual_end,is_delayed,delay_in_days,"
+                        + "completion_percentage\n");
+                for (int i = 0; i < rows; i++) {
+                    ConstructionProgress row = SampleData.constructionRow(random, i);
+                    writer.write("\"" + row.getTaskName() + "\"," + row.getStatus() + "," + row.getPlannedEnd() + ","
+                            + (row.getActualEnd() != null ? row.getActualEnd() : "") + "," + row.isDelayed() + ","
+                            + row.getDelayInDays() + "," + row.getCompletionPercentage() + "\n");
+                }
+            }
+        }
+
+        @Override
+        public long run(int expected) throws Exception {
+            MappedCsvIngester<ConstructionProgress> ingester =
+                    new MappedCsvIngester<>(new ConstructionProgressCsvParser());
+            ingester.setChunkSize(4 * 1024 * 1024);
+            long[] delayed = new long[1];
+            long rows = ingester.forEachBatch(file, batch -> {
+                for (ConstructionProgress progress : batch) {
+                    if (progress.isDelayed()) {
+                        delayed[0]++;
+                    }
+                }
+            });
+            if (rows != expected) {
+                throw new IllegalStateException("Read " + rows + " rows instead of " + expected);
+            }
+            return rows;
+        }
+
+        @Override
+        public void cleanUp() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Feeds generated tasks into a rollup store in batches, then builds a yearly team input.
+     */
+    private static final class RollupIngest implements Workload {
+
+        private static final int BATCH = 1_000;
+        private static final int ROLLUP_EMPLOYEES = 500;
+        private Path directory;
+
+        @Override
+        public void prepare(int tasks) throws IOException {
+            directory = Files.createTempDirectory("soak-rollup");
+        }
+
+        @Override
+        public long run(int tasks) throws Exception {
+            Random random = new Random(7);
+            try (DailyRollupStore store = DailyRollupStore.open(directory.resolve("rollup.log"))) {
+                List<TaskDetail> batch = new ArrayList<>(BATCH);
+                for (int i = 0; i < tasks; i++) {
+                    batch.add(SampleData.taskRow(random, i));
+                    if (batch.size() == BATCH) {
+                        int employeeId = (i / BATCH) % ROLLUP_EMPLOYEES + 1;
+                        store.addTasks("Zespół " + (employeeId % 50 + 1), employeeId, "Pracownik " + employeeId,
+                                batch);
+                        batch.clear();
+                    }
+                }
+                store.teamEfficiency(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+            }
+            return tasks;
+        }
+
+        @Override
+        public void cleanUp() throws IOException {
+            Files.deleteIfExists(directory.resolve("rollup.log"));
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * The measured work of a scenario, with optional unmeasured setup and clean-up.
+     */
+    interface Workload {
+
+        /**
+         * Runs the scenario over about the given number of rows and returns the number processed.
+         */
+        long run(int rows) throws Exception;
+
+        default void prepare(int rows) throws Exception {
+        }
+
+        default void cleanUp() throws Exception {
+        }
+    }
+
+    /**
+     * A workload with its agreed limits.
+     */
+    private static final class Scenario {
+
+        private final double maxPeakHeapMb;
+        private final double maxGcShare;
+        private final double minRowsPerSecond;
+        private final int rows;
+        private final boolean flat;
+        private final Workload workload;
+
+        /**
+         * @param flat Whether the memory must not grow with the rows
+         */
+        Scenario(double maxPeakHeapMb, double maxGcShare, double minRowsPerSecond, int rows, boolean flat,
+                 Workload workload) {
+            this.maxPeakHeapMb = maxPeakHeapMb;
+            this.maxGcShare = maxGcShare;
+            this.minRowsPerSecond = minRowsPerSecond;
+            this.rows = rows;
+            this.flat = flat;
+            this.workload = workload;
+        }
+
+        /**
+         * Runs the workload, prints its measurements and the peak heap for the parent JVM.
+         *
+         * @return The exceeded limits, or null if the scenario passed
+         */
+        String run(String name, int count) throws Exception {
+            workload.prepare(count);
+            try {
+                long rows;
+                HeapProbe probe = new HeapProbe();
+                try {
+                    rows = workload.run(count);
+                } catch (OutOfMemoryError e) {
+                    probe.close();
+                    System.out.printf("%-24s %10s %10.0f %12s %16s %12s  FAIL: out of memory%n",
+                            name, "-", probe.getElapsedMillis(), "-", "-", "-");
+                    return "out of memory";
+                }
+                probe.close();
+                double rowsPerSecond = rows / (probe.getElapsedMillis() / 1000.0);
+                List<String> exceeded = new ArrayList<>();
+                if (probe.getPeakHeapMb() > maxPeakHeapMb) {
+                    exceeded.add(String.format("peak heap %.1f MB > %.0f MB", probe.getPeakHeapMb(), maxPeakHeapMb));
+                }
+                if (probe.getGcShare() > maxGcShare) {
+                    exceeded.add(String.format("GC %.0f%% > %.0f%%", probe.getGcShare() * 100, maxGcShare * 100));
+                }
+                if (rowsPerSecond < minRowsPerSecond) {
+                    exceeded.add(String.format("%.0f rows/s < %.0f", rowsPerSecond, minRowsPerSecond));
+                }
+                System.out.printf("%-24s %10d %10.0f %12.0f %8.1f / %-5.0f %6d (%2.0f%%)  %s%n",
+                        name, rows, probe.getElapsedMillis(), rowsPerSecond, probe.getPeakHeapMb(), maxPeakHeapMb,
+                        probe.getGcMillis(), probe.getGcShare() * 100,
+                        exceeded.isEmpty() ? "ok" : "FAIL: " + String.join(", ", exceeded));
+                System.out.println(RESULT_PREFIX + String.format(Locale.ROOT, "%.3f", probe.getPeakHeapMb()));
+                return exceeded.isEmpty() ? null : String.join(", ", exceeded);
+            } finally {
+                workload.cleanUp();
+            }
+        }
+    }
+}
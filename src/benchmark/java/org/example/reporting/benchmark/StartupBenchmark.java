@@ -0,0 +1,80 @@
+package org.example.reporting.benchmark;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the latency of the first report in fresh JVMs: cold, after {@code ReportEngine.warmUp()},
+ * and cold with the AppCDS archive of the {@code cdsArchive} Gradle task when it exists.
+ */
+class StartupBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int FORKS = 3;
+
+    @Override
+    public void run() throws Exception {
+        measure("cold", "cold", null);
+        measure("warmed up", "warm", null);
+        String archive = System.getProperty("reporting.cdsArchive");
+        if (archive != null && Files.exists(Paths.get(archive))) {
+            measure("cold, AppCDS", "cold", archive);
+            measure("warmed up, AppCDS", "warm", archive);
+        } else {
+            System.out.println("(no AppCDS archive; run `gradle cdsArchive` to include it)");
+        }
+    }
+
+    private static void measure(String label, String mode, String archive) throws Exception {
+        double[] firstReport = new double[FORKS];
+        double[] warmUp = new double[FORKS];
+        for (int i = 0; i < FORKS; i++) {
+            double[] result = fork(mode, archive);
+            warmUp[i] = result[0];
+            firstReport[i] = result[1];
+        }
+        System.out.printf("%-20s first report %8.1f ms   warm-up %8.1f ms   (median of %d JVMs)%n",
+                label, median(firstReport), median(warmUp), FORKS);
+    }
+
+    private static double[] fork(String mode, String archive) throws Exception {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        List<String> command = new ArrayList<>(Arrays.asList(java.toString(), "-Xmx512m", "-Dfile.encoding=UTF-8"));
+        String classpath = System.getProperty("java.class.path");
+        if (archive != null) {
+            // The archive is only used with the jar class path it was created with
+            command.add("-XX:SharedArchiveFile=" + archive);
+            classpath = System.getProperty("reporting.cdsClasspath", classpath);
+        }
+        command.addAll(Arrays.asList("-cp", classpath,
+                StartupProbe.class.getName(), mode));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String last = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("Picked up")) {
+                    last = line;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || last == null) {
+            throw new IllegalStateException("Startup probe failed: " + last);
+        }
+        String[] values = last.trim().split(" ");
+        return new double[]{Double.parseDouble(values[0]), Double.parseDouble(values[1])};
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.engine.ReportEngine;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs in a fresh JVM forked by {@link StartupBenchmark}: optionally warms up, then generates
+ * the first report and prints {@code warmUpMillis firstReportMillis jvmStartMillis}.
+ */
+public final class StartupProbe {
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean warm = args.length > 0 && "warm".equals(args[0]);
+        long jvmStartMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        Duration warmUp = warm ? ReportEngine.warmUp() : Duration.ZERO;
+
+        // The first user request
+        List<ConstructionProgress> data = SampleData.constructionProgress(200);
+        Map<String, Object> parameters = SampleData.constructionParameters(data);
+        long start = System.nanoTime();
+        new ConstructionProgressReportGenerator().generateReport(data, parameters);
+        double firstReportMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Parsed by the parent JVM, so the decimal separator must not depend on the default locale
+        System.out.println(String.format(Locale.ROOT, "%d %.1f %d", warmUp.toMillis(), firstReportMillis,
+                jvmStartMillis));
+    }
+}
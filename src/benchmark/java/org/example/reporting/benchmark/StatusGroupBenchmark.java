@@ -0,0 +1,34 @@
+package org.example.reporting.benchmark;
+
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.model.EmployeeLoad;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the flat task tables of the employee load report with the status-grouped ones.
+ */
+class StatusGroupBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int EMPLOYEES = 20;
+    private static final int TASKS_PER_EMPLOYEE = 1_000;
+
+    @Override
+    public void run() throws Exception {
+        List<EmployeeLoad> data = SampleData.employeeLoad(EMPLOYEES, TASKS_PER_EMPLOYEE);
+        EmployeeLoadReportGenerator generator = new EmployeeLoadReportGenerator();
+        Map<String, Object> flat = SampleData.periodParameters();
+        Map<String, Object> grouped = SampleData.periodParameters();
+        grouped.put("groupByStatus", true);
+
+        double flatMillis = BenchmarkSuite.averageMillis(5, 5,
+                () -> generator.writeReport(data, flat, OutputStream.nullOutputStream()));
+        double groupedMillis = BenchmarkSuite.averageMillis(5, 5,
+                () -> generator.writeReport(data, grouped, OutputStream.nullOutputStream()));
+        System.out.printf("%d employees x %d tasks%n", EMPLOYEES, TASKS_PER_EMPLOYEE);
+        System.out.printf("Flat task tables     %8.1f ms%n", flatMillis);
+        System.out.printf("Grouped by status    %8.1f ms%n", groupedMillis);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.reporting.benchmark;
+
+import com.itextpdf.text.pdf.PdfReader;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.generator.TeamRanking;
+import org.example.reporting.generator.TeamRankingKey;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the team efficiency report with every team shown in full against top/bottom
+ * selections with and without the appendix, and the ranking with the sorted appendix against
+ * the heap selection alone.
+ */
+class TeamRankingBenchmark implements BenchmarkSuite.Benchmark {
+
+    private static final int TEAMS = 3_000;
+
+    @Override
+    public void run() throws Exception {
+        List<TeamEfficiency> data = SampleData.teamEfficiency(TEAMS);
+        TeamEfficiencyReportGenerator generator = new TeamEfficiencyReportGenerator();
+
+        Map<String, Object> all = SampleData.teamParameters(data);
+        Map<String, Object> withAppendix = new HashMap<>(all);
+        withAppendix.put("rankBy", "efficiency_score");
+        withAppendix.put("rankTop", 20);
+        withAppendix.put("rankBottom", 10);
+        Map<String, Object> topOnly = new HashMap<>(withAppendix);
+        topOnly.put("rankAppendix", false);
+
+        System.out.printf("%d teams%n", TEAMS);
+        report("All teams in full", generator, data, all);
+        report("Top 20 + bottom 10, appendix", generator, data, withAppendix);
+        report("Top 20 + bottom 10", generator, data, topOnly);
+
+        double sorted = BenchmarkSuite.averageMillis(20, 200,
+                () -> TeamRanking.rank(data, TeamRankingKey.EFFICIENCY_SCORE, 20, 10, true));
+        double heap = BenchmarkSuite.averageMillis(20, 200,
+                () -> TeamRanking.rank(data, TeamRankingKey.EFFICIENCY_SCORE, 20, 10, false));
+        System.out.printf("Ranking, with appendix  %8.3f ms%n", sorted);
+        System.out.printf("Ranking, bounded heaps  %8.3f ms%n", heap);
+    }
+
+    private static void report(String label, TeamEfficiencyReportGenerator generator, List<TeamEfficiency> data,
+                               Map<String, Object> parameters) throws Exception {
+        byte[] pdf = generator.generateReport(data, parameters);
+        double millis = BenchmarkSuite.averageMillis(1, 3, () -> generator.generateReport(data, parameters));
+        PdfReader reader = new PdfReader(pdf);
+        System.out.printf("%-30s %8.1f ms %10d bytes %5d pages%n", label, millis, pdf.length,
+                reader.getNumberOfPages());
+        reader.close();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.reporting.codec;
+
+import java.time.LocalDate;
+
+/**
+ * Constants of the snapshot format shared by {@link SnapshotWriter} and {@link SnapshotReader}.
+ *
+ * A snapshot is the magic bytes and a version, followed by records of one tag byte and the
+ * fields of a model object, an end tag, the row count and the 64-bit hash of all preceding bytes.
+ * Numbers are zigzag varints, with 0 reserved for null where the field is nullable; dates are
+ * days relative to 2020-01-01; strings are references into a dictionary built while writing.
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'R', 'S', 'N', 'P'};
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int CONSTRUCTION_PROGRESS = 1;
+    static final int EMPLOYEE_LOAD = 2;
+    static final int TASK_DETAIL = 3;
+    static final int TEAM_EFFICIENCY = 4;
+
+    /**
+     * Dates are stored relative to this day, so current dates take two bytes.
+     */
+    static final long DATE_BASE = LocalDate.of(2020, 1, 1).toEpochDay();
+
+    /**
+     * Strings longer than this are written inline every time instead of entering the dictionary.
+     */
+    static final int MAX_DICTIONARY_STRING = 256;
+
+    /**
+     * Entries after which the dictionary stops growing; unique values like task names would
+     * otherwise fill it.
+     */
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private SnapshotFormat() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Returns whether the value survives scaling to hundredths, so it can be stored as a varint.
+     */
+    static boolean isCents(double value) {
+        double scaled = value * 100;
+        long cents = (long) scaled;
+        return cents == scaled && Math.abs(cents) < (1L << 52) && cents / 100.0 == value
+                && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.reporting.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming 64-bit hash of the encoded snapshot bytes, processed eight bytes at a time.
+ * The result does not depend on how the bytes are split between updates. It detects changed
+ * or corrupted snapshots; it is not a cryptographic hash.
+ */
+final class SnapshotHash {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final long K1 = 0x9E3779B97F4A7C15L;
+    private static final long K2 = 0xC2B2AE3D27D4EB4FL;
+
+    private long state = 0x27D4EB2F165667C5L;
+    private long pending;
+    private int pendingBytes;
+    private long length;
+
+    void update(byte[] bytes, int offset, int count) {
+        length += count;
+        int position = offset;
+        int end = offset + count;
+        // Complete a word left over from the previous update
+        while (pendingBytes != 0 && position < end) {
+            pending |= (bytes[position++] & 0xFFL) << (pendingBytes * 8);
+            if (++pendingBytes == 8) {
+                mix(pending);
+                pending = 0;
+                pendingBytes = 0;
+            }
+        }
+        for (; position + 8 <= end; position += 8) {
+            mix((long) LONGS.get(bytes, position));
+        }
+        while (position < end) {
+            pending |= (bytes[position++] & 0xFFL) << (pendingBytes * 8);
+            pendingBytes++;
+        }
+    }
+
+    long value() {
+        long hash = state;
+        if (pendingBytes != 0) {
+            hash = Long.rotateLeft(hash ^ pending * K1, 31) * K2;
+        }
+        hash ^= length;
+        // Final avalanche of MurmurHash3
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void mix(long word) {
+        state = Long.rotateLeft(state ^ word * K1, 31) * K2;
+    }
+}
@@ -0,0 +1,358 @@
+package org.example.reporting.codec;
+
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}, row by row.
+ *
+ * The hash stored in the trailer is checked when the end is reached, so a truncated or
+ * corrupted snapshot fails with an IOException. Maps are read into LinkedHashMaps in the
+ * original order.
+ *
+ * Not thread-safe.
+ */
+public class SnapshotReader implements Closeable {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[SnapshotFormat.BUFFER_SIZE];
+    private final SnapshotHash hash = new SnapshotHash();
+    private final List<String> dictionary = new ArrayList<>();
+    private int position;
+    private int limit;
+    private int hashedFrom;
+    private long rowCount;
+    private Long contentHash;
+
+    /**
+     * @param in The stream to read from; reads are buffered, so it need not be buffered itself
+     * @throws IOException If the stream does not start with a snapshot header
+     */
+    public SnapshotReader(InputStream in) throws IOException {
+        this.in = in;
+        ensure(SnapshotFormat.MAGIC.length + 1);
+        for (byte b : SnapshotFormat.MAGIC) {
+            if (buffer[position++] != b) {
+                throw new IOException("Strumień nie zawiera snapshotu danych raportu");
+            }
+        }
+        int version = buffer[position++];
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Nieobsługiwana wersja snapshotu: " + version);
+        }
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return A model object, or null after the last row
+     * @throws IOException If the stream cannot be read or the snapshot is corrupted
+     */
+    public Object read() throws IOException {
+        if (contentHash != null) {
+            return null;
+        }
+        Object row;
+        int tag = readByte();
+        switch (tag) {
+            case SnapshotFormat.CONSTRUCTION_PROGRESS:
+                row = readConstructionProgress();
+                break;
+            case SnapshotFormat.EMPLOYEE_LOAD:
+                row = readEmployeeLoad();
+                break;
+            case SnapshotFormat.TASK_DETAIL:
+                row = readTaskDetail();
+                break;
+            case SnapshotFormat.TEAM_EFFICIENCY:
+                row = readTeamEfficiency();
+                break;
+            case SnapshotFormat.END:
+                readTrailer();
+                return null;
+            default:
+                throw new IOException("Uszkodzony snapshot: nieznany typ wiersza " + tag);
+        }
+        rowCount++;
+        return row;
+    }
+
+    /**
+     * Reads all remaining rows.
+     *
+     * @param type The expected model class
+     * @return The rows
+     * @throws IOException If the stream cannot be read, the snapshot is corrupted or holds
+     *                     rows of another type
+     */
+    public <T> List<T> readAll(Class<T> type) throws IOException {
+        List<T> rows = new ArrayList<>();
+        Object row;
+        while ((row = read()) != null) {
+            if (!type.isInstance(row)) {
+                throw new IOException("Snapshot zawiera wiersz typu " + row.getClass().getSimpleName()
+                        + ", oczekiwano " + type.getSimpleName());
+            }
+            rows.add(type.cast(row));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows read so far.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the verified content hash, equal to the one returned by
+     * {@link SnapshotWriter#finish()}.
+     *
+     * @throws IllegalStateException If the end of the snapshot has not been reached yet
+     */
+    public long getContentHash() {
+        if (contentHash == null) {
+            throw new IllegalStateException("Snapshot nie został jeszcze wczytany do końca");
+        }
+        return contentHash;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readTrailer() throws IOException {
+        long count = readVarLong();
+        hash.update(buffer, hashedFrom, position - hashedFrom);
+        hashedFrom = position;
+        ensure(8);
+        long stored = 0;
+        for (int i = 0; i < 8; i++) {
+            stored |= (buffer[position++] & 0xFFL) << (i * 8);
+        }
+        long computed = hash.value();
+        if (count != rowCount || stored != computed) {
+            throw new IOException("Uszkodzony snapshot: niezgodna suma kontrolna");
+        }
+        contentHash = computed;
+    }
+
+    private ConstructionProgress readConstructionProgress() throws IOException {
+        return new ConstructionProgress(
+                readString(),
+                readString(),
+                readDate(),
+                readDate(),
+                readByte() != 0,
+                readInteger(),
+                readInteger());
+    }
+
+    private EmployeeLoad readEmployeeLoad() throws IOException {
+        Integer employeeId = readInteger();
+        String employeeName = readString();
+        Integer taskCount = readInteger();
+        Double totalHours = readDouble();
+        Double fteEquivalent = readDouble();
+        List<TaskDetail> tasks = null;
+        long size = readVarLong();
+        if (size != 0) {
+            // The size comes from the stream, so do not trust it for preallocation
+            tasks = new ArrayList<>(Math.min(checkedSize(size - 1), 1024));
+            for (long i = 1; i < size; i++) {
+                tasks.add(readByte() != 0 ? readTaskDetail() : null);
+            }
+        }
+        return new EmployeeLoad(employeeId, employeeName, taskCount, totalHours, fteEquivalent, tasks,
+                readCounts());
+    }
+
+    private TaskDetail readTaskDetail() throws IOException {
+        return new TaskDetail(
+                readInteger(),
+                readString(),
+                readString(),
+                readString(),
+                readDate(),
+                readDate(),
+                readDate(),
+                readDouble(),
+                readByte() != 0);
+    }
+
+    private TeamEfficiency readTeamEfficiency() throws IOException {
+        TeamEfficiency team = new TeamEfficiency();
+        team.setTeamName(readString());
+        team.setAvgCompletionHours(readDouble());
+        team.setOpenIssues(readInteger());
+        team.setClosedIssues(readInteger());
+        team.setCompletedTasksCount(readInteger());
+        team.setTotalTasksCount(readInteger());
+        team.setOnTimeTasksCount(readInteger());
+        team.setDelayedTasksCount(readInteger());
+        team.setAvgDelayDays(readDouble());
+        team.setActiveTeamMembersCount(readInteger());
+        team.setTasksPerMember(readDouble());
+        team.setTasksByPriority(readCounts());
+        team.setEfficiencyScore(readDouble());
+        int hasNoTasks = readByte();
+        team.setHasNoTasks(hasNoTasks == 0 ? null : hasNoTasks == 2);
+        return team;
+    }
+
+    private Map<String, Integer> readCounts() throws IOException {
+        long size = readVarLong();
+        if (size == 0) {
+            return null;
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (long i = 1; i < size; i++) {
+            counts.put(readString(), readInteger());
+        }
+        return counts;
+    }
+
+    private Integer readInteger() throws IOException {
+        long value = readVarLong();
+        return value == 0 ? null : (int) SnapshotFormat.unzigzag(value - 1);
+    }
+
+    private LocalDate readDate() throws IOException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        try {
+            return LocalDate.ofEpochDay(Math.addExact(SnapshotFormat.unzigzag(value - 1), SnapshotFormat.DATE_BASE));
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IOException("Uszkodzony snapshot: niepoprawna data", e);
+        }
+    }
+
+    private Double readDouble() throws IOException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        if (value == 1) {
+            ensure(8);
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits |= (buffer[position++] & 0xFFL) << (i * 8);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+        return SnapshotFormat.unzigzag(value - 2) / 100.0;
+    }
+
+    private String readString() throws IOException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        if (value > 1) {
+            if (value - 2 >= dictionary.size()) {
+                throw new IOException("Uszkodzony snapshot: nieznany indeks słownika " + (value - 2));
+            }
+            return dictionary.get((int) (value - 2));
+        }
+        int length = checkedSize(readVarLong());
+        String string;
+        if (length <= buffer.length) {
+            ensure(length);
+            string = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+        } else {
+            // The length comes from the stream, so grow with the bytes actually read instead of trusting it
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(buffer.length * 2);
+            int copied = 0;
+            while (copied < length) {
+                int chunk = Math.min(length - copied, buffer.length);
+                ensure(chunk);
+                bytes.write(buffer, position, chunk);
+                position += chunk;
+                copied += chunk;
+            }
+            string = bytes.toString(StandardCharsets.UTF_8);
+        }
+        if (string.length() <= SnapshotFormat.MAX_DICTIONARY_STRING
+                && dictionary.size() < SnapshotFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.add(string);
+        }
+        return string;
+    }
+
+    private int readByte() throws IOException {
+        ensure(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    private long readVarLong() throws IOException {
+        if (limit - position < 10) {
+            // Near the end of the buffered bytes: read byte by byte
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Uszkodzony snapshot: niepoprawna liczba");
+        }
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Uszkodzony snapshot: niepoprawna liczba");
+    }
+
+    private static int checkedSize(long size) throws IOException {
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Uszkodzony snapshot: niepoprawny rozmiar " + size);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Makes at least the given number of bytes available in the buffer, hashing the consumed ones.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (limit - position >= bytes) {
+            return;
+        }
+        hash.update(buffer, hashedFrom, position - hashedFrom);
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        hashedFrom = 0;
+        while (limit < bytes) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                throw new EOFException("Snapshot jest niekompletny");
+            }
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package org.example.reporting.codec;
+
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes report input data as a compact binary snapshot, row by row.
+ *
+ * Accepts the model classes {@link ConstructionProgress}, {@link EmployeeLoad} (with its tasks),
+ * {@link TaskDetail} and {@link TeamEfficiency}, in any mix. A hash of the encoded bytes is
+ * computed while writing; equal data written in the same order gives equal snapshots and hashes.
+ * Read snapshots back with {@link SnapshotReader}.
+ *
+ * Not thread-safe.
+ */
+public class SnapshotWriter implements Closeable {
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[SnapshotFormat.BUFFER_SIZE];
+    private final SnapshotHash hash = new SnapshotHash();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private int position;
+    private long bytesWritten;
+    private long rowCount;
+    private boolean finished;
+
+    /**
+     * @param out The stream to write to; writes are buffered, so it need not be buffered itself
+     * @throws IOException If the header cannot be written
+     */
+    public SnapshotWriter(OutputStream out) throws IOException {
+        this.out = out;
+        System.arraycopy(SnapshotFormat.MAGIC, 0, buffer, 0, SnapshotFormat.MAGIC.length);
+        position = SnapshotFormat.MAGIC.length;
+        buffer[position++] = (byte) SnapshotFormat.VERSION;
+    }
+
+    /**
+     * Computes the content hash of the rows without writing them anywhere, e.g. to check whether
+     * the input of a report has changed.
+     *
+     * @param rows Model objects
+     * @return The hash the snapshot of the rows would have
+     */
+    public static long contentHash(Iterable<?> rows) {
+        try (SnapshotWriter writer = new SnapshotWriter(OutputStream.nullOutputStream())) {
+            writer.writeAll(rows);
+            return writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param row A model object
+     * @throws IllegalArgumentException If the row is null or not a model class
+     * @throws IOException If the stream cannot be written
+     */
+    public void write(Object row) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Snapshot został już zamknięty");
+        }
+        if (row instanceof ConstructionProgress) {
+            writeByte(SnapshotFormat.CONSTRUCTION_PROGRESS);
+            writeConstructionProgress((ConstructionProgress) row);
+        } else if (row instanceof EmployeeLoad) {
+            writeByte(SnapshotFormat.EMPLOYEE_LOAD);
+            writeEmployeeLoad((EmployeeLoad) row);
+        } else if (row instanceof TaskDetail) {
+            writeByte(SnapshotFormat.TASK_DETAIL);
+            writeTaskDetail((TaskDetail) row);
+        } else if (row instanceof TeamEfficiency) {
+            writeByte(SnapshotFormat.TEAM_EFFICIENCY);
+            writeTeamEfficiency((TeamEfficiency) row);
+        } else {
+            throw new IllegalArgumentException("Nieobsługiwany typ wiersza: "
+                    + (row == null ? "null" : row.getClass().getName()));
+        }
+        rowCount++;
+    }
+
+    /**
+     * Appends all rows, e.g. a list or a {@code RowSource}.
+     */
+    public void writeAll(Iterable<?> rows) throws IOException {
+        for (Object row : rows) {
+            write(row);
+        }
+    }
+
+    /**
+     * Writes the trailer and flushes the stream, without closing it. Further calls return the
+     * same hash.
+     *
+     * @return The content hash of the snapshot
+     */
+    public long finish() throws IOException {
+        if (!finished) {
+            writeByte(SnapshotFormat.END);
+            writeVarLong(rowCount);
+            drain();
+            long value = hash.value();
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+            out.write(buffer, 0, position);
+            bytesWritten += position;
+            position = 0;
+            out.flush();
+            finished = true;
+        }
+        return hash.value();
+    }
+
+    /**
+     * Finishes the snapshot and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the bytes passed to the stream so far, including the trailer once finished.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeConstructionProgress(ConstructionProgress progress) throws IOException {
+        writeString(progress.getTaskName());
+        writeString(progress.getStatus());
+        writeDate(progress.getPlannedEnd());
+        writeDate(progress.getActualEnd());
+        writeByte(progress.isDelayed() ? 1 : 0);
+        writeInteger(progress.getDelayInDays());
+        writeInteger(progress.getCompletionPercentage());
+    }
+
+    private void writeEmployeeLoad(EmployeeLoad employee) throws IOException {
+        writeInteger(employee.getEmployeeId());
+        writeString(employee.getEmployeeName());
+        writeInteger(employee.getTaskCount());
+        writeDouble(employee.getTotalHours());
+        writeDouble(employee.getFteEquivalent());
+        List<TaskDetail> tasks = employee.getTasks();
+        if (tasks == null) {
+            writeVarLong(0);
+        } else {
+            writeVarLong(tasks.size() + 1L);
+            for (TaskDetail task : tasks) {
+                if (task == null) {
+                    writeByte(0);
+                } else {
+                    writeByte(1);
+                    writeTaskDetail(task);
+                }
+            }
+        }
+        writeCounts(employee.getTasksByStatus());
+    }
+
+    private void writeTaskDetail(TaskDetail task) throws IOException {
+        writeInteger(task.getTaskId());
+        writeString(task.getTaskName());
+        writeString(task.getStatus());
+        writeString(task.getPriority());
+        writeDate(task.getStartDate());
+        writeDate(task.getDeadlineDate());
+        writeDate(task.getCompletedDate());
+        writeDouble(task.getEstimatedHours());
+        writeByte(task.isDelayed() ? 1 : 0);
+    }
+
+    private void writeTeamEfficiency(TeamEfficiency team) throws IOException {
+        writeString(team.getTeamName());
+        writeDouble(team.getAvgCompletionHours());
+        writeInteger(team.getOpenIssues());
+        writeInteger(team.getClosedIssues());
+        writeInteger(team.getCompletedTasksCount());
+        writeInteger(team.getTotalTasksCount());
+        writeInteger(team.getOnTimeTasksCount());
+        writeInteger(team.getDelayedTasksCount());
+        writeDouble(team.getAvgDelayDays());
+        writeInteger(team.getActiveTeamMembersCount());
+        writeDouble(team.getTasksPerMember());
+        writeCounts(team.getTasksByPriority());
+        writeDouble(team.getEfficiencyScore());
+        Boolean hasNoTasks = team.getHasNoTasks();
+        writeByte(hasNoTasks == null ? 0 : hasNoTasks ? 2 : 1);
+    }
+
+    // Maps like tasksByStatus: size + 1 (0 for null), then key and value pairs in map order
+    private void writeCounts(Map<String, Integer> counts) throws IOException {
+        if (counts == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(counts.size() + 1L);
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            writeString(entry.getKey());
+            writeInteger(entry.getValue());
+        }
+    }
+
+    private void writeInteger(Integer value) throws IOException {
+        writeVarLong(value == null ? 0 : SnapshotFormat.zigzag(value) + 1);
+    }
+
+    private void writeDate(LocalDate date) throws IOException {
+        writeVarLong(date == null ? 0 : SnapshotFormat.zigzag(date.toEpochDay() - SnapshotFormat.DATE_BASE) + 1);
+    }
+
+    // 0 for null, 1 followed by the raw bits, otherwise the value in hundredths + 2
+    private void writeDouble(Double value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+        } else if (SnapshotFormat.isCents(value)) {
+            writeVarLong(SnapshotFormat.zigzag((long) (value * 100)) + 2);
+        } else {
+            writeVarLong(1);
+            ensure(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (bits >>> (i * 8));
+            }
+        }
+    }
+
+    // 0 for null, 1 for a new string followed by its length and UTF-8 bytes, otherwise index + 2
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarLong(index + 2L);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(1);
+        writeVarLong(bytes.length);
+        if (bytes.length <= buffer.length) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        } else {
+            drain();
+            hash.update(bytes, 0, bytes.length);
+            out.write(bytes);
+            bytesWritten += bytes.length;
+        }
+        // The reader adds the same strings, so both sides assign the same indexes
+        if (value.length() <= SnapshotFormat.MAX_DICTIONARY_STRING
+                && dictionary.size() < SnapshotFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            hash.update(buffer, 0, position);
+            out.write(buffer, 0, position);
+            bytesWritten += position;
+            position = 0;
+        }
+    }
+}
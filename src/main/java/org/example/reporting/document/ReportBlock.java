@@ -0,0 +1,24 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+
+/**
+ * Element of a {@link ReportDocument}: a field, a section or a table.
+ */
+public interface ReportBlock {
+
+    /**
+     * Replays this block to the given renderer.
+     *
+     * @param renderer The backend receiving the content
+     * @throws IOException If the renderer cannot write its output
+     */
+    void renderTo(ReportRenderer renderer) throws IOException;
+
+    /**
+     * Returns the number of table rows in this block, including nested blocks.
+     */
+    int getRowCount();
+}
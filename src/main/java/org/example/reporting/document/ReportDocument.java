@@ -0,0 +1,72 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout-independent, immutable representation of a report.
+ *
+ * All computed content (ranks, percentages, delay analysis, status summaries) is resolved
+ * into pre-formatted values once, when the document is built. The document can then be
+ * cached, shared between threads and rendered any number of times to any
+ * {@link ReportRenderer}.
+ */
+public final class ReportDocument {
+
+    private final String reportType;
+    private final String title;
+    private final List<ReportBlock> content;
+    private final int rowCount;
+
+    public ReportDocument(String reportType, String title, List<ReportBlock> content) {
+        this.reportType = reportType;
+        this.title = title;
+        this.content = Collections.unmodifiableList(new ArrayList<>(content));
+        this.rowCount = countRows(this.content);
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<ReportBlock> getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the total number of table rows in the document.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Replays the whole document to the given renderer.
+     *
+     * @param renderer The backend receiving the content
+     * @throws IOException If the renderer cannot write its output
+     */
+    public void renderTo(ReportRenderer renderer) throws IOException {
+        renderer.startReport(reportType, title);
+        for (ReportBlock block : content) {
+            block.renderTo(renderer);
+        }
+        renderer.endReport();
+    }
+
+    static int countRows(List<ReportBlock> blocks) {
+        int rows = 0;
+        for (ReportBlock block : blocks) {
+            rows += block.getRowCount();
+        }
+        return rows;
+    }
+}
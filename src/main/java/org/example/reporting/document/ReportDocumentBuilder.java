@@ -0,0 +1,107 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Renderer that records the report events into a {@link ReportDocument}.
+ * A builder produces a single document and is not thread-safe.
+ */
+public class ReportDocumentBuilder implements ReportRenderer {
+
+    private final Deque<OpenSection> sections = new ArrayDeque<>();
+    private String reportType;
+    private String title;
+    private List<ReportBlock> content = new ArrayList<>();
+    private String tableName;
+    private String[] tableColumns;
+    private List<String[]> tableRows;
+    private ReportDocument document;
+
+    @Override
+    public void startReport(String reportType, String title) {
+        if (this.reportType != null) {
+            throw new IllegalStateException("Report already started");
+        }
+        this.reportType = reportType;
+        this.title = title;
+    }
+
+    @Override
+    public void field(String label, String value) {
+        content.add(new ReportField(label, value));
+    }
+
+    @Override
+    public void startSection(String title) {
+        sections.push(new OpenSection(title, content));
+        content = new ArrayList<>();
+    }
+
+    @Override
+    public void endSection() {
+        OpenSection section = sections.pop();
+        ReportSection closed = new ReportSection(section.title, content);
+        content = section.parentContent;
+        content.add(closed);
+    }
+
+    @Override
+    public void startTable(String name, String... columns) {
+        if (tableRows != null) {
+            throw new IllegalStateException("Tables cannot be nested");
+        }
+        tableName = name;
+        tableColumns = columns.clone();
+        tableRows = new ArrayList<>();
+    }
+
+    @Override
+    public void row(String... values) {
+        if (values.length != tableColumns.length) {
+            throw new IllegalArgumentException(
+                    "Row has " + values.length + " values, expected " + tableColumns.length);
+        }
+        tableRows.add(values.clone());
+    }
+
+    @Override
+    public void endTable() {
+        content.add(new ReportTable(tableName, tableColumns, tableRows.toArray(new String[0][])));
+        tableRows = null;
+    }
+
+    @Override
+    public void endReport() {
+        if (!sections.isEmpty()) {
+            throw new IllegalStateException("Unclosed section: " + sections.peek().title);
+        }
+        document = new ReportDocument(reportType, title, content);
+    }
+
+    /**
+     * Returns the recorded document.
+     *
+     * @throws IllegalStateException If the report has not been ended yet
+     */
+    public ReportDocument build() {
+        if (document == null) {
+            throw new IllegalStateException("Report has not been ended");
+        }
+        return document;
+    }
+
+    private static final class OpenSection {
+        private final String title;
+        private final List<ReportBlock> parentContent;
+
+        private OpenSection(String title, List<ReportBlock> parentContent) {
+            this.title = title;
+            this.parentContent = parentContent;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+
+/**
+ * A labelled, pre-formatted value such as a summary figure.
+ */
+public final class ReportField implements ReportBlock {
+
+    private final String label;
+    private final String value;
+
+    public ReportField(String label, String value) {
+        this.label = label;
+        this.value = value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public void renderTo(ReportRenderer renderer) throws IOException {
+        renderer.field(label, value);
+    }
+
+    @Override
+    public int getRowCount() {
+        return 0;
+    }
+}
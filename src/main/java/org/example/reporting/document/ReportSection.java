@@ -0,0 +1,46 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A titled group of fields, tables and nested sections.
+ */
+public final class ReportSection implements ReportBlock {
+
+    private final String title;
+    private final List<ReportBlock> content;
+    private final int rowCount;
+
+    public ReportSection(String title, List<ReportBlock> content) {
+        this.title = title;
+        this.content = Collections.unmodifiableList(new ArrayList<>(content));
+        this.rowCount = ReportDocument.countRows(this.content);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<ReportBlock> getContent() {
+        return content;
+    }
+
+    @Override
+    public void renderTo(ReportRenderer renderer) throws IOException {
+        renderer.startSection(title);
+        for (ReportBlock block : content) {
+            block.renderTo(renderer);
+        }
+        renderer.endSection();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+}
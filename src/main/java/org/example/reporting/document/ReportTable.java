@@ -0,0 +1,93 @@
+package org.example.reporting.document;
+
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A table with named columns and rows of pre-formatted values.
+ */
+public final class ReportTable implements ReportBlock {
+
+    private final String name;
+    private final String[] columns;
+    private final String[][] rows;
+
+    /**
+     * Creates a table from the given rows. The arrays are copied.
+     *
+     * @param name Machine readable table name
+     * @param columns Column headers
+     * @param rows Rows of formatted values, each as long as the column list
+     */
+    public ReportTable(String name, String[] columns, List<String[]> rows) {
+        this(name, columns.clone(), copyRows(columns.length, rows));
+    }
+
+    // Takes ownership of the arrays, used by the document builder
+    ReportTable(String name, String[] columns, String[][] rows) {
+        this.name = name;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return Arrays.asList(columns.clone());
+    }
+
+    /**
+     * Returns a read-only view of the rows; each row is a copy of the stored values.
+     */
+    public List<List<String>> getRows() {
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int index) {
+                return Arrays.asList(rows[index].clone());
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    public String getValue(int row, int column) {
+        return rows[row][column];
+    }
+
+    @Override
+    public void renderTo(ReportRenderer renderer) throws IOException {
+        // Renderers must not modify the arrays they receive, so no defensive copies are needed here
+        renderer.startTable(name, columns);
+        for (String[] row : rows) {
+            renderer.row(row);
+        }
+        renderer.endTable();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    private static String[][] copyRows(int columnCount, List<String[]> rows) {
+        List<String[]> copy = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            if (row.length != columnCount) {
+                throw new IllegalArgumentException(
+                        "Row has " + row.length + " values, expected " + columnCount);
+            }
+            copy.add(row.clone());
+        }
+        return copy.toArray(new String[0][]);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.reporting.engine;
+
+import com.itextpdf.text.DocumentException;
+import org.example.reporting.generator.AbstractPdfReportGenerator;
+import org.example.reporting.generator.PdfReportGenerator;
+import org.example.reporting.generator.StructuredReportGenerator;
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generator decorator that admits each report through an {@link AdmissionController}.
+ *
+ * The memory need of a request is estimated from its rows and output mode before rendering
+ * starts; the reservation is held until the report is finished. Requests that cannot be admitted
+ * within the maximum wait fail with an {@link AdmissionRejectedException}.
+ *
+ * @param <T> The data model type for the report
+ */
+public class AdmissionControlledReportGenerator<T> implements PdfReportGenerator<T>, StructuredReportGenerator<T> {
+
+    private final AbstractPdfReportGenerator<T> delegate;
+    private final AdmissionController controller;
+    private final MemoryEstimator estimator;
+    private final Duration maxWait;
+
+    public AdmissionControlledReportGenerator(AbstractPdfReportGenerator<T> delegate, AdmissionController controller) {
+        this(delegate, controller, MemoryEstimator.DEFAULT, Duration.ofSeconds(30));
+    }
+
+    /**
+     * @param delegate The generator doing the actual rendering
+     * @param controller The controller owning the memory budget
+     * @param estimator The estimator of the memory need of a request
+     * @param maxWait Maximum time a request waits for budget
+     */
+    public AdmissionControlledReportGenerator(AbstractPdfReportGenerator<T> delegate, AdmissionController controller,
+                                              MemoryEstimator estimator, Duration maxWait) {
+        this.delegate = delegate;
+        this.controller = controller;
+        this.estimator = estimator;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public byte[] generateReport(List<T> data, Map<String, Object> parameters) throws DocumentException {
+        try (AdmissionController.Reservation ignored = admit(data, OutputMode.IN_MEMORY_PDF)) {
+            return delegate.generateReport(data, parameters);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentException("Przerwano oczekiwanie na przydział pamięci");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public Path saveReport(List<T> data, Map<String, Object> parameters, Path filePath)
+            throws DocumentException, IOException {
+        try (AdmissionController.Reservation ignored = admit(data, OutputMode.FILE_PDF)) {
+            return delegate.saveReport(data, parameters, filePath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentException("Przerwano oczekiwanie na przydział pamięci");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void writeReport(List<T> data, Map<String, Object> parameters, OutputStream outputStream)
+            throws DocumentException, IOException {
+        try (AdmissionController.Reservation ignored = admit(data, OutputMode.FILE_PDF)) {
+            delegate.writeReport(data, parameters, outputStream);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentException("Przerwano oczekiwanie na przydział pamięci");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public void renderReport(List<T> data, Map<String, Object> parameters, ReportRenderer renderer)
+            throws IOException {
+        try (AdmissionController.Reservation ignored = admit(data, OutputMode.STREAMING)) {
+            delegate.renderReport(data, parameters, renderer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Przerwano oczekiwanie na przydział pamięci", e);
+        }
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return delegate.getConfigurationKey();
+    }
+
+    /**
+     * Returns the estimated memory need of a request.
+     */
+    public long estimate(List<T> data, OutputMode mode) {
+        return estimator.estimate(data.size(), MemoryEstimator.countDetailRows(data), mode);
+    }
+
+    public AdmissionController getController() {
+        return controller;
+    }
+
+    private AdmissionController.Reservation admit(List<T> data, OutputMode mode) throws InterruptedException {
+        return controller.acquire(estimate(data, mode), maxWait);
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.reporting.engine;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the estimated memory of concurrently running report jobs to a global budget.
+ *
+ * Jobs reserve their estimate before rendering and release it when they end. Jobs that do not
+ * fit wait in FIFO order, so a large job is not starved by a stream of small ones; jobs larger
+ * than the whole budget, or arriving when the wait queue is full, are rejected immediately.
+ */
+public class AdmissionController {
+
+    private final long budgetBytes;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private long reservedBytes;
+    private long peakReservedBytes;
+    private long admittedCount;
+    private long rejectedCount;
+
+    /**
+     * @param budgetBytes Total bytes that may be reserved at once
+     * @param maxQueued Maximum number of jobs waiting for budget
+     */
+    public AdmissionController(long budgetBytes, int maxQueued) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Creates a controller whose budget is a fraction of the maximum heap.
+     *
+     * @param heapFraction Fraction of {@code Runtime.maxMemory()}, e.g. 0.5
+     */
+    public static AdmissionController ofHeapFraction(double heapFraction) {
+        return new AdmissionController((long) (Runtime.getRuntime().maxMemory() * heapFraction), 1000);
+    }
+
+    /**
+     * Reserves memory, waiting up to {@code maxWait} for budget to become available.
+     *
+     * @param bytes Estimated memory need of the job
+     * @param maxWait Maximum time to wait in the queue
+     * @return The reservation, to be closed when the job ends
+     * @throws AdmissionRejectedException If the job is larger than the budget, the queue is full
+     *         or the wait timed out
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public Reservation acquire(long bytes, Duration maxWait) throws InterruptedException {
+        if (bytes > budgetBytes) {
+            reject("Job needs " + bytes + " bytes, budget is " + budgetBytes, bytes);
+        }
+        long remainingNanos = maxWait.toNanos();
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            if (waiting.isEmpty() && reservedBytes + bytes <= budgetBytes) {
+                return reserve(bytes);
+            }
+            if (waiting.size() >= maxQueued) {
+                rejectedCount++;
+                throw new AdmissionRejectedException("Admission queue is full (" + maxQueued + ")", bytes);
+            }
+            waiting.addLast(ticket);
+            try {
+                while (waiting.peekFirst() != ticket || reservedBytes + bytes > budgetBytes) {
+                    if (remainingNanos <= 0) {
+                        rejectedCount++;
+                        throw new AdmissionRejectedException("Timed out waiting for " + bytes + " bytes", bytes);
+                    }
+                    remainingNanos = changed.awaitNanos(remainingNanos);
+                }
+                return reserve(bytes);
+            } finally {
+                waiting.remove(ticket);
+                // The head of the queue changed, let the next job check the budget
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves memory only if it is available right away.
+     *
+     * @return The reservation, or null if the job does not fit now
+     */
+    public Reservation tryAcquire(long bytes) {
+        lock.lock();
+        try {
+            if (waiting.isEmpty() && reservedBytes + bytes <= budgetBytes) {
+                return reserve(bytes);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getReservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the reserved fraction of the budget, between 0 and 1.
+     */
+    public double getUtilisation() {
+        return (double) getReservedBytes() / budgetBytes;
+    }
+
+    public long getPeakReservedBytes() {
+        lock.lock();
+        try {
+            return peakReservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAdmittedCount() {
+        lock.lock();
+        try {
+            return admittedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private Reservation reserve(long bytes) {
+        reservedBytes += bytes;
+        peakReservedBytes = Math.max(peakReservedBytes, reservedBytes);
+        admittedCount++;
+        return new Reservation(bytes);
+    }
+
+    private void reject(String message, long bytes) {
+        lock.lock();
+        try {
+            rejectedCount++;
+        } finally {
+            lock.unlock();
+        }
+        throw new AdmissionRejectedException(message, bytes);
+    }
+
+    private void release(long bytes) {
+        lock.lock();
+        try {
+            reservedBytes -= bytes;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Memory reserved for one job. Closing it returns the memory to the budget; closing twice has no effect.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final long bytes;
+        private boolean released;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(bytes);
+            }
+        }
+    }
+}
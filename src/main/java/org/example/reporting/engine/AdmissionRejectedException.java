@@ -0,0 +1,20 @@
+package org.example.reporting.engine;
+
+/**
+ * Thrown when a report job cannot be admitted within the memory budget.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long requestedBytes;
+
+    public AdmissionRejectedException(String message, long requestedBytes) {
+        super(message);
+        this.requestedBytes = requestedBytes;
+    }
+
+    public long getRequestedBytes() {
+        return requestedBytes;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.reporting.engine;
+
+import com.itextpdf.text.DocumentException;
+import org.example.reporting.generator.PdfReportGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generator decorator that renders identical concurrent requests only once.
+ *
+ * Requests are identical when their {@link ReportFingerprint} - data and parameters - is equal.
+ * Callers arriving while a render for the same fingerprint is in flight wait for it and receive
+ * their own copy of its bytes. Only in-flight renders are shared; nothing is cached afterwards.
+ *
+ * @param <T> The data model type for the report
+ */
+public class CoalescingReportGenerator<T> implements PdfReportGenerator<T> {
+
+    private final PdfReportGenerator<T> delegate;
+    private final SingleFlight<ReportFingerprint, byte[]> singleFlight;
+
+    public CoalescingReportGenerator(PdfReportGenerator<T> delegate) {
+        this(delegate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param delegate The generator doing the actual rendering
+     * @param executor The executor running the shared renders
+     */
+    public CoalescingReportGenerator(PdfReportGenerator<T> delegate, Executor executor) {
+        this.delegate = delegate;
+        this.singleFlight = new SingleFlight<>(executor);
+    }
+
+    @Override
+    public byte[] generateReport(List<T> data, Map<String, Object> parameters) throws DocumentException {
+        // Read per request, so that a changed output profile of the delegate is not coalesced
+        ReportFingerprint fingerprint = ReportFingerprint.of(delegate.getConfigurationKey(), data, parameters);
+        try {
+            // Each caller gets its own array, the shared one must not be modified
+            return singleFlight.get(fingerprint, () -> delegate.generateReport(data, parameters)).clone();
+        } catch (DocumentException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentException("Przerwano oczekiwanie na raport");
+        } catch (Exception e) {
+            throw new DocumentException(e);
+        }
+    }
+
+    @Override
+    public Path saveReport(List<T> data, Map<String, Object> parameters, Path filePath)
+            throws DocumentException, IOException {
+        byte[] report = generateReport(data, parameters);
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, report);
+        return filePath;
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return delegate.getConfigurationKey();
+    }
+
+    /**
+     * Returns the number of renders actually performed.
+     */
+    public long getRenderCount() {
+        return singleFlight.getExecutions();
+    }
+
+    /**
+     * Returns the number of requests that were served by joining a render already in flight.
+     */
+    public long getCoalescedCount() {
+        return singleFlight.getCoalesced();
+    }
+
+    /**
+     * Returns the number of renders currently in flight.
+     */
+    public int getInFlightCount() {
+        return singleFlight.getInFlight();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.model.ConstructionProgress;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary parameters of the construction progress report, see
+ * {@link PeriodAggregation#constructionSummary()}.
+ */
+final class ConstructionSummary implements PeriodAggregation<ConstructionProgress, ConstructionSummary.Counts> {
+
+    @Override
+    public Counts aggregate(List<ConstructionProgress> rows) {
+        Counts counts = new Counts();
+        for (ConstructionProgress progress : rows) {
+            counts.total++;
+            counts.byStatus.computeIfAbsent(progress.getStatus(), status -> new long[1])[0]++;
+            if ("DONE".equals(progress.getStatus()) || "Zakończone".equals(progress.getStatus())) {
+                counts.done++;
+            }
+            if (progress.isDelayed()) {
+                counts.delayed++;
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Counts merge(Counts left, Counts right) {
+        Counts merged = new Counts();
+        merged.total = left.total + right.total;
+        merged.done = left.done + right.done;
+        merged.delayed = left.delayed + right.delayed;
+        left.byStatus.forEach((status, count) -> merged.byStatus.put(status, new long[]{count[0]}));
+        right.byStatus.forEach((status, count) ->
+                merged.byStatus.computeIfAbsent(status, s -> new long[1])[0] += count[0]);
+        return merged;
+    }
+
+    @Override
+    public Map<String, Object> toParameters(Counts counts) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("completedPercentage", counts.total == 0 ? 0 : (int) (counts.done * 100 / counts.total));
+        parameters.put("delayedCount", counts.delayed);
+        Map<String, Long> tasksByStatus = new LinkedHashMap<>();
+        counts.byStatus.forEach((status, count) -> tasksByStatus.put(status, count[0]));
+        parameters.put("tasksByStatus", tasksByStatus);
+        return parameters;
+    }
+
+    static final class Counts {
+        private long total;
+        private long done;
+        private long delayed;
+        // Mutable counters, so that counting does not box
+        private final Map<String, long[]> byStatus = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.reporting.engine;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of the reports written by a {@link ReportFanOut} run.
+ *
+ * @param <K> The type of the split key
+ */
+public final class FanOutResult<K> {
+
+    private final Map<K, Path> outputs;
+    private final Map<K, Exception> failures;
+    private final Map<K, Integer> rowCounts;
+    private final long elapsedMillis;
+
+    FanOutResult(Map<K, Path> outputs, Map<K, Exception> failures, Map<K, Integer> rowCounts, long elapsedMillis) {
+        this.outputs = Collections.unmodifiableMap(new LinkedHashMap<>(outputs));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        this.rowCounts = Collections.unmodifiableMap(new LinkedHashMap<>(rowCounts));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the written report per key, in the order in which the keys first appeared in the data.
+     */
+    public Map<K, Path> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Returns the error per key for groups whose report could not be written.
+     */
+    public Map<K, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the number of data rows per key.
+     */
+    public Map<K, Integer> getRowCounts() {
+        return rowCounts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.reporting.engine;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Point-in-time snapshot of a job, as shown to operators.
+ */
+public final class JobInfo {
+
+    private final long id;
+    private final String name;
+    private final JobLane lane;
+    private final JobState state;
+    private final Duration period;
+    private final long runCount;
+    private final Instant lastStarted;
+    private final Instant lastFinished;
+    private final String lastError;
+
+    JobInfo(long id, String name, JobLane lane, JobState state, Duration period, long runCount,
+            Instant lastStarted, Instant lastFinished, String lastError) {
+        this.id = id;
+        this.name = name;
+        this.lane = lane;
+        this.state = state;
+        this.period = period;
+        this.runCount = runCount;
+        this.lastStarted = lastStarted;
+        this.lastFinished = lastFinished;
+        this.lastError = lastError;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JobLane getLane() {
+        return lane;
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the repeat interval, or null for one-off jobs.
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public Instant getLastStarted() {
+        return lastStarted;
+    }
+
+    public Instant getLastFinished() {
+        return lastFinished;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + name + " [" + lane + ", " + state + ", runs=" + runCount + "]";
+    }
+}
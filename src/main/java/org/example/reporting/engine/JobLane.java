@@ -0,0 +1,20 @@
+package org.example.reporting.engine;
+
+/**
+ * Priority lanes of the {@link ReportScheduler}, in dispatch order.
+ */
+public enum JobLane {
+    /**
+     * Reports a user is waiting for; always dispatched first.
+     */
+    INTERACTIVE,
+    /**
+     * Periodic and bulk regeneration.
+     */
+    BATCH,
+    /**
+     * Pre-generation of outputs before users ask for them; only runs off-peak and when
+     * no interactive or batch work is waiting.
+     */
+    PREGENERATION
+}
@@ -0,0 +1,19 @@
+package org.example.reporting.engine;
+
+/**
+ * Lifecycle state of a scheduled job.
+ */
+public enum JobState {
+    /**
+     * Waiting for its next trigger time.
+     */
+    SCHEDULED,
+    /**
+     * Triggered and waiting in its lane for a free slot.
+     */
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
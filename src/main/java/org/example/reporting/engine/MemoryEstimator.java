@@ -0,0 +1,80 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.model.EmployeeLoad;
+
+import java.util.List;
+
+/**
+ * Estimates the heap needed to produce a report from its row counts and output mode.
+ *
+ * The defaults are deliberately conservative figures for the built-in generators: iText keeps
+ * the cells of a table until the table is added to the document, so PDF cost grows with the
+ * row count, while the streaming renderers only hold the current row.
+ */
+public final class MemoryEstimator {
+
+    /**
+     * Defaults for the built-in generators.
+     */
+    public static final MemoryEstimator DEFAULT = new MemoryEstimator(4L << 20, 4096, 2048, 256, 64);
+
+    private final long baseBytes;
+    private final long pdfBytesPerRow;
+    private final long pdfBytesPerDetailRow;
+    private final long outputBytesPerRow;
+    private final long streamingBytesPerRow;
+
+    /**
+     * Full constructor
+     *
+     * @param baseBytes Fixed cost of a job (document, writer, fonts)
+     * @param pdfBytesPerRow Layout cost of a main table row
+     * @param pdfBytesPerDetailRow Layout cost of a detail row (e.g. a task of an employee)
+     * @param outputBytesPerRow Size of the finished PDF per row, held for in-memory output
+     * @param streamingBytesPerRow Cost of a row in the streaming renderers
+     */
+    public MemoryEstimator(long baseBytes, long pdfBytesPerRow, long pdfBytesPerDetailRow,
+                           long outputBytesPerRow, long streamingBytesPerRow) {
+        this.baseBytes = baseBytes;
+        this.pdfBytesPerRow = pdfBytesPerRow;
+        this.pdfBytesPerDetailRow = pdfBytesPerDetailRow;
+        this.outputBytesPerRow = outputBytesPerRow;
+        this.streamingBytesPerRow = streamingBytesPerRow;
+    }
+
+    /**
+     * Estimates the memory need of a job.
+     *
+     * @param rows Number of data rows
+     * @param detailRows Number of nested detail rows
+     * @param mode The output mode
+     * @return Estimated bytes
+     */
+    public long estimate(long rows, long detailRows, OutputMode mode) {
+        switch (mode) {
+            case STREAMING:
+                // Rows are not retained; only a window of them is alive at a time
+                return baseBytes / 4 + Math.min(rows + detailRows, 1024) * streamingBytesPerRow;
+            case FILE_PDF:
+                return baseBytes + rows * pdfBytesPerRow + detailRows * pdfBytesPerDetailRow;
+            case IN_MEMORY_PDF:
+                return baseBytes + rows * (pdfBytesPerRow + outputBytesPerRow)
+                        + detailRows * (pdfBytesPerDetailRow + outputBytesPerRow);
+            default:
+                throw new IllegalArgumentException("Unsupported output mode: " + mode);
+        }
+    }
+
+    /**
+     * Counts the nested detail rows of a data set: the tasks of {@link EmployeeLoad} rows.
+     */
+    public static long countDetailRows(List<?> data) {
+        long detailRows = 0;
+        for (Object row : data) {
+            if (row instanceof EmployeeLoad && ((EmployeeLoad) row).getTasks() != null) {
+                detailRows += ((EmployeeLoad) row).getTasks().size();
+            }
+        }
+        return detailRows;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.reporting.engine;
+
+import java.time.Clock;
+import java.time.LocalTime;
+
+/**
+ * Daily time window in which pre-generation jobs may run.
+ * The window may span midnight, e.g. from 22:00 to 06:00.
+ */
+public class OffPeakPolicy {
+
+    private final LocalTime start;
+    private final LocalTime end;
+    private final Clock clock;
+
+    public OffPeakPolicy(LocalTime start, LocalTime end) {
+        this(start, end, Clock.systemDefaultZone());
+    }
+
+    public OffPeakPolicy(LocalTime start, LocalTime end, Clock clock) {
+        this.start = start;
+        this.end = end;
+        this.clock = clock;
+    }
+
+    /**
+     * A policy that treats every moment as off-peak.
+     */
+    public static OffPeakPolicy always() {
+        return new OffPeakPolicy(LocalTime.MIN, LocalTime.MIN);
+    }
+
+    public boolean isOffPeak() {
+        LocalTime now = LocalTime.now(clock);
+        if (start.equals(end)) {
+            return true;
+        }
+        if (start.isBefore(end)) {
+            return !now.isBefore(start) && now.isBefore(end);
+        }
+        // Window spans midnight
+        return !now.isBefore(start) || now.isBefore(end);
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+}
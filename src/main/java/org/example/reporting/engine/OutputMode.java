@@ -0,0 +1,19 @@
+package org.example.reporting.engine;
+
+/**
+ * How a report is produced, which determines how much of it is held in memory.
+ */
+public enum OutputMode {
+    /**
+     * PDF layout returned as a byte array: layout state plus the complete output in memory.
+     */
+    IN_MEMORY_PDF,
+    /**
+     * PDF layout written to a file: layout state in memory, output streamed to disk.
+     */
+    FILE_PDF,
+    /**
+     * CSV or JSON rendering: rows are written as they are produced.
+     */
+    STREAMING
+}
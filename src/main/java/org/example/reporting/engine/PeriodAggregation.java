@@ -0,0 +1,41 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.model.ConstructionProgress;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable summary of rows, turned into report parameters of a period by
+ * {@link ReportFanOut#splitByPeriod}. Rows are aggregated once per part of the timeline
+ * between period boundaries; overlapping periods, such as a month and its quarter, merge the
+ * aggregates of the parts they cover instead of aggregating their rows again.
+ *
+ * @param <T> The row type
+ * @param <A> The aggregate type
+ */
+public interface PeriodAggregation<T, A> {
+
+    /**
+     * Aggregates the rows of one part of the timeline.
+     */
+    A aggregate(List<T> rows);
+
+    /**
+     * Combines two aggregates into a new one; the arguments must not be modified.
+     */
+    A merge(A left, A right);
+
+    /**
+     * Returns the report parameters for the aggregate of a whole period.
+     */
+    Map<String, Object> toParameters(A aggregate);
+
+    /**
+     * Computes the summary parameters of the construction progress report: completedPercentage,
+     * delayedCount and tasksByStatus.
+     */
+    static PeriodAggregation<ConstructionProgress, ?> constructionSummary() {
+        return new ConstructionSummary();
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.reporting.engine;
+
+import com.itextpdf.text.DocumentException;
+import org.example.reporting.generator.AbstractPdfReportGenerator;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.generator.EmployeeLoadReportGenerator;
+import org.example.reporting.generator.OutputProfile;
+import org.example.reporting.generator.TeamEfficiencyReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+import org.example.reporting.render.ReportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide setup of the reporting library.
+ */
+public final class ReportEngine {
+
+    /**
+     * Renders per generator and format; enough for the JIT to compile the layout and table paths.
+     */
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 30;
+
+    private static final String[] STATUSES = {"DONE", "IN_PROGRESS", "STARTED", "DELAYED"};
+    private static final String[] PRIORITIES = {"Niski", "Średni", "Wysoki"};
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private ReportEngine() {
+    }
+
+    /**
+     * Warms up the default output profile, see {@link #warmUp(int, OutputProfile...)}.
+     */
+    public static Duration warmUp() {
+        return warmUp(DEFAULT_WARM_UP_ITERATIONS, OutputProfile.DEFAULT);
+    }
+
+    /**
+     * Moves the one-off costs of the first report to startup: loads the iText and generator
+     * classes, loads the fonts of the given profiles and renders small synthetic reports with
+     * every generator, as PDF and in the text formats, until the hot paths are compiled.
+     * Call it once after deployment, before the first user request.
+     *
+     * @param iterations Renders per generator and format
+     * @param profiles The output profiles that reports will be generated with
+     * @return The time spent
+     * @throws IllegalStateException If a synthetic report cannot be rendered
+     */
+    public static Duration warmUp(int iterations, OutputProfile... profiles) {
+        long start = System.nanoTime();
+        List<ConstructionProgress> construction = constructionSample();
+        List<EmployeeLoad> employees = employeeSample();
+        List<TeamEfficiency> teams = teamSample();
+        Map<String, Object> constructionParameters = constructionParameters(construction);
+        Map<String, Object> teamParameters = teamParameters(teams);
+        Map<String, Object> periodParameters = periodParameters();
+        try {
+            for (OutputProfile profile : profiles) {
+                // Font programs are cached by iText, so the first report does not load them again
+                profile.createBaseFont();
+                ConstructionProgressReportGenerator constructionGenerator = new ConstructionProgressReportGenerator();
+                EmployeeLoadReportGenerator employeeGenerator = new EmployeeLoadReportGenerator();
+                TeamEfficiencyReportGenerator teamGenerator = new TeamEfficiencyReportGenerator();
+                constructionGenerator.setOutputProfile(profile);
+                employeeGenerator.setOutputProfile(profile);
+                teamGenerator.setOutputProfile(profile);
+                for (int i = 0; i < iterations; i++) {
+                    render(constructionGenerator, construction, constructionParameters);
+                    render(employeeGenerator, employees, periodParameters);
+                    render(teamGenerator, teams, teamParameters);
+                }
+            }
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Rozgrzewanie generatorów raportów nie powiodło się", e);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static <T> void render(AbstractPdfReportGenerator<T> generator, List<T> data,
+                                   Map<String, Object> parameters) throws DocumentException, IOException {
+        generator.writeReport(data, parameters, OutputStream.nullOutputStream());
+        for (ReportFormat format : ReportFormat.values()) {
+            generator.renderReport(data, parameters, format, Writer.nullWriter());
+        }
+        generator.buildDocument(data, parameters);
+    }
+
+    // Small data sets covering every status, priority and the special cases of the generators
+
+    private static List<ConstructionProgress> constructionSample() {
+        List<ConstructionProgress> data = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String status = STATUSES[i % STATUSES.length];
+            boolean delayed = "DELAYED".equals(status);
+            LocalDate plannedEnd = START.plusDays(i * 7L);
+            LocalDate actualEnd = "DONE".equals(status) ? plannedEnd.plusDays(i % 3) : null;
+            data.add(new ConstructionProgress("Zadanie " + i, status, plannedEnd, actualEnd,
+                    delayed, delayed ? i + 1 : 0, "DONE".equals(status) ? 100 : i * 10));
+        }
+        return data;
+    }
+
+    private static List<EmployeeLoad> employeeSample() {
+        List<EmployeeLoad> data = new ArrayList<>();
+        for (int e = 0; e < 3; e++) {
+            List<TaskDetail> tasks = new ArrayList<>();
+            Map<String, Integer> byStatus = new LinkedHashMap<>();
+            double hours = 0;
+            for (int t = 0; t < 6; t++) {
+                String status = STATUSES[(e + t) % STATUSES.length];
+                LocalDate deadline = START.plusDays(t * 5L);
+                tasks.add(new TaskDetail(e * 10 + t, "Zadanie " + t, status, PRIORITIES[t % PRIORITIES.length],
+                        START, deadline, "DONE".equals(status) ? deadline : null, 8.0 + t,
+                        "DELAYED".equals(status)));
+                byStatus.merge(status, 1, Integer::sum);
+                hours += 8.0 + t;
+            }
+            data.add(new EmployeeLoad(e + 1, "Pracownik " + (e + 1), tasks.size(), hours, hours / 160,
+                    tasks, byStatus));
+        }
+        return data;
+    }
+
+    private static List<TeamEfficiency> teamSample() {
+        List<TeamEfficiency> data = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TeamEfficiency team = new TeamEfficiency();
+            int total = i == 3 ? 0 : 20 + i * 10;
+            int completed = total / 2;
+            int onTime = Math.max(0, completed - i);
+            team.setTeamName("Zespół " + (i + 1));
+            team.setTotalTasksCount(total);
+            team.setCompletedTasksCount(completed);
+            team.setOnTimeTasksCount(onTime);
+            team.setDelayedTasksCount(completed - onTime);
+            team.setAvgDelayDays(i * 1.5);
+            team.setAvgCompletionHours(10.0 + i);
+            team.setActiveTeamMembersCount(3 + i);
+            team.setTasksPerMember((double) total / (3 + i));
+            team.setEfficiencyScore(total == 0 ? 0.0 : 50.0 + i * 10);
+            team.setHasNoTasks(total == 0);
+            Map<String, Integer> byPriority = new LinkedHashMap<>();
+            for (String priority : PRIORITIES) {
+                byPriority.put(priority, total / PRIORITIES.length);
+            }
+            team.setTasksByPriority(byPriority);
+            data.add(team);
+        }
+        return data;
+    }
+
+    private static Map<String, Object> constructionParameters(List<ConstructionProgress> data) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long delayed = 0;
+        for (ConstructionProgress progress : data) {
+            byStatus.merge(progress.getStatus(), 1L, Long::sum);
+            if (progress.isDelayed()) {
+                delayed++;
+            }
+        }
+        Map<String, Object> parameters = periodParameters();
+        parameters.put("completedPercentage", 25);
+        parameters.put("delayedCount", delayed);
+        parameters.put("tasksByStatus", byStatus);
+        return parameters;
+    }
+
+    private static Map<String, Object> teamParameters(List<TeamEfficiency> data) {
+        Map<String, Object> parameters = periodParameters();
+        parameters.put("teamsWithTasksCount", data.size() - 1);
+        parameters.put("totalTeamsCount", data.size());
+        parameters.put("totalTasksCount", 90);
+        parameters.put("totalCompletedTasksCount", 45);
+        parameters.put("overallCompletionRate", 50.0);
+        return parameters;
+    }
+
+    private static Map<String, Object> periodParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("dateFrom", "2025-01-01");
+        parameters.put("dateTo", "2025-01-31");
+        return parameters;
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.generator.PdfReportGenerator;
+import org.example.reporting.generator.RenderContext;
+import org.example.reporting.storage.FileStorageUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Splits a data set by key or by period and writes one report per group, e.g. one employee
+ * load report per employee, one construction report per site or one report per month.
+ *
+ * The rows are grouped in a single pass and the groups are rendered in parallel by the same
+ * generator instance, so fonts and other per-generator resources are shared between groups.
+ * Files are stored under {@link FileStorageUtils#resolveReportPath}. The {@link RenderContext}
+ * active on the calling thread applies to every group, so cancelling it stops the whole run.
+ */
+public class ReportFanOut {
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final Executor executor;
+
+    /**
+     * Creates a fan-out running on the common fork-join pool.
+     */
+    public ReportFanOut() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor The executor rendering the groups
+     */
+    public ReportFanOut(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Writes one report per key with the same parameters for every group.
+     *
+     * @see #splitByKey(PdfReportGenerator, List, Function, BiFunction, String, String)
+     */
+    public <T, K> FanOutResult<K> splitByKey(PdfReportGenerator<T> generator, List<T> data,
+                                             Function<? super T, ? extends K> keyExtractor,
+                                             Map<String, Object> parameters,
+                                             String baseDirectory, String reportType) {
+        return splitByKey(generator, data, keyExtractor, (key, rows) -> parameters, baseDirectory, reportType);
+    }
+
+    /**
+     * Groups the data by key and writes one report per group.
+     *
+     * @param generator The generator used for every group
+     * @param data The full data set
+     * @param keyExtractor Extracts the split key (e.g. employee id or site name) from a row
+     * @param parameters Creates the report parameters for a group from its key and rows
+     * @param baseDirectory The base directory for report storage
+     * @param reportType The type of report, used for the subdirectory and the file names
+     * @return The index of written reports and of failed groups
+     */
+    @SuppressWarnings("try")
+    public <T, K> FanOutResult<K> splitByKey(PdfReportGenerator<T> generator, List<T> data,
+                                             Function<? super T, ? extends K> keyExtractor,
+                                             BiFunction<? super K, List<T>, Map<String, Object>> parameters,
+                                             String baseDirectory, String reportType) {
+        long start = System.currentTimeMillis();
+
+        // Single pass grouping, keeping the order in which keys first appear
+        Map<K, List<T>> groups = new LinkedHashMap<>();
+        for (T row : data) {
+            groups.computeIfAbsent(keyExtractor.apply(row), key -> new ArrayList<>()).add(row);
+        }
+
+        RenderContext context = RenderContext.current();
+        Map<K, CompletableFuture<Path>> futures = new LinkedHashMap<>();
+        for (Map.Entry<K, List<T>> group : groups.entrySet()) {
+            K key = group.getKey();
+            List<T> rows = group.getValue();
+            futures.put(key, CompletableFuture.supplyAsync(() -> {
+                try (RenderContext.Scope scope = context.activate()) {
+                    String fileName = FileStorageUtils.createTimeOrderedFileName(
+                            reportType + "-" + sanitizeKey(key), "pdf");
+                    Path filePath = FileStorageUtils.resolveReportPath(baseDirectory, reportType, fileName);
+                    return generator.saveReport(rows, parameters.apply(key, rows), filePath);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        Map<K, Integer> rowCounts = new LinkedHashMap<>();
+        groups.forEach((key, rows) -> rowCounts.put(key, rows.size()));
+        return collect(futures, rowCounts, start);
+    }
+
+    /**
+     * Writes one report per period with the same parameters, plus dateFrom and dateTo, for
+     * every period.
+     *
+     * @see #splitByPeriod(PdfReportGenerator, List, Function, List, PeriodAggregation, Map, String, String)
+     */
+    public <T> FanOutResult<ReportPeriod> splitByPeriod(PdfReportGenerator<T> generator, List<T> data,
+                                                        Function<? super T, LocalDate> dateExtractor,
+                                                        List<ReportPeriod> periods, Map<String, Object> parameters,
+                                                        String baseDirectory, String reportType) {
+        return splitByPeriod(generator, data, dateExtractor, periods, null, parameters, baseDirectory, reportType);
+    }
+
+    /**
+     * Writes one report per period, e.g. twelve months and four quarters at year end, from one
+     * pass over the data.
+     *
+     * The period boundaries cut the timeline into parts and every row is put into the part
+     * containing its date, so a row lands in all periods that contain it without the data being
+     * scanned per period. The aggregation runs once per part; a period merges the aggregates of
+     * its parts, and periods covering the same days share rows and aggregate. Rows keep their
+     * input order within a period; rows without a date or outside every period are left out.
+     * The reports are rendered in parallel.
+     *
+     * @param generator The generator used for every period
+     * @param data The full data set
+     * @param dateExtractor Extracts the date that places a row in a period, e.g. the planned end
+     * @param periods The periods; duplicates are written once
+     * @param aggregation Computes summary parameters per period; may be null
+     * @param parameters Parameters shared by all periods; dateFrom and dateTo are set per period
+     * @param baseDirectory The base directory for report storage
+     * @param reportType The type of report, used for the subdirectory and the file names
+     * @return The index of written reports and of failed periods
+     */
+    @SuppressWarnings("try")
+    public <T, A> FanOutResult<ReportPeriod> splitByPeriod(PdfReportGenerator<T> generator, List<T> data,
+                                                           Function<? super T, LocalDate> dateExtractor,
+                                                           List<ReportPeriod> periods,
+                                                           PeriodAggregation<T, A> aggregation,
+                                                           Map<String, Object> parameters,
+                                                           String baseDirectory, String reportType) {
+        long start = System.currentTimeMillis();
+        List<ReportPeriod> distinctPeriods = new ArrayList<>(new LinkedHashSet<>(periods));
+
+        // Boundaries of the timeline parts: the first day of each period and the day after it
+        TreeSet<Long> boundarySet = new TreeSet<>();
+        for (ReportPeriod period : distinctPeriods) {
+            boundarySet.add(period.getFrom().toEpochDay());
+            boundarySet.add(period.getTo().toEpochDay() + 1);
+        }
+        long[] boundaries = boundarySet.stream().mapToLong(Long::longValue).toArray();
+        int partCount = Math.max(0, boundaries.length - 1);
+
+        // Single pass: indexes of the rows of each part, ascending
+        int[][] partRows = new int[partCount][];
+        int[] partSizes = new int[partCount];
+        for (int i = 0; i < data.size(); i++) {
+            LocalDate date = dateExtractor.apply(data.get(i));
+            int part = date != null ? partOf(boundaries, date.toEpochDay()) : -1;
+            if (part >= 0) {
+                int[] rows = partRows[part];
+                if (rows == null) {
+                    rows = new int[16];
+                } else if (partSizes[part] == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                rows[partSizes[part]++] = i;
+                partRows[part] = rows;
+            }
+        }
+
+        List<A> partAggregates = new ArrayList<>(partCount);
+        if (aggregation != null) {
+            for (int part = 0; part < partCount; part++) {
+                partAggregates.add(aggregation.aggregate(rowsOf(data, partRows[part], partSizes[part])));
+            }
+        }
+
+        // Periods over the same parts share their rows and parameters
+        Map<Long, List<T>> rowsByRange = new HashMap<>();
+        Map<Long, Map<String, Object>> summaryByRange = new HashMap<>();
+        RenderContext context = RenderContext.current();
+        Map<ReportPeriod, CompletableFuture<Path>> futures = new LinkedHashMap<>();
+        Map<ReportPeriod, Integer> rowCounts = new LinkedHashMap<>();
+        for (ReportPeriod period : distinctPeriods) {
+            int first = Arrays.binarySearch(boundaries, period.getFrom().toEpochDay());
+            int last = Arrays.binarySearch(boundaries, period.getTo().toEpochDay() + 1);
+            long range = (long) first << 32 | last;
+            List<T> rows = rowsByRange.computeIfAbsent(range,
+                    r -> mergeParts(data, partRows, partSizes, first, last));
+            Map<String, Object> periodParameters = new HashMap<>();
+            if (parameters != null) {
+                periodParameters.putAll(parameters);
+            }
+            if (aggregation != null) {
+                periodParameters.putAll(summaryByRange.computeIfAbsent(range,
+                        r -> aggregation.toParameters(mergeAggregates(aggregation, partAggregates, first, last))));
+            }
+            periodParameters.put("dateFrom", period.getFrom().toString());
+            periodParameters.put("dateTo", period.getTo().toString());
+            rowCounts.put(period, rows.size());
+            futures.put(period, CompletableFuture.supplyAsync(() -> {
+                try (RenderContext.Scope scope = context.activate()) {
+                    String fileName = FileStorageUtils.createTimeOrderedFileName(
+                            reportType + "-" + sanitizeKey(period.getLabel()), "pdf");
+                    Path filePath = FileStorageUtils.resolveReportPath(baseDirectory, reportType, fileName);
+                    return generator.saveReport(rows, periodParameters, filePath);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        return collect(futures, rowCounts, start);
+    }
+
+    private static <K> FanOutResult<K> collect(Map<K, CompletableFuture<Path>> futures, Map<K, Integer> rowCounts,
+                                               long start) {
+        Map<K, Path> outputs = new LinkedHashMap<>();
+        Map<K, Exception> failures = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<Path>> entry : futures.entrySet()) {
+            K key = entry.getKey();
+            try {
+                outputs.put(key, entry.getValue().join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.put(key, cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+            }
+        }
+        return new FanOutResult<>(outputs, failures, rowCounts, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Returns the timeline part containing the day, or -1 if it is before or after all parts.
+     */
+    private static int partOf(long[] boundaries, long day) {
+        int index = Arrays.binarySearch(boundaries, day);
+        int part = index >= 0 ? index : -index - 2;
+        return part < boundaries.length - 1 ? part : -1;
+    }
+
+    /**
+     * Returns the rows of parts first (inclusive) to last (exclusive) in input order.
+     */
+    private static <T> List<T> mergeParts(List<T> data, int[][] partRows, int[] partSizes, int first, int last) {
+        if (last - first == 1) {
+            return rowsOf(data, partRows[first], partSizes[first]);
+        }
+        // A period spans few parts, so the next row is picked by a linear scan over their cursors
+        int partCount = last - first;
+        int[] positions = new int[partCount];
+        int total = 0;
+        for (int part = first; part < last; part++) {
+            total += partSizes[part];
+        }
+        int[] rows = new int[total];
+        for (int size = 0; size < total; size++) {
+            int next = -1;
+            int nextRow = Integer.MAX_VALUE;
+            for (int cursor = 0; cursor < partCount; cursor++) {
+                if (positions[cursor] < partSizes[first + cursor]) {
+                    int row = partRows[first + cursor][positions[cursor]];
+                    if (row < nextRow) {
+                        next = cursor;
+                        nextRow = row;
+                    }
+                }
+            }
+            rows[size] = nextRow;
+            positions[next]++;
+        }
+        return rowsOf(data, rows, total);
+    }
+
+    private static <T, A> A mergeAggregates(PeriodAggregation<T, A> aggregation, List<A> partAggregates,
+                                            int first, int last) {
+        A merged = partAggregates.get(first);
+        for (int part = first + 1; part < last; part++) {
+            merged = aggregation.merge(merged, partAggregates.get(part));
+        }
+        return merged;
+    }
+
+    /**
+     * Returns a read-only view of the rows with the given indexes.
+     */
+    private static <T> List<T> rowsOf(List<T> data, int[] indexes, int size) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index);
+                }
+                return data.get(indexes[index]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Turns a split key into a safe file name fragment.
+     */
+    static String sanitizeKey(Object key) {
+        String text = String.valueOf(key);
+        StringBuilder result = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        for (int i = 0; i < text.length() && result.length() < MAX_KEY_LENGTH; i++) {
+            char c = text.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            result.append(safe ? c : '_');
+        }
+        return result.toString();
+    }
+}
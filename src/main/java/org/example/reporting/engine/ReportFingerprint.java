@@ -0,0 +1,195 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Content fingerprint of a report request: report type, data and parameters.
+ * Two requests with equal fingerprints produce the same report.
+ *
+ * Model objects are hashed field by field. Map keys are hashed with their type, like values, so
+ * 1 and "1" differ. Sorted and linked maps are hashed in iteration order, since generators render
+ * them in that order; other maps are hashed in a fixed order that does not depend on the run.
+ * Other parameter values are hashed by their class and string form.
+ */
+public final class ReportFingerprint {
+
+    private final byte[] digest;
+    private final int hashCode;
+
+    private ReportFingerprint(byte[] digest) {
+        this.digest = digest;
+        this.hashCode = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Computes the fingerprint of a report request.
+     *
+     * @param reportType Identifies the generator, e.g. its class name
+     * @param data The report data
+     * @param parameters The report parameters, may be null
+     * @return The fingerprint
+     */
+    public static ReportFingerprint of(String reportType, List<?> data, Map<String, Object> parameters) {
+        MessageDigest messageDigest = newDigest();
+        try (DataOutputStream out = new DataOutputStream(
+                new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest))) {
+            writeString(out, reportType);
+            writeValue(out, data);
+            writeValue(out, parameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ReportFingerprint(messageDigest.digest());
+    }
+
+    public String toHex() {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ReportFingerprint && Arrays.equals(digest, ((ReportFingerprint) o).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // Every value is prefixed with a type tag, so different structures cannot produce the same bytes
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+        } else if (value instanceof ConstructionProgress) {
+            ConstructionProgress progress = (ConstructionProgress) value;
+            out.writeByte(1);
+            writeValue(out, progress.getTaskName());
+            writeValue(out, progress.getStatus());
+            writeValue(out, progress.getPlannedEnd());
+            writeValue(out, progress.getActualEnd());
+            out.writeBoolean(progress.isDelayed());
+            writeValue(out, progress.getDelayInDays());
+            writeValue(out, progress.getCompletionPercentage());
+        } else if (value instanceof EmployeeLoad) {
+            EmployeeLoad employee = (EmployeeLoad) value;
+            out.writeByte(2);
+            writeValue(out, employee.getEmployeeId());
+            writeValue(out, employee.getEmployeeName());
+            writeValue(out, employee.getTaskCount());
+            writeValue(out, employee.getTotalHours());
+            writeValue(out, employee.getFteEquivalent());
+            writeValue(out, employee.getTasks());
+            writeValue(out, employee.getTasksByStatus());
+        } else if (value instanceof TaskDetail) {
+            TaskDetail task = (TaskDetail) value;
+            out.writeByte(3);
+            writeValue(out, task.getTaskId());
+            writeValue(out, task.getTaskName());
+            writeValue(out, task.getStatus());
+            writeValue(out, task.getPriority());
+            writeValue(out, task.getStartDate());
+            writeValue(out, task.getDeadlineDate());
+            writeValue(out, task.getCompletedDate());
+            writeValue(out, task.getEstimatedHours());
+            out.writeBoolean(task.isDelayed());
+        } else if (value instanceof TeamEfficiency) {
+            TeamEfficiency team = (TeamEfficiency) value;
+            out.writeByte(4);
+            writeValue(out, team.getTeamName());
+            writeValue(out, team.getAvgCompletionHours());
+            writeValue(out, team.getOpenIssues());
+            writeValue(out, team.getClosedIssues());
+            writeValue(out, team.getCompletedTasksCount());
+            writeValue(out, team.getTotalTasksCount());
+            writeValue(out, team.getOnTimeTasksCount());
+            writeValue(out, team.getDelayedTasksCount());
+            writeValue(out, team.getAvgDelayDays());
+            writeValue(out, team.getActiveTeamMembersCount());
+            writeValue(out, team.getTasksPerMember());
+            writeValue(out, team.getTasksByPriority());
+            writeValue(out, team.getEfficiencyScore());
+            writeValue(out, team.getHasNoTasks());
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeByte(5);
+            out.writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(6);
+            out.writeInt(map.size());
+            if (map instanceof SortedMap || map instanceof LinkedHashMap) {
+                // The order is part of the content, e.g. the order of the tasksByStatus rows
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            } else {
+                // Hash maps and Map.of iterate in an order that varies between runs, so the
+                // entries are sorted by their encoded form instead
+                List<byte[]> entries = new ArrayList<>(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    DataOutputStream entryOut = new DataOutputStream(bytes);
+                    writeValue(entryOut, entry.getKey());
+                    writeValue(entryOut, entry.getValue());
+                    entryOut.flush();
+                    entries.add(bytes.toByteArray());
+                }
+                entries.sort(Arrays::compare);
+                for (byte[] entry : entries) {
+                    out.write(entry);
+                }
+            }
+        } else {
+            out.writeByte(7);
+            writeString(out, value.getClass().getName());
+            writeString(out, value.toString());
+        }
+    }
+}
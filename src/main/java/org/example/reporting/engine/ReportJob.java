@@ -0,0 +1,82 @@
+package org.example.reporting.engine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A job registered with a {@link ReportScheduler}.
+ * Mutable state is guarded by the scheduler that owns the job.
+ *
+ * @param <T> The type of the job output, e.g. the path of the generated report
+ */
+public final class ReportJob<T> {
+
+    final long id;
+    final String name;
+    final JobLane lane;
+    final Callable<T> task;
+    final Duration period;
+    final String pregenerationKey;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+
+    JobState state = JobState.SCHEDULED;
+    long runCount;
+    Instant lastStarted;
+    Instant lastFinished;
+    String lastError;
+    ScheduledFuture<?> trigger;
+    Thread runner;
+    private volatile T lastResult;
+
+    ReportJob(long id, String name, JobLane lane, Callable<T> task, Duration period, String pregenerationKey) {
+        this.id = id;
+        this.name = name;
+        this.lane = lane;
+        this.task = task;
+        this.period = period;
+        this.pregenerationKey = pregenerationKey;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JobLane getLane() {
+        return lane;
+    }
+
+    /**
+     * Returns the outcome of a one-off job. For recurring jobs the future only completes
+     * (exceptionally) when the job is cancelled; use {@link #getLastResult()} instead.
+     */
+    public CompletableFuture<T> getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the output of the most recent successful run.
+     */
+    public Optional<T> getLastResult() {
+        return Optional.ofNullable(lastResult);
+    }
+
+    boolean isRecurring() {
+        return period != null;
+    }
+
+    void setLastResult(T lastResult) {
+        this.lastResult = lastResult;
+    }
+
+    JobInfo snapshot() {
+        return new JobInfo(id, name, lane, state, period, runCount, lastStarted, lastFinished, lastError);
+    }
+}
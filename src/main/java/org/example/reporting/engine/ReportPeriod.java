@@ -0,0 +1,122 @@
+package org.example.reporting.engine;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A reporting window for {@link ReportFanOut#splitByPeriod}: the days from and to, inclusive,
+ * and a label used in file names.
+ */
+public final class ReportPeriod {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String label;
+
+    /**
+     * @param from First day, inclusive
+     * @param to Last day, inclusive
+     * @param label Name of the period, e.g. "2026-Q1"
+     */
+    public ReportPeriod(LocalDate from, LocalDate to, String label) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Period end " + to + " is before its start " + from);
+        }
+        this.from = from;
+        this.to = to;
+        this.label = label;
+    }
+
+    /**
+     * Creates a period labelled with its first and last day.
+     */
+    public static ReportPeriod of(LocalDate from, LocalDate to) {
+        return new ReportPeriod(from, to, from + "_" + to);
+    }
+
+    /**
+     * Creates a period from the dateFrom/dateTo report parameters, given as ISO dates.
+     *
+     * @throws IllegalArgumentException If a parameter is missing
+     */
+    public static ReportPeriod fromParameters(Map<String, Object> parameters) {
+        Object from = parameters.get("dateFrom");
+        Object to = parameters.get("dateTo");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Parameters dateFrom and dateTo are required");
+        }
+        return of(LocalDate.parse(from.toString()), LocalDate.parse(to.toString()));
+    }
+
+    public static ReportPeriod month(YearMonth month) {
+        return new ReportPeriod(month.atDay(1), month.atEndOfMonth(), month.toString());
+    }
+
+    /**
+     * @param year The year
+     * @param quarter The quarter, 1 to 4
+     */
+    public static ReportPeriod quarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be between 1 and 4: " + quarter);
+        }
+        YearMonth first = YearMonth.of(year, quarter * 3 - 2);
+        return new ReportPeriod(first.atDay(1), first.plusMonths(2).atEndOfMonth(), year + "-Q" + quarter);
+    }
+
+    /**
+     * Returns the twelve months of a year followed by its four quarters, the usual year-end batch.
+     */
+    public static List<ReportPeriod> monthsAndQuarters(int year) {
+        List<ReportPeriod> periods = new ArrayList<>(16);
+        for (int month = 1; month <= 12; month++) {
+            periods.add(month(YearMonth.of(year, month)));
+        }
+        for (int quarter = 1; quarter <= 4; quarter++) {
+            periods.add(quarter(year, quarter));
+        }
+        return periods;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean contains(LocalDate day) {
+        return !day.isBefore(from) && !day.isAfter(to);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReportPeriod)) {
+            return false;
+        }
+        ReportPeriod other = (ReportPeriod) o;
+        return from.equals(other.from) && to.equals(other.to) && Objects.equals(label, other.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
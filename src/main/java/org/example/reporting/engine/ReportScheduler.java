@@ -0,0 +1,402 @@
+package org.example.reporting.engine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local scheduler for one-off and recurring report jobs.
+ *
+ * Jobs run on a fixed worker pool and are dispatched by {@link JobLane}: interactive jobs
+ * always get the next free worker, batch jobs are capped below the pool size by default so a
+ * worker stays free for interactive requests, and pre-generation jobs only run inside the
+ * off-peak window when nothing else is waiting. Each lane has its own concurrency cap.
+ *
+ * The state of all jobs can be queried with {@link #getJobs()}.
+ */
+public class ReportScheduler implements AutoCloseable {
+
+    private static final long DISPATCH_TICK_SECONDS = 30;
+    private static final int FINISHED_HISTORY_SIZE = 256;
+
+    private final int poolSize;
+    private final OffPeakPolicy offPeakPolicy;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Object lock = new Object();
+    private final Map<JobLane, Deque<ReportJob<?>>> queues = new EnumMap<>(JobLane.class);
+    private final int[] laneLimits = new int[JobLane.values().length];
+    private final int[] laneRunning = new int[JobLane.values().length];
+    private int totalRunning;
+    private final Map<Long, ReportJob<?>> jobs = new LinkedHashMap<>();
+    private final Deque<JobInfo> finished = new ArrayDeque<>();
+    private final Map<String, Object> pregenerated = new ConcurrentHashMap<>();
+    private boolean closed;
+
+    /**
+     * Creates a scheduler with pre-generation allowed at any time.
+     *
+     * @param poolSize Number of worker threads
+     */
+    public ReportScheduler(int poolSize) {
+        this(poolSize, OffPeakPolicy.always());
+    }
+
+    /**
+     * @param poolSize Number of worker threads
+     * @param offPeakPolicy Window in which pre-generation jobs may run
+     */
+    public ReportScheduler(int poolSize, OffPeakPolicy offPeakPolicy) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+        this.poolSize = poolSize;
+        this.offPeakPolicy = offPeakPolicy;
+        this.workers = Executors.newFixedThreadPool(poolSize, daemonThreads("report-scheduler-worker"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("report-scheduler-timer"));
+        for (JobLane lane : JobLane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+        }
+        laneLimits[JobLane.INTERACTIVE.ordinal()] = poolSize;
+        laneLimits[JobLane.BATCH.ordinal()] = Math.max(1, poolSize - 1);
+        laneLimits[JobLane.PREGENERATION.ordinal()] = Math.max(1, poolSize / 4);
+
+        // Periodic dispatch picks up pre-generation work once the off-peak window opens
+        timer.scheduleWithFixedDelay(this::dispatch, DISPATCH_TICK_SECONDS, DISPATCH_TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the maximum number of concurrently running jobs of a lane.
+     *
+     * @param lane The lane to limit
+     * @param limit The cap, between 1 and the pool size
+     */
+    public void setLaneLimit(JobLane lane, int limit) {
+        if (limit < 1 || limit > poolSize) {
+            throw new IllegalArgumentException("Lane limit must be between 1 and " + poolSize + ": " + limit);
+        }
+        synchronized (lock) {
+            laneLimits[lane.ordinal()] = limit;
+        }
+        dispatch();
+    }
+
+    public int getLaneLimit(JobLane lane) {
+        synchronized (lock) {
+            return laneLimits[lane.ordinal()];
+        }
+    }
+
+    /**
+     * Queues a one-off job to run as soon as its lane has capacity.
+     */
+    public <T> ReportJob<T> submit(String name, JobLane lane, Callable<T> task) {
+        ReportJob<T> job = register(name, lane, task, null, null);
+        trigger(job);
+        return job;
+    }
+
+    /**
+     * Queues a one-off job after the given delay.
+     */
+    public <T> ReportJob<T> schedule(String name, JobLane lane, Callable<T> task, Duration delay) {
+        ReportJob<T> job = register(name, lane, task, null, null);
+        synchronized (lock) {
+            job.trigger = timer.schedule(() -> trigger(job), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return job;
+    }
+
+    /**
+     * Registers a recurring job. A trigger is skipped while the previous run is still queued or running.
+     *
+     * @param name Job name shown to operators
+     * @param lane The lane the runs are queued in
+     * @param task The work of a single run
+     * @param initialDelay Delay before the first run
+     * @param period Interval between runs
+     * @return The registered job
+     */
+    public <T> ReportJob<T> scheduleAtFixedRate(String name, JobLane lane, Callable<T> task,
+                                                Duration initialDelay, Duration period) {
+        ReportJob<T> job = register(name, lane, task, period, null);
+        startTrigger(job, initialDelay);
+        return job;
+    }
+
+    /**
+     * Registers a recurring pre-generation job. Runs happen off-peak only and their output is
+     * kept under the given key, so it is ready before users ask for it.
+     *
+     * @param key Key under which the latest output is available from {@link #getPregenerated(String)}
+     * @param task Generates the output, e.g. saves a report and returns its path
+     * @param period Interval between regenerations
+     * @return The registered job
+     */
+    public <T> ReportJob<T> schedulePregeneration(String key, Callable<T> task, Duration period) {
+        ReportJob<T> job = register("pregenerate:" + key, JobLane.PREGENERATION, task, period, key);
+        startTrigger(job, Duration.ZERO);
+        return job;
+    }
+
+    /**
+     * Returns the latest pre-generated output for the key, if one has been produced.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getPregenerated(String key) {
+        return Optional.ofNullable((T) pregenerated.get(key));
+    }
+
+    /**
+     * Drops the pre-generated output, e.g. after the underlying data changed.
+     */
+    public void invalidatePregenerated(String key) {
+        pregenerated.remove(key);
+    }
+
+    /**
+     * Cancels a job. Queued runs are removed, a running task is interrupted and
+     * recurring jobs are not triggered again.
+     *
+     * @return true if the job was active and is now cancelled
+     */
+    public boolean cancel(long jobId) {
+        ReportJob<?> job;
+        synchronized (lock) {
+            job = jobs.get(jobId);
+            if (job == null || job.state == JobState.CANCELLED) {
+                return false;
+            }
+            if (job.state == JobState.QUEUED) {
+                queues.get(job.lane).remove(job);
+            }
+            if (job.trigger != null) {
+                job.trigger.cancel(false);
+            }
+            if (job.runner != null) {
+                job.runner.interrupt();
+            }
+            job.state = JobState.CANCELLED;
+            retire(job);
+        }
+        job.result.completeExceptionally(new CancellationException("Job cancelled: " + job.name));
+        return true;
+    }
+
+    /**
+     * Returns snapshots of all active jobs followed by recently finished one-off jobs.
+     */
+    public List<JobInfo> getJobs() {
+        synchronized (lock) {
+            List<JobInfo> result = new ArrayList<>(jobs.size() + finished.size());
+            for (ReportJob<?> job : jobs.values()) {
+                result.add(job.snapshot());
+            }
+            result.addAll(finished);
+            return result;
+        }
+    }
+
+    public Optional<JobInfo> getJob(long jobId) {
+        synchronized (lock) {
+            ReportJob<?> job = jobs.get(jobId);
+            if (job != null) {
+                return Optional.of(job.snapshot());
+            }
+            for (JobInfo info : finished) {
+                if (info.getId() == jobId) {
+                    return Optional.of(info);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public int getQueueLength(JobLane lane) {
+        synchronized (lock) {
+            return queues.get(lane).size();
+        }
+    }
+
+    public int getRunningCount(JobLane lane) {
+        synchronized (lock) {
+            return laneRunning[lane.ordinal()];
+        }
+    }
+
+    /**
+     * Stops triggering jobs and interrupts running ones.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            for (Deque<ReportJob<?>> queue : queues.values()) {
+                queue.clear();
+            }
+        }
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private <T> ReportJob<T> register(String name, JobLane lane, Callable<T> task,
+                                      Duration period, String pregenerationKey) {
+        ReportJob<T> job = new ReportJob<>(ids.incrementAndGet(), name, lane, task, period, pregenerationKey);
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Scheduler is closed");
+            }
+            jobs.put(job.id, job);
+        }
+        return job;
+    }
+
+    private void startTrigger(ReportJob<?> job, Duration initialDelay) {
+        synchronized (lock) {
+            job.trigger = timer.scheduleAtFixedRate(() -> trigger(job),
+                    initialDelay.toMillis(), job.period.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void trigger(ReportJob<?> job) {
+        synchronized (lock) {
+            if (closed || job.state != JobState.SCHEDULED) {
+                // Cancelled, or the previous run has not finished yet
+                return;
+            }
+            job.state = JobState.QUEUED;
+            queues.get(job.lane).addLast(job);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            for (JobLane lane : JobLane.values()) {
+                Deque<ReportJob<?>> queue = queues.get(lane);
+                while (!queue.isEmpty() && totalRunning < poolSize
+                        && laneRunning[lane.ordinal()] < laneLimits[lane.ordinal()]) {
+                    if (lane == JobLane.PREGENERATION && !pregenerationAllowed()) {
+                        break;
+                    }
+                    ReportJob<?> job = queue.pollFirst();
+                    job.state = JobState.RUNNING;
+                    job.lastStarted = Instant.now();
+                    laneRunning[lane.ordinal()]++;
+                    totalRunning++;
+                    workers.execute(() -> run(job));
+                }
+            }
+        }
+    }
+
+    // Called with the lock held
+    private boolean pregenerationAllowed() {
+        return queues.get(JobLane.INTERACTIVE).isEmpty()
+                && queues.get(JobLane.BATCH).isEmpty()
+                && offPeakPolicy.isOffPeak();
+    }
+
+    private <T> void run(ReportJob<T> job) {
+        boolean cancelled;
+        synchronized (lock) {
+            cancelled = job.state == JobState.CANCELLED;
+            if (cancelled) {
+                // Cancelled between dispatch and start: release the slot without running the task
+                laneRunning[job.lane.ordinal()]--;
+                totalRunning--;
+                job.lastFinished = Instant.now();
+            } else {
+                job.runner = Thread.currentThread();
+            }
+        }
+        if (cancelled) {
+            dispatch();
+            return;
+        }
+        T value = null;
+        Throwable error = null;
+        try {
+            value = job.task.call();
+        } catch (Throwable t) {
+            // Errors such as OutOfMemoryError too, so the lane slot is always released
+            error = t;
+        }
+
+        boolean completeResult;
+        synchronized (lock) {
+            job.runner = null;
+            // Clear a cancellation interrupt so it does not leak into the next job on this worker
+            Thread.interrupted();
+            laneRunning[job.lane.ordinal()]--;
+            totalRunning--;
+            job.runCount++;
+            job.lastFinished = Instant.now();
+            job.lastError = error != null ? error.toString() : null;
+            if (error == null) {
+                job.setLastResult(value);
+                if (job.pregenerationKey != null && value != null) {
+                    pregenerated.put(job.pregenerationKey, value);
+                }
+            }
+            completeResult = job.state != JobState.CANCELLED && !job.isRecurring();
+            if (job.state != JobState.CANCELLED) {
+                if (job.isRecurring()) {
+                    job.state = JobState.SCHEDULED;
+                } else {
+                    job.state = error == null ? JobState.COMPLETED : JobState.FAILED;
+                    retire(job);
+                }
+            }
+        }
+
+        if (completeResult) {
+            if (error == null) {
+                job.result.complete(value);
+            } else {
+                job.result.completeExceptionally(error);
+            }
+        }
+        dispatch();
+    }
+
+    // Called with the lock held: moves a finished job into the bounded history
+    private void retire(ReportJob<?> job) {
+        jobs.remove(job.id);
+        finished.addFirst(job.snapshot());
+        while (finished.size() > FINISHED_HISTORY_SIZE) {
+            finished.removeLast();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
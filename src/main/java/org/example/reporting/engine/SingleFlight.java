@@ -0,0 +1,111 @@
+package org.example.reporting.engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * The first caller for a key starts the work on the executor; callers arriving while it is in
+ * flight join it and all receive its result. Every caller gets its own dependent future, so
+ * cancelling one of them does not affect the others or the shared execution. Once the work
+ * completes the key is released and the next call starts a fresh execution.
+ *
+ * @param <K> The key type; must implement equals and hashCode
+ * @param <V> The result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param executor The executor running the shared executions
+     */
+    public SingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the work for the key, or joins the execution already in flight for it.
+     *
+     * @param key The coalescing key
+     * @param work The work to run if no execution is in flight
+     * @return A future private to this caller
+     */
+    public CompletableFuture<V> execute(K key, Callable<V> work) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+
+        executions.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(work.call());
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor rejected the work
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+
+    /**
+     * Blocking variant of {@link #execute}. Interrupting the caller only stops its own wait.
+     *
+     * @throws Exception The exception thrown by the work
+     */
+    public V get(K key, Callable<V> work) throws Exception {
+        try {
+            return execute(key, work).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Returns the number of executions that were actually started.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns the number of calls that joined an execution already in flight.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of keys currently being executed.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
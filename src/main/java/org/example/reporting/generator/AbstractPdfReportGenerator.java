@@ -2,11 +2,15 @@ package org.example.reporting.generator;
 
 import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
 import com.itextpdf.text.pdf.PdfWriter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -16,20 +20,21 @@ import java.util.Map;
  * Abstract base class for PDF report generators.
  * Provides common functionality for generating and saving reports.
  *
+ * Renders honour the {@link RenderContext} active on the calling thread: they stop at the next
+ * row or page once it is cancelled or past its deadline, and report their progress to it.
+ *
  * @param <T> The data model type for the report
  */
-public abstract class AbstractPdfReportGenerator<T> implements PdfReportGenerator<T> {
+public abstract class AbstractPdfReportGenerator<T>
+        implements PdfReportGenerator<T>, StructuredReportGenerator<T> {
+
+    private volatile OutputProfile outputProfile = OutputProfile.DEFAULT;
+    private volatile ProfileFont profileFont;
 
     @Override
     public byte[] generateReport(List<T> data, Map<String, Object> parameters) throws DocumentException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Document document = createDocument();
-        PdfWriter.getInstance(document, outputStream);
-
-        document.open();
-        populateDocument(document, data, parameters);
-        document.close();
-
+        writeDocument(data, parameters, outputStream);
         return outputStream.toByteArray();
     }
 
@@ -40,14 +45,124 @@ public abstract class AbstractPdfReportGenerator<T> implements PdfReportGenerato
         Files.createDirectories(filePath.getParent());
 
         // Generate the PDF and save it directly to the file
+        try (OutputStream outputStream = new FileOutputStream(filePath.toFile())) {
+            writeDocument(data, parameters, outputStream);
+        } catch (DocumentException | IOException | RuntimeException e) {
+            // Nie zostawiamy niekompletnego pliku, np. po anulowaniu
+            deletePartialFile(filePath, e);
+            throw e;
+        }
+
+        return filePath;
+    }
+
+    @Override
+    public void writeReport(List<T> data, Map<String, Object> parameters, OutputStream outputStream)
+            throws DocumentException, IOException {
+        writeDocument(data, parameters, nonClosing(outputStream));
+    }
+
+    public OutputProfile getOutputProfile() {
+        return outputProfile;
+    }
+
+    @Override
+    public String getConfigurationKey() {
+        return getClass().getName() + " " + outputProfile;
+    }
+
+    /**
+     * Sets the output profile used for all subsequent reports of this generator.
+     *
+     * @param outputProfile The profile to apply, e.g. {@link OutputProfile#COMPACT}
+     */
+    public void setOutputProfile(OutputProfile outputProfile) {
+        if (outputProfile == null) {
+            throw new IllegalArgumentException("Output profile must not be null");
+        }
+        this.outputProfile = outputProfile;
+    }
+
+    /**
+     * Renders the complete report into the given stream.
+     */
+    protected void writeDocument(List<T> data, Map<String, Object> parameters, OutputStream outputStream)
+            throws DocumentException {
         Document document = createDocument();
-        PdfWriter.getInstance(document, new FileOutputStream(filePath.toFile()));
+        createWriter(document, outputStream);
 
         document.open();
         populateDocument(document, data, parameters);
         document.close();
+    }
 
-        return filePath;
+    /**
+     * Creates the PdfWriter for the document, applies the current output profile and reports
+     * completed pages to the active {@link RenderContext}.
+     *
+     * @param document The document the writer listens to
+     * @param outputStream The stream receiving the PDF bytes
+     * @return The configured writer
+     * @throws DocumentException If the writer cannot be configured
+     */
+    protected PdfWriter createWriter(Document document, OutputStream outputStream) throws DocumentException {
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        outputProfile.applyTo(writer);
+        RenderContext context = RenderContext.current();
+        if (context != RenderContext.NONE) {
+            writer.setPageEvent(new PdfPageEventHelper() {
+                @Override
+                public void onEndPage(PdfWriter pageWriter, Document pageDocument) {
+                    context.pageCompleted(pageWriter.getPageNumber());
+                }
+            });
+        }
+        return writer;
+    }
+
+    /**
+     * Returns the base font used by the report, honouring the font settings of the output profile.
+     * The font is created once per profile and shared by all reports of this generator,
+     * including reports rendered concurrently.
+     *
+     * @return A font with CP1250 encoding for Polish characters
+     * @throws DocumentException If the font cannot be created
+     * @throws IOException If the font program cannot be read
+     */
+    protected BaseFont createBaseFont() throws DocumentException, IOException {
+        OutputProfile profile = outputProfile;
+        ProfileFont cached = profileFont;
+        if (cached == null || cached.profile != profile) {
+            cached = new ProfileFont(profile, profile.createBaseFont());
+            profileFont = cached;
+        }
+        return cached.font;
+    }
+
+    /**
+     * Wraps a caller's stream for a PdfWriter; closing the document closes its stream,
+     * which would otherwise close the caller's stream too.
+     */
+    protected static OutputStream nonClosing(OutputStream outputStream) {
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private static void deletePartialFile(Path filePath, Exception failure) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
     }
 
     /**
@@ -69,4 +184,17 @@ public abstract class AbstractPdfReportGenerator<T> implements PdfReportGenerato
      */
     protected abstract void populateDocument(Document document, List<T> data, Map<String, Object> parameters)
             throws DocumentException;
-}
\ No newline at end of file
+
+    /**
+     * Base font created for a specific output profile.
+     */
+    private static final class ProfileFont {
+        private final OutputProfile profile;
+        private final BaseFont font;
+
+        private ProfileFont(OutputProfile profile, BaseFont font) {
+            this.profile = profile;
+            this.font = font;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.reporting.generator;
+
+/**
+ * Flag through which another thread stops a render, e.g. when the user closes the page that
+ * requested the report. A token can be shared by several renders and cannot be reset.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Requests cancellation; renders using this token stop at their next row or page.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
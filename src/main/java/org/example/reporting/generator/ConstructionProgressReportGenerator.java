@@ -1,13 +1,27 @@
 package org.example.reporting.generator;
 
 import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.render.ReportRenderer;
 import com.itextpdf.text.*;
+import com.itextpdf.text.io.RandomAccessSourceFactory;
 import com.itextpdf.text.pdf.BaseFont;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +33,16 @@ import java.util.stream.Collectors;
  */
 public class ConstructionProgressReportGenerator extends AbstractPdfReportGenerator<ConstructionProgress> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final String[] TASK_HEADERS =
+            {"Zadanie", "Status", "Planowany koniec", "Faktyczny koniec", "Opóźnienie (dni)", "Ukończenie %"};
+    private static final String[] DELAYED_HEADERS = {"Zadanie", "Planowany koniec", "Opóźnienie (dni)"};
+    private static final String[] STATUS_SUMMARY_HEADERS = {"Status", "Liczba zadań", "Procent"};
+    private static final int FLUSH_ROWS = 500;
+    private static final String TITLE = "Raport postępu budowy";
+    private static final String UPDATE_TITLE = "Aktualizacja raportu postępu budowy";
+
     @Override
     protected Document createDocument() {
         return new Document(PageSize.A4, 36, 36, 54, 36); // Left, right, top, bottom margins
@@ -27,9 +51,94 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
     @Override
     protected void populateDocument(Document document, List<ConstructionProgress> data, Map<String, Object> parameters)
             throws DocumentException {
+        populate(document, TITLE, data, parameters, false);
+    }
+
+    /**
+     * Generates the report from a one-pass row source, e.g. a database cursor, without holding
+     * all rows in memory. The task and delayed-task tables are flushed to the PDF every
+     * {@value #FLUSH_ROWS} rows; only delayed tasks are kept, to sort them for the analysis
+     * section. Summary values (completion, delayed count, status breakdown) come from the
+     * parameters, as for list input.
+     *
+     * @param rows The rows; consumed once, not closed
+     * @param parameters Additional parameters for report generation
+     * @param outputStream The target stream; it is not closed
+     * @throws DocumentException If an error occurs during document generation
+     */
+    public void writeReport(Iterable<ConstructionProgress> rows, Map<String, Object> parameters,
+                            OutputStream outputStream) throws DocumentException {
+        Document document = createDocument();
+        createWriter(document, nonClosing(outputStream));
+
+        document.open();
+        populate(document, TITLE, rows, parameters, true);
+        document.close();
+    }
+
+    /**
+     * Appends new rows and an updated summary to an existing report as new pages, using a PDF
+     * incremental update: the bytes already in the file are not rewritten, only the new pages and
+     * a new cross-reference section are added at its end. The rows are rendered like a report of
+     * their own, with summary values taken from the parameters, so the parameters should describe
+     * the whole project after the update. If the update fails, the file is cut back to its
+     * previous length.
+     *
+     * @param report An existing report written by this generator
+     * @param rows The new rows; consumed once, not closed
+     * @param parameters Additional parameters for report generation
+     * @return The number of pages added
+     * @throws DocumentException If an error occurs during document generation
+     * @throws IOException If the report cannot be read or written
+     */
+    public int appendReport(Path report, Iterable<ConstructionProgress> rows, Map<String, Object> parameters)
+            throws DocumentException, IOException {
+        ByteArrayOutputStream update = new ByteArrayOutputStream();
+        Document document = createDocument();
+        createWriter(document, update);
+        document.open();
+        populate(document, UPDATE_TITLE, rows, parameters, true);
+        document.close();
+
+        PdfReader pages = new PdfReader(update.toByteArray());
+        // Partial read: only the objects of the page tree are parsed, not the content of the old pages
+        PdfReader existing = new PdfReader(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createBestSource(report.toString())), null);
+        try (FileChannel channel = FileChannel.open(report, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long length = channel.size();
+            try {
+                // The stamper copies the old file to its output first, the copy is dropped
+                TailOutputStream tail = new TailOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), length);
+                PdfStamper stamper = new PdfStamper(existing, tail, '\0', true);
+                int pageCount = existing.getNumberOfPages();
+                for (int i = 1; i <= pages.getNumberOfPages(); i++) {
+                    stamper.insertPage(pageCount + i, pages.getPageSizeWithRotation(i));
+                    stamper.getOverContent(pageCount + i).addTemplate(stamper.getImportedPage(pages, i), 0, 0);
+                }
+                stamper.close();
+                if (tail.skipped != length) {
+                    throw new IOException("Nieoczekiwana długość kopii raportu: " + tail.skipped
+                            + " zamiast " + length);
+                }
+                return pages.getNumberOfPages();
+            } catch (DocumentException | IOException | RuntimeException e) {
+                channel.truncate(length);
+                throw e;
+            }
+        } finally {
+            existing.close();
+            pages.close();
+        }
+    }
+
+    private void populate(Document document, String titleText, Iterable<ConstructionProgress> data,
+                          Map<String, Object> parameters, boolean streaming) throws DocumentException {
         try {
+            RenderContext context = RenderContext.current();
+
             // Utworzenie fontów z pełną obsługą polskich znaków
-            BaseFont baseFont = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1250, BaseFont.EMBEDDED);
+            BaseFont baseFont = createBaseFont();
             Font titleFont = new Font(baseFont, 18, Font.BOLD);
             Font headerFont = new Font(baseFont, 12, Font.BOLD);
             Font normalFont = new Font(baseFont, 10, Font.NORMAL);
@@ -40,7 +149,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
             Font sectionFont = new Font(baseFont, 14, Font.BOLD);
             
             // Add title
-            Paragraph title = new Paragraph("Raport postępu budowy", titleFont);
+            Paragraph title = new Paragraph(titleText, titleFont);
             title.setAlignment(Element.ALIGN_CENTER);
             document.add(title);
             document.add(Chunk.NEWLINE);
@@ -99,8 +208,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
             table.setWidths(columnWidths);
 
             // Add table headers
-            String[] headers = {"Zadanie", "Status", "Planowany koniec", "Faktyczny koniec", "Opóźnienie (dni)", "Ukończenie %"};
-            for (String header : headers) {
+            for (String header : TASK_HEADERS) {
                 PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
                 cell.setHorizontalAlignment(Element.ALIGN_CENTER);
                 cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
@@ -108,10 +216,17 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                 table.addCell(cell);
             }
 
-            // Add data rows
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
+            // Add data rows, remembering the delayed ones for the analysis section
+            List<ConstructionProgress> delayedRows = new ArrayList<>();
+            long rowCount = 0;
+            if (streaming) {
+                table.setComplete(false);
+            }
             for (ConstructionProgress progress : data) {
+                rowCount++;
+                if (progress.isDelayed()) {
+                    delayedRows.add(progress);
+                }
                 // Task name
                 PdfPCell taskCell = new PdfPCell(new Phrase(progress.getTaskName(), normalFont));
                 taskCell.setPadding(5);
@@ -143,30 +258,22 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                 PdfPCell plannedCell = new PdfPCell();
                 plannedCell.setPadding(5);
                 plannedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                if (progress.getPlannedEnd() != null) {
-                    plannedCell.addElement(new Phrase(progress.getPlannedEnd().format(dateFormatter), normalFont));
-                } else {
-                    plannedCell.addElement(new Phrase("Nie określono", normalFont));
-                }
+                plannedCell.addElement(new Phrase(formatPlannedEnd(progress), normalFont));
                 table.addCell(plannedCell);
 
                 // Actual end date
                 PdfPCell actualCell = new PdfPCell();
                 actualCell.setPadding(5);
                 actualCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                if (progress.getActualEnd() != null) {
-                    actualCell.addElement(new Phrase(progress.getActualEnd().format(dateFormatter), normalFont));
-                } else {
-                    actualCell.addElement(new Phrase("Nie zakończono", normalFont));
-                }
+                actualCell.addElement(new Phrase(formatActualEnd(progress), normalFont));
                 table.addCell(actualCell);
 
                 // Delay information
                 PdfPCell delayCell = new PdfPCell();
                 delayCell.setPadding(5);
                 delayCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                if (progress.isDelayed() && progress.getDelayInDays() != null && progress.getDelayInDays() > 0) {
-                    delayCell.addElement(new Phrase(progress.getDelayInDays().toString(), delayedFont));
+                if (hasPositiveDelay(progress)) {
+                    delayCell.addElement(new Phrase(formatDelay(progress), delayedFont));
                     delayCell.setBackgroundColor(new BaseColor(255, 235, 235)); // Light red background
                 } else {
                     delayCell.addElement(new Phrase("0", normalFont));
@@ -177,18 +284,21 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                 PdfPCell completionCell = new PdfPCell();
                 completionCell.setPadding(5);
                 completionCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                if (progress.getCompletionPercentage() != null) {
-                    completionCell.addElement(new Phrase(progress.getCompletionPercentage() + "%", normalFont));
-                } else {
-                    completionCell.addElement(new Phrase("0%", normalFont));
-                }
+                completionCell.addElement(new Phrase(formatCompletion(progress), normalFont));
                 table.addCell(completionCell);
+                context.rowRendered();
+
+                if (streaming && rowCount % FLUSH_ROWS == 0) {
+                    // Writes the finished rows and releases them
+                    document.add(table);
+                }
             }
 
+            table.setComplete(true);
             document.add(table);
 
             // Add summary section for delayed tasks
-            if (data.stream().anyMatch(ConstructionProgress::isDelayed)) {
+            if (!delayedRows.isEmpty()) {
                 document.add(Chunk.NEWLINE);
                 document.add(Chunk.NEWLINE);
                 
@@ -201,7 +311,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                 delayedTable.setWidthPercentage(100);
                 
                 // Add headers
-                for (String header : new String[]{"Zadanie", "Planowany koniec", "Opóźnienie (dni)"}) {
+                for (String header : DELAYED_HEADERS) {
                     PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
                     cell.setHorizontalAlignment(Element.ALIGN_CENTER);
                     cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
@@ -210,11 +320,12 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                 }
                 
                 // Add delayed tasks
-                List<ConstructionProgress> delayedTasks = data.stream()
-                    .filter(ConstructionProgress::isDelayed)
-                    .sorted((a, b) -> b.getDelayInDays().compareTo(a.getDelayInDays())) // Sort by delay (descending)
-                    .collect(Collectors.toList());
-                    
+                List<ConstructionProgress> delayedTasks = delayedTasks(delayedRows);
+                if (streaming) {
+                    delayedTable.setComplete(false);
+                }
+                int delayedCount = 0;
+
                 for (ConstructionProgress progress : delayedTasks) {
                     // Task name
                     delayedTable.addCell(new PdfPCell(new Phrase(progress.getTaskName(), normalFont)));
@@ -222,11 +333,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                     // Planned end
                     PdfPCell plannedCell = new PdfPCell();
                     plannedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                    if (progress.getPlannedEnd() != null) {
-                        plannedCell.addElement(new Phrase(progress.getPlannedEnd().format(dateFormatter), normalFont));
-                    } else {
-                        plannedCell.addElement(new Phrase("Nie określono", normalFont));
-                    }
+                    plannedCell.addElement(new Phrase(formatPlannedEnd(progress), normalFont));
                     delayedTable.addCell(plannedCell);
                     
                     // Delay
@@ -234,20 +341,21 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
                     delayCell.setHorizontalAlignment(Element.ALIGN_CENTER);
                     delayCell.addElement(new Phrase(String.valueOf(progress.getDelayInDays()), delayedFont));
                     delayedTable.addCell(delayCell);
+                    context.rowRendered();
+
+                    if (streaming && ++delayedCount % FLUSH_ROWS == 0) {
+                        document.add(delayedTable);
+                    }
                 }
-                
+
+                delayedTable.setComplete(true);
                 document.add(delayedTable);
                 
                 // Add average delay information
-                double avgDelay = delayedTasks.stream()
-                    .mapToInt(ConstructionProgress::getDelayInDays)
-                    .average()
-                    .orElse(0);
-                    
                 document.add(Chunk.NEWLINE);
                 Paragraph avgDelayPara = new Paragraph();
                 avgDelayPara.add(new Chunk("Średnie opóźnienie: ", boldFont));
-                avgDelayPara.add(new Chunk(String.format("%.1f dni", avgDelay), normalFont));
+                avgDelayPara.add(new Chunk(formatAverageDelay(delayedTasks), normalFont));
                 document.add(avgDelayPara);
             }
 
@@ -322,10 +430,10 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
             }
 
             // Add summary footnote
-            if (!data.isEmpty()) {
+            if (rowCount > 0) {
                 document.add(Chunk.NEWLINE);
                 Paragraph footnote = new Paragraph("Raport wygenerowany: " +
-                        java.time.LocalDate.now().format(dateFormatter), footnoteFont);
+                        java.time.LocalDate.now().format(DATE_FORMATTER), footnoteFont);
                 footnote.setAlignment(Element.ALIGN_CENTER);
                 document.add(footnote);
             }
@@ -347,8 +455,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
         statusTable.setWidthPercentage(100);
         
         // Add headers
-        String[] headers = {"Status", "Liczba zadań", "Procent"};
-        for (String header : headers) {
+        for (String header : STATUS_SUMMARY_HEADERS) {
             PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
             cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
@@ -356,19 +463,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
             statusTable.addCell(cell);
         }
         
-        // Sort statuses in a logical order if possible
-        List<String> orderedStatuses = tasksByStatus.keySet().stream().collect(Collectors.toList());
-        
-        // Try to order by common status progression
-        String[] statusOrder = {"Zakończone", "W toku", "Opóźnione", "Rozpoczęte", 
-                              "DONE", "IN_PROGRESS", "DELAYED", "STARTED"};
-        
-        for (String status : statusOrder) {
-            if (tasksByStatus.containsKey(status)) {
-                orderedStatuses.remove(status);
-                orderedStatuses.add(0, status);
-            }
-        }
+        List<String> orderedStatuses = orderStatuses(tasksByStatus);
         
         // Add rows
         BaseColor[] statusColors = {
@@ -411,7 +506,7 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
             statusTable.addCell(countCell);
             
             // Percentage
-            PdfPCell percentCell = new PdfPCell(new Phrase(String.format("%.1f%%", percentage), normalFont));
+            PdfPCell percentCell = new PdfPCell(new Phrase(formatPercentage(percentage), normalFont));
             percentCell.setHorizontalAlignment(Element.ALIGN_CENTER);
             percentCell.setPadding(5);
             statusTable.addCell(percentCell);
@@ -421,4 +516,164 @@ public class ConstructionProgressReportGenerator extends AbstractPdfReportGenera
         
         document.add(statusTable);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void renderReport(List<ConstructionProgress> data, Map<String, Object> parameters,
+                             ReportRenderer renderer) throws IOException {
+        RenderContext context = RenderContext.current();
+        renderer.startReport("construction-progress", TITLE);
+
+        // Summary information if available
+        if (parameters != null) {
+            if (parameters.containsKey("completedPercentage")) {
+                renderer.field("Ukończone zadania", parameters.get("completedPercentage") + "%");
+            }
+            if (parameters.containsKey("delayedCount")) {
+                renderer.field("Opóźnione zadania", parameters.get("delayedCount").toString());
+            }
+            if (parameters.containsKey("dateFrom") && parameters.containsKey("dateTo")) {
+                renderer.field("Okres", parameters.get("dateFrom") + " do " + parameters.get("dateTo"));
+            }
+            if (parameters.containsKey("tasksByStatus")) {
+                @SuppressWarnings("unchecked")
+                Map<String, Long> tasksByStatus = (Map<String, Long>) parameters.get("tasksByStatus");
+                if (!tasksByStatus.isEmpty()) {
+                    int total = tasksByStatus.values().stream().mapToInt(Long::intValue).sum();
+                    renderer.startTable("status-summary", STATUS_SUMMARY_HEADERS);
+                    for (String status : orderStatuses(tasksByStatus)) {
+                        Long count = tasksByStatus.get(status);
+                        renderer.row(status, String.valueOf(count), formatPercentage(count * 100.0 / total));
+                    }
+                    renderer.endTable();
+                }
+            }
+        }
+
+        // Main tasks table
+        renderer.startTable("tasks", TASK_HEADERS);
+        for (ConstructionProgress progress : data) {
+            renderer.row(
+                    progress.getTaskName(),
+                    progress.getStatus(),
+                    formatPlannedEnd(progress),
+                    formatActualEnd(progress),
+                    hasPositiveDelay(progress) ? formatDelay(progress) : "0",
+                    formatCompletion(progress));
+            context.rowRendered();
+        }
+        renderer.endTable();
+
+        // Delayed tasks analysis
+        List<ConstructionProgress> delayedTasks = delayedTasks(data);
+        if (!delayedTasks.isEmpty()) {
+            renderer.startSection("Analiza opóźnionych zadań");
+            renderer.startTable("delayed-tasks", DELAYED_HEADERS);
+            for (ConstructionProgress progress : delayedTasks) {
+                renderer.row(progress.getTaskName(), formatPlannedEnd(progress), formatDelay(progress));
+                context.rowRendered();
+            }
+            renderer.endTable();
+            renderer.field("Średnie opóźnienie", formatAverageDelay(delayedTasks));
+            renderer.endSection();
+        }
+
+        renderer.endReport();
+    }
+
+    /**
+     * Returns the delayed tasks sorted by delay, longest first
+     */
+    private static List<ConstructionProgress> delayedTasks(List<ConstructionProgress> data) {
+        return data.stream()
+                .filter(ConstructionProgress::isDelayed)
+                .sorted((a, b) -> b.getDelayInDays().compareTo(a.getDelayInDays()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sorts statuses in a logical order if possible, following the common status progression
+     */
+    private static List<String> orderStatuses(Map<String, Long> tasksByStatus) {
+        List<String> orderedStatuses = tasksByStatus.keySet().stream().collect(Collectors.toList());
+
+        String[] statusOrder = {"Zakończone", "W toku", "Opóźnione", "Rozpoczęte",
+                              "DONE", "IN_PROGRESS", "DELAYED", "STARTED"};
+
+        for (String status : statusOrder) {
+            if (tasksByStatus.containsKey(status)) {
+                orderedStatuses.remove(status);
+                orderedStatuses.add(0, status);
+            }
+        }
+        return orderedStatuses;
+    }
+
+    private static boolean hasPositiveDelay(ConstructionProgress progress) {
+        return progress.isDelayed() && progress.getDelayInDays() != null && progress.getDelayInDays() > 0;
+    }
+
+    private static String formatPlannedEnd(ConstructionProgress progress) {
+        return progress.getPlannedEnd() != null ? progress.getPlannedEnd().format(DATE_FORMATTER) : "Nie określono";
+    }
+
+    private static String formatActualEnd(ConstructionProgress progress) {
+        return progress.getActualEnd() != null ? progress.getActualEnd().format(DATE_FORMATTER) : "Nie zakończono";
+    }
+
+    private static String formatDelay(ConstructionProgress progress) {
+        return String.valueOf(progress.getDelayInDays());
+    }
+
+    private static String formatCompletion(ConstructionProgress progress) {
+        return progress.getCompletionPercentage() != null ? progress.getCompletionPercentage() + "%" : "0%";
+    }
+
+    private static String formatPercentage(double percentage) {
+        return String.format("%.1f%%", percentage);
+    }
+
+    private static String formatAverageDelay(List<ConstructionProgress> delayedTasks) {
+        double avgDelay = delayedTasks.stream()
+                .mapToInt(ConstructionProgress::getDelayInDays)
+                .average()
+                .orElse(0);
+        return String.format("%.1f dni", avgDelay);
+    }
+
+    /**
+     * Drops the first bytes written to it and passes the rest on; closing only flushes.
+     */
+    private static final class TailOutputStream extends FilterOutputStream {
+
+        private final long skip;
+        private long skipped;
+
+        TailOutputStream(OutputStream out, long skip) {
+            super(out);
+            this.skip = skip;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int dropped = (int) Math.min(len, skip - skipped);
+            skipped += dropped;
+            if (dropped < len) {
+                out.write(b, off + dropped, len - dropped);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.example.reporting.generator;
 
 import org.example.reporting.model.EmployeeLoad;
 import org.example.reporting.model.TaskDetail;
+import org.example.reporting.render.ReportRenderer;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
@@ -10,9 +11,9 @@ import com.itextpdf.text.pdf.BaseFont;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Generator for employee load reports.
@@ -20,6 +21,12 @@ import java.util.stream.Collectors;
  */
 public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<EmployeeLoad> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final String[] EMPLOYEE_HEADERS =
+            {"Pracownik", "Liczba zadań", "Godziny pracy", "FTE", "Rozkład zadań wg statusu"};
+    private static final String[] TASK_HEADERS = {"Zadanie", "Status", "Termin", "Priorytet"};
+
     @Override
     protected Document createDocument() {
         return new Document(PageSize.A4.rotate(), 36, 36, 54, 36); // Landscape orientation for better tables
@@ -29,8 +36,10 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
     protected void populateDocument(Document document, List<EmployeeLoad> data, Map<String, Object> parameters)
             throws DocumentException {
         try {
+            RenderContext context = RenderContext.current();
+
             // Utworzenie fontów z odpowiednim kodowaniem dla polskich znaków
-            BaseFont baseFont = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1250, BaseFont.EMBEDDED);
+            BaseFont baseFont = createBaseFont();
             Font titleFont = new Font(baseFont, 18, Font.BOLD);
             Font headerFont = new Font(baseFont, 12, Font.BOLD);
             Font sectionFont = new Font(baseFont, 14, Font.BOLD);
@@ -62,8 +71,7 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
             table.setWidthPercentage(100);
             
             // Nagłówki
-            String[] headers = {"Pracownik", "Liczba zadań", "Godziny pracy", "FTE", "Rozkład zadań wg statusu"};
-            for (String header : headers) {
+            for (String header : EMPLOYEE_HEADERS) {
                 PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
                 cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
                 cell.setPadding(5);
@@ -83,31 +91,25 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
                 table.addCell(new Phrase(df.format(employee.getTotalHours()), normalFont));
                 
                 // FTE
-                String fteValue = (employee.getFteEquivalent() != null) ? 
-                    df.format(employee.getFteEquivalent()) : "N/A";
-                table.addCell(new Phrase(fteValue, normalFont));
+                table.addCell(new Phrase(formatFte(employee, df), normalFont));
                 
                 // Rozkład zadań wg statusu
-                StringBuilder statusText = new StringBuilder();
-                if (employee.getTasksByStatus() != null && !employee.getTasksByStatus().isEmpty()) {
-                    for (Map.Entry<String, Integer> entry : employee.getTasksByStatus().entrySet()) {
-                        statusText.append(entry.getKey()).append(": ").append(entry.getValue()).append(" | ");
-                    }
-                } else {
-                    statusText.append("Brak danych");
-                }
-                table.addCell(new Phrase(statusText.toString(), normalFont));
+                table.addCell(new Phrase(formatStatusBreakdown(employee), normalFont));
+                context.rowRendered();
             }
             
             document.add(table);
             document.add(Chunk.NEWLINE);
             
             // Sekcje szczegółowe dla każdego pracownika
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+            boolean groupByStatus = isGroupedByStatus(parameters);
             for (EmployeeLoad employee : data) {
+                context.checkpoint();
                 if (employee.getTasks() != null && !employee.getTasks().isEmpty()) {
+                    TaskDetailSelection selection = TaskDetailSelection.of(employee.getTasks(), parameters);
+
                     // Nagłówek sekcji pracownika
-                    Paragraph employeeHeader = new Paragraph(employee.getEmployeeName() + " - Szczegóły zadań", sectionFont);
+                    Paragraph employeeHeader = new Paragraph(taskSectionTitle(employee, selection), sectionFont);
                     document.add(employeeHeader);
                     document.add(Chunk.NEWLINE);
                     
@@ -116,30 +118,29 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
                     taskTable.setWidthPercentage(100);
                     
                     // Nagłówki szczegółów
-                    String[] taskHeaders = {"Zadanie", "Status", "Termin", "Priorytet"};
-                    for (String header : taskHeaders) {
+                    for (String header : TASK_HEADERS) {
                         PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
                         cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
                         cell.setPadding(4);
                         taskTable.addCell(cell);
                     }
                     
-                    // Dane zadań
-                    for (TaskDetail task : employee.getTasks()) {
-                        // Nazwa zadania
-                        Font taskFont = task.isDelayed() ? redFont : normalFont;
-                        taskTable.addCell(new Phrase(task.getTaskName(), taskFont));
-                        
-                        // Status
-                        taskTable.addCell(new Phrase(task.getStatus(), normalFont));
-                        
-                        // Termin
-                        String deadline = task.getDeadlineDate() != null ? 
-                            task.getDeadlineDate().format(dateFormatter) : "Brak terminu";
-                        taskTable.addCell(new Phrase(deadline, normalFont));
-                        
-                        // Priorytet
-                        taskTable.addCell(new Phrase(task.getPriority(), normalFont));
+                    if (groupByStatus) {
+                        // Dane zadań pogrupowane według statusu
+                        addTaskGroups(taskTable, selection, normalFont, redFont, boldFont, italicFont, context);
+                    } else {
+                        // Dane zadań
+                        for (TaskDetail task : selection.getShown()) {
+                            addTaskRow(taskTable, task, normalFont, redFont);
+                            context.rowRendered();
+                        }
+
+                        // Zadania pominięte w trybie ograniczonym - po jednym wierszu zbiorczym na status
+                        for (TaskDetailSelection.Remainder remainder : selection.getRemainders()) {
+                            for (String value : remainderRow(remainder)) {
+                                taskTable.addCell(new Phrase(value, italicFont));
+                            }
+                        }
                     }
                     
                     document.add(taskTable);
@@ -148,12 +149,9 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
             }
             
             // Podsumowanie
-            int totalTasks = data.stream().mapToInt(EmployeeLoad::getTaskCount).sum();
-            double totalHours = data.stream().mapToDouble(EmployeeLoad::getTotalHours).sum();
-            
             Paragraph summary = new Paragraph();
             summary.add(new Chunk("Podsumowanie: ", headerFont));
-            summary.add(new Chunk("Łącznie " + totalTasks + " zadań, " + df.format(totalHours) + " godzin pracy", normalFont));
+            summary.add(new Chunk(formatSummary(data, df), normalFont));
             document.add(summary);
             
             // Stopka z datą generowania
@@ -169,94 +167,202 @@ public class EmployeeLoadReportGenerator extends AbstractPdfReportGenerator<Empl
         }
     }
 
+    @Override
+    public void renderReport(List<EmployeeLoad> data, Map<String, Object> parameters,
+                             ReportRenderer renderer) throws IOException {
+        RenderContext context = RenderContext.current();
+        renderer.startReport("employee-load", "Raport obciążenia pracownika");
+
+        // Informacje o okresie
+        if (parameters != null && parameters.containsKey("dateFrom") && parameters.containsKey("dateTo")) {
+            renderer.field("Okres", parameters.get("dateFrom") + " do " + parameters.get("dateTo"));
+        }
+
+        // Główna tabela
+        DecimalFormat df = new DecimalFormat("0.00");
+        renderer.startTable("employees", EMPLOYEE_HEADERS);
+        for (EmployeeLoad employee : data) {
+            renderer.row(
+                    employee.getEmployeeName(),
+                    employee.getTaskCount().toString(),
+                    df.format(employee.getTotalHours()),
+                    formatFte(employee, df),
+                    formatStatusBreakdown(employee));
+            context.rowRendered();
+        }
+        renderer.endTable();
+
+        // Sekcje szczegółowe dla każdego pracownika
+        boolean groupByStatus = isGroupedByStatus(parameters);
+        for (EmployeeLoad employee : data) {
+            context.checkpoint();
+            if (employee.getTasks() != null && !employee.getTasks().isEmpty()) {
+                TaskDetailSelection selection = TaskDetailSelection.of(employee.getTasks(), parameters);
+                renderer.startSection(taskSectionTitle(employee, selection));
+                if (groupByStatus) {
+                    // Każdy status jako podsekcja z własną tabelą
+                    Map<String, TaskDetailSelection.Remainder> remainders = remaindersByStatus(selection);
+                    StatusGroups groups = StatusGroups.of(selection.getShown(), remainders.keySet());
+                    for (int group = 0; group < groups.size(); group++) {
+                        TaskDetailSelection.Remainder remainder = remainders.get(groups.getStatus(group));
+                        renderer.startSection(groupTitle(groups, group, remainder));
+                        renderer.startTable("tasks", TASK_HEADERS);
+                        for (int i = 0; i < groups.getTaskCount(group); i++) {
+                            renderer.row(taskRow(groups.getTask(group, i)));
+                            context.rowRendered();
+                        }
+                        if (remainder != null) {
+                            renderer.row(remainderRow(remainder));
+                        }
+                        renderer.endTable();
+                        renderer.endSection();
+                    }
+                } else {
+                    renderer.startTable("tasks", TASK_HEADERS);
+                    for (TaskDetail task : selection.getShown()) {
+                        renderer.row(taskRow(task));
+                        context.rowRendered();
+                    }
+                    for (TaskDetailSelection.Remainder remainder : selection.getRemainders()) {
+                        renderer.row(remainderRow(remainder));
+                    }
+                    renderer.endTable();
+                }
+                renderer.endSection();
+            }
+        }
+
+        // Podsumowanie
+        renderer.field("Podsumowanie", formatSummary(data, df));
+        renderer.endReport();
+    }
+
+    private static String taskSectionTitle(EmployeeLoad employee, TaskDetailSelection selection) {
+        String title = employee.getEmployeeName() + " - Szczegóły zadań";
+        if (selection.isTruncated()) {
+            title += " (pokazano " + selection.getShown().size() + " z " + selection.getTotalCount() + ")";
+        }
+        return title;
+    }
+
     /**
-     * Helper method to add tasks with a specific status to the table
+     * Returns the row summarising the tasks of one status left out of the detail table, with
+     * their count, delayed count and estimated hours.
      */
-    private void addTasksByStatus(PdfPTable table, Map<String, List<TaskDetail>> tasksByStatus, 
-                                 String status, DateTimeFormatter dateFormatter, 
-                                 DecimalFormat decimalFormat, Font normalFont, 
-                                 Font greenFont, Font redFont) {
-        if (!tasksByStatus.containsKey(status)) {
-            return;
+    private static String[] remainderRow(TaskDetailSelection.Remainder remainder) {
+        String name = "Pozostałe zadania: " + remainder.getCount();
+        if (remainder.getDelayedCount() > 0) {
+            name += " (opóźnione: " + remainder.getDelayedCount() + ")";
         }
-        
-        List<TaskDetail> tasks = tasksByStatus.get(status);
-        
-        // Add status header row
-        PdfPCell statusCell = new PdfPCell(new Phrase(status, normalFont));
-        statusCell.setColspan(5);
-        statusCell.setBackgroundColor(new BaseColor(240, 240, 240));
-        statusCell.setPadding(3);
-        table.addCell(statusCell);
-        
-        // Sort tasks by deadline
-        tasks.sort((a, b) -> {
-            if (a.getDeadlineDate() == null && b.getDeadlineDate() == null) return 0;
-            if (a.getDeadlineDate() == null) return 1;
-            if (b.getDeadlineDate() == null) return -1;
-            return a.getDeadlineDate().compareTo(b.getDeadlineDate());
-        });
-        
-        // Add task rows
-        for (TaskDetail task : tasks) {
-            // Task name
-            PdfPCell nameCell = new PdfPCell();
-            nameCell.setPadding(3);
-            
-            Font taskFont = task.isDelayed() ? redFont : normalFont;
-            nameCell.addElement(new Phrase(task.getTaskName(), taskFont));
-            table.addCell(nameCell);
-            
-            // Status
-            PdfPCell taskStatusCell = new PdfPCell(new Phrase(task.getStatus(), normalFont));
-            taskStatusCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            taskStatusCell.setPadding(3);
-            table.addCell(taskStatusCell);
-            
-            // Deadline or completion date
-            PdfPCell dateCell = new PdfPCell();
-            dateCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            dateCell.setPadding(3);
-            
-            // Show deadline or completion date
-            if (task.getCompletedDate() != null) {
-                String completedDate = task.getCompletedDate().format(dateFormatter);
-                Font dateFont = task.isDelayed() ? redFont : greenFont;
-                dateCell.addElement(new Phrase(completedDate, dateFont));
-            } else if (task.getDeadlineDate() != null) {
-                String deadline = task.getDeadlineDate().format(dateFormatter);
-                Font dateFont = task.isDelayed() ? redFont : normalFont;
-                dateCell.addElement(new Phrase(deadline, dateFont));
-            } else {
-                dateCell.addElement(new Phrase("Nie określono", normalFont));
+        if (remainder.getEstimatedHours() > 0) {
+            name += ", szacowany czas: " + new DecimalFormat("0.00").format(remainder.getEstimatedHours()) + " h";
+        }
+        String deadline = remainder.getEarliestDeadline() != null
+                ? "od " + remainder.getEarliestDeadline().format(DATE_FORMATTER) : "Brak terminu";
+        StringBuilder priorities = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : remainder.getByPriority().entrySet()) {
+            if (priorities.length() > 0) {
+                priorities.append(", ");
             }
-            table.addCell(dateCell);
-            
-            // Estimated hours
-            PdfPCell hoursCell = new PdfPCell();
-            hoursCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            hoursCell.setPadding(3);
-            if (task.getEstimatedHours() != null) {
-                hoursCell.addElement(new Phrase(decimalFormat.format(task.getEstimatedHours()), normalFont));
-            } else {
-                hoursCell.addElement(new Phrase("N/A", normalFont));
+            priorities.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return new String[] {name, remainder.getStatus(), deadline, priorities.toString()};
+    }
+
+    private static String formatFte(EmployeeLoad employee, DecimalFormat df) {
+        return employee.getFteEquivalent() != null ? df.format(employee.getFteEquivalent()) : "N/A";
+    }
+
+    private static String formatStatusBreakdown(EmployeeLoad employee) {
+        StringBuilder statusText = new StringBuilder();
+        if (employee.getTasksByStatus() != null && !employee.getTasksByStatus().isEmpty()) {
+            for (Map.Entry<String, Integer> entry : employee.getTasksByStatus().entrySet()) {
+                statusText.append(entry.getKey()).append(": ").append(entry.getValue()).append(" | ");
             }
-            table.addCell(hoursCell);
-            
-            // Priority
-            PdfPCell priorityCell = new PdfPCell();
-            priorityCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            priorityCell.setPadding(3);
-            if (task.getPriority() != null) {
-                Font priorityFont = normalFont;
-                if (task.getPriority().contains("Wysoki")) {
-                    priorityFont = redFont;
+        } else {
+            statusText.append("Brak danych");
+        }
+        return statusText.toString();
+    }
+
+    private static String formatDeadline(TaskDetail task) {
+        return task.getDeadlineDate() != null ? task.getDeadlineDate().format(DATE_FORMATTER) : "Brak terminu";
+    }
+
+    private static String formatSummary(List<EmployeeLoad> data, DecimalFormat df) {
+        int totalTasks = data.stream().mapToInt(EmployeeLoad::getTaskCount).sum();
+        double totalHours = data.stream().mapToDouble(EmployeeLoad::getTotalHours).sum();
+        return "Łącznie " + totalTasks + " zadań, " + df.format(totalHours) + " godzin pracy";
+    }
+
+    /**
+     * Checks the {@code groupByStatus} parameter: whether task tables are grouped by status.
+     */
+    private static boolean isGroupedByStatus(Map<String, Object> parameters) {
+        Object value = parameters != null ? parameters.get("groupByStatus") : null;
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    private static void addTaskRow(PdfPTable table, TaskDetail task, Font normalFont, Font redFont) {
+        // Nazwa zadania
+        Font taskFont = task.isDelayed() ? redFont : normalFont;
+        table.addCell(new Phrase(task.getTaskName(), taskFont));
+
+        // Status
+        table.addCell(new Phrase(task.getStatus(), normalFont));
+
+        // Termin
+        table.addCell(new Phrase(formatDeadline(task), normalFont));
+
+        // Priorytet
+        table.addCell(new Phrase(task.getPriority(), normalFont));
+    }
+
+    /**
+     * Adds the shown tasks grouped by status, each group under a header row and followed by the
+     * aggregate row of its tasks left out in bounded mode.
+     */
+    private static void addTaskGroups(PdfPTable table, TaskDetailSelection selection, Font normalFont,
+                                      Font redFont, Font boldFont, Font italicFont, RenderContext context) {
+        Map<String, TaskDetailSelection.Remainder> remainders = remaindersByStatus(selection);
+        StatusGroups groups = StatusGroups.of(selection.getShown(), remainders.keySet());
+        for (int group = 0; group < groups.size(); group++) {
+            TaskDetailSelection.Remainder remainder = remainders.get(groups.getStatus(group));
+
+            // Wiersz nagłówka grupy
+            PdfPCell statusCell = new PdfPCell(new Phrase(groupTitle(groups, group, remainder), boldFont));
+            statusCell.setColspan(TASK_HEADERS.length);
+            statusCell.setBackgroundColor(new BaseColor(240, 240, 240));
+            statusCell.setPadding(3);
+            table.addCell(statusCell);
+
+            for (int i = 0; i < groups.getTaskCount(group); i++) {
+                addTaskRow(table, groups.getTask(group, i), normalFont, redFont);
+                context.rowRendered();
+            }
+            if (remainder != null) {
+                for (String value : remainderRow(remainder)) {
+                    table.addCell(new Phrase(value, italicFont));
                 }
-                priorityCell.addElement(new Phrase(task.getPriority(), priorityFont));
-            } else {
-                priorityCell.addElement(new Phrase("Standardowy", normalFont));
             }
-            table.addCell(priorityCell);
         }
     }
-}
\ No newline at end of file
+
+    private static Map<String, TaskDetailSelection.Remainder> remaindersByStatus(TaskDetailSelection selection) {
+        Map<String, TaskDetailSelection.Remainder> remainders = new LinkedHashMap<>();
+        for (TaskDetailSelection.Remainder remainder : selection.getRemainders()) {
+            remainders.put(remainder.getStatus(), remainder);
+        }
+        return remainders;
+    }
+
+    private static String groupTitle(StatusGroups groups, int group, TaskDetailSelection.Remainder remainder) {
+        int count = groups.getTaskCount(group) + (remainder != null ? remainder.getCount() : 0);
+        String status = groups.getStatus(group) != null ? groups.getStatus(group) : "Brak statusu";
+        return status + " (" + count + ")";
+    }
+
+    private static String[] taskRow(TaskDetail task) {
+        return new String[] {task.getTaskName(), task.getStatus(), formatDeadline(task), task.getPriority()};
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.reporting.generator;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfStream;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+
+/**
+ * Output settings applied to the PdfWriter and the fonts of a generated report.
+ * Profiles are immutable; the with* methods return a modified copy, named after the source
+ * profile and the change, e.g. {@code compact+level6}.
+ */
+public final class OutputProfile {
+
+    /**
+     * iText defaults: classic cross-reference table and the default deflate level.
+     */
+    public static final OutputProfile DEFAULT =
+            new OutputProfile("default", false, PdfStream.DEFAULT_COMPRESSION, true, null);
+
+    /**
+     * Smallest files: compressed cross-reference and object streams, best deflate level.
+     */
+    public static final OutputProfile COMPACT =
+            new OutputProfile("compact", true, PdfStream.BEST_COMPRESSION, true, null);
+
+    /**
+     * Fastest rendering: full compression with the cheapest deflate level.
+     */
+    public static final OutputProfile FAST =
+            new OutputProfile("fast", true, PdfStream.BEST_SPEED, true, null);
+
+    private final String name;
+    private final boolean fullCompression;
+    private final int compressionLevel;
+    private final boolean subsetFonts;
+    private final String fontProgram;
+
+    /**
+     * Full constructor
+     *
+     * @param name Profile name used in logs and benchmarks
+     * @param fullCompression Whether to write compressed cross-reference and object streams (PDF 1.5)
+     * @param compressionLevel Deflate level from -1 (default) or 0 (none) to 9 (best)
+     * @param subsetFonts Whether embedded fonts contain only the glyphs that are used
+     * @param fontProgram Path to a TrueType/OpenType font to embed, or null for the built-in Helvetica
+     */
+    public OutputProfile(String name, boolean fullCompression, int compressionLevel,
+                         boolean subsetFonts, String fontProgram) {
+        if (compressionLevel < PdfStream.DEFAULT_COMPRESSION || compressionLevel > PdfStream.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9: " + compressionLevel);
+        }
+        this.name = name;
+        this.fullCompression = fullCompression;
+        this.compressionLevel = compressionLevel;
+        this.subsetFonts = subsetFonts;
+        this.fontProgram = fontProgram;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isFullCompression() {
+        return fullCompression;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean isSubsetFonts() {
+        return subsetFonts;
+    }
+
+    public String getFontProgram() {
+        return fontProgram;
+    }
+
+    public OutputProfile withCompressionLevel(int compressionLevel) {
+        return new OutputProfile(name + "+level" + compressionLevel, fullCompression, compressionLevel,
+                subsetFonts, fontProgram);
+    }
+
+    public OutputProfile withSubsetFonts(boolean subsetFonts) {
+        return new OutputProfile(name + (subsetFonts ? "+subset" : "+nosubset"), fullCompression,
+                compressionLevel, subsetFonts, fontProgram);
+    }
+
+    /**
+     * Returns a copy that embeds the given font program instead of the built-in Helvetica.
+     * The standard 14 fonts are never embedded by iText, so subsetting only has an effect
+     * once an external font program is configured.
+     */
+    public OutputProfile withFontProgram(String fontProgram) {
+        String font = fontProgram != null
+                ? fontProgram.substring(Math.max(fontProgram.lastIndexOf('/'), fontProgram.lastIndexOf('\\')) + 1)
+                : "helvetica";
+        return new OutputProfile(name + "+" + font, fullCompression, compressionLevel, subsetFonts, fontProgram);
+    }
+
+    /**
+     * Applies the compression settings of this profile to a writer that has not been opened yet.
+     *
+     * @param writer The writer to configure
+     * @throws DocumentException If the writer cannot be configured
+     */
+    public void applyTo(PdfWriter writer) throws DocumentException {
+        if (fullCompression) {
+            // Compressed cross-reference and object streams, requires PDF 1.5
+            writer.setFullCompression();
+        }
+        writer.setCompressionLevel(compressionLevel);
+    }
+
+    /**
+     * Creates the base font for reports written with this profile.
+     *
+     * @return A font with CP1250 encoding for Polish characters
+     * @throws DocumentException If the font cannot be created
+     * @throws IOException If the font program cannot be read
+     */
+    public BaseFont createBaseFont() throws DocumentException, IOException {
+        if (fontProgram == null) {
+            return BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1250, BaseFont.EMBEDDED);
+        }
+        if (subsetFonts) {
+            // Subsetting is the iText default, so the shared cached instance can be used
+            return BaseFont.createFont(fontProgram, BaseFont.CP1250, BaseFont.EMBEDDED);
+        }
+        // A private instance (cached = false), so that switching off subsetting does not leak into
+        // the font cache; the four-argument overload would return the cached instance
+        BaseFont baseFont = BaseFont.createFont(fontProgram, BaseFont.CP1250, BaseFont.EMBEDDED, false, null, null);
+        baseFont.setSubset(false);
+        return baseFont;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(fullCompression=" + fullCompression + ", compressionLevel=" + compressionLevel
+                + ", subsetFonts=" + subsetFonts + ", fontProgram=" + fontProgram + ")";
+    }
+}
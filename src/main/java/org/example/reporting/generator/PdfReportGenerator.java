@@ -6,6 +6,7 @@ import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.DocumentException;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -38,4 +39,29 @@ public interface PdfReportGenerator<T> {
      */
     Path saveReport(List<T> data, Map<String, Object> parameters, Path filePath)
             throws DocumentException, IOException;
+
+    /**
+     * Generates a PDF report into the given stream, for storage backends that are not file paths.
+     *
+     * @param data The list of data objects to include in the report
+     * @param parameters Additional parameters that may be needed for report generation
+     * @param outputStream The target stream; it is not closed
+     * @throws DocumentException If there is an error during PDF generation
+     * @throws IOException If there is an error writing the stream
+     */
+    default void writeReport(List<T> data, Map<String, Object> parameters, OutputStream outputStream)
+            throws DocumentException, IOException {
+        outputStream.write(generateReport(data, parameters));
+    }
+
+    /**
+     * Describes everything besides the data and parameters that affects the output, e.g. the
+     * generator class and its output profile. Stored or coalesced reports are reused only while
+     * it is unchanged.
+     *
+     * @return The configuration key, compared for equality only
+     */
+    default String getConfigurationKey() {
+        return getClass().getName();
+    }
 }
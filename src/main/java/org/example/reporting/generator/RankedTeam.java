@@ -0,0 +1,33 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TeamEfficiency;
+
+/**
+ * A team with its position in a {@link TeamRanking}.
+ */
+public final class RankedTeam {
+
+    private final TeamEfficiency team;
+    private final int rank;
+
+    RankedTeam(TeamEfficiency team, int rank) {
+        this.team = team;
+        this.rank = rank;
+    }
+
+    public TeamEfficiency getTeam() {
+        return team;
+    }
+
+    /**
+     * Returns the position, shared by teams that tie, or 0 for a team without tasks, which is
+     * not ranked.
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public boolean isRanked() {
+        return rank > 0;
+    }
+}
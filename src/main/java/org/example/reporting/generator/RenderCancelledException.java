@@ -0,0 +1,26 @@
+package org.example.reporting.generator;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by a render that was stopped through its {@link RenderContext}: cancelled through the
+ * token, interrupted, or past its deadline.
+ */
+public class RenderCancelledException extends CancellationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean deadlineExceeded;
+
+    public RenderCancelledException(String message, boolean deadlineExceeded) {
+        super(message);
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    /**
+     * Returns true if the render was stopped because its deadline passed.
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+}
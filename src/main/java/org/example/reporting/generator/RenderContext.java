@@ -0,0 +1,149 @@
+package org.example.reporting.generator;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deadline, cancellation token and progress listener of a render. Contexts are immutable; the
+ * with* methods return a modified copy.
+ *
+ * A context applies to the reports rendered on the current thread while it is active:
+ * <pre>
+ * try (RenderContext.Scope scope = context.activate()) {
+ *     generator.saveReport(data, parameters, path);
+ * }
+ * </pre>
+ * The generators check the context for every table row and page and stop with a
+ * {@link RenderCancelledException} once the token is cancelled, the thread is interrupted or
+ * the deadline has passed.
+ */
+public final class RenderContext {
+
+    /**
+     * No deadline, no token and no listener; renders stop only when their thread is interrupted.
+     */
+    public static final RenderContext NONE = new RenderContext(null, null, null);
+
+    private static final ThreadLocal<RenderContext> CURRENT = new ThreadLocal<>();
+
+    private final Instant deadline;
+    private final long deadlineMillis;
+    private final CancellationToken cancellationToken;
+    private final RenderProgressListener progressListener;
+
+    private RenderContext(Instant deadline, CancellationToken cancellationToken,
+                          RenderProgressListener progressListener) {
+        this.deadline = deadline;
+        this.deadlineMillis = deadline != null ? deadline.toEpochMilli() : Long.MAX_VALUE;
+        this.cancellationToken = cancellationToken;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Returns the context active on the current thread, or {@link #NONE}.
+     */
+    public static RenderContext current() {
+        RenderContext context = CURRENT.get();
+        return context != null ? context : NONE;
+    }
+
+    public RenderContext withDeadline(Instant deadline) {
+        return new RenderContext(deadline, cancellationToken, progressListener);
+    }
+
+    /**
+     * Returns a copy whose deadline is the given time from now.
+     */
+    public RenderContext withTimeout(Duration timeout) {
+        return withDeadline(Instant.now().plus(timeout));
+    }
+
+    public RenderContext withCancellationToken(CancellationToken cancellationToken) {
+        return new RenderContext(deadline, cancellationToken, progressListener);
+    }
+
+    public RenderContext withProgressListener(RenderProgressListener progressListener) {
+        return new RenderContext(deadline, cancellationToken, progressListener);
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public RenderProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Makes this the context of the current thread until the returned scope is closed.
+     *
+     * @return The scope restoring the previous context on close
+     */
+    public Scope activate() {
+        RenderContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Scope(previous);
+    }
+
+    /**
+     * Stops the render if it was cancelled, interrupted or is past its deadline.
+     *
+     * @throws RenderCancelledException If the render must stop
+     */
+    public void checkpoint() {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            throw new RenderCancelledException("Anulowano generowanie raportu", false);
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RenderCancelledException("Przerwano generowanie raportu", false);
+        }
+        if (deadlineMillis != Long.MAX_VALUE && System.currentTimeMillis() > deadlineMillis) {
+            throw new RenderCancelledException("Przekroczono termin generowania raportu: " + deadline, true);
+        }
+    }
+
+    /**
+     * Checkpoint for a data row: stops the render if needed, then reports the row.
+     */
+    public void rowRendered() {
+        checkpoint();
+        if (progressListener != null) {
+            progressListener.rowRendered();
+        }
+    }
+
+    /**
+     * Checkpoint for a completed page: reports the page, then stops the render if needed.
+     */
+    public void pageCompleted(int pageNumber) {
+        if (progressListener != null) {
+            progressListener.pageCompleted(pageNumber);
+        }
+        checkpoint();
+    }
+
+    /**
+     * Active context of a thread; closing it restores the context active before.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final RenderContext previous;
+
+        private Scope(RenderContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.reporting.generator;
+
+/**
+ * Receives progress of a render. Both methods are called on the rendering thread, so they
+ * should return quickly; a listener shared by renders on several threads must be thread-safe.
+ */
+public interface RenderProgressListener {
+
+    /**
+     * Called after each data row has been added to a table of the report.
+     */
+    default void rowRendered() {
+    }
+
+    /**
+     * Called when a page of a PDF report has been completed.
+     *
+     * @param pageNumber The number of the completed page, starting at 1
+     */
+    default void pageCompleted(int pageNumber) {
+    }
+}
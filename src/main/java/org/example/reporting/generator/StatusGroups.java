@@ -0,0 +1,172 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TaskDetail;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tasks of one employee grouped by status, each group ordered by deadline.
+ *
+ * Groups follow {@link #STATUS_ORDER}, then other statuses in order of first appearance.
+ * Statuses are mapped to ordinals once per task while the tasks are counted; the tasks are then
+ * placed into their buckets and each bucket is ordered by sorting primitive keys
+ * {@code (deadline epoch day << 24) | index}, so the caller's list is neither copied into
+ * sublists nor reordered.
+ */
+final class StatusGroups {
+
+    /**
+     * Order of the known statuses; delayed work comes first.
+     */
+    static final String[] STATUS_ORDER = {"DELAYED", "IN_PROGRESS", "STARTED", "DONE"};
+
+    private static final int INDEX_BITS = 24;
+    private static final int MAX_TASKS = 1 << INDEX_BITS;
+    // Tasks without a deadline sort after every real date
+    private static final long NO_DEADLINE = (1L << (63 - INDEX_BITS)) - 1;
+    private static final long DAY_BIAS = 1L << 32;
+
+    private final String[] statuses;
+    private final int[] starts;
+    private final TaskDetail[] ordered;
+
+    private StatusGroups(String[] statuses, int[] starts, TaskDetail[] ordered) {
+        this.statuses = statuses;
+        this.starts = starts;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Groups the tasks.
+     *
+     * @param tasks The tasks, in any order
+     * @param extraStatuses Statuses that get a group even without tasks, e.g. of tasks summarised
+     *                      in aggregate rows
+     */
+    static StatusGroups of(List<TaskDetail> tasks, Collection<String> extraStatuses) {
+        if (tasks.size() >= MAX_TASKS) {
+            throw new IllegalArgumentException("Zbyt wiele zadań do grupowania: " + tasks.size());
+        }
+        Map<String, Integer> otherOrdinals = new HashMap<>();
+        int size = tasks.size();
+        int[] ordinals = new int[size];
+        int[] counts = new int[STATUS_ORDER.length + 4];
+        boolean[] present = new boolean[counts.length];
+
+        // Single pass: ordinal of each task and bucket sizes
+        for (int i = 0; i < size; i++) {
+            int ordinal = ordinal(tasks.get(i).getStatus(), otherOrdinals);
+            if (ordinal >= counts.length) {
+                counts = Arrays.copyOf(counts, ordinal * 2);
+                present = Arrays.copyOf(present, ordinal * 2);
+            }
+            ordinals[i] = ordinal;
+            counts[ordinal]++;
+            present[ordinal] = true;
+        }
+        for (String status : extraStatuses) {
+            int ordinal = ordinal(status, otherOrdinals);
+            if (ordinal >= counts.length) {
+                counts = Arrays.copyOf(counts, ordinal * 2);
+                present = Arrays.copyOf(present, ordinal * 2);
+            }
+            present[ordinal] = true;
+        }
+
+        // Names of the ordinals in use
+        String[] names = new String[present.length];
+        System.arraycopy(STATUS_ORDER, 0, names, 0, STATUS_ORDER.length);
+        for (Map.Entry<String, Integer> entry : otherOrdinals.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        int groupCount = 0;
+        for (boolean used : present) {
+            if (used) {
+                groupCount++;
+            }
+        }
+        String[] statuses = new String[groupCount];
+        int[] starts = new int[groupCount + 1];
+        int[] offsets = new int[present.length];
+        int group = 0;
+        int offset = 0;
+        for (int ordinal = 0; ordinal < present.length; ordinal++) {
+            if (present[ordinal]) {
+                statuses[group] = names[ordinal];
+                starts[group] = offset;
+                offsets[ordinal] = offset;
+                offset += counts[ordinal];
+                group++;
+            }
+        }
+        starts[groupCount] = offset;
+
+        // Place the sort keys into the buckets and order each bucket by deadline
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[offsets[ordinals[i]]++] = (deadlineKey(tasks.get(i)) << INDEX_BITS) | i;
+        }
+        TaskDetail[] ordered = new TaskDetail[size];
+        for (int g = 0; g < groupCount; g++) {
+            Arrays.sort(keys, starts[g], starts[g + 1]);
+            for (int i = starts[g]; i < starts[g + 1]; i++) {
+                ordered[i] = tasks.get((int) (keys[i] & (MAX_TASKS - 1)));
+            }
+        }
+        return new StatusGroups(statuses, starts, ordered);
+    }
+
+    int size() {
+        return statuses.length;
+    }
+
+    String getStatus(int group) {
+        return statuses[group];
+    }
+
+    /**
+     * Returns the number of tasks in the group, excluding aggregated ones.
+     */
+    int getTaskCount(int group) {
+        return starts[group + 1] - starts[group];
+    }
+
+    TaskDetail getTask(int group, int index) {
+        return ordered[starts[group] + index];
+    }
+
+    private static int ordinal(String status, Map<String, Integer> otherOrdinals) {
+        if (status != null) {
+            switch (status) {
+                case "DELAYED":
+                    return 0;
+                case "IN_PROGRESS":
+                    return 1;
+                case "STARTED":
+                    return 2;
+                case "DONE":
+                    return 3;
+                default:
+                    break;
+            }
+        }
+        Integer ordinal = otherOrdinals.get(status);
+        if (ordinal == null) {
+            ordinal = STATUS_ORDER.length + otherOrdinals.size();
+            otherOrdinals.put(status, ordinal);
+        }
+        return ordinal;
+    }
+
+    private static long deadlineKey(TaskDetail task) {
+        if (task.getDeadlineDate() == null) {
+            return NO_DEADLINE;
+        }
+        // Biased to stay positive; dates beyond the range sort with the missing ones
+        return Math.max(0, Math.min(NO_DEADLINE, task.getDeadlineDate().toEpochDay() + DAY_BIAS));
+    }
+}
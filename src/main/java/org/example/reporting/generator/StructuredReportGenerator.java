@@ -0,0 +1,59 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.document.ReportDocument;
+import org.example.reporting.document.ReportDocumentBuilder;
+import org.example.reporting.render.ReportFormat;
+import org.example.reporting.render.ReportRenderer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report generator that can describe its content independently of the PDF layout.
+ * The same columns, summaries and analyses are emitted to any {@link ReportRenderer}.
+ *
+ * @param <T> The data model type for the report
+ */
+public interface StructuredReportGenerator<T> {
+
+    /**
+     * Emits the report content to the given renderer.
+     *
+     * @param data The list of data objects to include in the report
+     * @param parameters Additional parameters that may be needed for report generation
+     * @param renderer The backend receiving the content
+     * @throws IOException If the renderer cannot write its output
+     */
+    void renderReport(List<T> data, Map<String, Object> parameters, ReportRenderer renderer) throws IOException;
+
+    /**
+     * Renders the report in a text format straight to the given writer.
+     *
+     * @param data The list of data objects to include in the report
+     * @param parameters Additional parameters that may be needed for report generation
+     * @param format The output format
+     * @param writer The target writer; it is flushed but not closed
+     * @throws IOException If the output cannot be written
+     */
+    default void renderReport(List<T> data, Map<String, Object> parameters, ReportFormat format, Writer writer)
+            throws IOException {
+        renderReport(data, parameters, format.newRenderer(writer));
+    }
+
+    /**
+     * Computes the report content once into an immutable, layout-independent document.
+     * The document can be cached and rendered many times with {@link ReportDocument#renderTo}.
+     *
+     * @param data The list of data objects to include in the report
+     * @param parameters Additional parameters that may be needed for report generation
+     * @return The report document
+     * @throws IOException If the content cannot be built
+     */
+    default ReportDocument buildDocument(List<T> data, Map<String, Object> parameters) throws IOException {
+        ReportDocumentBuilder builder = new ReportDocumentBuilder();
+        renderReport(data, parameters, builder);
+        return builder.build();
+    }
+}
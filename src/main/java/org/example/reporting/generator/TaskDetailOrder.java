@@ -0,0 +1,50 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TaskDetail;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * The order of the tasks in the per-employee tables of the employee load report.
+ */
+public enum TaskDetailOrder {
+
+    /**
+     * Delayed tasks first, then by deadline.
+     */
+    OVERDUE_FIRST,
+
+    /**
+     * By deadline, earliest first.
+     */
+    DEADLINE;
+
+    // Tasks without a deadline go last; the task id keeps the order stable between runs
+    private static final Comparator<TaskDetail> BY_DEADLINE = Comparator
+            .comparing(TaskDetail::getDeadlineDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskDetail::getTaskId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<TaskDetail> OVERDUE_THEN_DEADLINE = Comparator
+            .comparing((TaskDetail task) -> !task.isDelayed())
+            .thenComparing(BY_DEADLINE);
+
+    /**
+     * Returns the comparator putting the tasks shown first at the front.
+     */
+    public Comparator<TaskDetail> comparator() {
+        return this == OVERDUE_FIRST ? OVERDUE_THEN_DEADLINE : BY_DEADLINE;
+    }
+
+    /**
+     * Reads the order from a report parameter: a TaskDetailOrder or its name, in any case.
+     *
+     * @throws IllegalArgumentException If the value names no order
+     */
+    public static TaskDetailOrder fromParameter(Object value) {
+        if (value instanceof TaskDetailOrder) {
+            return (TaskDetailOrder) value;
+        }
+        return valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TaskDetail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The tasks of one employee shown in the detail table, and aggregates of the tasks left out.
+ *
+ * With a limit, the first tasks in the chosen order are found with a heap holding at most
+ * {@code limit} tasks, so the cost grows with the limit rather than with the task count.
+ * The remaining tasks are summarised per status, in the order the statuses first appear.
+ */
+final class TaskDetailSelection {
+
+    private final List<TaskDetail> shown;
+    private final List<Remainder> remainders;
+    private final int totalCount;
+
+    private TaskDetailSelection(List<TaskDetail> shown, List<Remainder> remainders, int totalCount) {
+        this.shown = shown;
+        this.remainders = remainders;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Selects the tasks as configured by the report parameters {@code taskLimit} (the maximum
+     * number of tasks per employee) and {@code taskOrder} (a {@link TaskDetailOrder} or its name,
+     * OVERDUE_FIRST by default when a limit is set). Without either, all tasks are shown in list order.
+     */
+    static TaskDetailSelection of(List<TaskDetail> tasks, Map<String, Object> parameters) {
+        Map<String, Object> params = parameters != null ? parameters : Map.of();
+        Object limit = params.get("taskLimit");
+        Object order = params.get("taskOrder");
+        if (limit == null && order == null) {
+            return new TaskDetailSelection(tasks, Collections.emptyList(), tasks.size());
+        }
+        TaskDetailOrder taskOrder = order != null
+                ? TaskDetailOrder.fromParameter(order) : TaskDetailOrder.OVERDUE_FIRST;
+        return select(tasks, limit != null ? parseLimit(limit) : Integer.MAX_VALUE, taskOrder);
+    }
+
+    static TaskDetailSelection select(List<TaskDetail> tasks, int limit, TaskDetailOrder order) {
+        Comparator<TaskDetail> comparator = order.comparator();
+        if (tasks.size() <= limit) {
+            List<TaskDetail> sorted = new ArrayList<>(tasks);
+            sorted.sort(comparator);
+            return new TaskDetailSelection(sorted, Collections.emptyList(), tasks.size());
+        }
+
+        // Head of the heap is the last task currently selected
+        PriorityQueue<TaskDetail> heap = new PriorityQueue<>(limit + 1, comparator.reversed());
+        Map<String, Remainder> remainders = new LinkedHashMap<>();
+        for (TaskDetail task : tasks) {
+            // Registering every status on first sight keeps the aggregates in task list order
+            remainders.computeIfAbsent(task.getStatus(), Remainder::new);
+            if (heap.size() < limit) {
+                heap.add(task);
+            } else if (limit > 0 && comparator.compare(task, heap.peek()) < 0) {
+                add(remainders, heap.poll());
+                heap.add(task);
+            } else {
+                add(remainders, task);
+            }
+        }
+        List<TaskDetail> shown = new ArrayList<>(heap);
+        shown.sort(comparator);
+        List<Remainder> nonEmpty = new ArrayList<>();
+        for (Remainder remainder : remainders.values()) {
+            if (remainder.getCount() > 0) {
+                nonEmpty.add(remainder);
+            }
+        }
+        return new TaskDetailSelection(shown, nonEmpty, tasks.size());
+    }
+
+    List<TaskDetail> getShown() {
+        return shown;
+    }
+
+    /**
+     * Returns the aggregates of the tasks left out, one per status.
+     */
+    List<Remainder> getRemainders() {
+        return remainders;
+    }
+
+    int getTotalCount() {
+        return totalCount;
+    }
+
+    boolean isTruncated() {
+        return shown.size() < totalCount;
+    }
+
+    private static void add(Map<String, Remainder> remainders, TaskDetail task) {
+        remainders.get(task.getStatus()).add(task);
+    }
+
+    private static int parseLimit(Object value) {
+        try {
+            int limit = value instanceof Number
+                    ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+            if (limit < 0) {
+                throw new IllegalArgumentException("Parametr taskLimit nie może być ujemny: " + value);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Niepoprawna wartość parametru taskLimit: " + value, e);
+        }
+    }
+
+    /**
+     * Aggregate of the tasks of one status that are not shown.
+     */
+    static final class Remainder {
+
+        private final String status;
+        private final Map<String, Integer> byPriority = new LinkedHashMap<>();
+        private int count;
+        private int delayedCount;
+        private double estimatedHours;
+        private LocalDate earliestDeadline;
+
+        private Remainder(String status) {
+            this.status = status;
+        }
+
+        private void add(TaskDetail task) {
+            count++;
+            if (task.isDelayed()) {
+                delayedCount++;
+            }
+            if (task.getEstimatedHours() != null) {
+                estimatedHours += task.getEstimatedHours();
+            }
+            LocalDate deadline = task.getDeadlineDate();
+            if (deadline != null && (earliestDeadline == null || deadline.isBefore(earliestDeadline))) {
+                earliestDeadline = deadline;
+            }
+            byPriority.merge(task.getPriority() != null ? task.getPriority() : "Brak", 1, Integer::sum);
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        int getDelayedCount() {
+            return delayedCount;
+        }
+
+        double getEstimatedHours() {
+            return estimatedHours;
+        }
+
+        LocalDate getEarliestDeadline() {
+            return earliestDeadline;
+        }
+
+        Map<String, Integer> getByPriority() {
+            return byPriority;
+        }
+    }
+}
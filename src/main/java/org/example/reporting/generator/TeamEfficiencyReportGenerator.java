@@ -1,6 +1,7 @@
 package org.example.reporting.generator;
 
 import org.example.reporting.model.TeamEfficiency;
+import org.example.reporting.render.ReportRenderer;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
@@ -10,6 +11,7 @@ import com.itextpdf.text.pdf.PdfWriter;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,6 +22,18 @@ import java.util.stream.Collectors;
  */
 public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<TeamEfficiency> {
 
+    private static final String[] RANK_HEADERS = {
+        "Nazwa zespołu", 
+        "Wskaźnik efektywności", 
+        "Ukończone zadania", 
+        "Zadania na czas", 
+        "Zadania opóźnione", 
+        "Średnie opóźnienie (dni)",
+        "Liczba członków"
+    };
+    private static final String[] PRIORITY_HEADERS = {"Priorytet", "Liczba zadań", "Procent"};
+    private static final int APPENDIX_FLUSH_ROWS = 500;
+
     @Override
     protected Document createDocument() {
         return new Document(PageSize.A4, 36, 36, 54, 36);
@@ -29,8 +43,10 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
     protected void populateDocument(Document document, List<TeamEfficiency> data, Map<String, Object> parameters)
             throws DocumentException {
         try {
+            RenderContext context = RenderContext.current();
+
             // Inicjalizacja fontów z pełną obsługą polskich znaków
-            BaseFont baseFont = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1250, BaseFont.EMBEDDED);
+            BaseFont baseFont = createBaseFont();
             Font titleFont = new Font(baseFont, 18, Font.BOLD);
             Font headerFont = new Font(baseFont, 12, Font.BOLD);
             Font normalFont = new Font(baseFont, 10, Font.NORMAL);
@@ -97,16 +113,23 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
             document.add(legendTable);
             document.add(Chunk.NEWLINE);
 
+            // Kolejność zespołów i wybór zespołów prezentowanych w całości
+            TeamRanking ranking = TeamRanking.of(data, parameters);
+            List<TeamEfficiency> shownTeams = shownTeams(ranking);
+
             // Sekcja 1: Wykres efektywności zespołów jako tabela
             document.add(new Paragraph("Porównanie efektywności zespołów", sectionFont));
             document.add(Chunk.NEWLINE);
             
             // Dodaj wykres porównawczy efektywności (jako tabela)
-            addEfficiencyChart(document, data, normalFont);
+            addEfficiencyChart(document, shownTeams, normalFont);
             document.add(Chunk.NEWLINE);
 
             // Sekcja 2: Ranking zespołów
             document.add(new Paragraph("Ranking efektywności zespołów", sectionFont));
+            if (ranking.getKey() != null) {
+                document.add(new Paragraph("Kryterium rankingu: " + ranking.getKey().getLabel(), italicFont));
+            }
             document.add(Chunk.NEWLINE);
 
             // Tabela rankingu zespołów
@@ -118,17 +141,7 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
             rankTable.setWidths(columnWidths);
             
             // Nagłówki tabeli
-            String[] headers = {
-                "Nazwa zespołu", 
-                "Wskaźnik efektywności", 
-                "Ukończone zadania", 
-                "Zadania na czas", 
-                "Zadania opóźnione", 
-                "Średnie opóźnienie (dni)",
-                "Liczba członków"
-            };
-            
-            for (String header : headers) {
+            for (String header : RANK_HEADERS) {
                 PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
                 cell.setHorizontalAlignment(Element.ALIGN_CENTER);
                 cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
@@ -138,107 +151,27 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
             
             // Dodaj dane zespołów
             DecimalFormat df = new DecimalFormat("0.00");
-            int rank = 1;
-            
-            for (TeamEfficiency team : data) {
-                // Pobranie wartości (zabezpieczenie przed null)
-                Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
-                Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
-                Integer onTimeTasksCount = team.getOnTimeTasksCount() != null ? team.getOnTimeTasksCount() : 0;
-                Integer delayedTasksCount = team.getDelayedTasksCount() != null ? team.getDelayedTasksCount() : 0;
-                Double avgDelayDays = team.getAvgDelayDays() != null ? team.getAvgDelayDays() : 0.0;
-                Integer activeMembers = team.getActiveTeamMembersCount() != null ? team.getActiveTeamMembersCount() : 0;
-                Double efficiencyScore = team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
-                Boolean hasNoTasks = team.getHasNoTasks() != null ? team.getHasNoTasks() : false;
-                
-                // Nazwa zespołu (z rankingiem)
-                PdfPCell nameCell = new PdfPCell();
-                if (hasNoTasks) {
-                    // Dla zespołów bez zadań - specjalne formatowanie
-                    nameCell.addElement(new Phrase(rank + ". " + team.getTeamName() + " (brak zadań)", emptyTeamFont));
-                } else {
-                    nameCell.addElement(new Phrase(rank + ". " + team.getTeamName(), normalFont));
-                }
-                nameCell.setPadding(5);
-                rankTable.addCell(nameCell);
-                
-                // Wskaźnik efektywności
-                PdfPCell scoreCell = new PdfPCell();
-                scoreCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                scoreCell.setPadding(5);
-                
-                // Dostosowanie wyświetlania dla zespołów bez zadań
-                Phrase scorePhrase;
-                if (hasNoTasks || totalTasks == 0) {
-                    scoreCell.setBackgroundColor(new BaseColor(230, 230, 230)); // Szary
-                    scorePhrase = new Phrase("N/A", emptyTeamFont);
-                } else {
-                    scorePhrase = new Phrase(df.format(efficiencyScore) + "%", normalFont);
-                    // Kolorowanie według efektywności
-                    if (efficiencyScore >= 75) {
-                        scoreCell.setBackgroundColor(new BaseColor(200, 255, 200)); // Jasny zielony
-                    } else if (efficiencyScore >= 50) {
-                        scoreCell.setBackgroundColor(new BaseColor(255, 255, 200)); // Jasny żółty
-                    } else {
-                        scoreCell.setBackgroundColor(new BaseColor(255, 200, 200)); // Jasny czerwony
-                    }
-                }
-                
-                scoreCell.addElement(scorePhrase);
-                rankTable.addCell(scoreCell);
-                
-                // Ukończone zadania
-                PdfPCell completedCell = new PdfPCell();
-                completedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                completedCell.setPadding(5);
-                if (hasNoTasks) {
-                    completedCell.addElement(new Phrase("-", emptyTeamFont));
-                } else {
-                    completedCell.addElement(new Phrase(completedTasks + "/" + totalTasks, normalFont));
-                }
-                rankTable.addCell(completedCell);
-                
-                // Zadania na czas
-                PdfPCell onTimeCell = new PdfPCell();
-                onTimeCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                onTimeCell.setPadding(5);
-                if (hasNoTasks) {
-                    onTimeCell.addElement(new Phrase("-", emptyTeamFont));
-                } else {
-                    onTimeCell.addElement(new Phrase(String.valueOf(onTimeTasksCount), normalFont));
-                }
-                rankTable.addCell(onTimeCell);
-                
-                // Zadania opóźnione
-                PdfPCell delayedCell = new PdfPCell();
-                delayedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                delayedCell.setPadding(5);
-                if (hasNoTasks) {
-                    delayedCell.addElement(new Phrase("-", emptyTeamFont));
-                } else {
-                    delayedCell.addElement(new Phrase(String.valueOf(delayedTasksCount), normalFont));
-                }
-                rankTable.addCell(delayedCell);
-                
-                // Średnie opóźnienie
-                PdfPCell avgDelayCell = new PdfPCell();
-                avgDelayCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                avgDelayCell.setPadding(5);
-                if (hasNoTasks) {
-                    avgDelayCell.addElement(new Phrase("-", emptyTeamFont));
-                } else {
-                    avgDelayCell.addElement(new Phrase(df.format(avgDelayDays), normalFont));
-                }
-                rankTable.addCell(avgDelayCell);
-                
-                // Liczba członków zespołu
-                PdfPCell membersCell = new PdfPCell();
-                membersCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                membersCell.setPadding(5);
-                membersCell.addElement(new Phrase(String.valueOf(activeMembers), normalFont));
-                rankTable.addCell(membersCell);
-                
-                rank++;
+            for (RankedTeam rankedTeam : ranking.getTop()) {
+                addRankRow(rankTable, rankedTeam, df, normalFont, emptyTeamFont);
+                context.rowRendered();
+            }
+            if (ranking.isTruncated()) {
+                // Zespoły spoza czołówki i końca rankingu
+                String gapText = "… pominięto zespołów: " + ranking.getGapCount()
+                        + (ranking.getAppendix().isEmpty() ? "" : " (zob. załącznik)");
+                PdfPCell gapCell = new PdfPCell(new Phrase(gapText, italicFont));
+                gapCell.setColspan(RANK_HEADERS.length);
+                gapCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                gapCell.setPadding(5);
+                rankTable.addCell(gapCell);
+            }
+            for (RankedTeam rankedTeam : ranking.getBottom()) {
+                addRankRow(rankTable, rankedTeam, df, normalFont, emptyTeamFont);
+                context.rowRendered();
+            }
+            for (RankedTeam rankedTeam : ranking.getUnranked()) {
+                addRankRow(rankTable, rankedTeam, df, normalFont, emptyTeamFont);
+                context.rowRendered();
             }
             
             document.add(rankTable);
@@ -249,7 +182,9 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
             document.add(new Paragraph("Szczegółowa analiza zespołów", sectionFont));
             document.add(Chunk.NEWLINE);
             
-            for (TeamEfficiency team : data) {
+            for (TeamEfficiency team : shownTeams) {
+                context.checkpoint();
+
                 // Pomijamy szczegółową analizę dla zespołów bez zadań
                 if (team.getHasNoTasks() != null && team.getHasNoTasks()) {
                     Paragraph emptyTeamInfo = new Paragraph(team.getTeamName() + " - brak przypisanych zadań w wybranym okresie", 
@@ -263,12 +198,6 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
                 Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
                 if (totalTasks == 0) continue;
                 
-                Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
-                Integer onTimeTasksCount = team.getOnTimeTasksCount() != null ? team.getOnTimeTasksCount() : 0;
-                Double avgCompletionHours = team.getAvgCompletionHours() != null ? team.getAvgCompletionHours() : 0.0;
-                Integer activeMembers = team.getActiveTeamMembersCount() != null ? team.getActiveTeamMembersCount() : 0;
-                Double tasksPerMember = team.getTasksPerMember() != null ? team.getTasksPerMember() : 0.0;
-                Double efficiencyScore = team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
                 Map<String, Integer> tasksByPriority = team.getTasksByPriority();
                 
                 // Nagłówek zespołu
@@ -280,27 +209,10 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
                 PdfPTable detailsTable = new PdfPTable(2);
                 detailsTable.setWidthPercentage(100);
                 
-                // Obliczenia dla procentów
-                double completionRate = totalTasks > 0 ? 
-                        (double) completedTasks / totalTasks * 100 : 0;
-                double onTimeRate = completedTasks > 0 ? 
-                        (double) onTimeTasksCount / completedTasks * 100 : 0;
-                
                 // Dodaj główne wskaźniki
-                addDetailRow(detailsTable, "Liczba zakończonych zadań:", 
-                        completedTasks + "/" + totalTasks, normalFont);
-                addDetailRow(detailsTable, "Procent ukończenia zadań:", 
-                        df.format(completionRate) + "%", normalFont);
-                addDetailRow(detailsTable, "Procent zadań na czas:", 
-                        df.format(onTimeRate) + "%", normalFont);
-                addDetailRow(detailsTable, "Średni czas realizacji:", 
-                        df.format(avgCompletionHours) + " godzin", normalFont);
-                addDetailRow(detailsTable, "Liczba aktywnych członków:", 
-                        String.valueOf(activeMembers), normalFont);
-                addDetailRow(detailsTable, "Średnia liczba zadań na członka:", 
-                        df.format(tasksPerMember), normalFont);
-                addDetailRow(detailsTable, "Ogólny wskaźnik efektywności:", 
-                        df.format(efficiencyScore) + "%", normalFont);
+                for (String[] row : detailRows(team, df)) {
+                    addDetailRow(detailsTable, row[0], row[1], normalFont);
+                }
                 
                 document.add(detailsTable);
                 document.add(Chunk.NEWLINE);
@@ -366,6 +278,11 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
                 document.add(Chunk.NEWLINE);
             }
             
+            // Załącznik z pozostałymi zespołami
+            if (!ranking.getAppendix().isEmpty()) {
+                addRankingAppendix(document, ranking, headerFont, smallFont, sectionFont, context);
+            }
+
             // Dodaj stopkę z datą wygenerowania
             document.add(Chunk.NEWLINE);
             Paragraph footer = new Paragraph("Raport wygenerowany: " + 
@@ -379,24 +296,311 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
         }
     }
     
+    @Override
+    public void renderReport(List<TeamEfficiency> data, Map<String, Object> parameters,
+                             ReportRenderer renderer) throws IOException {
+        RenderContext context = RenderContext.current();
+        renderer.startReport("team-efficiency", "Raport efektywności zespołów");
+
+        // Informacje o zakresie dat
+        if (parameters != null && parameters.containsKey("dateFrom") && parameters.containsKey("dateTo")) {
+            renderer.field("Okres", parameters.get("dateFrom") + " do " + parameters.get("dateTo"));
+        }
+
+        // Podsumowanie ogólne
+        renderer.startSection("Podsumowanie ogólne");
+        for (String[] row : summaryRows(parameters)) {
+            renderer.field(row[0], row[1]);
+        }
+        renderer.endSection();
+
+        // Ranking zespołów - pozycja w osobnej kolumnie zamiast prefiksu w nazwie
+        String[] columns = new String[RANK_HEADERS.length + 1];
+        columns[0] = "Pozycja";
+        System.arraycopy(RANK_HEADERS, 0, columns, 1, RANK_HEADERS.length);
+
+        TeamRanking ranking = TeamRanking.of(data, parameters);
+        DecimalFormat df = new DecimalFormat("0.00");
+        renderer.startSection("Ranking efektywności zespołów");
+        if (ranking.getKey() != null) {
+            renderer.field("Kryterium rankingu", ranking.getKey().getLabel());
+        }
+        renderer.startTable("ranking", columns);
+        for (RankedTeam rankedTeam : ranking.getTop()) {
+            renderer.row(rankRow(rankedTeam, df));
+            context.rowRendered();
+        }
+        for (RankedTeam rankedTeam : ranking.getBottom()) {
+            renderer.row(rankRow(rankedTeam, df));
+            context.rowRendered();
+        }
+        for (RankedTeam rankedTeam : ranking.getUnranked()) {
+            renderer.row(rankRow(rankedTeam, df));
+            context.rowRendered();
+        }
+        renderer.endTable();
+        if (ranking.isTruncated()) {
+            renderer.field("Pominięte zespoły", String.valueOf(ranking.getGapCount()));
+        }
+        renderer.endSection();
+
+        // Szczegółowa analiza każdego zespołu
+        DecimalFormat percentFormat = new DecimalFormat("0.0");
+        renderer.startSection("Szczegółowa analiza zespołów");
+        for (TeamEfficiency team : shownTeams(ranking)) {
+            context.checkpoint();
+            if (team.getHasNoTasks() != null && team.getHasNoTasks()) {
+                continue;
+            }
+            Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+            if (totalTasks == 0) continue;
+
+            renderer.startSection(team.getTeamName());
+            for (String[] row : detailRows(team, df)) {
+                renderer.field(row[0], row[1]);
+            }
+            Map<String, Integer> tasksByPriority = team.getTasksByPriority();
+            if (tasksByPriority != null && !tasksByPriority.isEmpty()) {
+                renderer.startTable("priorities", PRIORITY_HEADERS);
+                for (Map.Entry<String, Integer> entry : tasksByPriority.entrySet()) {
+                    double percent = (double) entry.getValue() / totalTasks * 100;
+                    renderer.row(entry.getKey(), String.valueOf(entry.getValue()), percentFormat.format(percent) + "%");
+                }
+                renderer.endTable();
+            }
+            renderer.endSection();
+        }
+        renderer.endSection();
+
+        // Załącznik z pozostałymi zespołami
+        if (!ranking.getAppendix().isEmpty()) {
+            renderer.startSection("Załącznik: pozostałe zespoły");
+            renderer.startTable("appendix", appendixColumns(ranking.getKey()));
+            for (RankedTeam rankedTeam : ranking.getAppendix()) {
+                renderer.row(appendixRow(rankedTeam, ranking.getKey(), df));
+                context.rowRendered();
+            }
+            renderer.endTable();
+            renderer.endSection();
+        }
+
+        renderer.endReport();
+    }
+
+    /**
+     * Zwraca zespoły prezentowane w całości: czołówkę, koniec rankingu i zespoły bez zadań.
+     */
+    private static List<TeamEfficiency> shownTeams(TeamRanking ranking) {
+        List<TeamEfficiency> teams = new ArrayList<>();
+        for (RankedTeam rankedTeam : ranking.getTop()) {
+            teams.add(rankedTeam.getTeam());
+        }
+        for (RankedTeam rankedTeam : ranking.getBottom()) {
+            teams.add(rankedTeam.getTeam());
+        }
+        for (RankedTeam rankedTeam : ranking.getUnranked()) {
+            teams.add(rankedTeam.getTeam());
+        }
+        return teams;
+    }
+
+    /**
+     * Dodaje wiersz zespołu do tabeli rankingu.
+     */
+    private void addRankRow(PdfPTable rankTable, RankedTeam rankedTeam, DecimalFormat df,
+                            Font normalFont, Font emptyTeamFont) {
+        TeamEfficiency team = rankedTeam.getTeam();
+
+        // Pobranie wartości (zabezpieczenie przed null)
+        Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+        Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
+        Integer onTimeTasksCount = team.getOnTimeTasksCount() != null ? team.getOnTimeTasksCount() : 0;
+        Integer delayedTasksCount = team.getDelayedTasksCount() != null ? team.getDelayedTasksCount() : 0;
+        Double avgDelayDays = team.getAvgDelayDays() != null ? team.getAvgDelayDays() : 0.0;
+        Integer activeMembers = team.getActiveTeamMembersCount() != null ? team.getActiveTeamMembersCount() : 0;
+        Double efficiencyScore = team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
+        Boolean hasNoTasks = team.getHasNoTasks() != null ? team.getHasNoTasks() : false;
+        String position = rankedTeam.isRanked() ? rankedTeam.getRank() + ". " : "";
+
+        // Nazwa zespołu (z rankingiem)
+        PdfPCell nameCell = new PdfPCell();
+        if (hasNoTasks) {
+            // Dla zespołów bez zadań - specjalne formatowanie
+            nameCell.addElement(new Phrase(position + team.getTeamName() + " (brak zadań)", emptyTeamFont));
+        } else {
+            nameCell.addElement(new Phrase(position + team.getTeamName(), normalFont));
+        }
+        nameCell.setPadding(5);
+        rankTable.addCell(nameCell);
+        
+        // Wskaźnik efektywności
+        PdfPCell scoreCell = new PdfPCell();
+        scoreCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        scoreCell.setPadding(5);
+        
+        // Dostosowanie wyświetlania dla zespołów bez zadań
+        Phrase scorePhrase;
+        if (hasNoTasks || totalTasks == 0) {
+            scoreCell.setBackgroundColor(new BaseColor(230, 230, 230)); // Szary
+            scorePhrase = new Phrase("N/A", emptyTeamFont);
+        } else {
+            scorePhrase = new Phrase(df.format(efficiencyScore) + "%", normalFont);
+            // Kolorowanie według efektywności
+            if (efficiencyScore >= 75) {
+                scoreCell.setBackgroundColor(new BaseColor(200, 255, 200)); // Jasny zielony
+            } else if (efficiencyScore >= 50) {
+                scoreCell.setBackgroundColor(new BaseColor(255, 255, 200)); // Jasny żółty
+            } else {
+                scoreCell.setBackgroundColor(new BaseColor(255, 200, 200)); // Jasny czerwony
+            }
+        }
+        
+        scoreCell.addElement(scorePhrase);
+        rankTable.addCell(scoreCell);
+        
+        // Ukończone zadania
+        PdfPCell completedCell = new PdfPCell();
+        completedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        completedCell.setPadding(5);
+        if (hasNoTasks) {
+            completedCell.addElement(new Phrase("-", emptyTeamFont));
+        } else {
+            completedCell.addElement(new Phrase(completedTasks + "/" + totalTasks, normalFont));
+        }
+        rankTable.addCell(completedCell);
+        
+        // Zadania na czas
+        PdfPCell onTimeCell = new PdfPCell();
+        onTimeCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        onTimeCell.setPadding(5);
+        if (hasNoTasks) {
+            onTimeCell.addElement(new Phrase("-", emptyTeamFont));
+        } else {
+            onTimeCell.addElement(new Phrase(String.valueOf(onTimeTasksCount), normalFont));
+        }
+        rankTable.addCell(onTimeCell);
+        
+        // Zadania opóźnione
+        PdfPCell delayedCell = new PdfPCell();
+        delayedCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        delayedCell.setPadding(5);
+        if (hasNoTasks) {
+            delayedCell.addElement(new Phrase("-", emptyTeamFont));
+        } else {
+            delayedCell.addElement(new Phrase(String.valueOf(delayedTasksCount), normalFont));
+        }
+        rankTable.addCell(delayedCell);
+        
+        // Średnie opóźnienie
+        PdfPCell avgDelayCell = new PdfPCell();
+        avgDelayCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        avgDelayCell.setPadding(5);
+        if (hasNoTasks) {
+            avgDelayCell.addElement(new Phrase("-", emptyTeamFont));
+        } else {
+            avgDelayCell.addElement(new Phrase(df.format(avgDelayDays), normalFont));
+        }
+        rankTable.addCell(avgDelayCell);
+        
+        // Liczba członków zespołu
+        PdfPCell membersCell = new PdfPCell();
+        membersCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        membersCell.setPadding(5);
+        membersCell.addElement(new Phrase(String.valueOf(activeMembers), normalFont));
+        rankTable.addCell(membersCell);
+    }
+
+    /**
+     * Zwraca wiersz rankingu dla formatów strukturalnych (pozycja w pierwszej kolumnie).
+     */
+    private static String[] rankRow(RankedTeam rankedTeam, DecimalFormat df) {
+        TeamEfficiency team = rankedTeam.getTeam();
+        Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+        Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
+        Double efficiencyScore = team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
+        boolean hasNoTasks = team.getHasNoTasks() != null && team.getHasNoTasks();
+
+        return new String[] {
+                rankedTeam.isRanked() ? String.valueOf(rankedTeam.getRank()) : "-",
+                hasNoTasks ? team.getTeamName() + " (brak zadań)" : team.getTeamName(),
+                hasNoTasks || totalTasks == 0 ? "N/A" : df.format(efficiencyScore) + "%",
+                hasNoTasks ? "-" : completedTasks + "/" + totalTasks,
+                hasNoTasks ? "-" : String.valueOf(team.getOnTimeTasksCount() != null ? team.getOnTimeTasksCount() : 0),
+                hasNoTasks ? "-" : String.valueOf(team.getDelayedTasksCount() != null ? team.getDelayedTasksCount() : 0),
+                hasNoTasks ? "-" : df.format(team.getAvgDelayDays() != null ? team.getAvgDelayDays() : 0.0),
+                String.valueOf(team.getActiveTeamMembersCount() != null ? team.getActiveTeamMembersCount() : 0)
+        };
+    }
+
+    /**
+     * Dodaje zwięzły załącznik z zespołami spoza czołówki i końca rankingu.
+     * Tabela jest przekazywana do dokumentu partiami, a nagłówek powtarza się na każdej stronie.
+     */
+    private void addRankingAppendix(Document document, TeamRanking ranking, Font headerFont, Font smallFont,
+                                    Font sectionFont, RenderContext context) throws DocumentException {
+        document.newPage();
+        document.add(new Paragraph("Załącznik: pozostałe zespoły", sectionFont));
+        document.add(Chunk.NEWLINE);
+
+        String[] columns = appendixColumns(ranking.getKey());
+        PdfPTable table = new PdfPTable(columns.length);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[] {1f, 4f, 2f, 2f});
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        Font columnFont = new Font(headerFont.getBaseFont(), 9, Font.BOLD);
+        for (String column : columns) {
+            PdfPCell cell = new PdfPCell(new Phrase(column, columnFont));
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+            cell.setPadding(3);
+            table.addCell(cell);
+        }
+
+        DecimalFormat df = new DecimalFormat("0.00");
+        int rowCount = 0;
+        for (RankedTeam rankedTeam : ranking.getAppendix()) {
+            for (String value : appendixRow(rankedTeam, ranking.getKey(), df)) {
+                PdfPCell cell = new PdfPCell(new Phrase(value, smallFont));
+                cell.setPadding(2);
+                table.addCell(cell);
+            }
+            context.rowRendered();
+            // Oddaj gotowe wiersze do dokumentu, aby nie trzymać całej tabeli w pamięci
+            if (++rowCount % APPENDIX_FLUSH_ROWS == 0) {
+                document.add(table);
+            }
+        }
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private static String[] appendixColumns(TeamRankingKey key) {
+        return new String[] {"Pozycja", "Nazwa zespołu", key.getLabel(), "Ukończone zadania"};
+    }
+
+    private static String[] appendixRow(RankedTeam rankedTeam, TeamRankingKey key, DecimalFormat df) {
+        TeamEfficiency team = rankedTeam.getTeam();
+        Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+        Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
+        if (!rankedTeam.isRanked()) {
+            return new String[] {"-", team.getTeamName() + " (brak zadań)", "N/A", "-"};
+        }
+        String value = df.format(key.valueOf(team)) + (key == TeamRankingKey.AVG_DELAY_DAYS ? "" : "%");
+        return new String[] {
+                String.valueOf(rankedTeam.getRank()),
+                team.getTeamName(),
+                value,
+                completedTasks + "/" + totalTasks
+        };
+    }
+    
     /**
      * Dodaje sekcję z podsumowaniem ogólnym raportu.
      */
     private void addSummarySection(Document document, List<TeamEfficiency> data, Map<String, Object> parameters,
                                    Font boldFont, Font normalFont, Font sectionFont) throws DocumentException {
         
-        // Pobierz zbiorcze statystyki z parametrów
-        Integer teamsWithTasksCount = parameters.containsKey("teamsWithTasksCount") ? 
-            (Integer) parameters.get("teamsWithTasksCount") : 0;
-        Integer totalTeamsCount = parameters.containsKey("totalTeamsCount") ? 
-            (Integer) parameters.get("totalTeamsCount") : 0;
-        Integer totalTasksCount = parameters.containsKey("totalTasksCount") ? 
-            (Integer) parameters.get("totalTasksCount") : 0;
-        Integer totalCompletedTasksCount = parameters.containsKey("totalCompletedTasksCount") ? 
-            (Integer) parameters.get("totalCompletedTasksCount") : 0;
-        Double overallCompletionRate = parameters.containsKey("overallCompletionRate") ? 
-            (Double) parameters.get("overallCompletionRate") : 0.0;
-        
         // Dodaj sekcję podsumowania
         document.add(new Paragraph("Podsumowanie ogólne", sectionFont));
         document.add(Chunk.NEWLINE);
@@ -404,18 +608,66 @@ public class TeamEfficiencyReportGenerator extends AbstractPdfReportGenerator<Te
         PdfPTable summaryTable = new PdfPTable(2);
         summaryTable.setWidthPercentage(80);
         
+        for (String[] row : summaryRows(parameters)) {
+            addDetailRow(summaryTable, row[0], row[1], normalFont);
+        }
+        
+        document.add(summaryTable);
+    }
+    
+    /**
+     * Zwraca wiersze podsumowania ogólnego (etykieta, wartość) na podstawie zbiorczych statystyk z parametrów.
+     */
+    private static String[][] summaryRows(Map<String, Object> parameters) {
+        Map<String, Object> params = parameters != null ? parameters : Map.of();
+        Integer teamsWithTasksCount = params.containsKey("teamsWithTasksCount") ? 
+            (Integer) params.get("teamsWithTasksCount") : 0;
+        Integer totalTeamsCount = params.containsKey("totalTeamsCount") ? 
+            (Integer) params.get("totalTeamsCount") : 0;
+        Integer totalTasksCount = params.containsKey("totalTasksCount") ? 
+            (Integer) params.get("totalTasksCount") : 0;
+        Integer totalCompletedTasksCount = params.containsKey("totalCompletedTasksCount") ? 
+            (Integer) params.get("totalCompletedTasksCount") : 0;
+        Double overallCompletionRate = params.containsKey("overallCompletionRate") ? 
+            (Double) params.get("overallCompletionRate") : 0.0;
+        
         DecimalFormat df = new DecimalFormat("0.00");
+        return new String[][] {
+            {"Liczba zespołów w raporcie:", totalTeamsCount.toString()},
+            {"Zespoły z przypisanymi zadaniami:", teamsWithTasksCount.toString()},
+            {"Łączna liczba zadań:", totalTasksCount.toString()},
+            {"Zadania ukończone:", totalCompletedTasksCount + " (" + df.format(overallCompletionRate) + "%)"}
+        };
+    }
+    
+    /**
+     * Zwraca główne wskaźniki zespołu (etykieta, wartość) do szczegółowej analizy.
+     */
+    private static String[][] detailRows(TeamEfficiency team, DecimalFormat df) {
+        // Pobranie wartości (zabezpieczenie przed null)
+        Integer totalTasks = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+        Integer completedTasks = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
+        Integer onTimeTasksCount = team.getOnTimeTasksCount() != null ? team.getOnTimeTasksCount() : 0;
+        Double avgCompletionHours = team.getAvgCompletionHours() != null ? team.getAvgCompletionHours() : 0.0;
+        Integer activeMembers = team.getActiveTeamMembersCount() != null ? team.getActiveTeamMembersCount() : 0;
+        Double tasksPerMember = team.getTasksPerMember() != null ? team.getTasksPerMember() : 0.0;
+        Double efficiencyScore = team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
         
-        addDetailRow(summaryTable, "Liczba zespołów w raporcie:", 
-                totalTeamsCount.toString(), normalFont);
-        addDetailRow(summaryTable, "Zespoły z przypisanymi zadaniami:", 
-                teamsWithTasksCount.toString(), normalFont);
-        addDetailRow(summaryTable, "Łączna liczba zadań:", 
-                totalTasksCount.toString(), normalFont);
-        addDetailRow(summaryTable, "Zadania ukończone:", 
-                totalCompletedTasksCount + " (" + df.format(overallCompletionRate) + "%)", normalFont);
+        // Obliczenia dla procentów
+        double completionRate = totalTasks > 0 ? 
+                (double) completedTasks / totalTasks * 100 : 0;
+        double onTimeRate = completedTasks > 0 ? 
+                (double) onTimeTasksCount / completedTasks * 100 : 0;
         
-        document.add(summaryTable);
+        return new String[][] {
+            {"Liczba zakończonych zadań:", completedTasks + "/" + totalTasks},
+            {"Procent ukończenia zadań:", df.format(completionRate) + "%"},
+            {"Procent zadań na czas:", df.format(onTimeRate) + "%"},
+            {"Średni czas realizacji:", df.format(avgCompletionHours) + " godzin"},
+            {"Liczba aktywnych członków:", String.valueOf(activeMembers)},
+            {"Średnia liczba zadań na członka:", df.format(tasksPerMember)},
+            {"Ogólny wskaźnik efektywności:", df.format(efficiencyScore) + "%"}
+        };
     }
     
     /**
@@ -0,0 +1,253 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TeamEfficiency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Orders teams for the team efficiency report and selects the ones shown in full.
+ *
+ * Teams are sorted by a {@link TeamRankingKey}; teams with equal values share a position and
+ * the next position is skipped (1, 2, 2, 4), and are listed by name. When only the top and
+ * bottom teams are shown, teams that tie with the last one shown are included as well. These
+ * teams are found with bounded heaps, in O(n log k) for k shown teams; only the teams of the
+ * appendix, if requested, are sorted, so ranking with an appendix costs O(n log n). Teams
+ * without tasks are not ranked.
+ */
+public final class TeamRanking {
+
+    private final TeamRankingKey key;
+    private final int teamCount;
+    private final List<RankedTeam> top;
+    private final List<RankedTeam> bottom;
+    private final List<RankedTeam> unranked;
+    private final List<RankedTeam> appendix;
+    private final int gapCount;
+
+    private TeamRanking(TeamRankingKey key, int teamCount, List<RankedTeam> top, List<RankedTeam> bottom,
+                        List<RankedTeam> unranked, List<RankedTeam> appendix, int gapCount) {
+        this.key = key;
+        this.teamCount = teamCount;
+        this.top = top;
+        this.bottom = bottom;
+        this.unranked = unranked;
+        this.appendix = appendix;
+        this.gapCount = gapCount;
+    }
+
+    /**
+     * Ranks the teams as configured by the report parameters:
+     * <ul>
+     *   <li>{@code rankBy} - a {@link TeamRankingKey} or its name, EFFICIENCY_SCORE by default</li>
+     *   <li>{@code rankTop}, {@code rankBottom} - the number of best and worst teams shown in full;
+     *       all teams if neither is set</li>
+     *   <li>{@code rankAppendix} - whether the other teams are listed in a compact appendix,
+     *       true by default; false avoids sorting them</li>
+     * </ul>
+     * Without any of the rank parameters the teams keep the order of the list, as ranked by
+     * the caller.
+     *
+     * @throws IllegalArgumentException If a parameter is invalid
+     */
+    public static TeamRanking of(List<TeamEfficiency> teams, Map<String, Object> parameters) {
+        Map<String, Object> params = parameters != null ? parameters : Map.of();
+        if (!params.containsKey("rankBy") && !params.containsKey("rankTop") && !params.containsKey("rankBottom")) {
+            return listOrder(teams);
+        }
+        TeamRankingKey key = params.containsKey("rankBy")
+                ? TeamRankingKey.fromParameter(params.get("rankBy")) : TeamRankingKey.EFFICIENCY_SCORE;
+        Object appendix = params.get("rankAppendix");
+        return rank(teams, key, intParameter(params, "rankTop"), intParameter(params, "rankBottom"),
+                appendix == null || Boolean.parseBoolean(appendix.toString()));
+    }
+
+    /**
+     * Ranks the teams by the key.
+     *
+     * @param top The number of best teams shown in full
+     * @param bottom The number of worst teams shown in full; all teams are shown if both are 0
+     * @param appendix Whether the other teams are collected and sorted for an appendix
+     */
+    public static TeamRanking rank(Collection<TeamEfficiency> teams, TeamRankingKey key, int top, int bottom,
+                                   boolean appendix) {
+        if (top < 0 || bottom < 0) {
+            throw new IllegalArgumentException("Liczba zespołów w rankingu nie może być ujemna");
+        }
+        List<TeamEfficiency> ranked = new ArrayList<>(teams.size());
+        List<RankedTeam> unranked = new ArrayList<>();
+        for (TeamEfficiency team : teams) {
+            if (hasTasks(team)) {
+                ranked.add(team);
+            } else {
+                unranked.add(new RankedTeam(team, 0));
+            }
+        }
+        Comparator<TeamEfficiency> order = order(key);
+        int count = ranked.size();
+        if ((top == 0 && bottom == 0) || top + bottom >= count) {
+            return complete(key, teams.size(), ranked, unranked, order);
+        }
+
+        // Bounded heaps find the last team shown at each end; one pass then splits the teams
+        TeamEfficiency topBoundary = top > 0 ? boundary(ranked, top, order) : null;
+        TeamEfficiency bottomBoundary = bottom > 0 ? boundary(ranked, bottom, order.reversed()) : null;
+        List<TeamEfficiency> best = new ArrayList<>();
+        List<TeamEfficiency> worst = new ArrayList<>();
+        List<TeamEfficiency> middle = new ArrayList<>();
+        for (TeamEfficiency team : ranked) {
+            if (topBoundary != null && key.compare(team, topBoundary) <= 0) {
+                best.add(team);
+            } else if (bottomBoundary != null && key.compare(team, bottomBoundary) >= 0) {
+                worst.add(team);
+            } else if (appendix) {
+                middle.add(team);
+            }
+        }
+        if (best.size() + worst.size() >= count) {
+            // Ties at the boundaries cover every team
+            return complete(key, teams.size(), ranked, unranked, order);
+        }
+        best.sort(order);
+        worst.sort(order);
+        int betterThanWorst = count - worst.size();
+        int gapCount = count - best.size() - worst.size() + unranked.size();
+        List<RankedTeam> appendixTeams = Collections.emptyList();
+        if (appendix) {
+            middle.sort(order);
+            appendixTeams = ranks(middle, best.size(), key);
+            appendixTeams.addAll(unranked);
+        }
+        return new TeamRanking(key, teams.size(), ranks(best, 0, key), ranks(worst, betterThanWorst, key),
+                Collections.emptyList(), appendixTeams, gapCount);
+    }
+
+    /**
+     * Returns the key the teams are ranked by, or null if they keep the order of the list.
+     */
+    public TeamRankingKey getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the number of teams, including teams without tasks.
+     */
+    public int getTeamCount() {
+        return teamCount;
+    }
+
+    /**
+     * Returns the best teams shown in full, or all ranked teams if the ranking is not truncated.
+     */
+    public List<RankedTeam> getTop() {
+        return top;
+    }
+
+    /**
+     * Returns the worst teams shown in full, after a gap; empty if the ranking is not truncated.
+     */
+    public List<RankedTeam> getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Returns the teams without tasks shown after the ranking; empty if the ranking is truncated.
+     */
+    public List<RankedTeam> getUnranked() {
+        return unranked;
+    }
+
+    /**
+     * Returns the teams between the top and the bottom, followed by the teams without tasks,
+     * for the appendix. Empty if the ranking is not truncated or without an appendix.
+     */
+    public List<RankedTeam> getAppendix() {
+        return appendix;
+    }
+
+    /**
+     * Returns the number of teams not shown in full, including teams without tasks.
+     */
+    public int getGapCount() {
+        return gapCount;
+    }
+
+    public boolean isTruncated() {
+        return gapCount > 0;
+    }
+
+    private static TeamRanking listOrder(List<TeamEfficiency> teams) {
+        List<RankedTeam> ranked = new ArrayList<>(teams.size());
+        for (TeamEfficiency team : teams) {
+            ranked.add(new RankedTeam(team, ranked.size() + 1));
+        }
+        return new TeamRanking(null, teams.size(), ranked, Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), 0);
+    }
+
+    private static TeamRanking complete(TeamRankingKey key, int teamCount, List<TeamEfficiency> ranked,
+                                        List<RankedTeam> unranked, Comparator<TeamEfficiency> order) {
+        ranked.sort(order);
+        return new TeamRanking(key, teamCount, ranks(ranked, 0, key), Collections.emptyList(), unranked,
+                Collections.emptyList(), 0);
+    }
+
+    /**
+     * Returns the last of the {@code count} first teams in the given order, keeping at most
+     * {@code count} teams in a heap whose head is the current boundary.
+     */
+    private static TeamEfficiency boundary(List<TeamEfficiency> teams, int count, Comparator<TeamEfficiency> order) {
+        PriorityQueue<TeamEfficiency> heap = new PriorityQueue<>(count, order.reversed());
+        for (TeamEfficiency team : teams) {
+            if (heap.size() < count) {
+                heap.add(team);
+            } else if (order.compare(team, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(team);
+            }
+        }
+        return heap.peek();
+    }
+
+    /**
+     * Assigns competition ranks to sorted teams, preceded by {@code better} teams outside the list.
+     */
+    private static List<RankedTeam> ranks(List<TeamEfficiency> sorted, int better, TeamRankingKey key) {
+        List<RankedTeam> ranked = new ArrayList<>(sorted.size());
+        int rank = better + 1;
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i > 0 && key.compare(sorted.get(i - 1), sorted.get(i)) != 0) {
+                rank = better + i + 1;
+            }
+            ranked.add(new RankedTeam(sorted.get(i), rank));
+        }
+        return ranked;
+    }
+
+    private static Comparator<TeamEfficiency> order(TeamRankingKey key) {
+        return ((Comparator<TeamEfficiency>) key::compare)
+                .thenComparing(TeamEfficiency::getTeamName, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static boolean hasTasks(TeamEfficiency team) {
+        boolean hasNoTasks = team.getHasNoTasks() != null && team.getHasNoTasks();
+        return !hasNoTasks && team.getTotalTasksCount() != null && team.getTotalTasksCount() > 0;
+    }
+
+    private static int intParameter(Map<String, Object> parameters, String name) {
+        Object value = parameters.get(name);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Niepoprawna wartość parametru " + name + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.reporting.generator;
+
+import org.example.reporting.model.TeamEfficiency;
+
+import java.util.Locale;
+
+/**
+ * The value teams are ranked by in the team efficiency report.
+ */
+public enum TeamRankingKey {
+
+    /**
+     * Efficiency score, higher is better.
+     */
+    EFFICIENCY_SCORE("Wskaźnik efektywności", true),
+
+    /**
+     * Average delay in days, lower is better.
+     */
+    AVG_DELAY_DAYS("Średnie opóźnienie (dni)", false),
+
+    /**
+     * Completed tasks as a percentage of all tasks, higher is better.
+     */
+    COMPLETION_RATE("Procent ukończenia zadań", true);
+
+    private final String label;
+    private final boolean higherIsBetter;
+
+    TeamRankingKey(String label, boolean higherIsBetter) {
+        this.label = label;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isHigherBetter() {
+        return higherIsBetter;
+    }
+
+    /**
+     * Returns the ranked value of a team; missing values count as 0.
+     */
+    public double valueOf(TeamEfficiency team) {
+        switch (this) {
+            case EFFICIENCY_SCORE:
+                return team.getEfficiencyScore() != null ? team.getEfficiencyScore() : 0.0;
+            case AVG_DELAY_DAYS:
+                return team.getAvgDelayDays() != null ? team.getAvgDelayDays() : 0.0;
+            default:
+                int total = team.getTotalTasksCount() != null ? team.getTotalTasksCount() : 0;
+                int completed = team.getCompletedTasksCount() != null ? team.getCompletedTasksCount() : 0;
+                return total > 0 ? (double) completed / total * 100 : 0.0;
+        }
+    }
+
+    /**
+     * Compares two teams by this key, better first. Returns 0 for teams that tie.
+     */
+    public int compare(TeamEfficiency first, TeamEfficiency second) {
+        int result = Double.compare(valueOf(first), valueOf(second));
+        return higherIsBetter ? -result : result;
+    }
+
+    /**
+     * Reads the key from a report parameter: a TeamRankingKey or its name, in any case.
+     *
+     * @throws IllegalArgumentException If the value names no key
+     */
+    public static TeamRankingKey fromParameter(Object value) {
+        if (value instanceof TeamRankingKey) {
+            return (TeamRankingKey) value;
+        }
+        return valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+    }
+}
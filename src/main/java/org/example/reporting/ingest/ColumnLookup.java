@@ -0,0 +1,51 @@
+package org.example.reporting.ingest;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Resolves column labels to positions once per result set, so mapping a row does not search
+ * the columns by name for every value.
+ */
+final class ColumnLookup {
+
+    private final String[] labels;
+    private ResultSet resolvedFor;
+    private int[] positions;
+
+    ColumnLookup(String... labels) {
+        this.labels = labels.clone();
+    }
+
+    /**
+     * Returns the positions of the labels in the given result set, in label order.
+     */
+    int[] positions(ResultSet resultSet) throws SQLException {
+        if (resultSet != resolvedFor) {
+            int[] resolved = new int[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                resolved[i] = resultSet.findColumn(labels[i]);
+            }
+            positions = resolved;
+            resolvedFor = resultSet;
+        }
+        return positions;
+    }
+
+    static LocalDate getDate(ResultSet resultSet, int position) throws SQLException {
+        Date date = resultSet.getDate(position);
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    static Integer getInteger(ResultSet resultSet, int position) throws SQLException {
+        int value = resultSet.getInt(position);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    static Double getDouble(ResultSet resultSet, int position) throws SQLException {
+        double value = resultSet.getDouble(position);
+        return resultSet.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.reporting.ingest;
+
+import org.example.reporting.model.ConstructionProgress;
+
+/**
+ * Parses CSV lines to {@link ConstructionProgress}.
+ */
+public class ConstructionProgressCsvParser implements CsvRowParser<ConstructionProgress> {
+
+    private final CsvColumns columns;
+
+    /**
+     * Uses the columns task_name, status, planned_end, actual_end, is_delayed, delay_in_days
+     * and completion_percentage.
+     */
+    public ConstructionProgressCsvParser() {
+        this("task_name", "status", "planned_end", "actual_end", "is_delayed", "delay_in_days",
+                "completion_percentage");
+    }
+
+    /**
+     * Uses custom column names, in the order of the {@link ConstructionProgress} constructor.
+     * Files without a header must have the columns in this order.
+     */
+    public ConstructionProgressCsvParser(String taskName, String status, String plannedEnd, String actualEnd,
+                                         String isDelayed, String delayInDays, String completionPercentage) {
+        this.columns = new CsvColumns(taskName, status, plannedEnd, actualEnd, isDelayed, delayInDays,
+                completionPercentage);
+    }
+
+    @Override
+    public void header(CsvLine header) {
+        columns.resolve(header);
+    }
+
+    @Override
+    public ConstructionProgress parse(CsvLine line) {
+        int[] position = columns.positions();
+        return new ConstructionProgress(
+                line.getString(position[0]),
+                line.getString(position[1]),
+                line.getDate(position[2]),
+                line.getDate(position[3]),
+                line.getBoolean(position[4]),
+                line.getInteger(position[5]),
+                line.getInteger(position[6]));
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.reporting.ingest;
+
+import org.example.reporting.model.ConstructionProgress;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps result set rows to {@link ConstructionProgress}.
+ */
+public class ConstructionProgressRowMapper implements RowMapper<ConstructionProgress> {
+
+    private final ColumnLookup columns;
+
+    /**
+     * Uses the columns task_name, status, planned_end, actual_end, is_delayed, delay_in_days
+     * and completion_percentage.
+     */
+    public ConstructionProgressRowMapper() {
+        this("task_name", "status", "planned_end", "actual_end", "is_delayed", "delay_in_days",
+                "completion_percentage");
+    }
+
+    /**
+     * Uses custom column labels, in the order of the {@link ConstructionProgress} constructor.
+     */
+    public ConstructionProgressRowMapper(String taskName, String status, String plannedEnd, String actualEnd,
+                                         String isDelayed, String delayInDays, String completionPercentage) {
+        this.columns = new ColumnLookup(taskName, status, plannedEnd, actualEnd, isDelayed, delayInDays,
+                completionPercentage);
+    }
+
+    @Override
+    public ConstructionProgress mapRow(ResultSet resultSet, int rowNumber) throws SQLException {
+        int[] position = columns.positions(resultSet);
+        return new ConstructionProgress(
+                resultSet.getString(position[0]),
+                resultSet.getString(position[1]),
+                ColumnLookup.getDate(resultSet, position[2]),
+                ColumnLookup.getDate(resultSet, position[3]),
+                resultSet.getBoolean(position[4]),
+                ColumnLookup.getInteger(resultSet, position[5]),
+                ColumnLookup.getInteger(resultSet, position[6]));
+    }
+}
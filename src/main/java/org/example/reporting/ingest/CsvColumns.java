@@ -0,0 +1,51 @@
+package org.example.reporting.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Resolves column names to field positions once per file. Without a header the columns are
+ * expected in label order.
+ */
+final class CsvColumns {
+
+    private final String[] labels;
+    private volatile int[] positions;
+
+    CsvColumns(String... labels) {
+        this.labels = labels.clone();
+        int[] ordered = new int[labels.length];
+        Arrays.setAll(ordered, i -> i);
+        this.positions = ordered;
+    }
+
+    /**
+     * Resolves the labels against a header line, ignoring case and surrounding whitespace.
+     *
+     * @throws IllegalArgumentException If a column is missing
+     */
+    void resolve(CsvLine header) {
+        int[] resolved = new int[labels.length];
+        Arrays.fill(resolved, -1);
+        for (int field = 0; field < header.getFieldCount(); field++) {
+            String name = header.getString(field);
+            if (name == null) {
+                continue;
+            }
+            for (int i = 0; i < labels.length; i++) {
+                if (resolved[i] < 0 && labels[i].equalsIgnoreCase(name.trim())) {
+                    resolved[i] = field;
+                }
+            }
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (resolved[i] < 0) {
+                throw new IllegalArgumentException("Brak kolumny " + labels[i] + " w nagłówku pliku CSV");
+            }
+        }
+        positions = resolved;
+    }
+
+    int[] positions() {
+        return positions;
+    }
+}
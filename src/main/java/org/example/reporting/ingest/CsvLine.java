@@ -0,0 +1,282 @@
+package org.example.reporting.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One line of a memory-mapped CSV file, giving access to its fields without copying them.
+ *
+ * Numbers, dates and booleans are parsed straight from the mapped bytes; only
+ * {@link #getString} creates a String. An instance is reused for every line of a chunk,
+ * so values must be read before the parser returns.
+ */
+public final class CsvLine {
+
+    private static final int MAX_FIELDS = 256;
+
+    private final ByteBuffer buffer;
+    private final byte separator;
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final boolean[] quoted = new boolean[MAX_FIELDS];
+    private int fieldCount;
+    private long offset;
+
+    CsvLine(ByteBuffer buffer, byte separator) {
+        this.buffer = buffer;
+        this.separator = separator;
+    }
+
+    /**
+     * Splits the line between the given buffer positions (end exclusive, without the line break).
+     */
+    void parse(int start, int end, long fileOffset) {
+        offset = fileOffset;
+        fieldCount = 0;
+        int position = start;
+        while (true) {
+            if (fieldCount == MAX_FIELDS) {
+                throw new IllegalArgumentException("Więcej niż " + MAX_FIELDS + " pól w wierszu na pozycji " + offset);
+            }
+            if (position < end && buffer.get(position) == '"') {
+                // Quoted field: runs to the closing quote, doubled quotes are escaped quotes
+                int fieldStart = position + 1;
+                int scan = fieldStart;
+                while (scan < end) {
+                    if (buffer.get(scan) == '"') {
+                        if (scan + 1 < end && buffer.get(scan + 1) == '"') {
+                            scan += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    scan++;
+                }
+                starts[fieldCount] = fieldStart;
+                ends[fieldCount] = scan;
+                quoted[fieldCount] = true;
+                fieldCount++;
+                position = scan + 1;
+                while (position < end && buffer.get(position) != separator) {
+                    position++;
+                }
+            } else {
+                int fieldStart = position;
+                while (position < end && buffer.get(position) != separator) {
+                    position++;
+                }
+                starts[fieldCount] = fieldStart;
+                ends[fieldCount] = position;
+                quoted[fieldCount] = false;
+                fieldCount++;
+            }
+            if (position >= end) {
+                return;
+            }
+            // Skip the separator
+            position++;
+        }
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the position of the line in the file, for error messages.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Checks whether the field is missing or empty.
+     */
+    public boolean isEmpty(int field) {
+        return field >= fieldCount || starts[field] == ends[field];
+    }
+
+    /**
+     * Returns the field as a String, or null if it is empty.
+     */
+    public String getString(int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        int length = ends[field] - starts[field];
+        byte[] bytes = new byte[length];
+        int count = 0;
+        for (int i = starts[field]; i < ends[field]; i++) {
+            byte b = buffer.get(i);
+            bytes[count++] = b;
+            if (quoted[field] && b == '"') {
+                // Skip the second quote of an escaped pair
+                i++;
+            }
+        }
+        return new String(bytes, 0, count, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the field as an Integer, or null if it is empty.
+     */
+    public Integer getInteger(int field) {
+        return isEmpty(field) ? null : parseInt(field);
+    }
+
+    /**
+     * Returns the field as an int, or the default value if it is empty.
+     */
+    public int getInt(int field, int defaultValue) {
+        return isEmpty(field) ? defaultValue : parseInt(field);
+    }
+
+    /**
+     * Returns the field as a Double, or null if it is empty. Accepts a dot as decimal separator.
+     */
+    public Double getDouble(int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        int position = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        byte first = buffer.get(position);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean anyDigit = false;
+        for (; position < end; position++) {
+            byte b = buffer.get(position);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                anyDigit = true;
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (digits > MAX_FAST_DIGITS || fractionDigits > MAX_FAST_FRACTION_DIGITS) {
+                    // Beyond the correctly rounded range of the fast path
+                    return Double.parseDouble(getString(field));
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                // Exponent or other notation
+                return Double.parseDouble(getString(field));
+            }
+        }
+        if (!anyDigit) {
+            throw numberError(field);
+        }
+        double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the field as a boolean: true for {@code true}, {@code t}, {@code yes}, {@code y},
+     * {@code tak} or {@code 1}, ignoring case; false otherwise.
+     */
+    public boolean getBoolean(int field) {
+        if (isEmpty(field)) {
+            return false;
+        }
+        int length = ends[field] - starts[field];
+        byte first = (byte) (buffer.get(starts[field]) | 0x20);
+        if (length == 1) {
+            return first == '1' || first == 't' || first == 'y';
+        }
+        String value = getString(field);
+        return "true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value) || "tak".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Returns an ISO date ({@code yyyy-MM-dd}) field, or null if it is empty.
+     */
+    public LocalDate getDate(int field) {
+        if (isEmpty(field)) {
+            return null;
+        }
+        int start = starts[field];
+        if (ends[field] - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            throw new IllegalArgumentException("Niepoprawna data w polu " + field + " wiersza na pozycji " + offset
+                    + ": " + getString(field));
+        }
+        return LocalDate.of(digits(start, 4), digits(start + 5, 2), digits(start + 8, 2));
+    }
+
+    private int parseInt(int field) {
+        long value = parseLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberError(field);
+        }
+        return (int) value;
+    }
+
+    private long parseLong(int field) {
+        int position = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        byte first = buffer.get(position);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            position++;
+        }
+        if (position == end) {
+            throw numberError(field);
+        }
+        // Accumulated as a negative number, whose range includes Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (; position < end; position++) {
+            byte b = buffer.get(position);
+            if (b < '0' || b > '9') {
+                throw numberError(field);
+            }
+            int digit = b - '0';
+            if (value < limit / 10 || value * 10 < limit + digit) {
+                throw numberError(field);
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+
+    private int digits(int position, int count) {
+        int value = 0;
+        for (int i = position; i < position + count; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("Niepoprawna data w wierszu na pozycji " + offset);
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private IllegalArgumentException numberError(int field) {
+        return new IllegalArgumentException("Niepoprawna liczba w polu " + field + " wiersza na pozycji " + offset
+                + ": " + getString(field));
+    }
+
+    // Mantissas below 10^15 and powers of ten up to 10^18 are exact doubles, so their quotient is
+    // correctly rounded
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int MAX_FAST_FRACTION_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_FRACTION_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+}
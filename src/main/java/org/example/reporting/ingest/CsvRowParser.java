@@ -0,0 +1,25 @@
+package org.example.reporting.ingest;
+
+/**
+ * Converts a line of a CSV file to a model object.
+ * One instance parses the lines of all chunks concurrently, so {@link #parse} must not keep state
+ * between calls; column positions are resolved once in {@link #header}.
+ *
+ * @param <T> The model type
+ */
+public interface CsvRowParser<T> {
+
+    /**
+     * Called with the header line before any data line, if the file has a header.
+     *
+     * @param header The header line
+     */
+    default void header(CsvLine header) {
+    }
+
+    /**
+     * @param line The line to parse; only valid during the call
+     * @return The model object
+     */
+    T parse(CsvLine line);
+}
@@ -0,0 +1,298 @@
+package org.example.reporting.ingest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reads large CSV exports into model objects.
+ *
+ * The file is memory-mapped and split into chunks that end on line boundaries, and the chunks
+ * are parsed in parallel. Fields are read straight from the mapped bytes (see {@link CsvLine}),
+ * so numbers and dates are parsed without intermediate Strings.
+ *
+ * The file must be UTF-8 (a byte order mark is skipped) and quoted fields must not contain
+ * line breaks, which holds for database exports.
+ *
+ * @param <T> The model type
+ */
+public class MappedCsvIngester<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Longest line accepted; chunk boundaries are searched within this distance.
+     */
+    public static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024 * 1024;
+
+    private final CsvRowParser<T> parser;
+    private byte separator = ',';
+    private boolean header = true;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public MappedCsvIngester(CsvRowParser<T> parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Sets the field separator, a comma by default. Must be an ASCII character.
+     */
+    public void setSeparator(char separator) {
+        if (separator > 127 || separator == '"' || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("Niedozwolony separator pól: " + separator);
+        }
+        this.separator = (byte) separator;
+    }
+
+    /**
+     * Sets whether the first line holds column names, true by default.
+     */
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    /**
+     * Sets the approximate number of bytes parsed by one task.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Rozmiar fragmentu musi być z zakresu 1.." + MAX_CHUNK_SIZE);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the number of chunks parsed at the same time, the number of processors by default.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Liczba wątków musi być dodatnia");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads all rows of the file, in file order.
+     *
+     * @param file The CSV file
+     * @return The parsed rows
+     * @throws IOException If the file cannot be read
+     * @throws RowSourceException If a line cannot be parsed
+     */
+    public List<T> read(Path file) throws IOException {
+        List<List<T>> chunks = new ArrayList<>();
+        long rows = ingest(file, (index, batch) -> {
+            synchronized (chunks) {
+                while (chunks.size() <= index) {
+                    chunks.add(null);
+                }
+                chunks.set(index, batch);
+            }
+        });
+        List<T> result = new ArrayList<>((int) Math.min(rows, Integer.MAX_VALUE - 8));
+        for (List<T> chunk : chunks) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    /**
+     * Parses the file and passes the rows of each chunk to the consumer as soon as the chunk is
+     * parsed, so the whole file never has to be held in memory. Batches arrive in no particular
+     * order and the consumer is called from several threads at once.
+     *
+     * @param file The CSV file
+     * @param consumer Receives the rows of one chunk, in file order within the chunk
+     * @return The number of rows read
+     * @throws IOException If the file cannot be read
+     * @throws RowSourceException If a line cannot be parsed
+     */
+    public long forEachBatch(Path file, Consumer<List<T>> consumer) throws IOException {
+        return ingest(file, (index, batch) -> consumer.accept(batch));
+    }
+
+    private long ingest(Path file, ChunkSink<T> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] boundaries = boundaries(channel, dataStart(channel, size), size);
+            // An empty or header-only file has no chunks at all
+            int chunks = boundaries.length - 1;
+            if (chunks <= 1 || parallelism == 1) {
+                long rows = 0;
+                for (int i = 0; i < chunks; i++) {
+                    List<T> batch = parseChunk(file, channel, boundaries[i], boundaries[i + 1]);
+                    sink.accept(i, batch);
+                    rows += batch.size();
+                }
+                return rows;
+            }
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, chunks), runnable -> {
+                Thread thread = new Thread(runnable, "csv-ingest-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Integer>> futures = new ArrayList<>(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    int index = i;
+                    futures.add(workers.submit(() -> {
+                        List<T> batch = parseChunk(file, channel, boundaries[index], boundaries[index + 1]);
+                        sink.accept(index, batch);
+                        return batch.size();
+                    }));
+                }
+                long rows = 0;
+                for (Future<Integer> future : futures) {
+                    rows += await(future);
+                }
+                return rows;
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Skips the byte order mark and passes the header line to the parser.
+     *
+     * @return The position of the first data line
+     */
+    private long dataStart(FileChannel channel, long size) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAX_LINE_LENGTH + 3));
+        int start = 0;
+        if (window.limit() >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB
+                && window.get(2) == (byte) 0xBF) {
+            start = 3;
+        }
+        if (!header) {
+            return start;
+        }
+        int end = start;
+        while (end < window.limit() && window.get(end) != '\n') {
+            end++;
+        }
+        if (end == window.limit() && end < size) {
+            throw new IOException("Nagłówek pliku CSV jest dłuższy niż " + MAX_LINE_LENGTH + " bajtów");
+        }
+        int lineEnd = end > start && window.get(end - 1) == '\r' ? end - 1 : end;
+        CsvLine line = new CsvLine(window, separator);
+        try {
+            line.parse(start, lineEnd, start);
+            parser.header(line);
+        } catch (IllegalArgumentException e) {
+            throw new RowSourceException("Niepoprawny nagłówek pliku CSV: " + e.getMessage(), e);
+        }
+        return Math.min(size, end + 1L);
+    }
+
+    /**
+     * Splits the data into chunks of about {@code chunkSize} bytes, each ending after a line break.
+     */
+    private long[] boundaries(FileChannel channel, long start, long size) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(start);
+        long previous = start;
+        while (previous < size) {
+            long nominal = previous + chunkSize;
+            if (nominal >= size) {
+                boundaries.add(size);
+                break;
+            }
+            // Search from the byte before the nominal end, so a chunk may end exactly there
+            long windowStart = nominal - 1;
+            long windowEnd = Math.min(size, windowStart + MAX_LINE_LENGTH);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+            int newline = 0;
+            while (newline < window.limit() && window.get(newline) != '\n') {
+                newline++;
+            }
+            long boundary;
+            if (newline < window.limit()) {
+                boundary = windowStart + newline + 1;
+            } else if (windowEnd == size) {
+                boundary = size;
+            } else {
+                throw new IOException("Wiersz na pozycji " + windowStart + " jest dłuższy niż "
+                        + MAX_LINE_LENGTH + " bajtów");
+            }
+            boundaries.add(boundary);
+            previous = boundary;
+        }
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private List<T> parseChunk(Path file, FileChannel channel, long from, long to) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int length = buffer.limit();
+        CsvLine line = new CsvLine(buffer, separator);
+        // Rough guess of the line count, to avoid growing the list many times
+        List<T> rows = new ArrayList<>(Math.max(16, length / 96));
+        int lineStart = 0;
+        for (int position = 0; position <= length; position++) {
+            if (position < length && buffer.get(position) != '\n') {
+                continue;
+            }
+            int lineEnd = position;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                try {
+                    line.parse(lineStart, lineEnd, from + lineStart);
+                    rows.add(parser.parse(line));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    throw new RowSourceException("Niepoprawny wiersz pliku " + file + " na pozycji "
+                            + (from + lineStart) + ": " + e.getMessage(), e);
+                }
+            }
+            lineStart = position + 1;
+        }
+        return rows;
+    }
+
+    private static int await(Future<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Przerwano wczytywanie pliku CSV");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Błąd podczas wczytywania pliku CSV", cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkSink<T> {
+        void accept(int index, List<T> batch);
+    }
+}
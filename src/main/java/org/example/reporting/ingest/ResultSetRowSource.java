@@ -0,0 +1,125 @@
+package org.example.reporting.ingest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Row source reading a JDBC result set row by row.
+ *
+ * Rows are mapped as the generator consumes them; with a fetch size the driver only holds one
+ * batch of rows at a time. Some drivers need extra settings to stream, e.g. PostgreSQL only
+ * uses the fetch size when auto-commit is off, and MySQL needs {@code useCursorFetch=true}.
+ *
+ * @param <T> The model type of the rows
+ */
+public class ResultSetRowSource<T> implements RowSource<T> {
+
+    private final ResultSet resultSet;
+    private final Statement statement;
+    private final RowMapper<T> mapper;
+    private boolean iterated;
+
+    /**
+     * Wraps an open result set. Closing the source closes the result set.
+     *
+     * @param resultSet The result set, positioned before the first row
+     * @param mapper The mapper of a row to a model object
+     */
+    public ResultSetRowSource(ResultSet resultSet, RowMapper<T> mapper) {
+        this(resultSet, null, mapper);
+    }
+
+    private ResultSetRowSource(ResultSet resultSet, Statement statement, RowMapper<T> mapper) {
+        this.resultSet = resultSet;
+        this.statement = statement;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Runs a query as a forward-only, read-only cursor. Closing the source closes the statement.
+     *
+     * @param connection The connection; it stays open
+     * @param sql The query, with {@code ?} placeholders
+     * @param fetchSize Number of rows the driver fetches per round trip
+     * @param mapper The mapper of a row to a model object
+     * @param parameters Values of the placeholders
+     * @return The row source
+     * @throws SQLException If the query fails
+     */
+    public static <T> ResultSetRowSource<T> query(Connection connection, String sql, int fetchSize,
+                                                  RowMapper<T> mapper, Object... parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            resultSet.setFetchSize(fetchSize);
+            return new ResultSetRowSource<>(resultSet, statement, mapper);
+        } catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A result set can only be iterated once");
+        }
+        iterated = true;
+        return new Iterator<T>() {
+            private boolean fetched;
+            private boolean hasRow;
+            private int rowNumber;
+
+            @Override
+            public boolean hasNext() {
+                if (!fetched) {
+                    try {
+                        hasRow = resultSet.next();
+                    } catch (SQLException e) {
+                        throw new RowSourceException("Nie można odczytać wiersza " + rowNumber, e);
+                    }
+                    fetched = true;
+                }
+                return hasRow;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                fetched = false;
+                try {
+                    return mapper.mapRow(resultSet, rowNumber++);
+                } catch (SQLException e) {
+                    throw new RowSourceException("Nie można zmapować wiersza " + (rowNumber - 1), e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            try {
+                resultSet.close();
+            } finally {
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        } catch (SQLException e) {
+            throw new RowSourceException("Nie można zamknąć zapytania", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.reporting.ingest;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set to a model object.
+ * A mapper may cache column positions, so an instance should be used for one result set at a time.
+ *
+ * @param <T> The model type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * @param resultSet The result set positioned on the row to map
+     * @param rowNumber The number of the row, starting at 0
+     * @return The model object
+     * @throws SQLException If a column cannot be read
+     */
+    T mapRow(ResultSet resultSet, int rowNumber) throws SQLException;
+}
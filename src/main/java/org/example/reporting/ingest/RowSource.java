@@ -0,0 +1,19 @@
+package org.example.reporting.ingest;
+
+/**
+ * A one-pass sequence of model rows read from an external source, such as a database cursor.
+ * Rows are produced while they are iterated, so a generator consuming the source does not
+ * need the whole data set in memory. The source can be iterated only once.
+ *
+ * @param <T> The model type of the rows
+ */
+public interface RowSource<T> extends Iterable<T>, AutoCloseable {
+
+    /**
+     * Releases the underlying resources.
+     *
+     * @throws RowSourceException If the source cannot be closed
+     */
+    @Override
+    void close();
+}
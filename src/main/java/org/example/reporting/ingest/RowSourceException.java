@@ -0,0 +1,14 @@
+package org.example.reporting.ingest;
+
+/**
+ * Thrown when rows cannot be read from a {@link RowSource} or a file, e.g. on a database error
+ * or a malformed CSV line.
+ */
+public class RowSourceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RowSourceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
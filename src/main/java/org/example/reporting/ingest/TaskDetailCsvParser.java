@@ -0,0 +1,50 @@
+package org.example.reporting.ingest;
+
+import org.example.reporting.model.TaskDetail;
+
+/**
+ * Parses CSV lines to {@link TaskDetail}.
+ */
+public class TaskDetailCsvParser implements CsvRowParser<TaskDetail> {
+
+    private final CsvColumns columns;
+
+    /**
+     * Uses the columns task_id, task_name, status, priority, start_date, deadline_date,
+     * completed_date, estimated_hours and is_delayed.
+     */
+    public TaskDetailCsvParser() {
+        this("task_id", "task_name", "status", "priority", "start_date", "deadline_date", "completed_date",
+                "estimated_hours", "is_delayed");
+    }
+
+    /**
+     * Uses custom column names, in the order of the {@link TaskDetail} constructor.
+     * Files without a header must have the columns in this order.
+     */
+    public TaskDetailCsvParser(String taskId, String taskName, String status, String priority, String startDate,
+                               String deadlineDate, String completedDate, String estimatedHours, String isDelayed) {
+        this.columns = new CsvColumns(taskId, taskName, status, priority, startDate, deadlineDate, completedDate,
+                estimatedHours, isDelayed);
+    }
+
+    @Override
+    public void header(CsvLine header) {
+        columns.resolve(header);
+    }
+
+    @Override
+    public TaskDetail parse(CsvLine line) {
+        int[] position = columns.positions();
+        return new TaskDetail(
+                line.getInteger(position[0]),
+                line.getString(position[1]),
+                line.getString(position[2]),
+                line.getString(position[3]),
+                line.getDate(position[4]),
+                line.getDate(position[5]),
+                line.getDate(position[6]),
+                line.getDouble(position[7]),
+                line.getBoolean(position[8]));
+    }
+}
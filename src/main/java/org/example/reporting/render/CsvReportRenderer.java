@@ -0,0 +1,146 @@
+package org.example.reporting.render;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Renders reports as RFC 4180 CSV, writing every record straight to the target writer.
+ *
+ * Fields are written as two-value records ({@code label,value}). Each table starts with its
+ * header record and is separated from the preceding output by an empty line. Section titles
+ * carry no data and are not written. When a table name is given, only that table is written,
+ * which gives machine consumers a plain single-table file.
+ */
+public class CsvReportRenderer implements ReportRenderer {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private final String tableFilter;
+    private boolean anyOutput;
+    private boolean inSelectedTable;
+    private boolean afterTable;
+
+    /**
+     * Creates a renderer writing all fields and tables.
+     *
+     * @param writer The target writer
+     */
+    public CsvReportRenderer(Writer writer) {
+        this(writer, null);
+    }
+
+    /**
+     * Creates a renderer writing only the table with the given name.
+     *
+     * @param writer The target writer
+     * @param tableName The table to write, or null for all content
+     */
+    public CsvReportRenderer(Writer writer, String tableName) {
+        this.writer = writer;
+        this.tableFilter = tableName;
+    }
+
+    @Override
+    public void startReport(String reportType, String title) {
+        anyOutput = false;
+        afterTable = false;
+    }
+
+    @Override
+    public void field(String label, String value) throws IOException {
+        if (tableFilter != null) {
+            return;
+        }
+        if (afterTable) {
+            writer.write(LINE_SEPARATOR);
+            afterTable = false;
+        }
+        writeValue(label);
+        writer.write(',');
+        writeValue(value);
+        writer.write(LINE_SEPARATOR);
+        anyOutput = true;
+    }
+
+    @Override
+    public void startSection(String title) {
+    }
+
+    @Override
+    public void endSection() {
+    }
+
+    @Override
+    public void startTable(String name, String... columns) throws IOException {
+        inSelectedTable = tableFilter == null || tableFilter.equals(name);
+        if (!inSelectedTable) {
+            return;
+        }
+        if (anyOutput && tableFilter == null) {
+            writer.write(LINE_SEPARATOR);
+        }
+        writeRecord(columns);
+        anyOutput = true;
+    }
+
+    @Override
+    public void row(String... values) throws IOException {
+        if (inSelectedTable) {
+            writeRecord(values);
+        }
+    }
+
+    @Override
+    public void endTable() {
+        afterTable = inSelectedTable;
+        inSelectedTable = false;
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRecord(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values[i]);
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // Write up to and including the quote, then double it
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.reporting.render;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Renders reports as JSON, writing every event straight to the target writer.
+ *
+ * The output has the form:
+ * <pre>
+ * {"report":"construction-progress","title":"...","content":[
+ *   {"type":"field","label":"...","value":"..."},
+ *   {"type":"section","title":"...","content":[...]},
+ *   {"type":"table","name":"tasks","columns":["..."],"rows":[["...","..."]]}
+ * ]}
+ * </pre>
+ * Rows are arrays in column order, which keeps large tables compact.
+ */
+public class JsonReportRenderer implements ReportRenderer {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    // For each open "content" array: whether the next element is the first one
+    private boolean[] firstElement = new boolean[8];
+    private int depth;
+    private boolean firstRow;
+
+    public JsonReportRenderer(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void startReport(String reportType, String title) throws IOException {
+        writer.write("{\"report\":");
+        writeString(reportType);
+        writer.write(",\"title\":");
+        writeString(title);
+        writer.write(",\"content\":[");
+        depth = 0;
+        firstElement[0] = true;
+    }
+
+    @Override
+    public void field(String label, String value) throws IOException {
+        nextElement();
+        writer.write("{\"type\":\"field\",\"label\":");
+        writeString(label);
+        writer.write(",\"value\":");
+        writeString(value);
+        writer.write('}');
+    }
+
+    @Override
+    public void startSection(String title) throws IOException {
+        nextElement();
+        writer.write("{\"type\":\"section\",\"title\":");
+        writeString(title);
+        writer.write(",\"content\":[");
+        depth++;
+        if (depth == firstElement.length) {
+            firstElement = Arrays.copyOf(firstElement, depth * 2);
+        }
+        firstElement[depth] = true;
+    }
+
+    @Override
+    public void endSection() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No open section");
+        }
+        depth--;
+        writer.write("]}");
+    }
+
+    @Override
+    public void startTable(String name, String... columns) throws IOException {
+        nextElement();
+        writer.write("{\"type\":\"table\",\"name\":");
+        writeString(name);
+        writer.write(",\"columns\":");
+        writeArray(columns);
+        writer.write(",\"rows\":[");
+        firstRow = true;
+    }
+
+    @Override
+    public void row(String... values) throws IOException {
+        if (!firstRow) {
+            writer.write(',');
+        }
+        firstRow = false;
+        writeArray(values);
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        writer.write("]}");
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        writer.write("]}");
+        writer.flush();
+    }
+
+    private void nextElement() throws IOException {
+        if (!firstElement[depth]) {
+            writer.write(',');
+        }
+        firstElement[depth] = false;
+    }
+
+    private void writeArray(String[] values) throws IOException {
+        writer.write('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeString(values[i]);
+        }
+        writer.write(']');
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    writer.write("\\u00");
+                    writer.write(HEX[c >> 4]);
+                    writer.write(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        writer.write(value, start, length - start);
+        writer.write('"');
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.reporting.render;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.example.reporting.generator.OutputProfile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders reports as plain tabular PDFs.
+ *
+ * Unlike the generators' own layouts there are no charts, progress bars or per-cell colours:
+ * every value becomes one simple cell. Large tables are flushed to the document every
+ * {@value #FLUSH_ROWS} rows, so memory use does not grow with the table size.
+ */
+public class PdfReportRenderer implements ReportRenderer {
+
+    private static final int FLUSH_ROWS = 500;
+
+    private final OutputStream outputStream;
+    private final OutputProfile outputProfile;
+    private final Rectangle pageSize;
+
+    private Document document;
+    private Font titleFont;
+    private Font sectionFont;
+    private Font subsectionFont;
+    private Font headerFont;
+    private Font normalFont;
+    private Font boldFont;
+    private int sectionDepth;
+    private PdfPTable table;
+    private int pendingRows;
+
+    /**
+     * Creates a renderer writing A4 pages with the default output profile.
+     *
+     * @param outputStream The stream receiving the PDF bytes; it is closed with the document
+     */
+    public PdfReportRenderer(OutputStream outputStream) {
+        this(outputStream, OutputProfile.DEFAULT, PageSize.A4);
+    }
+
+    /**
+     * Full constructor
+     *
+     * @param outputStream The stream receiving the PDF bytes; it is closed with the document
+     * @param outputProfile Compression and font settings
+     * @param pageSize The page size, e.g. {@code PageSize.A4.rotate()} for wide tables
+     */
+    public PdfReportRenderer(OutputStream outputStream, OutputProfile outputProfile, Rectangle pageSize) {
+        this.outputStream = outputStream;
+        this.outputProfile = outputProfile;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void startReport(String reportType, String title) throws IOException {
+        try {
+            document = new Document(pageSize, 36, 36, 54, 36);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            outputProfile.applyTo(writer);
+            document.open();
+
+            BaseFont baseFont = outputProfile.createBaseFont();
+            titleFont = new Font(baseFont, 18, Font.BOLD);
+            sectionFont = new Font(baseFont, 14, Font.BOLD);
+            subsectionFont = new Font(baseFont, 12, Font.BOLD);
+            headerFont = new Font(baseFont, 10, Font.BOLD);
+            normalFont = new Font(baseFont, 9, Font.NORMAL);
+            boldFont = new Font(baseFont, 10, Font.BOLD);
+        } catch (DocumentException e) {
+            throw new IOException("Błąd podczas generowania raportu: " + e.getMessage(), e);
+        }
+
+        Paragraph titleParagraph = new Paragraph(title, titleFont);
+        titleParagraph.setAlignment(Element.ALIGN_CENTER);
+        titleParagraph.setSpacingAfter(12);
+        add(titleParagraph);
+    }
+
+    @Override
+    public void field(String label, String value) throws IOException {
+        Paragraph paragraph = new Paragraph();
+        paragraph.add(new Chunk(label.endsWith(":") ? label + " " : label + ": ", boldFont));
+        paragraph.add(new Chunk(value != null ? value : "", normalFont));
+        add(paragraph);
+    }
+
+    @Override
+    public void startSection(String title) throws IOException {
+        Paragraph paragraph = new Paragraph(title, sectionDepth == 0 ? sectionFont : subsectionFont);
+        paragraph.setSpacingBefore(12);
+        paragraph.setSpacingAfter(6);
+        add(paragraph);
+        sectionDepth++;
+    }
+
+    @Override
+    public void endSection() {
+        sectionDepth--;
+    }
+
+    @Override
+    public void startTable(String name, String... columns) throws IOException {
+        table = new PdfPTable(columns.length);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(6);
+        table.setSpacingAfter(6);
+        table.setHeaderRows(1);
+        // Incomplete tables are written in parts and release the rows already laid out
+        table.setComplete(false);
+        table.getDefaultCell().setPadding(3);
+        for (String column : columns) {
+            PdfPCell cell = new PdfPCell(new Phrase(column, headerFont));
+            cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+            cell.setPadding(4);
+            table.addCell(cell);
+        }
+        pendingRows = 0;
+    }
+
+    @Override
+    public void row(String... values) throws IOException {
+        for (String value : values) {
+            table.addCell(new Phrase(value != null ? value : "", normalFont));
+        }
+        if (++pendingRows == FLUSH_ROWS) {
+            add(table);
+            pendingRows = 0;
+        }
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        table.setComplete(true);
+        add(table);
+        table = null;
+    }
+
+    @Override
+    public void endReport() {
+        document.close();
+    }
+
+    private void add(Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException("Błąd podczas generowania raportu: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.reporting.render;
+
+import java.io.Writer;
+
+/**
+ * Text formats supported by the built-in renderers.
+ */
+public enum ReportFormat {
+    CSV("csv", "text/csv"),
+    JSON("json", "application/json");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Creates a renderer of this format writing straight to the given writer.
+     *
+     * @param writer The target writer
+     * @return A new renderer
+     */
+    public ReportRenderer newRenderer(Writer writer) {
+        switch (this) {
+            case CSV:
+                return new CsvReportRenderer(writer);
+            case JSON:
+                return new JsonReportRenderer(writer);
+            default:
+                throw new IllegalStateException("Unsupported format: " + this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.reporting.render;
+
+import java.io.IOException;
+
+/**
+ * Output backend for report content.
+ * Generators describe a report as a stream of events - fields, sections and tables with
+ * pre-formatted values - and the renderer turns them into a concrete format.
+ *
+ * Events arrive in document order: {@code startReport}, any mix of fields, sections and
+ * tables, then {@code endReport}. Sections may be nested, tables may not.
+ */
+public interface ReportRenderer {
+
+    /**
+     * Starts the report.
+     *
+     * @param reportType Machine readable report type (e.g., "employee-load")
+     * @param title Human readable report title
+     * @throws IOException If the output cannot be written
+     */
+    void startReport(String reportType, String title) throws IOException;
+
+    /**
+     * Writes a single labelled value, such as a summary figure.
+     *
+     * @param label The label of the value
+     * @param value The formatted value
+     * @throws IOException If the output cannot be written
+     */
+    void field(String label, String value) throws IOException;
+
+    /**
+     * Opens a section, which groups the fields and tables that follow until {@link #endSection()}.
+     *
+     * @param title The section title
+     * @throws IOException If the output cannot be written
+     */
+    void startSection(String title) throws IOException;
+
+    /**
+     * Closes the most recently opened section.
+     *
+     * @throws IOException If the output cannot be written
+     */
+    void endSection() throws IOException;
+
+    /**
+     * Opens a table.
+     *
+     * @param name Machine readable table name (e.g., "tasks")
+     * @param columns Column headers
+     * @throws IOException If the output cannot be written
+     */
+    void startTable(String name, String... columns) throws IOException;
+
+    /**
+     * Writes a table row. The number of values must match the number of columns.
+     * Renderers must not modify the array, and must copy it if they keep it after the call.
+     *
+     * @param values The formatted cell values
+     * @throws IOException If the output cannot be written
+     */
+    void row(String... values) throws IOException;
+
+    /**
+     * Closes the current table.
+     *
+     * @throws IOException If the output cannot be written
+     */
+    void endTable() throws IOException;
+
+    /**
+     * Finishes the report and flushes the underlying output.
+     *
+     * @throws IOException If the output cannot be written
+     */
+    void endReport() throws IOException;
+}
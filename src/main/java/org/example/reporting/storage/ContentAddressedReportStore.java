@@ -0,0 +1,349 @@
+package org.example.reporting.storage;
+
+import com.itextpdf.text.DocumentException;
+import org.example.reporting.engine.ReportFingerprint;
+import org.example.reporting.generator.PdfReportGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deduplicating report store that keeps each distinct report content once, under its hash.
+ *
+ * Content is stored as {@code root/blobs/ab/cd/<sha256>.<extension>}. A logical report name
+ * points to its blob either through a hard link under {@code root/reports/<reportType>/}, so that
+ * ordinary file paths keep working, or only through an entry in a {@link ReportIndex}.
+ * Regenerated reports that are byte-identical to a stored one cost no further writes.
+ *
+ * PDFs carry their creation time and a random file id, so two renders of the same input are
+ * never byte-identical. {@link #saveReport} therefore also maps the {@link ReportFingerprint} of
+ * the input and of the generator configuration ({@link PdfReportGenerator#getConfigurationKey})
+ * to the blob it produced, under {@code root/inputs/}, and skips rendering when the same input is
+ * saved again with the same configuration; such a report keeps the generation time of its first
+ * render.
+ */
+public class ContentAddressedReportStore {
+
+    /**
+     * How logical report names are resolved to blobs.
+     */
+    public enum LinkMode {
+        /**
+         * A hard link per logical name; falls back to a copy where links are not supported.
+         */
+        HARD_LINK,
+        /**
+         * Only an index entry per logical name; requires a {@link ReportIndex}.
+         */
+        INDEX
+    }
+
+    private final Path root;
+    private final LinkMode linkMode;
+    private final ReportIndex index;
+    private final DirectoryCache directories = new DirectoryCache();
+
+    private final AtomicLong blobsWritten = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public ContentAddressedReportStore(Path root) {
+        this(root, LinkMode.HARD_LINK, null);
+    }
+
+    /**
+     * @param root The root directory of the store
+     * @param linkMode How logical names are resolved to blobs
+     * @param index Index recording each stored report, required for {@link LinkMode#INDEX}, may be null otherwise
+     */
+    public ContentAddressedReportStore(Path root, LinkMode linkMode, ReportIndex index) {
+        if (linkMode == LinkMode.INDEX && index == null) {
+            throw new IllegalArgumentException("Link mode INDEX requires a report index");
+        }
+        this.root = root;
+        this.linkMode = linkMode;
+        this.index = index;
+    }
+
+    /**
+     * Generates a report and stores it under its content hash.
+     *
+     * @param generator The generator producing the report
+     * @param data The report data
+     * @param parameters The report parameters
+     * @param reportType The type of report
+     * @param logicalName The name under which the report is looked up, e.g. a file name
+     * @return The path of the logical report (the link, or the blob in index mode)
+     * @throws DocumentException If the report cannot be generated
+     * @throws IOException If the report cannot be stored
+     */
+    public <T> Path saveReport(PdfReportGenerator<T> generator, List<T> data, Map<String, Object> parameters,
+                               String reportType, String logicalName) throws DocumentException, IOException {
+        String fingerprint = ReportFingerprint.of(reportType + "\n" + generator.getConfigurationKey(),
+                data, parameters).toHex();
+        Path reference = root.resolve("inputs").resolve(fingerprint.substring(0, 2)).resolve(fingerprint);
+        if (Files.exists(reference)) {
+            String hash = new String(Files.readAllBytes(reference), StandardCharsets.US_ASCII).trim();
+            Path blob = blobPath(hash, extensionOf(logicalName));
+            if (Files.exists(blob)) {
+                long size = Files.size(blob);
+                countDuplicate(size);
+                return link(reportType, logicalName, blob, size, hash, parameters);
+            }
+        }
+        byte[] content = generator.generateReport(data, parameters);
+        Path stored = store(reportType, logicalName, content, parameters);
+        directories.ensureExists(reference.getParent());
+        Files.write(reference, ReportIndex.toHex(ReportIndex.newSha256().digest(content))
+                .getBytes(StandardCharsets.US_ASCII));
+        return stored;
+    }
+
+    /**
+     * Stores report content under its hash and links the logical name to it.
+     *
+     * @param reportType The type of report
+     * @param logicalName The logical report name
+     * @param content The report content
+     * @param parameters The report parameters, recorded in the index; may be null
+     * @return The path of the logical report
+     * @throws IOException If the content cannot be stored
+     */
+    public Path store(String reportType, String logicalName, byte[] content, Map<String, Object> parameters)
+            throws IOException {
+        String hash = ReportIndex.toHex(ReportIndex.newSha256().digest(content));
+        Path blob = blobPath(hash, extensionOf(logicalName));
+        if (isStored(blob, content.length)) {
+            countDuplicate(content.length);
+        } else {
+            directories.ensureExists(blob.getParent());
+            Path temp = Files.createTempFile(blob.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            blobsWritten.incrementAndGet();
+        }
+        return link(reportType, logicalName, blob, content.length, hash, parameters);
+    }
+
+    /**
+     * Moves an already written report file into the store, e.g. the output of {@code saveReport}.
+     * If identical content is stored already, the file is deleted instead.
+     *
+     * @param reportType The type of report
+     * @param file The report file; it is moved or deleted
+     * @param parameters The report parameters, recorded in the index; may be null
+     * @return The path of the logical report, named after the file
+     * @throws IOException If the file cannot be stored
+     */
+    public Path store(String reportType, Path file, Map<String, Object> parameters) throws IOException {
+        MessageDigest digest = ReportIndex.newSha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            while (in.read(buffer) > 0) {
+                // Reading updates the digest
+            }
+        }
+        String hash = ReportIndex.toHex(digest.digest());
+        long size = Files.size(file);
+        String logicalName = file.getFileName().toString();
+        Path blob = blobPath(hash, extensionOf(logicalName));
+        if (isStored(blob, size)) {
+            Files.delete(file);
+            countDuplicate(size);
+        } else {
+            directories.ensureExists(blob.getParent());
+            Files.move(file, blob, StandardCopyOption.REPLACE_EXISTING);
+            blobsWritten.incrementAndGet();
+        }
+        return link(reportType, logicalName, blob, size, hash, parameters);
+    }
+
+    /**
+     * Resolves a logical report name to the file holding its content.
+     *
+     * @param reportType The type of report
+     * @param logicalName The logical report name
+     * @return The file, or empty if the name is unknown
+     */
+    public Optional<Path> resolve(String reportType, String logicalName) {
+        if (linkMode == LinkMode.INDEX) {
+            return index.get(indexId(reportType, logicalName)).map(entry -> Path.of(entry.getPath()));
+        }
+        Path link = linkPath(reportType, logicalName);
+        return Files.exists(link) ? Optional.of(link) : Optional.empty();
+    }
+
+    /**
+     * Opens a logical report for zero-copy transfer.
+     *
+     * @param reportType The type of report
+     * @param logicalName The logical report name
+     * @return The report, or empty if the name is unknown
+     * @throws IOException If the file cannot be opened
+     */
+    public Optional<StoredReport> open(String reportType, String logicalName) throws IOException {
+        Optional<Path> file = resolve(reportType, logicalName);
+        return file.isPresent() ? Optional.of(StoredReport.open(file.get())) : Optional.empty();
+    }
+
+    /**
+     * Deletes blobs no logical name refers to any more: in hard-link mode blobs with a link
+     * count of one, in index mode blobs without an index entry. Input references whose blob is
+     * gone are deleted as well.
+     *
+     * @return The number of deleted blobs
+     * @throws IOException If the store cannot be read
+     */
+    public int deleteUnreferencedBlobs() throws IOException {
+        Path blobs = root.resolve("blobs");
+        Set<String> remaining = new HashSet<>();
+        int deleted = 0;
+        if (Files.isDirectory(blobs)) {
+            Set<String> referenced = linkMode == LinkMode.INDEX ? indexedPaths() : null;
+            for (Path blob : listFiles(blobs)) {
+                boolean unreferenced = linkMode == LinkMode.INDEX
+                        ? !referenced.contains(blob.toString())
+                        : linkCount(blob) == 1;
+                if (unreferenced && Files.deleteIfExists(blob)) {
+                    deleted++;
+                } else {
+                    remaining.add(hashOf(blob));
+                }
+            }
+        }
+        Path inputs = root.resolve("inputs");
+        if (Files.isDirectory(inputs)) {
+            for (Path reference : listFiles(inputs)) {
+                String hash = new String(Files.readAllBytes(reference), StandardCharsets.US_ASCII).trim();
+                if (!remaining.contains(hash)) {
+                    Files.deleteIfExists(reference);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the number of distinct contents written.
+     */
+    public long getBlobsWritten() {
+        return blobsWritten.get();
+    }
+
+    /**
+     * Returns the number of stored reports whose content was already present.
+     */
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * Returns the number of bytes not written thanks to deduplication.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    private Path link(String reportType, String logicalName, Path blob, long size, String hash,
+                      Map<String, Object> parameters) throws IOException {
+        Path target = blob;
+        if (linkMode == LinkMode.HARD_LINK) {
+            target = linkPath(reportType, logicalName);
+            directories.ensureExists(target.getParent());
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, blob);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently under the same name
+                Files.delete(target);
+                Files.createLink(target, blob);
+            } catch (UnsupportedOperationException e) {
+                Files.copy(blob, target);
+            }
+        }
+        if (index != null) {
+            index.record(indexId(reportType, logicalName), reportType, target, size, hash, parameters);
+        }
+        return target;
+    }
+
+    private Set<String> indexedPaths() {
+        Set<String> paths = new HashSet<>();
+        for (String reportType : index.getReportTypes()) {
+            for (ReportIndexEntry entry : index.find(reportType)) {
+                paths.add(entry.getPath());
+            }
+        }
+        return paths;
+    }
+
+    private Path blobPath(String hash, String extension) {
+        return root.resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash + extension);
+    }
+
+    private Path linkPath(String reportType, String logicalName) {
+        return root.resolve("reports").resolve(reportType).resolve(logicalName);
+    }
+
+    private void countDuplicate(long size) {
+        duplicates.incrementAndGet();
+        bytesSaved.addAndGet(size);
+    }
+
+    private static boolean isStored(Path blob, long size) throws IOException {
+        // The hash identifies the content; the size check guards against a truncated blob
+        return Files.exists(blob) && Files.size(blob) == size;
+    }
+
+    private static String indexId(String reportType, String logicalName) {
+        return reportType + "/" + logicalName;
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(dot) : "";
+    }
+
+    private static long linkCount(Path blob) throws IOException {
+        try {
+            return ((Number) Files.getAttribute(blob, "unix:nlink")).longValue();
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // Link counts unknown: treat the blob as referenced
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String hashOf(Path blob) {
+        String name = blob.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot >= 0 ? name.substring(0, dot) : name;
+    }
+}
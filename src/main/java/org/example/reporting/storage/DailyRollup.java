@@ -0,0 +1,285 @@
+package org.example.reporting.storage;
+
+import org.example.reporting.model.TaskDetail;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mergeable aggregate of tasks: counts by status and priority, completed, on-time, late and
+ * delayed counts, and sums of hours and delay days. The {@link DailyRollupStore} keeps one per
+ * team or employee and day; a date range is answered by merging the days it covers.
+ *
+ * A task is completed when it has a completion date, and late when that date is after its
+ * deadline. Delay days are summed over late tasks only, because the delay of an open task
+ * changes every day and cannot be stored.
+ */
+public final class DailyRollup {
+
+    private long taskCount;
+    private long completedCount;
+    private long onTimeCount;
+    private long lateCount;
+    private long delayedCount;
+    private double estimatedHours;
+    private double completedHours;
+    private long delayDays;
+    private final Counts<String> tasksByStatus = new Counts<>();
+    private final Counts<String> tasksByPriority = new Counts<>();
+    // Team buckets only: tasks per employee, for the number of active members
+    private final Counts<Integer> tasksByEmployee = new Counts<>();
+
+    /**
+     * Adds the counts and sums of another aggregate to this one.
+     *
+     * @param other The aggregate to merge in
+     * @return This aggregate
+     */
+    public DailyRollup merge(DailyRollup other) {
+        taskCount += other.taskCount;
+        completedCount += other.completedCount;
+        onTimeCount += other.onTimeCount;
+        lateCount += other.lateCount;
+        delayedCount += other.delayedCount;
+        estimatedHours += other.estimatedHours;
+        completedHours += other.completedHours;
+        delayDays += other.delayDays;
+        tasksByStatus.addAll(other.tasksByStatus);
+        tasksByPriority.addAll(other.tasksByPriority);
+        tasksByEmployee.addAll(other.tasksByEmployee);
+        return this;
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) a task.
+     */
+    void add(TaskDetail task, Integer employeeId, int sign) {
+        double hours = task.getEstimatedHours() != null ? task.getEstimatedHours() : 0.0;
+        taskCount += sign;
+        estimatedHours += sign * hours;
+        if (task.getStatus() != null) {
+            tasksByStatus.add(task.getStatus(), sign);
+        }
+        if (task.getPriority() != null) {
+            tasksByPriority.add(task.getPriority(), sign);
+        }
+        if (employeeId != null) {
+            tasksByEmployee.add(employeeId, sign);
+        }
+        if (task.isDelayed()) {
+            delayedCount += sign;
+        }
+        LocalDate completed = task.getCompletedDate();
+        if (completed != null) {
+            completedCount += sign;
+            completedHours += sign * hours;
+            LocalDate deadline = task.getDeadlineDate();
+            if (deadline != null && completed.isAfter(deadline)) {
+                lateCount += sign;
+                delayDays += sign * ChronoUnit.DAYS.between(deadline, completed);
+            } else {
+                onTimeCount += sign;
+            }
+        }
+    }
+
+    /**
+     * Returns whether a count dropped below zero, i.e. more tasks were removed than added.
+     */
+    boolean hasNegativeCounts() {
+        return taskCount < 0 || completedCount < 0 || onTimeCount < 0 || lateCount < 0 || delayedCount < 0
+                || delayDays < 0 || tasksByStatus.hasNegative() || tasksByPriority.hasNegative()
+                || tasksByEmployee.hasNegative();
+    }
+
+    public boolean isEmpty() {
+        return taskCount == 0 && tasksByEmployee.size == 0;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getOnTimeCount() {
+        return onTimeCount;
+    }
+
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    public long getDelayedCount() {
+        return delayedCount;
+    }
+
+    public double getEstimatedHours() {
+        return estimatedHours;
+    }
+
+    public double getCompletedHours() {
+        return completedHours;
+    }
+
+    public long getDelayDays() {
+        return delayDays;
+    }
+
+    /**
+     * Returns the average delay of late tasks in days, or 0 without late tasks.
+     */
+    public double getAverageDelayDays() {
+        return lateCount > 0 ? (double) delayDays / lateCount : 0.0;
+    }
+
+    /**
+     * Returns the average estimated hours of completed tasks, or 0 without completed tasks.
+     */
+    public double getAverageCompletionHours() {
+        return completedCount > 0 ? completedHours / completedCount : 0.0;
+    }
+
+    public Map<String, Long> getTasksByStatus() {
+        return tasksByStatus.toMap();
+    }
+
+    public Map<String, Long> getTasksByPriority() {
+        return tasksByPriority.toMap();
+    }
+
+    /**
+     * Returns the number of employees with tasks in the aggregate; known for team aggregates only.
+     */
+    public int getActiveEmployeeCount() {
+        return tasksByEmployee.size;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(taskCount);
+        out.writeLong(completedCount);
+        out.writeLong(onTimeCount);
+        out.writeLong(lateCount);
+        out.writeLong(delayedCount);
+        out.writeDouble(estimatedHours);
+        out.writeDouble(completedHours);
+        out.writeLong(delayDays);
+        writeCounts(out, tasksByStatus);
+        writeCounts(out, tasksByPriority);
+        out.writeInt(tasksByEmployee.size);
+        for (int i = 0; i < tasksByEmployee.size; i++) {
+            out.writeInt((Integer) tasksByEmployee.keys[i]);
+            out.writeLong(tasksByEmployee.values[i]);
+        }
+    }
+
+    static DailyRollup readFrom(DataInputStream in) throws IOException {
+        DailyRollup rollup = new DailyRollup();
+        rollup.taskCount = in.readLong();
+        rollup.completedCount = in.readLong();
+        rollup.onTimeCount = in.readLong();
+        rollup.lateCount = in.readLong();
+        rollup.delayedCount = in.readLong();
+        rollup.estimatedHours = in.readDouble();
+        rollup.completedHours = in.readDouble();
+        rollup.delayDays = in.readLong();
+        readCounts(in, rollup.tasksByStatus);
+        readCounts(in, rollup.tasksByPriority);
+        int employees = in.readInt();
+        for (int i = 0; i < employees; i++) {
+            rollup.tasksByEmployee.add(in.readInt(), in.readLong());
+        }
+        return rollup;
+    }
+
+    private static void writeCounts(DataOutputStream out, Counts<String> counts) throws IOException {
+        out.writeInt(counts.size);
+        for (int i = 0; i < counts.size; i++) {
+            out.writeUTF((String) counts.keys[i]);
+            out.writeLong(counts.values[i]);
+        }
+    }
+
+    private static void readCounts(DataInputStream in, Counts<String> counts) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            counts.add(in.readUTF().intern(), in.readLong());
+        }
+    }
+
+    /**
+     * Counts per key in two small arrays, in order of first appearance. A bucket has only a few
+     * statuses, priorities and employees, so a linear search is cheaper than a map and a store
+     * with hundreds of thousands of buckets stays compact. Keys whose count drops to zero are
+     * removed, so removed tasks leave no trace.
+     */
+    private static final class Counts<K> {
+
+        private static final Object[] NO_KEYS = new Object[0];
+        private static final long[] NO_VALUES = new long[0];
+
+        private Object[] keys = NO_KEYS;
+        private long[] values = NO_VALUES;
+        private int size;
+
+        void add(K key, long delta) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    values[i] += delta;
+                    if (values[i] == 0) {
+                        size--;
+                        System.arraycopy(keys, i + 1, keys, i, size - i);
+                        System.arraycopy(values, i + 1, values, i, size - i);
+                        keys[size] = null;
+                    }
+                    return;
+                }
+            }
+            if (delta == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                int capacity = Math.max(4, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = delta;
+            size++;
+        }
+
+        boolean hasNegative() {
+            for (int i = 0; i < size; i++) {
+                if (values[i] < 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        void addAll(Counts<K> other) {
+            for (int i = 0; i < other.size; i++) {
+                add((K) other.keys[i], other.values[i]);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<K, Long> toMap() {
+            Map<K, Long> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put((K) keys[i], values[i]);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package org.example.reporting.storage;
+
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local store of per-day task aggregates per team and per employee, so that reports for any
+ * date range are built by merging daily {@link DailyRollup}s instead of scanning raw tasks:
+ * a yearly report costs 365 merges per team, whatever the number of tasks.
+ *
+ * Tasks are bucketed by their deadline, or their start date when they have no deadline, and
+ * added as they arrive; a changed task is removed with its old values and added again. Like
+ * the {@link ReportIndex}, the store is an append-only {@link RecordLog} replayed into memory
+ * on {@link #open}; {@link #compact()} replaces the task records with one record per bucket.
+ */
+public class DailyRollupStore implements AutoCloseable {
+
+    private static final byte TASKS = 1;
+    private static final byte BUCKET = 2;
+    private static final byte TEAM_SCOPE = 1;
+    private static final byte EMPLOYEE_SCOPE = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final Path logFile;
+    private RecordLog log;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Buckets keyed by epoch day, teams sorted by name and employees by id
+    private final Map<String, NavigableMap<Long, DailyRollup>> teams = new TreeMap<>();
+    private final Map<Integer, NavigableMap<Long, DailyRollup>> employees = new TreeMap<>();
+    private final Map<Integer, String> employeeNames = new TreeMap<>();
+
+    private DailyRollupStore(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Opens the store, replaying its log.
+     *
+     * @param logFile The log file; created if it does not exist
+     * @return The open store
+     * @throws IOException If the log cannot be read or is corrupted
+     */
+    public static DailyRollupStore open(Path logFile) throws IOException {
+        return open(logFile, false);
+    }
+
+    /**
+     * Opens the store, replaying its log.
+     *
+     * @param logFile The log file; created if it does not exist
+     * @param syncOnWrite Whether each record is forced to disk before the write returns
+     * @return The open store
+     * @throws IOException If the log cannot be read or is corrupted
+     */
+    public static DailyRollupStore open(Path logFile, boolean syncOnWrite) throws IOException {
+        DailyRollupStore store = new DailyRollupStore(logFile);
+        store.log = RecordLog.open(logFile, syncOnWrite, store::replayRecord);
+        return store;
+    }
+
+    /**
+     * Adds new tasks of an employee to the daily buckets of the employee and the team,
+     * as one log record.
+     *
+     * @param teamName The team; null to update the employee buckets only
+     * @param employeeId The employee; null to update the team buckets only
+     * @param employeeName The employee name, kept for {@link #employeeLoad}; may be null
+     * @param tasks The tasks; each needs a deadline or a start date
+     * @throws IOException If the record cannot be written
+     * @throws IllegalArgumentException If a task has neither a deadline nor a start date
+     */
+    public void addTasks(String teamName, Integer employeeId, String employeeName, Collection<TaskDetail> tasks)
+            throws IOException {
+        update(teamName, employeeId, employeeName, tasks, 1);
+    }
+
+    /**
+     * Removes tasks added earlier, e.g. before adding them again with a changed status.
+     * The tasks must have the values they were added with; nothing is removed if any of them
+     * does not match the tasks added for its day, so no count can drop below zero.
+     *
+     * @param teamName The team the tasks were added for
+     * @param employeeId The employee the tasks were added for
+     * @param tasks The tasks as they were added
+     * @throws IOException If the record cannot be written
+     * @throws IllegalArgumentException If a task has neither a deadline nor a start date, or was not added
+     */
+    public void removeTasks(String teamName, Integer employeeId, Collection<TaskDetail> tasks) throws IOException {
+        update(teamName, employeeId, null, tasks, -1);
+    }
+
+    /**
+     * Merges the daily buckets of a team in the given range.
+     *
+     * @param teamName The team
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @return The merged aggregate; empty if the team has no tasks in the range
+     */
+    public DailyRollup team(String teamName, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return mergeRange(teams.get(teamName), from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges the daily buckets of an employee in the given range.
+     *
+     * @param employeeId The employee
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @return The merged aggregate; empty if the employee has no tasks in the range
+     */
+    public DailyRollup employee(Integer employeeId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return mergeRange(employees.get(employeeId), from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the input of the team efficiency report for a date range. Every team with tasks is
+     * included, teams without tasks in the range are marked as such. The efficiency score is the
+     * share of tasks completed on time, in percent.
+     *
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @return The teams sorted by name
+     */
+    public List<TeamEfficiency> teamEfficiency(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<TeamEfficiency> result = new ArrayList<>(teams.size());
+            teams.forEach((teamName, buckets) -> result.add(toTeamEfficiency(teamName,
+                    mergeRange(buckets, from, to))));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the input of the employee load report for a date range, without task details.
+     * Employees without tasks in the range are left out.
+     *
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @param hoursPerFte Hours of one full-time equivalent in the range; 0 to leave the FTE unset
+     * @return The employees sorted by id
+     */
+    public List<EmployeeLoad> employeeLoad(LocalDate from, LocalDate to, double hoursPerFte) {
+        lock.readLock().lock();
+        try {
+            List<EmployeeLoad> result = new ArrayList<>();
+            employees.forEach((employeeId, buckets) -> {
+                DailyRollup rollup = mergeRange(buckets, from, to);
+                if (rollup.getTaskCount() > 0) {
+                    result.add(toEmployeeLoad(employeeId, employeeNames.get(employeeId), rollup, hoursPerFte));
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> getTeamNames() {
+        lock.readLock().lock();
+        try {
+            return new TreeSet<>(teams.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of daily buckets, of teams and employees together.
+     */
+    public long getBucketCount() {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (NavigableMap<Long, DailyRollup> buckets : teams.values()) {
+                count += buckets.size();
+            }
+            for (NavigableMap<Long, DailyRollup> buckets : employees.values()) {
+                count += buckets.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records in the log.
+     */
+    public long getLogRecords() {
+        lock.readLock().lock();
+        try {
+            return log.getRecordCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with one record per daily bucket, dropping the task records.
+     *
+     * @throws IOException If the log cannot be rewritten
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.rewrite(target -> {
+                for (Map.Entry<String, NavigableMap<Long, DailyRollup>> team : teams.entrySet()) {
+                    for (Map.Entry<Long, DailyRollup> bucket : team.getValue().entrySet()) {
+                        target.append(bucketRecord(TEAM_SCOPE, team.getKey(), null, null,
+                                bucket.getKey(), bucket.getValue()));
+                    }
+                }
+                for (Map.Entry<Integer, NavigableMap<Long, DailyRollup>> employee : employees.entrySet()) {
+                    for (Map.Entry<Long, DailyRollup> bucket : employee.getValue().entrySet()) {
+                        target.append(bucketRecord(EMPLOYEE_SCOPE, null, employee.getKey(),
+                                employeeNames.get(employee.getKey()), bucket.getKey(), bucket.getValue()));
+                    }
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the day a task is bucketed under: its deadline, or its start date without one.
+     *
+     * @throws IllegalArgumentException If the task has neither
+     */
+    public static LocalDate bucketDay(TaskDetail task) {
+        LocalDate day = task.getDeadlineDate() != null ? task.getDeadlineDate() : task.getStartDate();
+        if (day == null) {
+            throw new IllegalArgumentException("Task " + task.getTaskId() + " has neither a deadline nor a start date");
+        }
+        return day;
+    }
+
+    private void update(String teamName, Integer employeeId, String employeeName, Collection<TaskDetail> tasks,
+                        int sign) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + tasks.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TASKS);
+        out.writeByte(sign);
+        writeOptionalString(out, teamName);
+        out.writeBoolean(employeeId != null);
+        if (employeeId != null) {
+            out.writeInt(employeeId);
+        }
+        writeOptionalString(out, employeeName);
+        out.writeInt(tasks.size());
+        for (TaskDetail task : tasks) {
+            // Validated before anything is written
+            bucketDay(task);
+            writeOptionalString(out, task.getStatus());
+            writeOptionalString(out, task.getPriority());
+            writeDate(out, task.getStartDate());
+            writeDate(out, task.getDeadlineDate());
+            writeDate(out, task.getCompletedDate());
+            out.writeDouble(task.getEstimatedHours() != null ? task.getEstimatedHours() : Double.NaN);
+            out.writeBoolean(task.isDelayed());
+        }
+        lock.writeLock().lock();
+        try {
+            if (sign < 0) {
+                if (teamName != null) {
+                    checkRemovable(teams.get(teamName), tasks, employeeId, "team " + teamName);
+                }
+                if (employeeId != null) {
+                    checkRemovable(employees.get(employeeId), tasks, null, "employee " + employeeId);
+                }
+            }
+            log.append(bytes.toByteArray());
+            apply(teamName, employeeId, employeeName, tasks, sign);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called with the write lock held, or during replay
+    private void apply(String teamName, Integer employeeId, String employeeName, Collection<TaskDetail> tasks,
+                       int sign) {
+        if (employeeId != null && employeeName != null) {
+            employeeNames.put(employeeId, employeeName);
+        }
+        NavigableMap<Long, DailyRollup> teamBuckets = teamName != null
+                ? teams.computeIfAbsent(teamName, name -> new TreeMap<>()) : null;
+        NavigableMap<Long, DailyRollup> employeeBuckets = employeeId != null
+                ? employees.computeIfAbsent(employeeId, id -> new TreeMap<>()) : null;
+        for (TaskDetail task : tasks) {
+            long day = bucketDay(task).toEpochDay();
+            if (teamBuckets != null) {
+                addToBucket(teamBuckets, day, task, employeeId, sign);
+            }
+            if (employeeBuckets != null) {
+                addToBucket(employeeBuckets, day, task, null, sign);
+            }
+        }
+        // Like after compact() and reopening, a team or employee without tasks is not kept
+        if (teamBuckets != null && teamBuckets.isEmpty()) {
+            teams.remove(teamName);
+        }
+        if (employeeBuckets != null && employeeBuckets.isEmpty()) {
+            employees.remove(employeeId);
+        }
+    }
+
+    /**
+     * Removes the tasks from copies of their buckets and fails if a count would drop below zero.
+     */
+    private static void checkRemovable(NavigableMap<Long, DailyRollup> buckets, Collection<TaskDetail> tasks,
+                                       Integer employeeId, String owner) {
+        Map<Long, DailyRollup> remaining = new HashMap<>();
+        for (TaskDetail task : tasks) {
+            long day = bucketDay(task).toEpochDay();
+            DailyRollup bucket = remaining.computeIfAbsent(day, d -> {
+                DailyRollup stored = buckets != null ? buckets.get(d) : null;
+                return stored != null ? new DailyRollup().merge(stored) : new DailyRollup();
+            });
+            bucket.add(task, employeeId, -1);
+            if (bucket.hasNegativeCounts()) {
+                throw new IllegalArgumentException("Task " + task.getTaskId() + " was not added for " + owner
+                        + " on " + LocalDate.ofEpochDay(day));
+            }
+        }
+    }
+
+    private static void addToBucket(NavigableMap<Long, DailyRollup> buckets, long day, TaskDetail task,
+                                    Integer employeeId, int sign) {
+        DailyRollup bucket = buckets.computeIfAbsent(day, d -> new DailyRollup());
+        bucket.add(task, employeeId, sign);
+        if (bucket.isEmpty()) {
+            buckets.remove(day);
+        }
+    }
+
+    private static DailyRollup mergeRange(NavigableMap<Long, DailyRollup> buckets, LocalDate from, LocalDate to) {
+        DailyRollup result = new DailyRollup();
+        if (buckets != null) {
+            for (DailyRollup bucket : buckets.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                result.merge(bucket);
+            }
+        }
+        return result;
+    }
+
+    private static TeamEfficiency toTeamEfficiency(String teamName, DailyRollup rollup) {
+        int total = (int) rollup.getTaskCount();
+        int members = rollup.getActiveEmployeeCount();
+        TeamEfficiency team = new TeamEfficiency();
+        team.setTeamName(teamName);
+        team.setTotalTasksCount(total);
+        team.setCompletedTasksCount((int) rollup.getCompletedCount());
+        team.setOnTimeTasksCount((int) rollup.getOnTimeCount());
+        team.setDelayedTasksCount((int) rollup.getDelayedCount());
+        team.setAvgDelayDays(rollup.getAverageDelayDays());
+        team.setAvgCompletionHours(rollup.getAverageCompletionHours());
+        team.setActiveTeamMembersCount(members);
+        team.setTasksPerMember(members > 0 ? (double) total / members : 0.0);
+        team.setEfficiencyScore(total > 0 ? rollup.getOnTimeCount() * 100.0 / total : 0.0);
+        team.setHasNoTasks(total == 0);
+        team.setTasksByPriority(toIntCounts(rollup.getTasksByPriority()));
+        return team;
+    }
+
+    private static EmployeeLoad toEmployeeLoad(Integer employeeId, String employeeName, DailyRollup rollup,
+                                               double hoursPerFte) {
+        double hours = rollup.getEstimatedHours();
+        return new EmployeeLoad(employeeId, employeeName, (int) rollup.getTaskCount(), hours,
+                hoursPerFte > 0 ? hours / hoursPerFte : null, new ArrayList<>(),
+                toIntCounts(rollup.getTasksByStatus()));
+    }
+
+    private static Map<String, Integer> toIntCounts(Map<String, Long> counts) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach((key, count) -> result.put(key, count.intValue()));
+        return result;
+    }
+
+    private static byte[] bucketRecord(byte scope, String teamName, Integer employeeId, String employeeName,
+                                       long day, DailyRollup bucket) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(BUCKET);
+        out.writeByte(scope);
+        if (scope == TEAM_SCOPE) {
+            out.writeUTF(teamName);
+        } else {
+            out.writeInt(employeeId);
+            writeOptionalString(out, employeeName);
+        }
+        out.writeLong(day);
+        bucket.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    private void replayRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte kind = in.readByte();
+        if (kind == TASKS) {
+            int sign = in.readByte();
+            String teamName = readOptionalString(in);
+            Integer employeeId = in.readBoolean() ? in.readInt() : null;
+            String employeeName = readOptionalString(in);
+            int count = in.readInt();
+            List<TaskDetail> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                TaskDetail task = new TaskDetail();
+                // Few distinct values, shared by all buckets instead of one copy per record
+                task.setStatus(intern(readOptionalString(in)));
+                task.setPriority(intern(readOptionalString(in)));
+                task.setStartDate(readDate(in));
+                task.setDeadlineDate(readDate(in));
+                task.setCompletedDate(readDate(in));
+                double hours = in.readDouble();
+                task.setEstimatedHours(Double.isNaN(hours) ? null : hours);
+                task.setDelayed(in.readBoolean());
+                tasks.add(task);
+            }
+            apply(teamName, employeeId, employeeName, tasks, sign);
+        } else if (kind == BUCKET) {
+            byte scope = in.readByte();
+            NavigableMap<Long, DailyRollup> buckets;
+            if (scope == TEAM_SCOPE) {
+                buckets = teams.computeIfAbsent(in.readUTF(), name -> new TreeMap<>());
+            } else {
+                int employeeId = in.readInt();
+                String employeeName = readOptionalString(in);
+                if (employeeName != null) {
+                    employeeNames.put(employeeId, employeeName);
+                }
+                buckets = employees.computeIfAbsent(employeeId, id -> new TreeMap<>());
+            }
+            long day = in.readLong();
+            buckets.computeIfAbsent(day, d -> new DailyRollup()).merge(DailyRollup.readFrom(in));
+        } else {
+            throw new IOException("Unknown record type " + kind + " in rollup store " + logFile);
+        }
+    }
+
+    private static void writeOptionalString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : NO_DATE);
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long day = in.readLong();
+        return day != NO_DATE ? LocalDate.ofEpochDay(day) : null;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.reporting.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers directories that are known to exist, so that resolving a report path does not
+ * touch the file system once its directory has been created.
+ *
+ * Code that deletes directories must {@link #invalidate} them, otherwise later writes fail.
+ */
+public final class DirectoryCache {
+
+    private final Set<Path> created = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the directory and its parents unless it is already known to exist.
+     *
+     * @param directory The directory
+     * @throws IOException If the directory cannot be created
+     */
+    public void ensureExists(Path directory) throws IOException {
+        if (created.contains(directory)) {
+            return;
+        }
+        Files.createDirectories(directory);
+        // The parents exist as well; stop at the first one that is already known
+        for (Path path = directory; path != null && created.add(path); path = path.getParent()) {
+        }
+    }
+
+    /**
+     * Forgets the directory and everything below it.
+     *
+     * @param directory The deleted directory
+     */
+    public void invalidate(Path directory) {
+        created.removeIf(path -> path.startsWith(directory));
+    }
+
+    public int size() {
+        return created.size();
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.reporting.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of length-prefixed, CRC-checked records, the storage of {@link ReportIndex}
+ * and {@link DailyRollupStore}. Each record is its payload length, the payload and the CRC32 of
+ * the payload.
+ *
+ * On {@link #open} the records are replayed in order. A torn record at the end, left by a crash
+ * during a write, is cut off: one that runs past the end of the file, or the last record with a
+ * wrong checksum. A bad length or checksum followed by more data is corruption, not a torn
+ * write, and fails the open without changing the file. A failed append cuts off its own partial
+ * record, so a torn record can never be followed by valid ones. The log is not thread-safe; its
+ * owner serialises access.
+ */
+final class RecordLog implements AutoCloseable {
+
+    private final Path file;
+    private final boolean syncOnWrite;
+    private FileChannel channel;
+    private long recordCount;
+
+    private RecordLog(Path file, FileChannel channel, boolean syncOnWrite) {
+        this.file = file;
+        this.channel = channel;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * Opens the log and replays its records.
+     *
+     * @param file The log file; created if it does not exist
+     * @param syncOnWrite Whether each record is forced to disk before the append returns
+     * @param replay Receives the payload of every valid record, in order
+     * @return The open log, positioned for appending after the last valid record
+     * @throws IOException If the log cannot be read, is corrupted before its last record, or the
+     *         replay fails
+     */
+    static RecordLog open(Path file, boolean syncOnWrite, RecordHandler replay) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        RecordLog log = new RecordLog(file, channel, syncOnWrite);
+        try {
+            long validLength = log.replay(replay);
+            if (validLength < channel.size()) {
+                channel.truncate(validLength);
+            }
+            channel.position(validLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    /**
+     * Appends a record. If the write fails, the partial record is cut off before the error is
+     * rethrown.
+     *
+     * @param payload The record content, at least one byte
+     * @throws IOException If the record cannot be written
+     */
+    void append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(payload.length + 8);
+        record.putInt(payload.length).put(payload).putInt((int) crc.getValue());
+        record.flip();
+        long position = channel.position();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (syncOnWrite) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Cut off the torn record, otherwise replay would stop at it and drop every later record
+            try {
+                channel.truncate(position);
+                channel.position(position);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        recordCount++;
+    }
+
+    /**
+     * Replaces the log with the records written by the given writer, e.g. to drop records that
+     * have been superseded. The new log is written to a sibling file, forced to disk and moved
+     * over the old one atomically; if anything fails, the old log stays in place.
+     *
+     * @param writer Appends the records of the new log to the log it is given
+     * @throws IOException If the new log cannot be written or moved
+     */
+    void rewrite(RecordWriter writer) throws IOException {
+        Path rewritten = file.resolveSibling(file.getFileName() + ".compact");
+        Files.deleteIfExists(rewritten);
+        long records;
+        try (RecordLog target = open(rewritten, false, payload -> { })) {
+            writer.writeTo(target);
+            target.channel.force(true);
+            records = target.recordCount;
+        }
+        Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The channel still points at the replaced file; reopen the new log for appending
+        channel.close();
+        FileChannel reopened = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        reopened.position(reopened.size());
+        channel = reopened;
+        recordCount = records;
+    }
+
+    /**
+     * Returns the number of records in the log.
+     */
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    /**
+     * Replays the log.
+     *
+     * @return The length of the log without a torn record at its end
+     * @throws IOException If a record before the end of the log is corrupted
+     */
+    private long replay(RecordHandler handler) throws IOException {
+        channel.position(0);
+        long size = channel.size();
+        long position = 0;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        while (position + 4 <= size) {
+            int length = in.readInt();
+            if (length < 1) {
+                throw corrupted(position, "invalid record length " + length);
+            }
+            long end = position + 8 + length;
+            if (end > size) {
+                // The last record runs past the end of the file: a torn write
+                break;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            int storedCrc = in.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != storedCrc) {
+                if (end == size) {
+                    // The last record was not completely written before a crash
+                    break;
+                }
+                throw corrupted(position, "checksum mismatch");
+            }
+            handler.accept(payload);
+            position = end;
+            recordCount++;
+        }
+        return position;
+    }
+
+    private IOException corrupted(long position, String reason) {
+        return new IOException("Corrupted record at offset " + position + " of " + file + ": " + reason
+                + "; the log was left unchanged");
+    }
+
+    /**
+     * Receives the payload of a replayed record.
+     */
+    interface RecordHandler {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    /**
+     * Writes the records of a rewritten log.
+     */
+    interface RecordWriter {
+        void writeTo(RecordLog target) throws IOException;
+    }
+}
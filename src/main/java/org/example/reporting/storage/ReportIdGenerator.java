@@ -0,0 +1,120 @@
+package org.example.reporting.storage;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of unique, time-ordered 63-bit report ids.
+ *
+ * An id holds 41 bits of milliseconds since 2024-01-01 (about 69 years), a 10-bit node id and
+ * a 12-bit sequence per millisecond. Ids of one generator are strictly increasing, even when
+ * the clock steps back or more than 4096 ids are requested in one millisecond: the generator
+ * then keeps counting on its last timestamp instead of waiting. Their Crockford base32 form
+ * has a fixed width, so names sort lexicographically in creation order.
+ */
+public final class ReportIdGenerator {
+
+    /**
+     * Start of the timestamp range, 2024-01-01T00:00:00Z.
+     */
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int NAME_LENGTH = 13;
+
+    private static final ReportIdGenerator DEFAULT = new ReportIdGenerator(defaultNodeId(), Clock.systemUTC());
+
+    private final long nodeBits;
+    private final Clock clock;
+    // Timestamp and sequence of the last id, packed as timestamp << SEQUENCE_BITS | sequence
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * @param nodeId Id of this process among all processes writing to the same storage, 0 to 1023
+     * @param clock The clock providing the timestamps
+     */
+    public ReportIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the shared generator. Its node id is taken from the {@code reporting.nodeId} system
+     * property, or derived from the process id when the property is not set.
+     */
+    public static ReportIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the next id.
+     */
+    public long nextId() {
+        long now = clock.millis() - EPOCH_MILLIS;
+        while (true) {
+            long previous = last.get();
+            long previousTime = previous >>> SEQUENCE_BITS;
+            long next;
+            if (now > previousTime) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Same millisecond, clock moved back or sequence exhausted: continue after the last id,
+                // overflowing the sequence into the timestamp
+                next = previous + 1;
+            }
+            if (last.compareAndSet(previous, next)) {
+                long time = next >>> SEQUENCE_BITS;
+                return time << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Returns the next id in its 13-character base32 form.
+     */
+    public String nextName() {
+        return toBase32(nextId());
+    }
+
+    /**
+     * Encodes an id as 13 Crockford base32 characters; the encoding preserves the order of ids.
+     */
+    public static String toBase32(long id) {
+        char[] chars = new char[NAME_LENGTH];
+        for (int i = NAME_LENGTH - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the creation time encoded in an id.
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * Returns the node id encoded in an id.
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    private static int defaultNodeId() {
+        String configured = System.getProperty("reporting.nodeId");
+        if (configured != null) {
+            return Integer.parseInt(configured.trim());
+        }
+        return (int) (ProcessHandle.current().pid() & MAX_NODE);
+    }
+}
@@ -0,0 +1,407 @@
+package org.example.reporting.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent index of saved reports, so that reports can be found by type and period without
+ * listing the storage directories.
+ *
+ * The index is an append-only {@link RecordLog}: an entry when a report is recorded and a
+ * tombstone when it is removed. On {@link #open} the log is replayed into memory; a torn record
+ * at the end, left by a crash during a write, is cut off, and a corrupted record before the end
+ * fails the open.
+ * Lookups only touch the in-memory maps.
+ */
+public class ReportIndex implements AutoCloseable {
+
+    private static final byte ENTRY = 1;
+    private static final byte TOMBSTONE = 2;
+
+    private final Path logFile;
+    private RecordLog log;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, ReportIndexEntry> byId = new HashMap<>();
+    // Per report type, entries sorted by period start, then id
+    private final Map<String, NavigableMap<EntryKey, ReportIndexEntry>> byType = new HashMap<>();
+    // Per report type, the longest period in days, bounding the range scan
+    private final Map<String, Long> maxPeriodDays = new HashMap<>();
+
+    private ReportIndex(Path logFile, Clock clock) {
+        this.logFile = logFile;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens the index, replaying its log.
+     *
+     * @param logFile The log file; created if it does not exist
+     * @return The open index
+     * @throws IOException If the log cannot be read or is corrupted
+     */
+    public static ReportIndex open(Path logFile) throws IOException {
+        return open(logFile, false, Clock.systemUTC());
+    }
+
+    /**
+     * Opens the index, replaying its log.
+     *
+     * @param logFile The log file; created if it does not exist
+     * @param syncOnWrite Whether each record is forced to disk before the write returns
+     * @param clock The clock for creation times of recorded reports
+     * @return The open index
+     * @throws IOException If the log cannot be read or is corrupted
+     */
+    public static ReportIndex open(Path logFile, boolean syncOnWrite, Clock clock) throws IOException {
+        ReportIndex index = new ReportIndex(logFile, clock);
+        index.log = RecordLog.open(logFile, syncOnWrite, index::replayRecord);
+        return index;
+    }
+
+    /**
+     * Records a saved report file, computing its size and checksum.
+     * The id is the file name; the period is taken from the dateFrom/dateTo parameters.
+     *
+     * @param reportType The type of report
+     * @param file The saved report
+     * @param parameters The parameters the report was generated with, may be null
+     * @return The recorded entry
+     * @throws IOException If the file cannot be read or the record cannot be written
+     */
+    public ReportIndexEntry record(String reportType, Path file, Map<String, Object> parameters) throws IOException {
+        return record(file.getFileName().toString(), reportType, file, Files.size(file), sha256(file), parameters);
+    }
+
+    /**
+     * Records a report whose size and checksum are already known.
+     *
+     * @param id Unique report id
+     * @param reportType The type of report
+     * @param file Location of the report content
+     * @param size Size of the content in bytes
+     * @param checksum Hex SHA-256 of the content
+     * @param parameters The parameters the report was generated with, may be null
+     * @return The recorded entry
+     * @throws IOException If the record cannot be written
+     */
+    public ReportIndexEntry record(String id, String reportType, Path file, long size, String checksum,
+                                   Map<String, Object> parameters) throws IOException {
+        Instant now = clock.instant();
+        LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+        LocalDate start = parseDate(parameters, "dateFrom", today);
+        LocalDate end = parseDate(parameters, "dateTo", start);
+        ReportIndexEntry entry = new ReportIndexEntry(id, reportType, start, end, size, checksum, file.toString(), now);
+        add(entry);
+        return entry;
+    }
+
+    /**
+     * Appends an entry to the log. An entry with the same id replaces the previous one.
+     *
+     * @param entry The entry
+     * @throws IOException If the record cannot be written
+     */
+    public void add(ReportIndexEntry entry) throws IOException {
+        byte[] record = entryRecord(entry);
+        lock.writeLock().lock();
+        try {
+            log.append(record);
+            apply(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a tombstone for the report, e.g. after it was deleted.
+     *
+     * @param id The report id
+     * @return Whether the report was indexed
+     * @throws IOException If the record cannot be written
+     */
+    public boolean remove(String id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TOMBSTONE);
+        out.writeUTF(id);
+        lock.writeLock().lock();
+        try {
+            if (!byId.containsKey(id)) {
+                return false;
+            }
+            log.append(bytes.toByteArray());
+            unapply(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<ReportIndexEntry> get(String id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the reports of a type whose period overlaps the given range.
+     *
+     * @param reportType The type of report
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @return Matching entries sorted by period start
+     */
+    public List<ReportIndexEntry> find(String reportType, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<EntryKey, ReportIndexEntry> entries = byType.get(reportType);
+            List<ReportIndexEntry> result = new ArrayList<>();
+            if (entries == null) {
+                return result;
+            }
+            // An overlapping entry cannot start earlier than the longest period before the range
+            LocalDate earliestStart = from.minusDays(maxPeriodDays.get(reportType));
+            for (ReportIndexEntry entry : entries.subMap(new EntryKey(earliestStart.toEpochDay(), ""), true,
+                    new EntryKey(to.toEpochDay() + 1, ""), false).values()) {
+                if (entry.overlaps(from, to)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all reports of a type sorted by period start.
+     */
+    public List<ReportIndexEntry> find(String reportType) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<EntryKey, ReportIndexEntry> entries = byType.get(reportType);
+            return entries != null ? new ArrayList<>(entries.values()) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the report types with at least one indexed report.
+     */
+    public Set<String> getReportTypes() {
+        lock.readLock().lock();
+        try {
+            Set<String> types = new TreeSet<>();
+            byType.forEach((type, entries) -> {
+                if (!entries.isEmpty()) {
+                    types.add(type);
+                }
+            });
+            return types;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed reports.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with only the live entries, dropping replaced entries and tombstones.
+     *
+     * @throws IOException If the log cannot be rewritten
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.rewrite(target -> {
+                for (ReportIndexEntry entry : byId.values()) {
+                    target.append(entryRecord(entry));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records in the log, including replaced entries and tombstones.
+     */
+    public long getLogRecords() {
+        lock.readLock().lock();
+        try {
+            return log.getRecordCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the hex SHA-256 checksum of a file.
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] entryRecord(ReportIndexEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(ENTRY);
+        out.writeUTF(entry.getId());
+        out.writeUTF(entry.getReportType());
+        out.writeLong(entry.getPeriodStart().toEpochDay());
+        out.writeLong(entry.getPeriodEnd().toEpochDay());
+        out.writeLong(entry.getSize());
+        out.writeUTF(entry.getChecksum());
+        out.writeUTF(entry.getPath());
+        out.writeLong(entry.getCreatedAt().getEpochSecond());
+        out.writeInt(entry.getCreatedAt().getNano());
+        return bytes.toByteArray();
+    }
+
+    private void replayRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte kind = in.readByte();
+        if (kind == ENTRY) {
+            String id = in.readUTF();
+            String reportType = in.readUTF();
+            LocalDate start = LocalDate.ofEpochDay(in.readLong());
+            LocalDate end = LocalDate.ofEpochDay(in.readLong());
+            long size = in.readLong();
+            String checksum = in.readUTF();
+            String path = in.readUTF();
+            Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            apply(new ReportIndexEntry(id, reportType, start, end, size, checksum, path, createdAt));
+        } else if (kind == TOMBSTONE) {
+            unapply(in.readUTF());
+        } else {
+            throw new IOException("Unknown record type " + kind + " in report index " + logFile);
+        }
+    }
+
+    private void apply(ReportIndexEntry entry) {
+        unapply(entry.getId());
+        byId.put(entry.getId(), entry);
+        byType.computeIfAbsent(entry.getReportType(), type -> new TreeMap<>()).put(sortKey(entry), entry);
+        long periodDays = entry.getPeriodEnd().toEpochDay() - entry.getPeriodStart().toEpochDay();
+        maxPeriodDays.merge(entry.getReportType(), periodDays, Math::max);
+    }
+
+    private void unapply(String id) {
+        ReportIndexEntry previous = byId.remove(id);
+        if (previous != null) {
+            byType.get(previous.getReportType()).remove(sortKey(previous));
+        }
+    }
+
+    private static EntryKey sortKey(ReportIndexEntry entry) {
+        return new EntryKey(entry.getPeriodStart().toEpochDay(), entry.getId());
+    }
+
+    private static LocalDate parseDate(Map<String, Object> parameters, String key, LocalDate defaultValue) {
+        Object value = parameters != null ? parameters.get(key) : null;
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        if (value != null) {
+            try {
+                return LocalDate.parse(value.toString());
+            } catch (DateTimeParseException e) {
+                // Not an ISO date; fall back to the default
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Sort key of an entry within its report type: period start, then id.
+     */
+    private static final class EntryKey implements Comparable<EntryKey> {
+
+        private final long startDay;
+        private final String id;
+
+        private EntryKey(long startDay, String id) {
+            this.startDay = startDay;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(EntryKey other) {
+            int result = Long.compare(startDay, other.startDay);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.reporting.storage;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A saved report as recorded in the {@link ReportIndex}.
+ * Reports without a reporting period are indexed under their creation date.
+ */
+public final class ReportIndexEntry {
+
+    private final String id;
+    private final String reportType;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final long size;
+    private final String checksum;
+    private final String path;
+    private final Instant createdAt;
+
+    /**
+     * Full constructor
+     *
+     * @param id Unique report id, e.g. the file name
+     * @param reportType The type of report (e.g., "team-efficiency")
+     * @param periodStart First day of the reporting period
+     * @param periodEnd Last day of the reporting period
+     * @param size File size in bytes
+     * @param checksum Hex SHA-256 of the file content
+     * @param path Location of the report
+     * @param createdAt When the report was saved
+     */
+    public ReportIndexEntry(String id, String reportType, LocalDate periodStart, LocalDate periodEnd,
+                            long size, String checksum, String path, Instant createdAt) {
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Period end " + periodEnd + " is before its start " + periodStart);
+        }
+        this.id = id;
+        this.reportType = reportType;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.size = size;
+        this.checksum = checksum;
+        this.path = path;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Checks whether the reporting period overlaps the given range (both ends inclusive).
+     */
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !periodStart.isAfter(to) && !periodEnd.isBefore(from);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportIndexEntry{" +
+                "id='" + id + '\'' +
+                ", reportType='" + reportType + '\'' +
+                ", periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", size=" + size +
+                ", path='" + path + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,312 @@
+package org.example.reporting.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deletes reports of a {@link ShardedReportLayout} that are older than the maximum age or that
+ * exceed the total size quota, oldest day first.
+ *
+ * Age is measured in whole days of the storage directory. Each run deletes at most one batch of
+ * files; the rest is picked up by the next run. The sizes of past days are measured once and
+ * then maintained by the service, so a run only lists the date directories and walks the files
+ * of the current day and of days it actually deletes from.
+ */
+public class RetentionService implements AutoCloseable {
+
+    private final ShardedReportLayout layout;
+    private final Duration maxAge;
+    private final long maxTotalBytes;
+    private final int batchSize;
+
+    // Days sorted oldest first, with the total size of their files
+    private final NavigableMap<Day, Long> daySizes = new TreeMap<>();
+    private long trackedBytes;
+    private long deletedFiles;
+    private long freedBytes;
+    private volatile String lastError;
+    private ScheduledExecutorService timer;
+
+    /**
+     * @param layout The layout whose reports are managed
+     * @param maxAge Maximum age of a report, or null for no age limit
+     * @param maxTotalBytes Maximum total size of all reports, or 0 for no quota
+     * @param batchSize Maximum number of files deleted per run
+     */
+    public RetentionService(ShardedReportLayout layout, Duration maxAge, long maxTotalBytes, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.layout = layout;
+        this.maxAge = maxAge;
+        this.maxTotalBytes = maxTotalBytes;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts running the retention in the background at a fixed interval.
+     *
+     * @param interval Time between runs
+     */
+    public synchronized void start(Duration interval) {
+        if (timer != null) {
+            throw new IllegalStateException("Retention service is already running");
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+                lastError = null;
+            } catch (IOException | RuntimeException e) {
+                lastError = e.toString();
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deletes one batch of expired or over-quota reports.
+     *
+     * @return The number of deleted files
+     * @throws IOException If the storage cannot be read
+     */
+    public synchronized int runOnce() throws IOException {
+        LocalDate today = LocalDate.now(layout.getClock());
+        refreshDays(today);
+        LocalDate cutoff = maxAge != null ? today.minusDays(maxAge.toDays()) : null;
+        int remaining = batchSize;
+        for (Day day : new ArrayList<>(daySizes.keySet())) {
+            boolean expired = cutoff != null && day.date.isBefore(cutoff);
+            if (remaining == 0 || (!expired && !isOverQuota())) {
+                // Days are sorted oldest first, so no later day qualifies either
+                break;
+            }
+            remaining -= deleteFromDay(day, remaining, expired, today);
+        }
+        return batchSize - remaining;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    public synchronized long getTrackedBytes() {
+        return trackedBytes;
+    }
+
+    public synchronized long getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    public synchronized long getFreedBytes() {
+        return freedBytes;
+    }
+
+    /**
+     * Returns the error of the last background run, or null if it succeeded.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    private boolean isOverQuota() {
+        return maxTotalBytes > 0 && trackedBytes > maxTotalBytes;
+    }
+
+    /**
+     * Lists the date directories and measures days that are new or may still be written to.
+     */
+    private void refreshDays(LocalDate today) throws IOException {
+        Path base = layout.getBaseDirectory();
+        if (!Files.isDirectory(base)) {
+            daySizes.clear();
+            trackedBytes = 0;
+            return;
+        }
+        NavigableMap<Day, Long> current = new TreeMap<>();
+        for (Path typeDir : subdirectories(base)) {
+            for (Path yearDir : subdirectories(typeDir)) {
+                for (Path monthDir : subdirectories(yearDir)) {
+                    for (Path dayDir : subdirectories(monthDir)) {
+                        LocalDate date = parseDate(yearDir, monthDir, dayDir);
+                        if (date == null) {
+                            continue;
+                        }
+                        Day day = new Day(date, typeDir.getFileName().toString());
+                        Long size = daySizes.get(day);
+                        current.put(day, size != null && date.isBefore(today) ? size : measure(dayDir));
+                    }
+                }
+            }
+        }
+        daySizes.clear();
+        daySizes.putAll(current);
+        trackedBytes = 0;
+        for (long size : daySizes.values()) {
+            trackedBytes += size;
+        }
+    }
+
+    private int deleteFromDay(Day day, int limit, boolean expired, LocalDate today) throws IOException {
+        Path dayDir = layout.getDayDirectory(day.reportType, day.date);
+        List<Path> files = listFiles(dayDir);
+        int deleted = 0;
+        int processed = 0;
+        long dayBytes = daySizes.get(day);
+        for (Path file : files) {
+            if (deleted == limit || (!expired && !isOverQuota())) {
+                break;
+            }
+            processed++;
+            long size;
+            try {
+                size = Files.size(file);
+                Files.delete(file);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            deleted++;
+            dayBytes -= size;
+            trackedBytes -= size;
+            deletedFiles++;
+            freedBytes += size;
+        }
+        if (processed == files.size()) {
+            daySizes.remove(day);
+            trackedBytes -= dayBytes;
+            // Directories of the current day may be in use by writers and are kept
+            if (day.date.isBefore(today)) {
+                removeDirectories(dayDir);
+            }
+        } else {
+            daySizes.put(day, dayBytes);
+        }
+        return deleted;
+    }
+
+    /**
+     * Removes the empty day directory with its shards, and the month and year directories
+     * if they became empty as well.
+     */
+    private void removeDirectories(Path dayDir) throws IOException {
+        for (Path shard : subdirectories(dayDir)) {
+            deleteIfEmpty(shard);
+        }
+        layout.invalidate(dayDir);
+        Path dir = dayDir;
+        for (int level = 0; level < 3 && deleteIfEmpty(dir); level++) {
+            layout.invalidate(dir);
+            dir = dir.getParent();
+        }
+    }
+
+    private static boolean deleteIfEmpty(Path dir) throws IOException {
+        try {
+            return Files.deleteIfExists(dir);
+        } catch (DirectoryNotEmptyException e) {
+            return false;
+        }
+    }
+
+    private static long measure(Path dayDir) throws IOException {
+        long size = 0;
+        for (Path file : listFiles(dayDir)) {
+            try {
+                size += Files.size(file);
+            } catch (NoSuchFileException e) {
+                // Deleted concurrently
+            }
+        }
+        return size;
+    }
+
+    private static List<Path> listFiles(Path dayDir) throws IOException {
+        if (!Files.isDirectory(dayDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> stream = Files.walk(dayDir)) {
+            return stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> subdirectories(Path dir) throws IOException {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path path : stream) {
+                result.add(path);
+            }
+        } catch (NoSuchFileException e) {
+            // Removed concurrently
+        }
+        return result;
+    }
+
+    private static LocalDate parseDate(Path yearDir, Path monthDir, Path dayDir) {
+        try {
+            return LocalDate.of(Integer.parseInt(yearDir.getFileName().toString()),
+                    Integer.parseInt(monthDir.getFileName().toString()),
+                    Integer.parseInt(dayDir.getFileName().toString()));
+        } catch (NumberFormatException | DateTimeException e) {
+            // Not a date directory of the layout
+            return null;
+        }
+    }
+
+    private static final class Day implements Comparable<Day> {
+
+        private final LocalDate date;
+        private final String reportType;
+
+        private Day(LocalDate date, String reportType) {
+            this.date = date;
+            this.reportType = reportType;
+        }
+
+        @Override
+        public int compareTo(Day other) {
+            int result = date.compareTo(other.date);
+            return result != 0 ? result : reportType.compareTo(other.reportType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Day)) {
+                return false;
+            }
+            Day day = (Day) o;
+            return date.equals(day.date) && reportType.equals(day.reportType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, reportType);
+        }
+    }
+}
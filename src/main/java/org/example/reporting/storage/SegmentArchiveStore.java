@@ -0,0 +1,680 @@
+package org.example.reporting.storage;
+
+import com.itextpdf.text.DocumentException;
+import org.example.reporting.generator.PdfReportGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Storage backend that appends reports to one segment file per day instead of one file per report.
+ *
+ * Every record carries the report id, its length and a CRC, so the in-memory offset index is
+ * rebuilt by scanning the segments on {@link #open}. Generated reports are written to a
+ * temporary file in the archive directory and streamed into the segment, so they are never
+ * held whole in the heap. Reads return read-only slices of the memory-mapped segment without
+ * copying. Deleted reports leave dead space behind that {@link #compact} reclaims; whole days
+ * are dropped with {@link #expire}.
+ */
+public class SegmentArchiveStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x52505347;
+    private static final byte REPORT = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final String SUFFIX = ".seg";
+    private static final int COPY_BUFFER = 64 * 1024;
+    private static final DateTimeFormatter SEGMENT_NAME = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * Writes report content to a stream, e.g. {@code out -> generator.writeReport(data, parameters, out)}.
+     */
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws DocumentException, IOException;
+    }
+
+    private final Path directory;
+    private final Clock clock;
+    private final NavigableMap<LocalDate, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> locations = new HashMap<>();
+
+    private SegmentArchiveStore(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    public static SegmentArchiveStore open(Path directory) throws IOException {
+        return open(directory, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Opens the archive, rebuilding the offset index from its segments.
+     *
+     * @param directory The directory holding the segment files; created if missing
+     * @param clock The clock selecting the segment of new reports
+     * @return The open archive
+     * @throws IOException If a segment cannot be read or is corrupted before its last record
+     */
+    public static SegmentArchiveStore open(Path directory, Clock clock) throws IOException {
+        Files.createDirectories(directory);
+        SegmentArchiveStore store = new SegmentArchiveStore(directory, clock);
+        // Reports and compactions interrupted by a crash
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "{report-*.tmp,*.compact}")) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                LocalDate day = parseDay(path);
+                if (day != null) {
+                    store.segments.put(day, new Segment(day, path));
+                }
+            }
+        }
+        try {
+            for (Segment segment : store.segments.values()) {
+                store.scan(segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Generates a report with {@link PdfReportGenerator#saveReport} into a temporary file and
+     * appends it to today's segment.
+     *
+     * @param generator The generator producing the report
+     * @param data The report data
+     * @param parameters The report parameters
+     * @param id Unique report id; saving an existing id replaces the report
+     * @return The id
+     * @throws DocumentException If the report cannot be generated
+     * @throws IOException If the report cannot be stored
+     */
+    public <T> String saveReport(PdfReportGenerator<T> generator, List<T> data, Map<String, Object> parameters,
+                                 String id) throws DocumentException, IOException {
+        Path temp = Files.createTempFile(directory, "report-", ".tmp");
+        try {
+            generator.saveReport(data, parameters, temp);
+            putFile(id, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return id;
+    }
+
+    /**
+     * Appends report content written by the given writer to today's segment. The content is
+     * written to a temporary file outside the archive lock, so concurrent reports render in
+     * parallel without being held in the heap.
+     *
+     * @param id Unique report id; saving an existing id replaces the report
+     * @param writer Writes the content
+     * @return The id
+     * @throws DocumentException If the content cannot be generated
+     * @throws IOException If the content cannot be stored
+     */
+    public String save(String id, ContentWriter writer) throws DocumentException, IOException {
+        Path temp = Files.createTempFile(directory, "report-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), COPY_BUFFER)) {
+                writer.writeTo(out);
+            }
+            putFile(id, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return id;
+    }
+
+    /**
+     * Appends the content of a file to today's segment, e.g. a report written by
+     * {@link PdfReportGenerator#saveReport}. The file is streamed into the segment.
+     *
+     * @param id Unique report id; saving an existing id replaces the report
+     * @param file The file; it must not change while it is appended
+     * @throws IOException If the file cannot be read or the content cannot be stored
+     */
+    public void putFile(String id, Path file) throws IOException {
+        try (FileChannel content = FileChannel.open(file, StandardOpenOption.READ)) {
+            put(id, content.size(), content);
+        }
+    }
+
+    /**
+     * Appends report content to today's segment.
+     *
+     * @param id Unique report id; saving an existing id replaces the report
+     * @param content The report content
+     * @throws IOException If the content cannot be stored
+     */
+    public void put(String id, byte[] content) throws IOException {
+        put(id, content.length, bytes(content));
+    }
+
+    /**
+     * Returns a read-only view of the report content in the mapped segment.
+     *
+     * @param id The report id
+     * @return The content, or empty if the report is unknown
+     * @throws IOException If the segment cannot be mapped
+     */
+    public synchronized Optional<ByteBuffer> read(String id) throws IOException {
+        Location location = locations.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        ByteBuffer view = location.segment.map(location.offset + location.length).duplicate();
+        view.position((int) location.offset).limit((int) (location.offset + location.length));
+        return Optional.of(view.slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * Opens a stream over the report content in the mapped segment.
+     *
+     * @param id The report id
+     * @return The stream, or empty if the report is unknown
+     * @throws IOException If the segment cannot be mapped
+     */
+    public Optional<InputStream> openStream(String id) throws IOException {
+        return read(id).map(ByteBufferInputStream::new);
+    }
+
+    /**
+     * Opens the report for zero-copy transfer from its segment file.
+     *
+     * @param id The report id
+     * @return The report, or empty if the report is unknown
+     * @throws IOException If the segment cannot be opened
+     */
+    public synchronized Optional<StoredReport> openReport(String id) throws IOException {
+        Location location = locations.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        return Optional.of(StoredReport.open(location.segment.path, location.offset, location.length));
+    }
+
+    public synchronized boolean contains(String id) {
+        return locations.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return locations.size();
+    }
+
+    /**
+     * Deletes a report by appending a tombstone; its space is reclaimed by {@link #compact}.
+     *
+     * @param id The report id
+     * @return Whether the report existed
+     * @throws IOException If the tombstone cannot be written
+     */
+    public synchronized boolean delete(String id) throws IOException {
+        if (!locations.containsKey(id)) {
+            return false;
+        }
+        append(TOMBSTONE, id, 0, bytes(new byte[0])).segment.tombstones.add(id);
+        kill(locations.remove(id));
+        return true;
+    }
+
+    /**
+     * Drops the segments of days older than the given age, with all their reports.
+     *
+     * @param maxAge Maximum age of a segment in days
+     * @return The number of dropped reports
+     * @throws IOException If a segment cannot be deleted
+     */
+    public synchronized int expire(Duration maxAge) throws IOException {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(maxAge.toDays());
+        int dropped = 0;
+        Iterator<Segment> expired = segments.headMap(cutoff, false).values().iterator();
+        while (expired.hasNext()) {
+            Segment segment = expired.next();
+            Iterator<Location> live = locations.values().iterator();
+            while (live.hasNext()) {
+                if (live.next().segment == segment) {
+                    live.remove();
+                    dropped++;
+                }
+            }
+            segment.close();
+            Files.deleteIfExists(segment.path);
+            expired.remove();
+        }
+        return dropped;
+    }
+
+    /**
+     * Rewrites past segments whose share of dead bytes exceeds the threshold, keeping only live reports.
+     * Today's segment is still being appended to and is never compacted.
+     *
+     * @param maxDeadRatio Dead share, between 0 and 1, above which a segment is rewritten
+     * @return The number of reclaimed bytes
+     * @throws IOException If a segment cannot be rewritten
+     */
+    public synchronized long compact(double maxDeadRatio) throws IOException {
+        LocalDate today = LocalDate.now(clock);
+        long reclaimed = 0;
+        for (Segment segment : new ArrayList<>(segments.headMap(today, false).values())) {
+            long size = segment.size();
+            if (size == 0 || (double) segment.deadBytes / size <= maxDeadRatio) {
+                continue;
+            }
+            List<Map.Entry<String, Location>> live = new ArrayList<>();
+            for (Map.Entry<String, Location> entry : locations.entrySet()) {
+                if (entry.getValue().segment == segment) {
+                    live.add(entry);
+                }
+            }
+            // Keep the original order so that the rewritten segment scans the same way
+            live.sort((a, b) -> Long.compare(a.getValue().offset, b.getValue().offset));
+            Path temp = segment.path.resolveSibling(segment.path.getFileName() + ".compact");
+            Segment compacted = new Segment(segment.day, temp);
+            Map<String, Location> moved = new HashMap<>();
+            try {
+                // Tombstones of deleted reports still hide their records in older segments
+                for (String id : segment.tombstones) {
+                    if (!locations.containsKey(id)) {
+                        compacted.append(TOMBSTONE, id, 0, bytes(new byte[0]));
+                        compacted.tombstones.add(id);
+                    }
+                }
+                for (Map.Entry<String, Location> entry : live) {
+                    Location location = entry.getValue();
+                    ByteBuffer content = segment.map(location.offset + location.length).duplicate();
+                    content.position((int) location.offset).limit((int) (location.offset + location.length));
+                    moved.put(entry.getKey(), compacted.append(REPORT, entry.getKey(), location.length,
+                            Channels.newChannel(new ByteBufferInputStream(content.slice()))));
+                }
+                compacted.force();
+            } catch (IOException | RuntimeException e) {
+                // The original segment is untouched and stays in use
+                compacted.close();
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            compacted.close();
+            segment.close();
+            try {
+                Files.move(temp, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    segment.reopen();
+                    Files.deleteIfExists(temp);
+                } catch (IOException reopenError) {
+                    e.addSuppressed(reopenError);
+                }
+                throw e;
+            }
+            Segment replacement;
+            try {
+                replacement = new Segment(segment.day, segment.path);
+            } catch (IOException e) {
+                // The compacted file is in place but cannot be opened; its reports are found again
+                // when the archive is reopened
+                segments.remove(segment.day);
+                locations.values().removeIf(location -> location.segment == segment);
+                throw e;
+            }
+            for (Map.Entry<String, Location> entry : moved.entrySet()) {
+                Location location = entry.getValue();
+                locations.put(entry.getKey(), new Location(replacement, location.offset, location.length));
+            }
+            replacement.liveBytes = compacted.liveBytes;
+            replacement.tombstones.addAll(compacted.tombstones);
+            segments.put(segment.day, replacement);
+            reclaimed += size - replacement.size();
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Returns the number of segment files.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns the total size of all segments, including dead records.
+     */
+    public synchronized long getTotalBytes() throws IOException {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.size();
+        }
+        return total;
+    }
+
+    /**
+     * Forces all segments to disk.
+     */
+    public synchronized void force() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private synchronized void put(String id, long length, ReadableByteChannel content) throws IOException {
+        Location location = append(REPORT, id, length, content);
+        Location previous = locations.put(id, location);
+        if (previous != null) {
+            kill(previous);
+        }
+    }
+
+    // Called while synchronized
+    private Location append(byte kind, String id, long length, ReadableByteChannel content) throws IOException {
+        LocalDate today = LocalDate.now(clock);
+        Segment segment = segments.get(today);
+        if (segment == null) {
+            segment = new Segment(today, directory.resolve(SEGMENT_NAME.format(today) + SUFFIX));
+            segments.put(today, segment);
+        }
+        return segment.append(kind, id, length, content);
+    }
+
+    private static ReadableByteChannel bytes(byte[] content) {
+        return Channels.newChannel(new ByteArrayInputStream(content));
+    }
+
+    private void kill(Location location) {
+        location.segment.liveBytes -= location.length;
+        location.segment.deadBytes += location.length;
+    }
+
+    /**
+     * Replays the records of a segment into the offset index. A torn record at the end, left by
+     * a crash during an append, is cut off: one that runs past the end of the file, or the last
+     * record with a wrong checksum. Any other damage fails the scan and leaves the file unchanged.
+     *
+     * @throws IOException If a record before the end of the segment is corrupted
+     */
+    private void scan(Segment segment) throws IOException {
+        long size = segment.size();
+        MappedByteBuffer map = segment.map(size);
+        long position = 0;
+        while (position + Segment.FIXED_HEADER <= size) {
+            ByteBuffer record = map.duplicate();
+            record.position((int) position);
+            if (record.getInt() != MAGIC) {
+                throw corrupted(segment, position, "bad record marker");
+            }
+            byte kind = record.get();
+            int idLength = record.getShort() & 0xffff;
+            int length = record.getInt();
+            int storedCrc = record.getInt();
+            long contentOffset = position + Segment.FIXED_HEADER + idLength;
+            if (length < 0 || (kind != REPORT && kind != TOMBSTONE)) {
+                throw corrupted(segment, position, "invalid record header");
+            }
+            if (contentOffset + length > size) {
+                // The last record runs past the end of the file: a torn append
+                break;
+            }
+            byte[] idBytes = new byte[idLength];
+            record.get(idBytes);
+            CRC32 crc = new CRC32();
+            crc.update(idBytes);
+            ByteBuffer content = map.duplicate();
+            content.position((int) contentOffset).limit((int) (contentOffset + length));
+            crc.update(content);
+            if ((int) crc.getValue() != storedCrc) {
+                if (contentOffset + length == size) {
+                    // The last record was not completely written before a crash
+                    break;
+                }
+                throw corrupted(segment, position, "checksum mismatch");
+            }
+            String id = new String(idBytes, StandardCharsets.UTF_8);
+            Location previous;
+            if (kind == REPORT) {
+                segment.liveBytes += length;
+                previous = locations.put(id, new Location(segment, contentOffset, length));
+            } else {
+                segment.tombstones.add(id);
+                previous = locations.remove(id);
+            }
+            if (previous != null) {
+                kill(previous);
+            }
+            position = contentOffset + length;
+        }
+        if (position < size) {
+            segment.truncate(position);
+        }
+    }
+
+    private static IOException corrupted(Segment segment, long position, String reason) {
+        return new IOException("Corrupted record at offset " + position + " of " + segment.path + ": " + reason
+                + "; the segment was left unchanged");
+    }
+
+    private static LocalDate parseDay(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(0, name.length() - SUFFIX.length()), SEGMENT_NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * One segment file. Records are {@code magic, kind, id length, content length, crc, id, content}.
+     */
+    private static final class Segment {
+
+        static final int FIXED_HEADER = 4 + 1 + 2 + 4 + 4;
+
+        final LocalDate day;
+        final Path path;
+        FileChannel channel;
+        MappedByteBuffer map;
+        final Set<String> tombstones = new HashSet<>();
+        long liveBytes;
+        long deadBytes;
+
+        Segment(LocalDate day, Path path) throws IOException {
+            this.day = day;
+            this.path = path;
+            this.channel = open(path);
+        }
+
+        private static FileChannel open(Path path) throws IOException {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Opens the file again after {@link #close}, e.g. when replacing it failed.
+         */
+        void reopen() throws IOException {
+            map = null;
+            channel = open(path);
+        }
+
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        /**
+         * Returns a mapping covering at least the first {@code length} bytes, remapping a grown segment.
+         */
+        MappedByteBuffer map(long length) throws IOException {
+            if (map == null || map.capacity() < length) {
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("Segment exceeds 2 GB: " + path);
+                }
+                map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return map;
+        }
+
+        /**
+         * Appends a record, streaming its content in chunks. The CRC is computed on the way and
+         * written into the header last, so a crash before that leaves a last record with a wrong
+         * checksum, which the next scan cuts off.
+         *
+         * @param length The number of bytes the content channel provides
+         */
+        Location append(byte kind, String id, long length, ReadableByteChannel content) throws IOException {
+            byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+            if (idBytes.length > 0xffff) {
+                throw new IllegalArgumentException("Report id is too long: " + id.length());
+            }
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER + idBytes.length);
+            header.putInt(MAGIC).put(kind).putShort((short) idBytes.length).putInt((int) length)
+                    .putInt(0).put(idBytes);
+            header.flip();
+            long position = channel.size();
+            long contentOffset = position + header.capacity();
+            if (contentOffset + length > Integer.MAX_VALUE) {
+                throw new IOException("Segment would exceed 2 GB: " + path);
+            }
+            channel.position(position);
+            try {
+                writeFully(header);
+                CRC32 crc = new CRC32();
+                crc.update(idBytes);
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1, Math.min(COPY_BUFFER, length)));
+                long remaining = length;
+                while (remaining > 0) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                    int read = content.read(buffer);
+                    if (read < 0) {
+                        throw new IOException("Content of " + id + " ended " + remaining + " bytes early");
+                    }
+                    buffer.flip();
+                    crc.update(buffer.duplicate());
+                    writeFully(buffer);
+                    remaining -= read;
+                }
+                buffer.clear().limit(1);
+                if (content.read(buffer) > 0) {
+                    throw new IOException("Content of " + id + " is longer than " + length + " bytes");
+                }
+                ByteBuffer checksum = ByteBuffer.allocate(4).putInt((int) crc.getValue());
+                checksum.flip();
+                long checksumOffset = position + FIXED_HEADER - 4;
+                while (checksum.hasRemaining()) {
+                    channel.write(checksum, checksumOffset + checksum.position());
+                }
+            } catch (IOException | RuntimeException e) {
+                // A torn record in the middle would end the scan on open and hide all later records
+                try {
+                    channel.truncate(position);
+                } catch (IOException truncateError) {
+                    e.addSuppressed(truncateError);
+                }
+                throw e;
+            }
+            if (kind == REPORT) {
+                liveBytes += length;
+            }
+            return new Location(this, contentOffset, (int) length);
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        void truncate(long length) throws IOException {
+            map = null;
+            channel.truncate(length);
+        }
+
+        void force() throws IOException {
+            channel.force(false);
+        }
+
+        void close() throws IOException {
+            map = null;
+            channel.close();
+        }
+    }
+
+    private static final class Location {
+
+        final Segment segment;
+        final long offset;
+        final int length;
+
+        Location(Segment segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.reporting.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Storage layout that spreads reports over date and hash-prefix directories:
+ * {@code baseDirectory/reportType/yyyy/MM/dd/ab/fileName}.
+ *
+ * A day holds at most 256 shard directories, so no directory grows with the total number of
+ * reports, and a whole day can be listed or removed without walking the rest of the tree.
+ * Created directories are cached; directories removed through {@link RetentionService} are
+ * invalidated automatically.
+ */
+public class ShardedReportLayout {
+
+    private final Path baseDirectory;
+    private final Clock clock;
+    private final DirectoryCache directories = new DirectoryCache();
+
+    public ShardedReportLayout(Path baseDirectory) {
+        this(baseDirectory, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param baseDirectory The root of the report storage
+     * @param clock The clock determining the date directory of new reports
+     */
+    public ShardedReportLayout(Path baseDirectory, Clock clock) {
+        this.baseDirectory = baseDirectory;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a unique file name and resolves its path in today's directory.
+     *
+     * @param reportType The type of report (e.g., "employee-load")
+     * @param extension The file extension (e.g., "pdf")
+     * @return The complete path; its directory exists
+     * @throws IOException If the directory cannot be created
+     */
+    public Path newReportPath(String reportType, String extension) throws IOException {
+        return resolveReportPath(reportType, FileStorageUtils.createTimeOrderedFileName(reportType, extension));
+    }
+
+    /**
+     * Resolves the path of a report stored today.
+     *
+     * @param reportType The type of report
+     * @param fileName The file name
+     * @return The complete path; its directory exists
+     * @throws IOException If the directory cannot be created
+     */
+    public Path resolveReportPath(String reportType, String fileName) throws IOException {
+        return resolveReportPath(reportType, fileName, LocalDate.now(clock));
+    }
+
+    /**
+     * Resolves the path of a report stored on the given day.
+     *
+     * @param reportType The type of report
+     * @param fileName The file name
+     * @param date The storage date
+     * @return The complete path; its directory exists
+     * @throws IOException If the directory cannot be created
+     */
+    public Path resolveReportPath(String reportType, String fileName, LocalDate date) throws IOException {
+        Path shardDirectory = getDayDirectory(reportType, date).resolve(shardOf(fileName));
+        directories.ensureExists(shardDirectory);
+        return shardDirectory.resolve(fileName);
+    }
+
+    /**
+     * Returns the directory holding all shards of a report type for one day.
+     */
+    public Path getDayDirectory(String reportType, LocalDate date) {
+        return baseDirectory.resolve(reportType)
+                .resolve(String.format("%04d", date.getYear()))
+                .resolve(String.format("%02d", date.getMonthValue()))
+                .resolve(String.format("%02d", date.getDayOfMonth()));
+    }
+
+    /**
+     * Returns the shard directory name of a file: two hex digits derived from its name.
+     */
+    public static String shardOf(String fileName) {
+        int hash = fileName.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return String.format("%02x", hash & 0xff);
+    }
+
+    public Path getBaseDirectory() {
+        return baseDirectory;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Forgets cached directories at or below the given one, e.g. after it was deleted.
+     */
+    public void invalidate(Path directory) {
+        directories.invalidate(directory);
+    }
+}
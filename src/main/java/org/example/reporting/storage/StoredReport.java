@@ -0,0 +1,134 @@
+package org.example.reporting.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read access to a stored report that does not copy its content through the heap.
+ *
+ * {@link #transferTo} hands the file to the target channel with {@link FileChannel#transferTo},
+ * which the operating system can serve straight from the page cache (e.g. sendfile to a socket).
+ * Ranges allow partial responses for large files.
+ */
+public final class StoredReport implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long offset;
+    private final long size;
+
+    private StoredReport(Path path, FileChannel channel, long offset, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Opens a stored report file for reading.
+     *
+     * @param path The report file, e.g. the result of {@code saveReport}
+     * @return The open report
+     * @throws IOException If the file cannot be opened
+     */
+    public static StoredReport open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new StoredReport(path, channel, 0, channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a report stored as a region of a larger file, e.g. a segment of an archive.
+     */
+    static StoredReport open(Path path, long offset, long size) throws IOException {
+        return new StoredReport(path, FileChannel.open(path, StandardOpenOption.READ), offset, size);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the size of the report in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the underlying channel. For reports stored inside a larger file, the content
+     * starts at {@link #getOffset()}.
+     */
+    public FileChannel channel() {
+        return channel;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Transfers the whole report to the target channel.
+     *
+     * @param target The target, e.g. a socket channel
+     * @return The number of bytes transferred
+     * @throws IOException If the transfer fails
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        return transferTo(0, size, target);
+    }
+
+    /**
+     * Transfers a range of the report to the target channel.
+     *
+     * @param position First byte of the range, relative to the report
+     * @param count Number of bytes; cut off at the end of the report
+     * @param target The target, e.g. a socket channel
+     * @return The number of bytes transferred
+     * @throws IOException If the transfer fails
+     */
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        if (position < 0 || count < 0 || position > size) {
+            throw new IllegalArgumentException("Invalid range " + position + "+" + count + " of " + size + " bytes");
+        }
+        long remaining = Math.min(count, size - position);
+        long transferred = 0;
+        while (transferred < remaining) {
+            // transferTo may move fewer bytes than requested, e.g. to a non-blocking socket
+            long moved = channel.transferTo(offset + position + transferred, remaining - transferred, target);
+            if (moved <= 0) {
+                break;
+            }
+            transferred += moved;
+        }
+        return transferred;
+    }
+
+    /**
+     * Transfers an inclusive byte range, as in an HTTP {@code Range: bytes=first-last} request.
+     *
+     * @param first First byte of the range
+     * @param last Last byte of the range; cut off at the end of the report
+     * @param target The target channel
+     * @return The number of bytes transferred
+     * @throws IOException If the transfer fails
+     */
+    public long transferRange(long first, long last, WritableByteChannel target) throws IOException {
+        if (last < first) {
+            throw new IllegalArgumentException("Invalid range " + first + "-" + last);
+        }
+        return transferTo(first, last - first + 1, target);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
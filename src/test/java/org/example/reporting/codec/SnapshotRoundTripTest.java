@@ -0,0 +1,239 @@
+package org.example.reporting.codec;
+
+import org.example.reporting.engine.ReportFingerprint;
+import org.example.reporting.model.ConstructionProgress;
+import org.example.reporting.model.EmployeeLoad;
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotRoundTripTest {
+
+    private static byte[] write(List<?> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SnapshotWriter writer = new SnapshotWriter(bytes)) {
+            writer.writeAll(rows);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Object> read(byte[] snapshot) throws IOException {
+        try (SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(snapshot))) {
+            List<Object> rows = reader.readAll(Object.class);
+            assertEquals(rows.size(), reader.getRowCount());
+            return rows;
+        }
+    }
+
+    /**
+     * Writes and reads the rows, and compares them field by field through their fingerprints.
+     */
+    private static List<Object> roundTrip(List<?> rows) throws IOException {
+        byte[] snapshot = write(rows);
+        List<Object> copy = read(snapshot);
+        assertEquals(rows.size(), copy.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(fingerprint(rows.get(i)), fingerprint(copy.get(i)), "row " + i);
+        }
+        try (SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(snapshot))) {
+            reader.readAll(Object.class);
+            assertEquals(SnapshotWriter.contentHash(rows), reader.getContentHash());
+        }
+        return copy;
+    }
+
+    private static ReportFingerprint fingerprint(Object row) {
+        return ReportFingerprint.of("row", List.of(row), null);
+    }
+
+    private static Map<String, Integer> counts(Object... keysAndValues) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            counts.put((String) keysAndValues[i], (Integer) keysAndValues[i + 1]);
+        }
+        return counts;
+    }
+
+    private static TaskDetail task(int id) {
+        return new TaskDetail(id, "Zadanie " + id, "W trakcie", "Wysoki", LocalDate.of(2026, 1, 5),
+                LocalDate.of(2026, 2, 1), null, 12.5, id % 2 == 0);
+    }
+
+    private static TeamEfficiency team(String name) {
+        TeamEfficiency team = new TeamEfficiency();
+        team.setTeamName(name);
+        team.setAvgCompletionHours(7.25);
+        team.setOpenIssues(3);
+        team.setClosedIssues(12);
+        team.setCompletedTasksCount(12);
+        team.setTotalTasksCount(15);
+        team.setOnTimeTasksCount(10);
+        team.setDelayedTasksCount(2);
+        team.setAvgDelayDays(1.0 / 3);
+        team.setActiveTeamMembersCount(4);
+        team.setTasksPerMember(3.75);
+        team.setTasksByPriority(counts("Wysoki", 5, "Niski", 10));
+        team.setEfficiencyScore(66.67);
+        team.setHasNoTasks(false);
+        return team;
+    }
+
+    private static List<Object> allModelClasses() {
+        List<Object> rows = new ArrayList<>();
+        rows.add(new ConstructionProgress("Fundamenty", "Zakończone", LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 5), true, 4, 100));
+        rows.add(new ConstructionProgress("Dach", "Planowane", LocalDate.of(1999, 12, 31), null, false, -7, 0));
+        rows.add(task(1));
+        rows.add(new EmployeeLoad(7, "Anna Nowak", 2, 25.0, 0.15625, List.of(task(2), task(3)),
+                counts("W trakcie", 2)));
+        rows.add(team("Zespół A"));
+        rows.add(team("Zespół B"));
+        rows.add(task(4));
+        return rows;
+    }
+
+    @Test
+    void roundTripsEveryModelClass() throws IOException {
+        List<Object> copy = roundTrip(allModelClasses());
+        assertTrue(copy.get(0) instanceof ConstructionProgress);
+        assertTrue(copy.get(2) instanceof TaskDetail);
+        assertTrue(copy.get(3) instanceof EmployeeLoad);
+        assertTrue(copy.get(4) instanceof TeamEfficiency);
+        assertEquals(List.of("Zadanie 2", "Zadanie 3"),
+                ((EmployeeLoad) copy.get(3)).getTasks().stream().map(TaskDetail::getTaskName).toList());
+        assertEquals(List.of("Wysoki", "Niski"),
+                new ArrayList<>(((TeamEfficiency) copy.get(4)).getTasksByPriority().keySet()));
+    }
+
+    @Test
+    void roundTripsNullFields() throws IOException {
+        List<TaskDetail> tasksWithNull = new ArrayList<>();
+        tasksWithNull.add(null);
+        tasksWithNull.add(new TaskDetail());
+        Map<String, Integer> nullCount = counts("Nowe", null);
+        TeamEfficiency team = new TeamEfficiency();
+        team.setHasNoTasks(null);
+
+        List<Object> copy = roundTrip(List.of(
+                new ConstructionProgress(),
+                new TaskDetail(),
+                new EmployeeLoad(),
+                new EmployeeLoad(null, null, null, null, null, tasksWithNull, nullCount),
+                team));
+
+        EmployeeLoad empty = (EmployeeLoad) copy.get(2);
+        assertNull(empty.getTasks());
+        assertNull(empty.getTasksByStatus());
+        EmployeeLoad withNulls = (EmployeeLoad) copy.get(3);
+        assertNull(withNulls.getTasks().get(0));
+        assertNull(withNulls.getTasks().get(1).getTaskName());
+        assertTrue(withNulls.getTasksByStatus().containsKey("Nowe"));
+        assertNull(withNulls.getTasksByStatus().get("Nowe"));
+        assertNull(((TeamEfficiency) copy.get(4)).getHasNoTasks());
+    }
+
+    @Test
+    void keepsNegativeZeroNanAndOtherSpecialDoubles() throws IOException {
+        double[] values = {
+                -0.0, 0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+                Double.MAX_VALUE, 0.1, 0.29, -12.34, 1e17, 123456789.01
+        };
+        List<TaskDetail> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            TaskDetail task = new TaskDetail();
+            task.setEstimatedHours(values[i]);
+            rows.add(task);
+        }
+        List<Object> copy = roundTrip(rows);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(values[i]),
+                    Double.doubleToRawLongBits(((TaskDetail) copy.get(i)).getEstimatedHours()), "value " + values[i]);
+        }
+    }
+
+    @Test
+    void roundTripsStringsLongerThanTheBuffer() throws IOException {
+        String ascii = "a".repeat(SnapshotFormat.BUFFER_SIZE * 3 + 5);
+        // Two-byte characters, so the UTF-8 length differs from the string length
+        String polish = "ż".repeat(SnapshotFormat.BUFFER_SIZE);
+        List<Object> rows = new ArrayList<>();
+        rows.add(new ConstructionProgress(ascii, "Zakończone", null, null, false, null, null));
+        rows.add(new ConstructionProgress(polish, "Zakończone", null, null, false, null, null));
+        // Repeated long values are written inline again; short ones come from the dictionary
+        rows.add(new ConstructionProgress(ascii, "Zakończone", null, null, false, null, null));
+
+        List<Object> copy = roundTrip(rows);
+        assertEquals(ascii, ((ConstructionProgress) copy.get(0)).getTaskName());
+        assertEquals(polish, ((ConstructionProgress) copy.get(1)).getTaskName());
+        assertEquals(ascii, ((ConstructionProgress) copy.get(2)).getTaskName());
+    }
+
+    @Test
+    void roundTripsMoreStringsThanTheDictionaryHolds() throws IOException {
+        int distinct = SnapshotFormat.MAX_DICTIONARY_SIZE + 1000;
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < distinct; i++) {
+            rows.add(new ConstructionProgress("Zadanie " + i, null, null, null, false, i, null));
+        }
+        // Values inside the dictionary, and values after it stopped growing
+        for (int i : new int[] {0, 1, SnapshotFormat.MAX_DICTIONARY_SIZE - 1, SnapshotFormat.MAX_DICTIONARY_SIZE,
+                distinct - 1}) {
+            rows.add(new ConstructionProgress("Zadanie " + i, null, null, null, true, i, null));
+        }
+
+        List<Object> copy = roundTrip(rows);
+        assertEquals("Zadanie " + (distinct - 1), ((ConstructionProgress) copy.get(copy.size() - 1)).getTaskName());
+    }
+
+    @Test
+    void failsOnATruncatedSnapshot() throws IOException {
+        byte[] snapshot = write(allModelClasses());
+        for (int length = 0; length < snapshot.length; length++) {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThrows(IOException.class, () -> read(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void failsOnACorruptedSnapshot() throws IOException {
+        byte[] snapshot = write(allModelClasses());
+        for (int i = 0; i < snapshot.length; i++) {
+            for (int bit : new int[] {0x01, 0x80}) {
+                byte[] corrupted = snapshot.clone();
+                corrupted[i] ^= bit;
+                assertThrows(IOException.class, () -> read(corrupted), "byte " + i + ", bit " + bit);
+            }
+        }
+    }
+
+    @Test
+    void failsOnAnImplausibleLongStringLength() throws IOException {
+        // A new string with a length near 2 GB, and nothing after it
+        byte[] snapshot = {'R', 'S', 'N', 'P', 1, SnapshotFormat.CONSTRUCTION_PROGRESS, 1,
+                (byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(IOException.class, () -> read(snapshot));
+    }
+
+    @Test
+    void rejectsRowsOfAnotherType() throws IOException {
+        byte[] snapshot = write(allModelClasses());
+        try (SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(snapshot))) {
+            assertThrows(IOException.class, () -> reader.readAll(TaskDetail.class));
+        }
+    }
+}
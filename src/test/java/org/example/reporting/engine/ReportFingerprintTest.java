@@ -0,0 +1,80 @@
+package org.example.reporting.engine;
+
+import org.example.reporting.model.EmployeeLoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ReportFingerprintTest {
+
+    private static ReportFingerprint parameters(Map<String, Object> parameters) {
+        return ReportFingerprint.of("test", List.of(), parameters);
+    }
+
+    private static ReportFingerprint data(Object element) {
+        return ReportFingerprint.of("test", List.of(element), null);
+    }
+
+    private static EmployeeLoad employee(Map<String, Integer> tasksByStatus) {
+        EmployeeLoad employee = new EmployeeLoad(1, "Anna", 3, 12.5);
+        employee.setTasksByStatus(tasksByStatus);
+        return employee;
+    }
+
+    @Test
+    void hashesLinkedMapsInIterationOrder() {
+        Map<String, Integer> first = new LinkedHashMap<>();
+        first.put("NEW", 1);
+        first.put("DONE", 2);
+        Map<String, Integer> second = new LinkedHashMap<>();
+        second.put("DONE", 2);
+        second.put("NEW", 1);
+
+        assertNotEquals(data(employee(first)), data(employee(second)));
+        assertEquals(data(employee(first)), data(employee(new LinkedHashMap<>(first))));
+    }
+
+    @Test
+    void hashesUnorderedMapsIndependentlyOfTheirIterationOrder() {
+        Map<String, Object> hashed = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            hashed.put("key" + i, i);
+        }
+        Map<String, Object> resized = new HashMap<>(1024);
+        for (int i = 49; i >= 0; i--) {
+            resized.put("key" + i, i);
+        }
+
+        assertEquals(parameters(hashed), parameters(resized));
+        assertEquals(parameters(Map.of("a", 1, "b", 2)), parameters(Map.of("b", 2, "a", 1)));
+    }
+
+    @Test
+    void distinguishesKeysOfDifferentTypes() {
+        Map<Object, Object> number = new TreeMap<>();
+        number.put(1, "x");
+        Map<Object, Object> text = new TreeMap<>();
+        text.put("1", "x");
+        Map<Object, Object> nullKey = new HashMap<>();
+        nullKey.put(null, "x");
+        Map<Object, Object> nullText = new HashMap<>();
+        nullText.put("null", "x");
+
+        assertNotEquals(parameters(Map.of("map", number)), parameters(Map.of("map", text)));
+        assertNotEquals(parameters(Map.of("map", nullKey)), parameters(Map.of("map", nullText)));
+    }
+
+    @Test
+    void distinguishesReportTypesAndData() {
+        assertEquals(ReportFingerprint.of("a", List.of("x"), null), ReportFingerprint.of("a", List.of("x"), null));
+        assertNotEquals(ReportFingerprint.of("a", List.of("x"), null), ReportFingerprint.of("b", List.of("x"), null));
+        assertNotEquals(ReportFingerprint.of("a", List.of("x"), null), ReportFingerprint.of("a", List.of("y"), null));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.reporting.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLineTest {
+
+    private static CsvLine line(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        CsvLine line = new CsvLine(ByteBuffer.wrap(bytes), (byte) ',');
+        line.parse(0, bytes.length, 0);
+        return line;
+    }
+
+    @Test
+    void parsesIntegersAtTheEdgesOfTheIntRange() {
+        CsvLine line = line("2147483647,-2147483648,+42,");
+        assertEquals(Integer.MAX_VALUE, line.getInteger(0));
+        assertEquals(Integer.MIN_VALUE, line.getInteger(1));
+        assertEquals(42, line.getInt(2, -1));
+        assertNull(line.getInteger(3));
+        assertEquals(-1, line.getInt(3, -1));
+    }
+
+    @Test
+    void rejectsIntegersOutsideTheIntRange() {
+        CsvLine line = line("3000000000,-2147483649,99999999999999999999999");
+        assertThrows(IllegalArgumentException.class, () -> line.getInteger(0));
+        assertThrows(IllegalArgumentException.class, () -> line.getInt(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> line.getInteger(2));
+    }
+
+    @Test
+    void rejectsMalformedIntegers() {
+        CsvLine line = line("12a,-,1.5");
+        assertThrows(IllegalArgumentException.class, () -> line.getInteger(0));
+        assertThrows(IllegalArgumentException.class, () -> line.getInteger(1));
+        assertThrows(IllegalArgumentException.class, () -> line.getInteger(2));
+    }
+
+    @Test
+    void parsesDoublesLikeDoubleParseDouble() {
+        String[] values = {
+                "0", "-0.5", "+12.25", "8.0", "0.1", "123456789012345", "0.123456789012345",
+                "0.00000000000000000000", "0.000000000000000001", "0.12345678901234567",
+                "12345678901234567890", "1.7976931348623157", "1e3", "-2.5E-3", "007.50"
+        };
+        CsvLine line = line(String.join(",", values));
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.parseDouble(values[i]), line.getDouble(i), values[i]);
+        }
+    }
+
+    @Test
+    void readsEmptyDoubleAsNullAndRejectsMalformedOnes() {
+        CsvLine line = line(",.,1.2.3,abc");
+        assertNull(line.getDouble(0));
+        assertThrows(IllegalArgumentException.class, () -> line.getDouble(1));
+        assertThrows(IllegalArgumentException.class, () -> line.getDouble(2));
+        assertThrows(IllegalArgumentException.class, () -> line.getDouble(3));
+    }
+}
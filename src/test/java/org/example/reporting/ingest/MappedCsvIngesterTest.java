@@ -0,0 +1,148 @@
+package org.example.reporting.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCsvIngesterTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Joins the fields of a line with '|' and remembers the column names.
+     */
+    private static final class JoiningParser implements CsvRowParser<String> {
+
+        final List<String> columns = new ArrayList<>();
+
+        @Override
+        public void header(CsvLine header) {
+            for (int i = 0; i < header.getFieldCount(); i++) {
+                columns.add(header.getString(i));
+            }
+        }
+
+        @Override
+        public String parse(CsvLine line) {
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < line.getFieldCount(); i++) {
+                if (i > 0) {
+                    row.append('|');
+                }
+                row.append(line.getString(i));
+            }
+            return row.toString();
+        }
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(directory.resolve("data.csv"), content);
+    }
+
+    private Path write(String content) throws IOException {
+        return write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MappedCsvIngester<String> ingester(JoiningParser parser, int chunkSize, int parallelism) {
+        MappedCsvIngester<String> ingester = new MappedCsvIngester<>(parser);
+        ingester.setChunkSize(chunkSize);
+        ingester.setParallelism(parallelism);
+        return ingester;
+    }
+
+    @Test
+    void readsNoRowsFromAnEmptyFile() throws IOException {
+        Path file = write("");
+        JoiningParser parser = new JoiningParser();
+        MappedCsvIngester<String> ingester = ingester(parser, 16, 4);
+
+        assertEquals(List.of(), ingester.read(file));
+        assertEquals(0, ingester.forEachBatch(file, batch -> { }));
+        assertEquals(List.of(), parser.columns);
+    }
+
+    @Test
+    void readsNoRowsFromAHeaderOnlyFile() throws IOException {
+        for (String content : List.of("id,name\n", "id,name\r\n", "id,name")) {
+            Path file = write(content);
+            JoiningParser parser = new JoiningParser();
+            MappedCsvIngester<String> ingester = ingester(parser, 16, 4);
+
+            assertEquals(List.of(), ingester.read(file), content);
+            assertEquals(0, ingester.forEachBatch(file, batch -> { }), content);
+            assertEquals(List.of("id", "name", "id", "name"), parser.columns, content);
+        }
+    }
+
+    @Test
+    void keepsEveryLineWhateverTheChunkBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder("id,name\n");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "name-" + "x".repeat(i % 13);
+            content.append(i).append(',').append(name).append(i % 5 == 0 ? "\r\n" : "\n");
+            expected.add(i + "|" + name);
+        }
+        // The last line has no line break
+        content.append("200,last");
+        expected.add("200|last");
+        Path file = write(content.toString());
+
+        for (int chunkSize : new int[] {1, 2, 7, 16, 64, 1000, MappedCsvIngester.DEFAULT_CHUNK_SIZE}) {
+            for (int parallelism : new int[] {1, 4}) {
+                String label = "chunk size " + chunkSize + ", parallelism " + parallelism;
+                MappedCsvIngester<String> ingester = ingester(new JoiningParser(), chunkSize, parallelism);
+                assertEquals(expected, ingester.read(file), label);
+
+                List<String> streamed = new ArrayList<>();
+                AtomicInteger batches = new AtomicInteger();
+                long rows = ingester.forEachBatch(file, batch -> {
+                    batches.incrementAndGet();
+                    synchronized (streamed) {
+                        streamed.addAll(batch);
+                    }
+                });
+                assertEquals(expected.size(), rows, label);
+                assertEquals(expected.size(), streamed.size(), label);
+                assertTrue(streamed.containsAll(expected), label);
+                assertTrue(batches.get() >= 1, label);
+            }
+        }
+    }
+
+    @Test
+    void skipsTheByteOrderMark() throws IOException {
+        byte[] text = "id,name\n1,Łódź\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[BOM.length + text.length];
+        System.arraycopy(BOM, 0, content, 0, BOM.length);
+        System.arraycopy(text, 0, content, BOM.length, text.length);
+        Path file = write(content);
+
+        JoiningParser parser = new JoiningParser();
+        assertEquals(List.of("1|Łódź"), ingester(parser, 4, 4).read(file));
+        assertEquals(List.of("id", "name"), parser.columns);
+
+        MappedCsvIngester<String> withoutHeader = ingester(new JoiningParser(), 4, 4);
+        withoutHeader.setHeader(false);
+        assertEquals(List.of("id|name", "1|Łódź"), withoutHeader.read(file));
+    }
+
+    @Test
+    void readsABomOnlyFileAsEmpty() throws IOException {
+        Path file = write(BOM);
+        assertEquals(List.of(), ingester(new JoiningParser(), 16, 4).read(file));
+    }
+}
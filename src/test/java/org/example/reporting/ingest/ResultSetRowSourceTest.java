@@ -0,0 +1,222 @@
+package org.example.reporting.ingest;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.example.reporting.generator.ConstructionProgressReportGenerator;
+import org.example.reporting.model.ConstructionProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultSetRowSourceTest {
+
+    private static final String QUERY = "SELECT task_name, status, planned_end, actual_end, is_delayed, "
+            + "delay_in_days, completion_percentage FROM construction_progress ORDER BY id";
+
+    private Connection connection;
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        // A private in-memory database, dropped when the connection closes
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE construction_progress (id INT PRIMARY KEY, task_name VARCHAR(200), "
+                    + "status VARCHAR(20), planned_end DATE, actual_end DATE, is_delayed BOOLEAN, "
+                    + "delay_in_days INT, completion_percentage INT)");
+            statement.execute("INSERT INTO construction_progress VALUES "
+                    + "(1, 'Fundamenty', 'Zakończone', DATE '2026-03-01', DATE '2026-03-05', TRUE, 4, 100), "
+                    + "(2, 'Ściany nośne', 'W trakcie', DATE '2026-05-10', NULL, FALSE, NULL, 60), "
+                    + "(3, 'Dach', 'Planowane', DATE '2026-07-20', NULL, FALSE, NULL, NULL)");
+        }
+    }
+
+    @AfterEach
+    void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationObserver observer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return observer.observe(method.getName(), result);
+                }));
+    }
+
+    private interface InvocationObserver {
+        Object observe(String method, Object result);
+    }
+
+    @Test
+    void mapsRowsWithNullColumns() throws SQLException {
+        List<ConstructionProgress> rows = new ArrayList<>();
+        try (ResultSetRowSource<ConstructionProgress> source = ResultSetRowSource.query(connection, QUERY, 2,
+                new ConstructionProgressRowMapper())) {
+            for (ConstructionProgress row : source) {
+                rows.add(row);
+            }
+        }
+
+        assertEquals(3, rows.size());
+        ConstructionProgress first = rows.get(0);
+        assertEquals("Fundamenty", first.getTaskName());
+        assertEquals("Zakończone", first.getStatus());
+        assertEquals(LocalDate.of(2026, 3, 1), first.getPlannedEnd());
+        assertEquals(LocalDate.of(2026, 3, 5), first.getActualEnd());
+        assertTrue(first.isDelayed());
+        assertEquals(4, first.getDelayInDays());
+        assertEquals(100, first.getCompletionPercentage());
+
+        ConstructionProgress last = rows.get(2);
+        assertEquals("Dach", last.getTaskName());
+        assertNull(last.getActualEnd());
+        assertFalse(last.isDelayed());
+        assertNull(last.getDelayInDays());
+        assertNull(last.getCompletionPercentage());
+    }
+
+    @Test
+    void passesParametersAndRowNumbers() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (ResultSetRowSource<String> source = ResultSetRowSource.query(connection,
+                "SELECT task_name FROM construction_progress WHERE id > ? ORDER BY id", 10,
+                (resultSet, rowNumber) -> rowNumber + ":" + resultSet.getString(1), 1)) {
+            source.forEach(rows::add);
+        }
+        assertEquals(List.of("0:Ściany nośne", "1:Dach"), rows);
+    }
+
+    @Test
+    void resolvesColumnLabelsOncePerResultSet() throws SQLException {
+        AtomicInteger lookups = new AtomicInteger();
+        // Custom labels, in another order than the table
+        String sql = "SELECT completion_percentage AS pct, delay_in_days AS delay, is_delayed AS late, "
+                + "actual_end AS done, planned_end AS due, status AS state, task_name AS name "
+                + "FROM construction_progress ORDER BY id";
+        ConstructionProgressRowMapper mapper = new ConstructionProgressRowMapper("name", "state", "due", "done",
+                "late", "delay", "pct");
+        List<ConstructionProgress> rows = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            try (Statement statement = connection.createStatement()) {
+                ResultSet resultSet = proxy(ResultSet.class, statement.executeQuery(sql), (method, result) -> {
+                    if (method.equals("findColumn")) {
+                        lookups.incrementAndGet();
+                    }
+                    return result;
+                });
+                try (ResultSetRowSource<ConstructionProgress> source = new ResultSetRowSource<>(resultSet, mapper)) {
+                    source.forEach(rows::add);
+                }
+            }
+        }
+
+        assertEquals(6, rows.size());
+        assertEquals("Ściany nośne", rows.get(1).getTaskName());
+        assertEquals(LocalDate.of(2026, 5, 10), rows.get(1).getPlannedEnd());
+        assertEquals(60, rows.get(1).getCompletionPercentage());
+        // Seven labels per result set, not per row
+        assertEquals(14, lookups.get());
+    }
+
+    @Test
+    void reportsAnUnknownColumnAsRowSourceException() throws SQLException {
+        ConstructionProgressRowMapper mapper = new ConstructionProgressRowMapper("missing", "status", "planned_end",
+                "actual_end", "is_delayed", "delay_in_days", "completion_percentage");
+        try (ResultSetRowSource<ConstructionProgress> source = ResultSetRowSource.query(connection, QUERY, 10,
+                mapper)) {
+            Iterator<ConstructionProgress> rows = source.iterator();
+            assertTrue(rows.hasNext());
+            RowSourceException e = assertThrows(RowSourceException.class, rows::next);
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test
+    void closesTheStatementAfterAnEarlyExit() throws SQLException {
+        List<PreparedStatement> statements = new ArrayList<>();
+        Connection tracking = proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof PreparedStatement) {
+                statements.add((PreparedStatement) result);
+            }
+            return result;
+        });
+        ResultSet resultSet;
+        try (ResultSetRowSource<ResultSet> source = ResultSetRowSource.query(tracking, QUERY, 1,
+                (rows, rowNumber) -> rows)) {
+            resultSet = null;
+            for (ResultSet row : source) {
+                resultSet = row;
+                break;
+            }
+            assertThrows(IllegalStateException.class, source::iterator);
+        }
+
+        assertEquals(1, statements.size());
+        assertNotNull(resultSet);
+        assertTrue(statements.get(0).isClosed());
+        assertTrue(resultSet.isClosed());
+    }
+
+    @Test
+    void closesAWrappedResultSetButNotItsStatement() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(QUERY);
+            try (ResultSetRowSource<ConstructionProgress> source = new ResultSetRowSource<>(resultSet,
+                    new ConstructionProgressRowMapper())) {
+                assertTrue(source.iterator().hasNext());
+            }
+            assertTrue(resultSet.isClosed());
+            assertFalse(statement.isClosed());
+        }
+    }
+
+    @Test
+    void rendersAReportStraightFromTheCursor() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (ResultSetRowSource<ConstructionProgress> source = ResultSetRowSource.query(connection, QUERY, 2,
+                new ConstructionProgressRowMapper())) {
+            new ConstructionProgressReportGenerator().writeReport(source, Map.of(), pdf);
+        }
+
+        PdfReader reader = new PdfReader(pdf.toByteArray());
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(reader, page));
+            }
+            assertTrue(text.indexOf("Fundamenty") >= 0, text.toString());
+            assertTrue(text.indexOf("Dach") >= 0, text.toString());
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.reporting.storage;
+
+import org.example.reporting.generator.PdfReportGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContentAddressedReportStoreTest {
+
+    @TempDir
+    Path root;
+
+    /**
+     * Renders its data and configuration, with a render counter so that every render differs
+     * like a PDF with its creation time.
+     */
+    private static final class CountingGenerator implements PdfReportGenerator<String> {
+
+        String configuration = "default";
+        int renders;
+
+        @Override
+        public byte[] generateReport(List<String> data, Map<String, Object> parameters) {
+            renders++;
+            return (configuration + ":" + data + ":" + renders).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Path saveReport(List<String> data, Map<String, Object> parameters, Path filePath) throws IOException {
+            return Files.write(filePath, generateReport(data, parameters));
+        }
+
+        @Override
+        public String getConfigurationKey() {
+            return "counting " + configuration;
+        }
+    }
+
+    private long countFiles(String directory) throws IOException {
+        Path path = root.resolve(directory);
+        if (!Files.isDirectory(path)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void reusesTheReportOfTheSameInputAndConfiguration() throws Exception {
+        ContentAddressedReportStore store = new ContentAddressedReportStore(root);
+        CountingGenerator generator = new CountingGenerator();
+        store.saveReport(generator, List.of("a"), Map.of(), "test", "first.pdf");
+        store.saveReport(generator, List.of("a"), Map.of(), "test", "second.pdf");
+
+        assertEquals(1, generator.renders);
+        assertEquals(Files.readString(root.resolve("reports/test/first.pdf")),
+                Files.readString(root.resolve("reports/test/second.pdf")));
+    }
+
+    @Test
+    void rendersAgainAfterAConfigurationChange() throws Exception {
+        ContentAddressedReportStore store = new ContentAddressedReportStore(root);
+        CountingGenerator generator = new CountingGenerator();
+        store.saveReport(generator, List.of("a"), Map.of(), "test", "before.pdf");
+        generator.configuration = "compact";
+        Path after = store.saveReport(generator, List.of("a"), Map.of(), "test", "after.pdf");
+
+        assertEquals(2, generator.renders);
+        assertEquals("compact:[a]:2", Files.readString(after));
+    }
+
+    @Test
+    void deletesInputReferencesWithTheirBlobs() throws Exception {
+        ContentAddressedReportStore store = new ContentAddressedReportStore(root);
+        CountingGenerator generator = new CountingGenerator();
+        store.saveReport(generator, List.of("a"), Map.of(), "test", "a.pdf");
+        store.saveReport(generator, List.of("b"), Map.of(), "test", "b.pdf");
+        assertEquals(2, countFiles("inputs"));
+
+        Files.delete(root.resolve("reports/test/a.pdf"));
+        assertEquals(1, store.deleteUnreferencedBlobs());
+        assertEquals(1, countFiles("blobs"));
+        assertEquals(1, countFiles("inputs"));
+
+        // The remaining reference still short-cuts rendering
+        store.saveReport(generator, List.of("b"), Map.of(), "test", "b2.pdf");
+        assertEquals(2, generator.renders);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.reporting.storage;
+
+import org.example.reporting.model.TaskDetail;
+import org.example.reporting.model.TeamEfficiency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DailyRollupStoreTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 12, 31);
+
+    @TempDir
+    Path directory;
+
+    private Path logFile() {
+        return directory.resolve("rollups.log");
+    }
+
+    private static TaskDetail task(int id, String status, LocalDate deadline, LocalDate completed) {
+        return new TaskDetail(id, "Zadanie " + id, status, "Wysoki", deadline.minusDays(10), deadline, completed,
+                8.0, false);
+    }
+
+    private static List<String> teamNames(List<TeamEfficiency> teams) {
+        return teams.stream().map(TeamEfficiency::getTeamName).toList();
+    }
+
+    @Test
+    void aggregatesTasksAcrossReopen() throws IOException {
+        LocalDate deadline = LocalDate.of(2026, 3, 10);
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            store.addTasks("Zespół A", 1, "Anna", List.of(
+                    task(1, "DONE", deadline, deadline.minusDays(1)),
+                    task(2, "DONE", deadline, deadline.plusDays(4)),
+                    task(3, "NEW", deadline, null)));
+        }
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            DailyRollup team = store.team("Zespół A", FROM, TO);
+            assertEquals(3, team.getTaskCount());
+            assertEquals(2, team.getCompletedCount());
+            assertEquals(1, team.getOnTimeCount());
+            assertEquals(4.0, team.getAverageDelayDays());
+            assertEquals(1, team.getActiveEmployeeCount());
+            assertEquals(3, store.employee(1, FROM, TO).getTaskCount());
+            assertEquals(0, store.team("Zespół A", TO, TO).getTaskCount());
+        }
+    }
+
+    @Test
+    void dropsTeamsWhoseTasksWereAllRemovedLikeAfterCompaction() throws IOException {
+        TaskDetail task = task(1, "NEW", LocalDate.of(2026, 5, 4), null);
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            store.addTasks("Zespół A", 1, "Anna", List.of(task));
+            store.addTasks("Zespół B", 2, "Jan", List.of(task(2, "NEW", LocalDate.of(2026, 5, 4), null)));
+            store.removeTasks("Zespół A", 1, List.of(task));
+
+            assertEquals(Set.of("Zespół B"), store.getTeamNames());
+            assertEquals(List.of("Zespół B"), teamNames(store.teamEfficiency(FROM, TO)));
+            assertEquals(1, store.employeeLoad(FROM, TO, 0).size());
+            store.compact();
+        }
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            assertEquals(List.of("Zespół B"), teamNames(store.teamEfficiency(FROM, TO)));
+        }
+    }
+
+    @Test
+    void rejectsRemovingTasksThatWereNotAdded() throws IOException {
+        LocalDate deadline = LocalDate.of(2026, 6, 1);
+        TaskDetail added = task(1, "NEW", deadline, null);
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            store.addTasks("Zespół A", 1, "Anna", List.of(added));
+            long records = store.getLogRecords();
+
+            // Another day, another status, and the same task twice
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.removeTasks("Zespół A", 1, List.of(task(1, "NEW", deadline.plusDays(1), null))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.removeTasks("Zespół A", 1, List.of(task(1, "DONE", deadline, deadline))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.removeTasks("Zespół A", 1, List.of(added, added)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.removeTasks("Zespół B", null, List.of(added)));
+
+            assertEquals(records, store.getLogRecords());
+            assertEquals(1, store.team("Zespół A", FROM, TO).getTaskCount());
+            assertEquals(1, store.employee(1, FROM, TO).getTaskCount());
+        }
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            assertEquals(1, store.team("Zespół A", FROM, TO).getTaskCount());
+        }
+    }
+
+    @Test
+    void rejectsTasksWithoutADay() throws IOException {
+        TaskDetail undated = new TaskDetail(1, "Zadanie", "NEW", null, null, null, null, null, false);
+        try (DailyRollupStore store = DailyRollupStore.open(logFile())) {
+            assertThrows(IllegalArgumentException.class, () -> store.addTasks("Zespół A", 1, "Anna",
+                    List.of(undated)));
+            assertEquals(0, store.getLogRecords());
+        }
+        assertEquals(0, Files.size(logFile()));
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.reporting.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordLogTest {
+
+    @TempDir
+    Path directory;
+
+    private Path writeLog(String... records) throws IOException {
+        Path file = directory.resolve("records.log");
+        try (RecordLog log = RecordLog.open(file, false, payload -> { })) {
+            for (String record : records) {
+                log.append(record.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return file;
+    }
+
+    private static List<String> replay(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (RecordLog log = RecordLog.open(file, false,
+                payload -> records.add(new String(payload, StandardCharsets.UTF_8)))) {
+            assertEquals(records.size(), log.getRecordCount());
+        }
+        return records;
+    }
+
+    @Test
+    void replaysAppendedRecords() throws IOException {
+        Path file = writeLog("first", "second", "third");
+        assertEquals(List.of("first", "second", "third"), replay(file));
+    }
+
+    @Test
+    void failsOnACorruptedMiddleRecordWithoutTruncating() throws IOException {
+        Path file = writeLog("first", "second", "third");
+        byte[] content = Files.readAllBytes(file);
+        // Payload of the second record: 4 + 5 + 4 bytes of the first record, then its length
+        content[13 + 4] ^= 0x01;
+        Files.write(file, content);
+
+        assertThrows(IOException.class, () -> replay(file));
+        byte[] after = Files.readAllBytes(file);
+        assertArrayEquals(content, after);
+        assertTrue(new String(after, StandardCharsets.UTF_8).contains("third"));
+    }
+
+    @Test
+    void failsOnAnInvalidLengthFollowedByRecords() throws IOException {
+        Path file = writeLog("first", "second", "third");
+        byte[] content = Files.readAllBytes(file);
+        Arrays.fill(content, 13, 17, (byte) 0);
+        Files.write(file, content);
+
+        assertThrows(IOException.class, () -> replay(file));
+        assertEquals(content.length, Files.size(file));
+    }
+
+    @Test
+    void cutsARecordRunningPastTheEndOfTheFile() throws IOException {
+        Path file = writeLog("first", "second");
+        long complete = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 50, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("first", "second"), replay(file));
+        assertEquals(complete, Files.size(file));
+    }
+
+    @Test
+    void cutsALastRecordWithAWrongChecksum() throws IOException {
+        Path file = writeLog("first", "second");
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 1] ^= 0x01;
+        Files.write(file, content);
+
+        assertEquals(List.of("first"), replay(file));
+        assertEquals(13, Files.size(file));
+    }
+
+    @Test
+    void appendsAfterACutTail() throws IOException {
+        Path file = writeLog("first");
+        Files.write(file, new byte[] {0, 0}, StandardOpenOption.APPEND);
+        try (RecordLog log = RecordLog.open(file, false, payload -> { })) {
+            log.append("second".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(List.of("first", "second"), replay(file));
+    }
+
+    @Test
+    void rewriteReplacesTheRecords() throws IOException {
+        Path file = writeLog("first", "second", "third");
+        try (RecordLog log = RecordLog.open(file, false, payload -> { })) {
+            log.rewrite(target -> target.append("merged".getBytes(StandardCharsets.UTF_8)));
+            assertEquals(1, log.getRecordCount());
+            log.append("fourth".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(List.of("merged", "fourth"), replay(file));
+    }
+}
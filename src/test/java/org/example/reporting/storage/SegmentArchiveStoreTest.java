@@ -0,0 +1,212 @@
+package org.example.reporting.storage;
+
+import org.example.reporting.generator.PdfReportGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentArchiveStoreTest {
+
+    private static final Clock DAY_ONE = Clock.fixed(Instant.parse("2026-10-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final Clock DAY_TWO = Clock.fixed(Instant.parse("2026-10-02T10:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] content(SegmentArchiveStore store, String id) throws IOException {
+        ByteBuffer buffer = store.read(id).orElseThrow();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Path segment() {
+        return directory.resolve("20261001.seg");
+    }
+
+    private static int indexOf(byte[] content, byte[] part) {
+        for (int i = 0; i + part.length <= content.length; i++) {
+            boolean match = true;
+            for (int j = 0; j < part.length && match; j++) {
+                match = content[i + j] == part[j];
+            }
+            if (match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void writeThree() throws IOException {
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.put("a", text("first report"));
+            store.put("b", text("second report"));
+            store.put("c", text("third report"));
+        }
+    }
+
+    @Test
+    void keepsReportsAndTombstonesAcrossReopen() throws IOException {
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.put("a", text("first"));
+            store.put("b", text("second"));
+            store.put("b", text("second, replaced"));
+            assertTrue(store.delete("a"));
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            assertFalse(store.contains("a"));
+            assertEquals(1, store.size());
+            assertArrayEquals(text("second, replaced"), content(store, "b"));
+        }
+    }
+
+    @Test
+    void streamsWrittenContentThroughATemporaryFile() throws Exception {
+        byte[] large = new byte[3 * 1024 * 1024 + 17];
+        new Random(1).nextBytes(large);
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.save("large", out -> out.write(large));
+            assertArrayEquals(large, content(store, "large"));
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            assertArrayEquals(large, content(store, "large"));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(segment()), files.toList());
+        }
+    }
+
+    @Test
+    void savesReportsThroughTheGeneratorPath() throws Exception {
+        PdfReportGenerator<String> generator = new PdfReportGenerator<>() {
+            @Override
+            public byte[] generateReport(List<String> data, Map<String, Object> parameters) {
+                throw new AssertionError("The archive must write through saveReport");
+            }
+
+            @Override
+            public Path saveReport(List<String> data, Map<String, Object> parameters, Path filePath)
+                    throws IOException {
+                return Files.write(filePath, text(String.join(",", data)));
+            }
+        };
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.saveReport(generator, List.of("x", "y"), Map.of(), "report");
+            assertArrayEquals(text("x,y"), content(store, "report"));
+        }
+    }
+
+    @Test
+    void failsOnACorruptedMiddleRecordWithoutTruncating() throws IOException {
+        writeThree();
+        byte[] bytes = Files.readAllBytes(segment());
+        bytes[indexOf(bytes, text("second report"))] ^= 0x01;
+        Files.write(segment(), bytes);
+
+        assertThrows(IOException.class, () -> SegmentArchiveStore.open(directory, DAY_ONE));
+        assertArrayEquals(bytes, Files.readAllBytes(segment()));
+    }
+
+    @Test
+    void failsOnABrokenRecordMarkerWithoutTruncating() throws IOException {
+        writeThree();
+        byte[] bytes = Files.readAllBytes(segment());
+        // The marker of the second record directly follows the first report
+        bytes[indexOf(bytes, text("first report")) + "first report".length()] ^= 0x01;
+        Files.write(segment(), bytes);
+
+        assertThrows(IOException.class, () -> SegmentArchiveStore.open(directory, DAY_ONE));
+        assertArrayEquals(bytes, Files.readAllBytes(segment()));
+    }
+
+    @Test
+    void cutsATornLastRecord() throws IOException {
+        writeThree();
+        long complete = Files.size(segment());
+        byte[] bytes = Files.readAllBytes(segment());
+        // A partial copy of the first record, as left by a crash during an append
+        Files.write(segment(), Arrays.copyOf(bytes, 20), StandardOpenOption.APPEND);
+
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            assertEquals(3, store.size());
+            assertEquals(complete, Files.size(segment()));
+            store.put("d", text("fourth report"));
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            assertEquals(4, store.size());
+        }
+    }
+
+    @Test
+    void cutsALastRecordWithAWrongChecksum() throws IOException {
+        writeThree();
+        byte[] bytes = Files.readAllBytes(segment());
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(segment(), bytes);
+
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            assertEquals(2, store.size());
+            assertFalse(store.contains("c"));
+        }
+    }
+
+    @Test
+    void compactionKeepsLiveReportsAndTombstones() throws IOException {
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.put("a", text("first report"));
+            store.put("b", new byte[10_000]);
+            store.put("c", text("third report"));
+            store.delete("b");
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_TWO)) {
+            assertTrue(store.compact(0.5) >= 10_000);
+            assertArrayEquals(text("first report"), content(store, "a"));
+            assertArrayEquals(text("third report"), content(store, "c"));
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_TWO)) {
+            assertEquals(2, store.size());
+            assertFalse(store.contains("b"));
+            assertArrayEquals(text("third report"), content(store, "c"));
+        }
+    }
+
+    @Test
+    void failedCompactionKeepsTheSegmentInUse() throws IOException {
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_ONE)) {
+            store.put("a", text("first report"));
+            store.put("b", new byte[10_000]);
+            store.delete("b");
+        }
+        try (SegmentArchiveStore store = SegmentArchiveStore.open(directory, DAY_TWO)) {
+            // The compacted copy cannot be created where a directory is in the way
+            Files.createDirectory(directory.resolve("20261001.seg.compact"));
+            assertThrows(IOException.class, () -> store.compact(0.5));
+            assertArrayEquals(text("first report"), content(store, "a"));
+            assertEquals(1, store.size());
+        }
+    }
+}